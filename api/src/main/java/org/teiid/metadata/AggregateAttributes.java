@@ -32,6 +32,9 @@ public class AggregateAttributes implements Serializable {
     private boolean allowsOrderBy;
     private boolean allowsDistinct;
     private boolean decomposable;
+    private String partialAggregate;
+    private String mergeAggregate;
+
     /**
      * @return true if the aggregate allows an order by clause
      */
@@ -83,6 +86,33 @@ public class AggregateAttributes implements Serializable {
         this.decomposable = decomposable;
     }
 
+    /**
+     * @return the name of an aggregate function that computes a partial result
+     * from the first argument of this aggregate function, or null if there is none.
+     * Together with the {@link #getMergeAggregate()} the aggregate function may be decomposed as
+     * merge(partial(x), ...) for non-partitioned aggregate pushdown.
+     */
+    public String getPartialAggregate() {
+        return partialAggregate;
+    }
+
+    public void setPartialAggregate(String partialAggregate) {
+        this.partialAggregate = partialAggregate;
+    }
+
+    /**
+     * @return the name of an aggregate function that combines the results of the
+     * {@link #getPartialAggregate()}, or null if there is none.  It is passed the partial
+     * result followed by the remaining arguments of this aggregate function, which must be constant.
+     */
+    public String getMergeAggregate() {
+        return mergeAggregate;
+    }
+
+    public void setMergeAggregate(String mergeAggregate) {
+        this.mergeAggregate = mergeAggregate;
+    }
+
     /**
      * @return true if the aggregate function can use the DISTINCT keyword
      */
@@ -504,12 +504,16 @@ public class FunctionMethod extends AbstractMetadataRecord {
             boolean usesDistinctRows = Boolean.valueOf(procedureRecord.getProperty(AbstractMetadataRecord.RELATIONAL_PREFIX + "uses-distinct-rows", true)); //$NON-NLS-1$
             boolean allowsDistinct = Boolean.valueOf(procedureRecord.getProperty(AbstractMetadataRecord.RELATIONAL_PREFIX + "allows-distinct", true)); //$NON-NLS-1$
             boolean decomposable = Boolean.valueOf(procedureRecord.getProperty(AbstractMetadataRecord.RELATIONAL_PREFIX + "decomposable", true)); //$NON-NLS-1$
+            String partialAggregate = procedureRecord.getProperty(AbstractMetadataRecord.RELATIONAL_PREFIX + "partial-aggregate", true); //$NON-NLS-1$
+            String mergeAggregate = procedureRecord.getProperty(AbstractMetadataRecord.RELATIONAL_PREFIX + "merge-aggregate", true); //$NON-NLS-1$
             AggregateAttributes aa = new AggregateAttributes();
             aa.setAnalytic(analytic);
             aa.setAllowsOrderBy(allowsOrderBy);
             aa.setUsesDistinctRows(usesDistinctRows);
             aa.setAllowsDistinct(allowsDistinct);
             aa.setDecomposable(decomposable);
+            aa.setPartialAggregate(partialAggregate);
+            aa.setMergeAggregate(mergeAggregate);
             function.setAggregateAttributes(aa);
         }
     }
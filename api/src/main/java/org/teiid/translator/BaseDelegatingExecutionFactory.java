@@ -108,6 +108,17 @@ public class BaseDelegatingExecutionFactory<F, C> extends ExecutionFactory<F, C>
                 metadata, connection);
     }
     @Override
+    public Execution createExecution(Command command,
+            ExecutionContext executionContext, RuntimeMetadata metadata,
+            C connection, F connectionFactory) throws TranslatorException {
+        return delegate.createExecution(command, executionContext, metadata,
+                connection, connectionFactory);
+    }
+    @Override
+    public void stop() {
+        //the delegate may be shared, so it is stopped by whatever created it
+    }
+    @Override
     public C getConnection(F factory, ExecutionContext executionContext) throws TranslatorException {
         return delegate.getConnection(factory, executionContext);
     }
@@ -1672,4 +1683,18 @@ public class BaseDelegatingExecutionFactory<F, C> extends ExecutionFactory<F, C>
             Boolean supportsProcedureParameterExpression) {
         this.supportsProcedureParameterExpression = supportsProcedureParameterExpression;
     }
+
+    Boolean supportsArrayInBinding;
+    @Override
+    public boolean supportsArrayInBinding() {
+        if (supportsArrayInBinding != null) {
+            return supportsArrayInBinding;
+        }
+        return delegate.supportsArrayInBinding();
+    }
+
+    public void setSupportsArrayInBinding(
+            Boolean supportsArrayInBinding) {
+        this.supportsArrayInBinding = supportsArrayInBinding;
+    }
 }
@@ -133,6 +133,14 @@ public class ExecutionFactory<F, C> {
         }
     }
 
+    /**
+     * Release the resources held by the translator, such as threads.  Called once the
+     * translator instance will no longer be used.
+     * @since 14.0
+     */
+    public void stop() {
+    }
+
     /**
      * Defines if the Connector is read-only connector
      * @return
@@ -316,6 +324,25 @@ public class ExecutionFactory<F, C> {
         return createUpdateExecution(command, executionContext, metadata, connection);
     }
 
+    /**
+     * Create an execution object for the specified command with access to the connection
+     * factory that the connection was obtained from, for executions that need additional
+     * connections.
+     * <br>
+     * By default the connection factory is not used and {@link #createExecution(Command, ExecutionContext, RuntimeMetadata, Object)} is called.
+     * @param command the command
+     * @param executionContext Provides information about the context that this command is
+     * executing within, such as the identifiers for the command being executed
+     * @param metadata Access to runtime metadata if needed to translate the command
+     * @param connection connection factory object to the data source
+     * @param connectionFactory the factory of the connection, may be null
+     * @return An execution object that can use to execute the command
+     * @since 14.0
+     */
+    public Execution createExecution(Command command, ExecutionContext executionContext, RuntimeMetadata metadata, C connection, F connectionFactory) throws TranslatorException {
+        return createExecution(command, executionContext, metadata, connection);
+    }
+
     @SuppressWarnings("unused")
     public ResultSetExecution createResultSetExecution(QueryExpression command, ExecutionContext executionContext, RuntimeMetadata metadata, C connection) throws TranslatorException {
          throw new TranslatorException(DataPlugin.Event.TEIID60001, DataPlugin.Util.gs(DataPlugin.Event.TEIID60001, "createResultSetExecution")); //$NON-NLS-1$
@@ -1519,4 +1546,17 @@ public class ExecutionFactory<F, C> {
     public boolean supportsProcedureParameterExpression() {
         return false;
     }
+
+    /**
+     * Return true if the translator binds the values of an IN predicate as a single array value.
+     * The engine will then not split large IN predicates, including the independent values of
+     * a dependent join, by the {@link #getMaxInCriteriaSize()}.
+     * <br>Values of array, lob, object, and varbinary types are still split, so the
+     * translator is expected to bind the values of all other types as an array.
+     * @since 14.0
+     * @return true if IN predicate values are bound as an array
+     */
+    public boolean supportsArrayInBinding() {
+        return false;
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+
+/**
+ * Combines the results of {@link Task}s that are run concurrently on translator managed threads
+ * for a single {@link ResultSetExecution}.
+ * <br>
+ * The results are passed back in batches of the {@link ExecutionContext#getBatchSize()} through a bounded queue
+ * so that the tasks cannot get too far ahead of the consumer.  {@link #next()} does not block,
+ * rather it throws {@link DataNotAvailableException#NO_POLLING} and the tasks notify the engine with
+ * {@link ExecutionContext#dataAvailable()}.
+ * <br>
+ * {@link #close()} waits for the running tasks to stop, so that the resources used by the tasks
+ * may be safely released afterwards by the execution.
+ *
+ * @param <T> the result type
+ * @since 14.0
+ */
+public class ParallelResults<T> {
+
+    /**
+     * A unit of work that produces results on a worker thread.
+     */
+    public interface Task<T> {
+
+        /**
+         * Produce the results.  Implementations should stop promptly once {@link Output#isClosed()}.
+         * @param output
+         * @throws Exception any exception will be reported to the consumer from {@link ParallelResults#next()}
+         */
+        void run(Output<T> output) throws Exception;
+
+        /**
+         * Interrupt the running task, for example by cancelling its statement.  Called from a thread
+         * other than the one running the task.
+         */
+        void cancel();
+
+        /**
+         * Release the resources of the task.  Called exactly once - on the worker thread if the
+         * task was started, otherwise on the thread that closes the results.
+         */
+        void close();
+    }
+
+    /**
+     * Receives the results of a {@link Task}
+     */
+    public interface Output<T> {
+
+        void add(T value);
+
+        /**
+         * @return true if the results have been closed and no further values are needed
+         */
+        boolean isClosed();
+    }
+
+    private static final Object END = new Object();
+
+    private class Worker implements Runnable, Output<T> {
+        private Task<T> task;
+        private AtomicBoolean claimed = new AtomicBoolean();
+        private List<T> batch;
+
+        Worker(Task<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (!closed) {
+                    task.run(this);
+                    flush();
+                }
+            } catch (Throwable e) {
+                if (!closed) {
+                    put((e instanceof TranslatorException)?e:new TranslatorException(e));
+                }
+            } finally {
+                try {
+                    task.close();
+                } catch (Throwable e) {
+                    LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Exception closing"); //$NON-NLS-1$
+                } finally {
+                    put(END);
+                    done.countDown();
+                }
+            }
+        }
+
+        @Override
+        public void add(T value) {
+            if (batch == null) {
+                batch = new ArrayList<T>(batchSize);
+            }
+            batch.add(value);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (batch != null && !batch.isEmpty()) {
+                put(batch);
+                batch = null;
+            }
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Close the task if it has not been started
+         */
+        void closeUnstarted() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    task.close();
+                } finally {
+                    done.countDown();
+                }
+            } else {
+                task.cancel();
+            }
+        }
+    }
+
+    private ExecutionContext executionContext;
+    private int batchSize;
+    private List<Worker> workers = new ArrayList<Worker>();
+    private BlockingQueue<Object> queue;
+    private CountDownLatch done;
+    private volatile boolean closed;
+    private int finished;
+    private Iterator<T> currentBatch;
+
+    public ParallelResults(ExecutionContext executionContext, List<? extends Task<T>> tasks) {
+        this.executionContext = executionContext;
+        this.batchSize = Math.max(1, executionContext.getBatchSize());
+        for (Task<T> task : tasks) {
+            this.workers.add(new Worker(task));
+        }
+        this.queue = new LinkedBlockingQueue<Object>(2 * tasks.size());
+        this.done = new CountDownLatch(tasks.size());
+    }
+
+    /**
+     * Submit the tasks to the executor.  If a task cannot be submitted, the results
+     * are closed and an exception is thrown.
+     * @param executor
+     * @throws TranslatorException
+     */
+    public void start(Executor executor) throws TranslatorException {
+        try {
+            for (Worker worker : workers) {
+                executor.execute(worker);
+            }
+        } catch (RejectedExecutionException e) {
+            close();
+            throw new TranslatorException(e);
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            while (!closed) {
+                if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                    executionContext.dataAvailable();
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return the next value or null if all of the tasks have completed
+     * @throws TranslatorException if a task failed
+     * @throws DataNotAvailableException if no value is currently available
+     */
+    @SuppressWarnings("unchecked")
+    public T next() throws TranslatorException, DataNotAvailableException {
+        while (true) {
+            if (currentBatch != null && currentBatch.hasNext()) {
+                return currentBatch.next();
+            }
+            currentBatch = null;
+            Object item = queue.poll();
+            if (item == null) {
+                if (finished == workers.size()) {
+                    return null;
+                }
+                throw DataNotAvailableException.NO_POLLING;
+            }
+            if (item == END) {
+                finished++;
+            } else if (item instanceof TranslatorException) {
+                throw (TranslatorException)item;
+            } else {
+                currentBatch = ((List<T>)item).iterator();
+            }
+        }
+    }
+
+    /**
+     * Cancel the running tasks
+     */
+    public void cancel() {
+        for (Worker worker : workers) {
+            worker.task.cancel();
+        }
+    }
+
+    /**
+     * Stop the tasks and wait for the running tasks to release their resources
+     */
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        queue.clear();
+        for (Worker worker : workers) {
+            worker.closeUnstarted();
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
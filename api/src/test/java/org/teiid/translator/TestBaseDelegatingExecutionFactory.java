@@ -34,7 +34,7 @@ public class TestBaseDelegatingExecutionFactory {
         Method[] methods = ExecutionFactory.class.getDeclaredMethods();
         Method[] proxyMethods = BaseDelegatingExecutionFactory.class.getDeclaredMethods();
         //excluding the setter methods the counts should be equal
-        assertEquals(methods.length+102, proxyMethods.length);
+        assertEquals(methods.length+103, proxyMethods.length);
     }
 
     @Test public void testExecution() throws TranslatorException {
@@ -59,4 +59,22 @@ public class TestBaseDelegatingExecutionFactory {
         ef.createExecution(new Select(null, false, null, null, null, null, null), null, null, null);
     }
 
+    @Test public void testExecutionWithConnectionFactory() throws TranslatorException {
+        final Object[] factory = new Object[1];
+        BaseDelegatingExecutionFactory<Object, Void> ef = new BaseDelegatingExecutionFactory<Object, Void>();
+        ef.setDelegate(new ExecutionFactory<Object, Void>() {
+            @Override
+            public Execution createExecution(Command command,
+                    ExecutionContext executionContext,
+                    RuntimeMetadata metadata, Void connection, Object connectionFactory)
+                    throws TranslatorException {
+                factory[0] = connectionFactory;
+                return null;
+            }
+        });
+        Object connectionFactory = new Object();
+        ef.createExecution(new Select(null, false, null, null, null, null, null), null, null, null, connectionFactory);
+        assertSame(connectionFactory, factory[0]);
+    }
+
 }
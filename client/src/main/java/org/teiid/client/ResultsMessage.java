@@ -88,6 +88,12 @@ public class ResultsMessage implements Externalizable {
     private boolean isUpdateResult;
     private int updateCount = -1;
 
+    /**
+     * The name of the determinism level of the results as of this message,
+     * null if not reported by the server.
+     */
+    private String determinismLevel;
+
     private boolean delayDeserialization;
     byte[] resultBytes;
 
@@ -285,12 +291,13 @@ public class ResultsMessage implements Externalizable {
         debugLog = (String)in.readObject();
         annotations = ExternalizeUtil.readList(in, Annotation.class);
         isUpdateResult = in.readBoolean();
-        if (isUpdateResult) {
-            try {
+        try {
+            if (isUpdateResult) {
                 updateCount = in.readInt();
-            } catch (OptionalDataException e) {
-            } catch (EOFException e) {
             }
+            determinismLevel = (String)in.readObject();
+        } catch (OptionalDataException e) {
+        } catch (EOFException e) {
         }
     }
 
@@ -341,6 +348,7 @@ public class ResultsMessage implements Externalizable {
         if (isUpdateResult) {
             out.writeInt(updateCount);
         }
+        out.writeObject(determinismLevel);
     }
 
     /**
@@ -429,5 +437,13 @@ public class ResultsMessage implements Externalizable {
     public void setDelayDeserialization(boolean delayDeserialization) {
         this.delayDeserialization = delayDeserialization;
     }
+
+    public String getDeterminismLevel() {
+        return determinismLevel;
+    }
+
+    public void setDeterminismLevel(String determinismLevel) {
+        this.determinismLevel = determinismLevel;
+    }
 }
 
@@ -134,6 +134,9 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
     // the last query annotations
     private Collection<Annotation> annotations;
 
+    // the last reported determinism level
+    private String determinismLevel;
+
     // resultSet object produced by execute methods on the statement.
     protected volatile ResultSetImpl resultSet;
 
@@ -222,6 +225,7 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
         this.currentPlanDescription = null;
         this.debugLog = null;
         this.annotations = null;
+        this.determinismLevel = null;
 
         if ( this.resultSet != null ) {
             ResultSet rs = this.resultSet;
@@ -1067,6 +1071,16 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
         return this.annotations;
     }
 
+    /**
+     * Get the name of the determinism level of the current results, as
+     * reported with the last batch received.  The level may be lowered as
+     * more of the results are processed.
+     * @return the level name or null if not reported by the server
+     */
+    public String getDeterminismLevel() {
+        return this.determinismLevel;
+    }
+
     public String getRequestIdentifier() {
         if(this.currentRequestID >= 0) {
             return Long.toString(this.currentRequestID);
@@ -1088,6 +1102,9 @@ public class StatementImpl extends WrapperImpl implements TeiidStatement {
         if (resultsMsg.getAnnotations() != null) {
             this.annotations = resultsMsg.getAnnotations();
         }
+        if (resultsMsg.getDeterminismLevel() != null) {
+            this.determinismLevel = resultsMsg.getDeterminismLevel();
+        }
         this.driverConnection.setDebugLog(debugLog);
         this.driverConnection.setCurrentPlanDescription(currentPlanDescription);
         this.driverConnection.setAnnotations(annotations);
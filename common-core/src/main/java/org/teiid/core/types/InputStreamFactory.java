@@ -120,6 +120,10 @@ public abstract class InputStreamFactory implements Source {
             return new BufferedInputStream(new FileInputStream(f));
         }
 
+        public File getFile() {
+            return f;
+        }
+
         @Override
         public StorageMode getStorageMode() {
             return StorageMode.PERSISTENT;
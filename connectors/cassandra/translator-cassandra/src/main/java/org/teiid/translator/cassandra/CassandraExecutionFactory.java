@@ -38,6 +38,7 @@ import org.teiid.translator.ProcedureExecution;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.Translator;
 import org.teiid.translator.TranslatorException;
+import org.teiid.translator.TranslatorProperty;
 import org.teiid.translator.UpdateExecution;
 
 import com.datastax.driver.core.VersionNumber;
@@ -55,6 +56,8 @@ public class CassandraExecutionFactory extends ExecutionFactory<ConnectionFactor
     }
 
     private VersionNumber version;
+    private int tokenRangeSplits;
+    private int maxParallelScans = 4;
 
     @Override
     public void start() throws TranslatorException {
@@ -67,7 +70,10 @@ public class CassandraExecutionFactory extends ExecutionFactory<ConnectionFactor
     public ResultSetExecution createResultSetExecution(QueryExpression command,
             ExecutionContext executionContext, RuntimeMetadata metadata,
             CassandraConnection connection) throws TranslatorException {
-        return new CassandraQueryExecution(command, connection, executionContext);
+        CassandraQueryExecution execution = new CassandraQueryExecution(command, connection, executionContext);
+        execution.setTokenRangeSplits(this.tokenRangeSplits);
+        execution.setMaxParallelScans(this.maxParallelScans);
+        return execution;
     }
 
     @Override
@@ -180,6 +186,24 @@ public class CassandraExecutionFactory extends ExecutionFactory<ConnectionFactor
         }
     }
 
+    @TranslatorProperty(display="Token Range Splits", description="When greater than 1, full scans of tables with a known partition key are split into this many token ranges that are read concurrently. Assumes the Murmur3Partitioner.", advanced=true)
+    public int getTokenRangeSplits() {
+        return tokenRangeSplits;
+    }
+
+    public void setTokenRangeSplits(int tokenRangeSplits) {
+        this.tokenRangeSplits = tokenRangeSplits;
+    }
+
+    @TranslatorProperty(display="Max Parallel Scans", description="The maximum number of token range queries that may be executing at the same time for a single scan.", advanced=true)
+    public int getMaxParallelScans() {
+        return maxParallelScans;
+    }
+
+    public void setMaxParallelScans(int maxParallelScans) {
+        this.maxParallelScans = maxParallelScans;
+    }
+
     @Override
     public boolean isSourceRequiredForCapabilities() {
         return true;
@@ -45,6 +45,9 @@ public class CassandraMetadataProcessor implements MetadataProcessor<CassandraCo
     @ExtensionMetadataProperty(applicable=Table.class, datatype=Boolean.class, display="Allow Filtering", description="This is to avoid the warning from Cassandra when it might not be able to execute the query in an efficient way", required=false)
     public static final String ALLOWFILTERING = "ALLOWFILTERING";
 
+    @ExtensionMetadataProperty(applicable=Table.class, datatype=String.class, display="Partition Key", description="The comma separated quoted names of the partition key columns. Used to split scans into token ranges.", required=false)
+    public static final String PARTITIONKEY = "PARTITIONKEY";
+
     /**
      * Creates metadata from all column families in current keyspace.
      */
@@ -100,6 +103,15 @@ public class CassandraMetadataProcessor implements MetadataProcessor<CassandraCo
             table.getColumnByName(columnName.getName()).setSearchType(SearchType.Searchable);
         }
         factory.addPrimaryKey("PK_" + columnFamily.getName(), names, table); //$NON-NLS-1$
+
+        StringBuilder partitionKey = new StringBuilder();
+        for (ColumnMetadata column : columnFamily.getPartitionKey()) {
+            if (partitionKey.length() > 0) {
+                partitionKey.append(","); //$NON-NLS-1$
+            }
+            partitionKey.append(quoteName(column.getName()));
+        }
+        table.setProperty(PARTITIONKEY, partitionKey.toString());
     }
 
     /**
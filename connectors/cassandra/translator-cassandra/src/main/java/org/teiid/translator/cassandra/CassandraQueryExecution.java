@@ -18,14 +18,26 @@
 
 package org.teiid.translator.cassandra;
 
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.sql.Date;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
+import org.teiid.core.util.StringUtil;
+import org.teiid.language.AggregateFunction;
+import org.teiid.language.ColumnReference;
 import org.teiid.language.Command;
+import org.teiid.language.NamedTable;
+import org.teiid.language.Select;
+import org.teiid.language.visitor.CollectorVisitor;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.translator.DataNotAvailableException;
@@ -38,6 +50,8 @@ import com.datastax.driver.core.GuavaCompatibility;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 public class CassandraQueryExecution implements ResultSetExecution {
 
@@ -48,6 +62,13 @@ public class CassandraQueryExecution implements ResultSetExecution {
     private ExecutionContext executionContext;
     protected boolean returnsArray;
 
+    //token range scan state
+    private int tokenRangeSplits;
+    private int maxParallelScans = 4;
+    private LinkedList<String> pendingQueries;
+    private List<ListenableFuture<ResultSet>> runningFutures;
+    private int activeRanges;
+
     public CassandraQueryExecution(Command query, CassandraConnection connection, ExecutionContext context){
         this.query = query;
         this.connection = connection;
@@ -59,6 +80,8 @@ public class CassandraQueryExecution implements ResultSetExecution {
         LogManager.logDetail(LogConstants.CTX_CONNECTOR, CassandraExecutionFactory.UTIL.getString("close_query")); //$NON-NLS-1$
         this.resultSet = null;
         this.resultSetFuture = null;
+        this.pendingQueries = null;
+        this.runningFutures = null;
     }
 
     @Override
@@ -67,16 +90,150 @@ public class CassandraQueryExecution implements ResultSetExecution {
         if (resultSetFuture != null) {
             resultSetFuture.cancel(true);
         }
+        if (runningFutures != null) {
+            for (ListenableFuture<ResultSet> future : runningFutures) {
+                future.cancel(true);
+            }
+        }
     }
 
     @Override
     public void execute() throws TranslatorException {
+        List<String> rangeQueries = getTokenRangeQueries();
+        if (rangeQueries != null) {
+            this.pendingQueries = new LinkedList<String>(rangeQueries);
+            this.runningFutures = new ArrayList<ListenableFuture<ResultSet>>();
+            startRangeQueries();
+            return;
+        }
         CassandraSQLVisitor visitor = new CassandraSQLVisitor();
         visitor.translateSQL(query);
         String cql = visitor.getTranslatedSQL();
         execute(cql);
     }
 
+    /**
+     * A scan of a single table without a limit, ordering, or aggregation, that does not
+     * restrict the partition key, may be split into token ranges that are read concurrently.
+     * @return the queries for each range or null if the query should not be split
+     */
+    List<String> getTokenRangeQueries() {
+        if (this.tokenRangeSplits < 2 || !(this.query instanceof Select)) {
+            return null;
+        }
+        Select select = (Select)this.query;
+        if (select.getFrom() == null || select.getFrom().size() != 1 || !(select.getFrom().get(0) instanceof NamedTable)
+                || select.getLimit() != null || select.getOrderBy() != null || select.getGroupBy() != null
+                || select.isDistinct() || !CollectorVisitor.collectObjects(AggregateFunction.class, select).isEmpty()) {
+            return null;
+        }
+        NamedTable table = (NamedTable)select.getFrom().get(0);
+        if (table.getMetadataObject() == null) {
+            return null;
+        }
+        String partitionKey = table.getMetadataObject().getProperty(CassandraMetadataProcessor.PARTITIONKEY, false);
+        if (partitionKey == null || partitionKey.isEmpty()) {
+            return null;
+        }
+        if (select.getWhere() != null) {
+            Set<String> keyColumns = new HashSet<String>();
+            for (String name : StringUtil.split(partitionKey, ",")) { //$NON-NLS-1$
+                keyColumns.add(unquote(name.trim()));
+            }
+            for (ColumnReference column : CollectorVisitor.collectElements(select.getWhere())) {
+                String name = column.getName();
+                if (column.getMetadataObject() != null && column.getMetadataObject().getNameInSource() != null) {
+                    name = column.getMetadataObject().getNameInSource();
+                }
+                if (keyColumns.contains(unquote(name))) {
+                    return null;
+                }
+            }
+        }
+        //murmur3 tokens range over all long values
+        BigInteger min = BigInteger.valueOf(Long.MIN_VALUE);
+        BigInteger step = BigInteger.valueOf(Long.MAX_VALUE).subtract(min).divide(BigInteger.valueOf(this.tokenRangeSplits));
+        List<String> result = new ArrayList<String>(this.tokenRangeSplits);
+        Long start = null;
+        for (int i = 1; i <= this.tokenRangeSplits; i++) {
+            long end = i == this.tokenRangeSplits ? Long.MAX_VALUE : min.add(step.multiply(BigInteger.valueOf(i))).longValue();
+            CassandraSQLVisitor visitor = new CassandraSQLVisitor();
+            visitor.setTokenRange(partitionKey, start, end);
+            visitor.translateSQL(select);
+            result.add(visitor.getTranslatedSQL());
+            start = end;
+        }
+        return result;
+    }
+
+    private static String unquote(String name) {
+        if (name.length() > 1 && name.startsWith("\"") && name.endsWith("\"")) { //$NON-NLS-1$ //$NON-NLS-2$
+            return StringUtil.replaceAll(name.substring(1, name.length() - 1), "\"\"", "\""); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return name;
+    }
+
+    private void startRangeQueries() {
+        while (this.activeRanges < Math.max(1, this.maxParallelScans) && !this.pendingQueries.isEmpty()) {
+            String cql = this.pendingQueries.removeFirst();
+            LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Source-Query:", cql); //$NON-NLS-1$
+            this.executionContext.logCommand(cql);
+            addRunningFuture(connection.executeQuery(cql));
+            this.activeRanges++;
+        }
+    }
+
+    private void addRunningFuture(ListenableFuture<ResultSet> future) {
+        this.runningFutures.add(future);
+        future.addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                executionContext.dataAvailable();
+            }
+        }, GuavaCompatibility.INSTANCE.sameThreadExecutor());
+    }
+
+    /**
+     * Return rows from whichever range has results available, fetching the
+     * next page of a range asynchronously once its current page is consumed.
+     */
+    private List<?> nextRangeRow() throws TranslatorException, DataNotAvailableException {
+        while (true) {
+            if (this.resultSet != null) {
+                if (this.resultSet.getAvailableWithoutFetching() > 0) {
+                    return getRow(this.resultSet.one());
+                }
+                if (!this.resultSet.isFullyFetched()) {
+                    addRunningFuture(this.resultSet.fetchMoreResults());
+                } else {
+                    this.activeRanges--;
+                    startRangeQueries();
+                }
+                this.resultSet = null;
+            }
+            Iterator<ListenableFuture<ResultSet>> iter = this.runningFutures.iterator();
+            while (iter.hasNext()) {
+                ListenableFuture<ResultSet> future = iter.next();
+                if (future.isDone()) {
+                    iter.remove();
+                    try {
+                        this.resultSet = Uninterruptibles.getUninterruptibly(future);
+                    } catch (ExecutionException e) {
+                        throw new TranslatorException(e.getCause());
+                    }
+                    break;
+                }
+            }
+            if (this.resultSet == null) {
+                if (this.runningFutures.isEmpty()) {
+                    return null;
+                }
+                throw DataNotAvailableException.NO_POLLING;
+            }
+        }
+    }
+
     protected void execute(String cql) {
         LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Source-Query:", cql); //$NON-NLS-1$
         this.executionContext.logCommand(cql);
@@ -92,6 +249,9 @@ public class CassandraQueryExecution implements ResultSetExecution {
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
+        if (this.runningFutures != null) {
+            return nextRangeRow();
+        }
         if (!resultSetFuture.isDone()) {
             throw DataNotAvailableException.NO_POLLING;
         }
@@ -102,6 +262,14 @@ public class CassandraQueryExecution implements ResultSetExecution {
         return getRow(resultSet.one());
     }
 
+    public void setTokenRangeSplits(int tokenRangeSplits) {
+        this.tokenRangeSplits = tokenRangeSplits;
+    }
+
+    public void setMaxParallelScans(int maxParallelScans) {
+        this.maxParallelScans = maxParallelScans;
+    }
+
     /**
      * Iterates through all columns in the {@code row}. For each column, returns its value as Java type
      * that matches the CQL type in switch part. Otherwise returns the value as bytes composing the value.
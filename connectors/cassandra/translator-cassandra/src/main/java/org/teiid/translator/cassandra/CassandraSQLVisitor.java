@@ -40,6 +40,11 @@ import org.teiid.translator.TypeFacility;
 public class CassandraSQLVisitor extends SQLStringVisitor {
 
     private static final String ALLOW_FILTERING = "ALLOW FILTERING";
+    private static final String TOKEN = "token"; //$NON-NLS-1$
+
+    private String tokenColumns;
+    private Long tokenStart;
+    private long tokenEnd;
 
     public String getTranslatedSQL() {
         return buffer.toString();
@@ -54,6 +59,18 @@ public class CassandraSQLVisitor extends SQLStringVisitor {
         append(obj);
     }
 
+    /**
+     * Restrict the select to the token range (start, end] of the given partition key columns
+     * @param columns the partition key columns
+     * @param start the exclusive start or null for the minimum token
+     * @param end the inclusive end
+     */
+    public void setTokenRange(String columns, Long start, long end) {
+        this.tokenColumns = columns;
+        this.tokenStart = start;
+        this.tokenEnd = end;
+    }
+
     @Override
     public void visit(Select obj) {
         boolean allowFiltering = false;
@@ -73,7 +90,20 @@ public class CassandraSQLVisitor extends SQLStringVisitor {
         }
 
 
-        if(obj.getWhere() != null){
+        if (this.tokenColumns != null) {
+            buffer.append(Tokens.SPACE).append(WHERE).append(Tokens.SPACE);
+            if (this.tokenStart != null) {
+                appendToken();
+                buffer.append(Tokens.SPACE).append(Tokens.GT).append(Tokens.SPACE).append(this.tokenStart);
+                buffer.append(Tokens.SPACE).append(AND).append(Tokens.SPACE);
+            }
+            appendToken();
+            buffer.append(Tokens.SPACE).append(Tokens.LE).append(Tokens.SPACE).append(this.tokenEnd);
+            if (obj.getWhere() != null) {
+                buffer.append(Tokens.SPACE).append(AND).append(Tokens.SPACE);
+                append(obj.getWhere());
+            }
+        } else if(obj.getWhere() != null){
             buffer.append(Tokens.SPACE).append(WHERE).append(Tokens.SPACE);
             append(obj.getWhere());
         }
@@ -94,6 +124,10 @@ public class CassandraSQLVisitor extends SQLStringVisitor {
         }
     }
 
+    private void appendToken() {
+        buffer.append(TOKEN).append(Tokens.LPAREN).append(this.tokenColumns).append(Tokens.RPAREN);
+    }
+
     @Override
     public void visit(Literal obj) {
         if (obj.getValue() == null) {
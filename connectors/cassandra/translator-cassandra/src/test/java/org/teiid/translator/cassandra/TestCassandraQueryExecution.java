@@ -24,11 +24,18 @@ import java.util.List;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.teiid.cdk.api.TranslationUtility;
+import org.teiid.language.Command;
+import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.translator.ExecutionContext;
 
 import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 
+@SuppressWarnings("nls")
 public class TestCassandraQueryExecution {
 
     @Test public void testGetRowWithNull() {
@@ -43,4 +50,63 @@ public class TestCassandraQueryExecution {
         assertNull(val.get(0));
     }
 
+    @Test public void testTokenRangeQueries() throws Exception {
+        TranslationUtility util = new TranslationUtility(RealMetadataFactory.fromDDL(
+                "create foreign table t (id integer, c integer, v string, primary key (id, c)) options (\"PARTITIONKEY\" '\"id\"')", "x", "y"));
+
+        CassandraQueryExecution cqe = new CassandraQueryExecution(util.parseCommand("select v from t where c = 1"), null, null);
+        cqe.setTokenRangeSplits(3);
+        assertEquals("[SELECT v FROM t WHERE token(\"id\") <= -3074457345618258603 AND c = 1, "
+                + "SELECT v FROM t WHERE token(\"id\") > -3074457345618258603 AND token(\"id\") <= 3074457345618258602 AND c = 1, "
+                + "SELECT v FROM t WHERE token(\"id\") > 3074457345618258602 AND token(\"id\") <= 9223372036854775807 AND c = 1]",
+                cqe.getTokenRangeQueries().toString());
+
+        //restricting the partition key, limits, and aggregates are not split
+        for (String sql : new String[] {"select v from t where id = 1", "select v from t limit 10", "select count(*) from t"}) {
+            cqe = new CassandraQueryExecution(util.parseCommand(sql), null, null);
+            cqe.setTokenRangeSplits(3);
+            assertNull(cqe.getTokenRangeQueries());
+        }
+    }
+
+    @Test public void testTokenRangeExecution() throws Exception {
+        TranslationUtility util = new TranslationUtility(RealMetadataFactory.fromDDL(
+                "create foreign table t (id integer primary key, v integer) options (\"PARTITIONKEY\" 'id')", "x", "y"));
+        Command command = util.parseCommand("select v from t");
+
+        CassandraConnection connection = Mockito.mock(CassandraConnection.class);
+        ResultSetFuture[] futures = new ResultSetFuture[4];
+        for (int i = 0; i < 4; i++) {
+            Row row = Mockito.mock(Row.class);
+            ColumnDefinitions cd = Mockito.mock(ColumnDefinitions.class);
+            Mockito.stub(row.getColumnDefinitions()).toReturn(cd);
+            Mockito.stub(cd.size()).toReturn(1);
+            Mockito.stub(cd.getType(0)).toReturn(DataType.cint());
+            Mockito.stub(row.getInt(0)).toReturn(i);
+            ResultSet rs = Mockito.mock(ResultSet.class);
+            Mockito.when(rs.getAvailableWithoutFetching()).thenReturn(1, 0);
+            Mockito.stub(rs.isFullyFetched()).toReturn(true);
+            Mockito.stub(rs.one()).toReturn(row);
+            ResultSetFuture rsf = Mockito.mock(ResultSetFuture.class);
+            Mockito.stub(rsf.isDone()).toReturn(true);
+            Mockito.stub(rsf.get()).toReturn(rs);
+            futures[i] = rsf;
+        }
+        Mockito.when(connection.executeQuery(Mockito.startsWith("SELECT v FROM t WHERE token(id)")))
+            .thenReturn(futures[0], futures[1], futures[2], futures[3]);
+
+        CassandraQueryExecution cqe = new CassandraQueryExecution(command, connection, Mockito.mock(ExecutionContext.class));
+        cqe.setTokenRangeSplits(4);
+        cqe.setMaxParallelScans(2);
+        cqe.execute();
+        //only the allowed number of ranges are started
+        Mockito.verify(connection, Mockito.times(2)).executeQuery(Mockito.anyString());
+        int count = 0;
+        while (cqe.next() != null) {
+            count++;
+        }
+        assertEquals(4, count);
+        Mockito.verify(connection, Mockito.times(4)).executeQuery(Mockito.anyString());
+    }
+
 }
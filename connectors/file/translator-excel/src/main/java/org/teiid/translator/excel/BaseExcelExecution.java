@@ -74,7 +74,7 @@ public class BaseExcelExecution implements Execution {
     private AtomicInteger fileCount = new AtomicInteger();
     protected ExcelQueryVisitor visitor = new ExcelQueryVisitor();
     protected FormulaEvaluator evaluator;
-    private DataFormatter dataFormatter;
+    protected DataFormatter dataFormatter;
     protected Workbook workbook;
 
     public BaseExcelExecution(ExecutionContext executionContext,
@@ -99,7 +99,10 @@ public class BaseExcelExecution implements Execution {
         this.rowIterator = readXLSFile(xlsFiles[fileCount.getAndIncrement()]);
     }
 
-    private Iterator<Row> readXLSFile(VirtualFile xlsFile) throws TranslatorException {
+    /**
+     * @return the row iterator for the sheet or null if the file is read by the subclass
+     */
+    protected Iterator<Row> readXLSFile(VirtualFile xlsFile) throws TranslatorException {
         try (InputStream xlsFileStream = xlsFile.openInputStream(!immutable)) {
             return readXLSFile(xlsFile, xlsFileStream);
         } catch (IOException e) {
@@ -175,6 +178,9 @@ public class BaseExcelExecution implements Execution {
                 break;
             }
             this.rowIterator = readXLSFile(nextXlsFile);
+            if (this.rowIterator == null) {
+                return null;
+            }
             hasNext = this.rowIterator.hasNext();
         }
         if (hasNext) {
@@ -200,7 +206,7 @@ public class BaseExcelExecution implements Execution {
         return null;
     }
 
-    Object convertFromExcelType(final boolean value, final Class<?> expectedType) throws TranslatorException {
+    static Object convertFromExcelType(final boolean value, final Class<?> expectedType) throws TranslatorException {
         if (expectedType.isAssignableFrom(Boolean.class)) {
             return value;
         }
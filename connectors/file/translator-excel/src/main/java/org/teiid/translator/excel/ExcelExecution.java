@@ -20,10 +20,12 @@ package org.teiid.translator.excel;
 
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
+import org.teiid.file.VirtualFile;
 import org.teiid.file.VirtualFileConnection;
 import org.teiid.language.Select;
 import org.teiid.metadata.RuntimeMetadata;
@@ -36,6 +38,8 @@ import org.teiid.translator.TranslatorException;
 public class ExcelExecution extends BaseExcelExecution implements ResultSetExecution {
 
     private Class<?>[] expectedColumnTypes;
+    private boolean streaming;
+    private XlsxStreamingReader streamingReader;
 
     public ExcelExecution(Select query, ExecutionContext executionContext,
             RuntimeMetadata metadata, VirtualFileConnection connection, boolean immutable)
@@ -47,11 +51,47 @@ public class ExcelExecution extends BaseExcelExecution implements ResultSetExecu
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
-        Row row = nextRow();
-        if (row == null) {
+        while (true) {
+            if (this.streamingReader != null) {
+                List<?> result = this.streamingReader.next();
+                if (result != null) {
+                    return result;
+                }
+                this.streamingReader = null;
+            }
+            Row row = nextRow();
+            if (row != null) {
+                return projectRow(row);
+            }
+            if (this.streamingReader == null) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    protected Iterator<Row> readXLSFile(VirtualFile xlsFile)
+            throws TranslatorException {
+        if (this.streaming && ExcelMetadataProcessor.getFileExtension(xlsFile).equalsIgnoreCase("xlsx")) { //$NON-NLS-1$
+            XlsxStreamingReader reader = new XlsxStreamingReader(this.visitor, this.expectedColumnTypes, this.dataFormatter);
+            reader.open(xlsFile, !immutable);
+            this.streamingReader = reader;
             return null;
         }
-        return projectRow(row);
+        return super.readXLSFile(xlsFile);
+    }
+
+    @Override
+    public void close() {
+        if (this.streamingReader != null) {
+            this.streamingReader.close();
+            this.streamingReader = null;
+        }
+        super.close();
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
     }
 
     /**
@@ -37,6 +37,7 @@ import org.teiid.translator.TranslatorProperty;
 public class ExcelExecutionFactory extends ExecutionFactory<ConnectionFactory, VirtualFileConnection> {
 
     private boolean formatStrings;
+    private boolean streaming;
 
     public ExcelExecutionFactory() {
         setSourceRequiredForMetadata(true);
@@ -50,6 +51,7 @@ public class ExcelExecutionFactory extends ExecutionFactory<ConnectionFactory, V
         if (formatStrings) {
             ex.setDataFormatter(new DataFormatter()); //assume default locale
         }
+        ex.setStreaming(streaming);
         return ex;
     }
 
@@ -107,4 +109,13 @@ public class ExcelExecutionFactory extends ExecutionFactory<ConnectionFactory, V
     public void setFormatStrings(boolean formatStrings) {
         this.formatStrings = formatStrings;
     }
+
+    @TranslatorProperty(display="Streaming", description="Read xlsx files as a stream of rows rather than loading the whole workbook into memory. Formulas are not evaluated, the last calculated values are used instead.", advanced=true)
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
 }
@@ -44,6 +44,10 @@ public class ExcelQueryVisitor extends HierarchyVisitor {
 
     static interface Filter {
         public boolean allows (int row);
+        /**
+         * @return the greatest row that may be allowed
+         */
+        public int getMaxRow();
     }
 
     static class InFilter implements Filter {
@@ -61,6 +65,15 @@ public class ExcelQueryVisitor extends HierarchyVisitor {
             }
             return false;
         }
+
+        @Override
+        public int getMaxRow() {
+            int max = -1;
+            for (int i = 0; i < values.length; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
     }
 
     static class CompareFilter implements Filter {
@@ -89,6 +102,19 @@ public class ExcelQueryVisitor extends HierarchyVisitor {
             }
             return false;
         }
+
+        @Override
+        public int getMaxRow() {
+            switch(op) {
+            case EQ:
+            case LE:
+                return start;
+            case LT:
+                return start - 1;
+            default:
+                return Integer.MAX_VALUE;
+            }
+        }
     }
 
     private ArrayList<ExcelQueryVisitor.Filter> filters = new ArrayList<ExcelQueryVisitor.Filter>();
@@ -273,6 +299,17 @@ public class ExcelQueryVisitor extends HierarchyVisitor {
         return true;
     }
 
+    /**
+     * @return the greatest row number that may be allowed by the filters
+     */
+    public int getMaxRowNumber() {
+        int max = Integer.MAX_VALUE;
+        for (Filter f:this.filters) {
+            max = Math.min(max, f.getMaxRow());
+        }
+        return max;
+    }
+
     @Override
     public void visit(Insert obj) {
         visit(obj.getTable());
@@ -0,0 +1,508 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.excel;
+
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.TransformationException;
+import org.teiid.core.util.TimestampWithTimezone;
+import org.teiid.file.VirtualFile;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * Reads the rows of an xlsx sheet with a StAX reader over the sheet xml rather than
+ * building an XSSFWorkbook, so that only the shared strings, the number formats and
+ * the current row are held in memory.
+ * <br>
+ * The row filters and the column projection of the {@link ExcelQueryVisitor} are
+ * applied as the sheet is read - cells of rows that are not needed are not converted.
+ * Formulas are not evaluated, the cached result of the formula is used instead.
+ */
+class XlsxStreamingReader implements Closeable {
+
+    private static final String WORKBOOK = "xl/workbook.xml"; //$NON-NLS-1$
+    private static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels"; //$NON-NLS-1$
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml"; //$NON-NLS-1$
+    private static final String STYLES = "xl/styles.xml"; //$NON-NLS-1$
+
+    private static XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+    static {
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private ExcelQueryVisitor visitor;
+    private Class<?>[] expectedColumnTypes;
+    private DataFormatter dataFormatter;
+
+    //workbook level information
+    private Map<String, String> sheetIds = new HashMap<String, String>();
+    private Map<String, String> relationships = new HashMap<String, String>();
+    private String sharedStringsPart = SHARED_STRINGS;
+    private String stylesPart = STYLES;
+    private List<String> sharedStrings;
+    private List<Integer> cellFormats;
+    private Map<Integer, String> numberFormats = new HashMap<Integer, String>();
+    private boolean date1904;
+
+    //sheet state
+    private InputStream stream;
+    private XMLStreamReader reader;
+    private int[] columnPositions;
+    private Object[] values;
+    private int lastRowNum = -1;
+    private int maxRowNum;
+
+    XlsxStreamingReader(ExcelQueryVisitor visitor, Class<?>[] expectedColumnTypes, DataFormatter dataFormatter) {
+        this.visitor = visitor;
+        this.expectedColumnTypes = expectedColumnTypes;
+        this.dataFormatter = dataFormatter;
+        this.maxRowNum = visitor.getMaxRowNumber();
+        int max = 0;
+        for (int index : visitor.getProjectedColumns()) {
+            max = Math.max(max, index);
+        }
+        //map from the 0 based cell index to the projected positions, -1 if not projected
+        this.columnPositions = new int[max];
+        Arrays.fill(this.columnPositions, -1);
+        List<Integer> cols = visitor.getProjectedColumns();
+        for (int i = 0; i < cols.size(); i++) {
+            if (cols.get(i) > 0) {
+                this.columnPositions[cols.get(i)-1] = i;
+            }
+        }
+    }
+
+    /**
+     * Read the workbook level parts then position the reader at the start of the sheet data.
+     * <br>
+     * The parts of the zip may be in any order, so the file is read once for the
+     * workbook parts and again to stream the sheet.
+     */
+    void open(VirtualFile xlsFile, boolean lock) throws TranslatorException {
+        try {
+            readWorkbookParts(xlsFile, lock);
+            String sheetPart = getSheetPart();
+            if (sheetPart == null) {
+                throw new TranslatorException(ExcelPlugin.Event.TEIID23011, ExcelPlugin.Util.gs(ExcelPlugin.Event.TEIID23011, this.visitor.getSheetName(), xlsFile.getName()));
+            }
+            this.stream = xlsFile.openInputStream(lock);
+            ZipInputStream zis = new ZipInputStream(this.stream);
+            if (!seek(zis, sheetPart)) {
+                throw new TranslatorException(ExcelPlugin.Event.TEIID23011, ExcelPlugin.Util.gs(ExcelPlugin.Event.TEIID23011, this.visitor.getSheetName(), xlsFile.getName()));
+            }
+            this.reader = inputFactory.createXMLStreamReader(zis);
+        } catch (IOException e) {
+            close();
+            throw new TranslatorException(e);
+        } catch (XMLStreamException e) {
+            close();
+            throw new TranslatorException(e);
+        } catch (TranslatorException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private void readWorkbookParts(VirtualFile xlsFile, boolean lock)
+            throws IOException, XMLStreamException {
+        readParts(xlsFile, lock);
+        //the relationships typically precede the parts they reference,
+        //but if not and the locations are not standard another pass is needed
+        if (this.sharedStrings == null && this.relationships.containsValue(this.sharedStringsPart)
+                || this.cellFormats == null && this.relationships.containsValue(this.stylesPart)) {
+            readParts(xlsFile, lock);
+        }
+    }
+
+    private void readParts(VirtualFile xlsFile, boolean lock)
+            throws IOException, XMLStreamException {
+        try (InputStream is = xlsFile.openInputStream(lock)) {
+            ZipInputStream zis = new ZipInputStream(is);
+            ZipEntry entry = null;
+            //the parser may close the stream at the end of the part
+            InputStream part = new FilterInputStream(zis) {
+                @Override
+                public void close() throws IOException {
+                }
+            };
+            while ((entry = zis.getNextEntry()) != null) {
+                readWorkbookPart(entry.getName(), part);
+            }
+        }
+    }
+
+    private void readWorkbookPart(String name, InputStream is) throws XMLStreamException {
+        if (name.equals(WORKBOOK)) {
+            XMLStreamReader r = inputFactory.createXMLStreamReader(is);
+            while (r.hasNext()) {
+                if (r.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (r.getLocalName().equals("workbookPr")) { //$NON-NLS-1$
+                    String value = r.getAttributeValue(null, "date1904"); //$NON-NLS-1$
+                    this.date1904 = "1".equals(value) || "true".equals(value); //$NON-NLS-1$ //$NON-NLS-2$
+                } else if (r.getLocalName().equals("sheet")) { //$NON-NLS-1$
+                    String id = null;
+                    for (int i = 0; i < r.getAttributeCount(); i++) {
+                        if (r.getAttributeLocalName(i).equals("id")) { //$NON-NLS-1$
+                            id = r.getAttributeValue(i);
+                        }
+                    }
+                    this.sheetIds.put(r.getAttributeValue(null, "name"), id); //$NON-NLS-1$
+                }
+            }
+        } else if (name.equals(WORKBOOK_RELS)) {
+            XMLStreamReader r = inputFactory.createXMLStreamReader(is);
+            while (r.hasNext()) {
+                if (r.next() != XMLStreamConstants.START_ELEMENT || !r.getLocalName().equals("Relationship")) { //$NON-NLS-1$
+                    continue;
+                }
+                String target = r.getAttributeValue(null, "Target"); //$NON-NLS-1$
+                if (target.startsWith("/")) { //$NON-NLS-1$
+                    target = target.substring(1);
+                } else {
+                    target = "xl/" + target; //$NON-NLS-1$
+                }
+                String type = r.getAttributeValue(null, "Type"); //$NON-NLS-1$
+                if (type.endsWith("/sharedStrings")) { //$NON-NLS-1$
+                    this.sharedStringsPart = target;
+                } else if (type.endsWith("/styles")) { //$NON-NLS-1$
+                    this.stylesPart = target;
+                }
+                this.relationships.put(r.getAttributeValue(null, "Id"), target); //$NON-NLS-1$
+            }
+        } else if (name.equals(this.sharedStringsPart) && this.sharedStrings == null) {
+            readSharedStrings(inputFactory.createXMLStreamReader(is));
+        } else if (name.equals(this.stylesPart) && this.cellFormats == null) {
+            readStyles(inputFactory.createXMLStreamReader(is));
+        }
+    }
+
+    private void readSharedStrings(XMLStreamReader r) throws XMLStreamException {
+        this.sharedStrings = new ArrayList<String>();
+        while (r.hasNext()) {
+            if (r.next() == XMLStreamConstants.START_ELEMENT && r.getLocalName().equals("si")) { //$NON-NLS-1$
+                this.sharedStrings.add(readText(r, "si")); //$NON-NLS-1$
+            }
+        }
+    }
+
+    /**
+     * Read the text of a string item, which may be split into runs.
+     * Phonetic runs are not part of the value.
+     */
+    private static String readText(XMLStreamReader r, String element) throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        boolean text = false;
+        int phonetic = 0;
+        while (r.hasNext()) {
+            int event = r.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                if (r.getLocalName().equals("rPh")) { //$NON-NLS-1$
+                    phonetic++;
+                } else if (r.getLocalName().equals("t")) { //$NON-NLS-1$
+                    text = phonetic == 0;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (r.getLocalName().equals(element)) {
+                    break;
+                }
+                if (r.getLocalName().equals("rPh")) { //$NON-NLS-1$
+                    phonetic--;
+                } else if (r.getLocalName().equals("t")) { //$NON-NLS-1$
+                    text = false;
+                }
+            } else if (text && (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE)) {
+                sb.append(r.getText());
+            }
+        }
+        return sb.toString();
+    }
+
+    private void readStyles(XMLStreamReader r) throws XMLStreamException {
+        this.cellFormats = new ArrayList<Integer>();
+        boolean cellXfs = false;
+        while (r.hasNext()) {
+            int event = r.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = r.getLocalName();
+                if (name.equals("numFmt")) { //$NON-NLS-1$
+                    this.numberFormats.put(Integer.valueOf(r.getAttributeValue(null, "numFmtId")), r.getAttributeValue(null, "formatCode")); //$NON-NLS-1$ //$NON-NLS-2$
+                } else if (name.equals("cellXfs")) { //$NON-NLS-1$
+                    cellXfs = true;
+                } else if (cellXfs && name.equals("xf")) { //$NON-NLS-1$
+                    String id = r.getAttributeValue(null, "numFmtId"); //$NON-NLS-1$
+                    this.cellFormats.add(id == null ? 0 : Integer.valueOf(id));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT && r.getLocalName().equals("cellXfs")) { //$NON-NLS-1$
+                cellXfs = false;
+            }
+        }
+    }
+
+    private String getSheetPart() {
+        String id = this.sheetIds.get(this.visitor.getSheetName());
+        if (id == null) {
+            return null;
+        }
+        return this.relationships.get(id);
+    }
+
+    private static boolean seek(ZipInputStream zis, String name) throws IOException {
+        ZipEntry entry = null;
+        while ((entry = zis.getNextEntry()) != null) {
+            if (entry.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the next projected row or null if there are no more rows
+     */
+    List<Object> next() throws TranslatorException {
+        if (this.reader == null) {
+            return null;
+        }
+        try {
+            while (this.reader.hasNext()) {
+                int event = this.reader.next();
+                if (event != XMLStreamConstants.START_ELEMENT || !this.reader.getLocalName().equals("row")) { //$NON-NLS-1$
+                    continue;
+                }
+                String r = this.reader.getAttributeValue(null, "r"); //$NON-NLS-1$
+                int rowNum = r == null ? this.lastRowNum + 1 : Integer.parseInt(r) - 1;
+                this.lastRowNum = rowNum;
+                if (rowNum > this.maxRowNum) {
+                    break;
+                }
+                if (rowNum < this.visitor.getFirstDataRowNumber() || !this.visitor.allows(rowNum)) {
+                    skipElement();
+                    continue;
+                }
+                List<Object> row = readRow(rowNum);
+                if (row != null) {
+                    return row;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new TranslatorException(e);
+        }
+        close();
+        return null;
+    }
+
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = this.reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * @return the projected row or null if the row has no cells
+     */
+    private List<Object> readRow(int rowNum) throws XMLStreamException, TranslatorException {
+        List<Integer> cols = this.visitor.getProjectedColumns();
+        this.values = new Object[cols.size()];
+        boolean hasCells = false;
+        int column = -1;
+        while (true) {
+            int event = this.reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if (!this.reader.getLocalName().equals("c")) { //$NON-NLS-1$
+                skipElement();
+                continue;
+            }
+            hasCells = true;
+            String ref = this.reader.getAttributeValue(null, "r"); //$NON-NLS-1$
+            if (ref == null) {
+                column++;
+            } else {
+                int i = 0;
+                while (i < ref.length() && Character.isLetter(ref.charAt(i))) {
+                    i++;
+                }
+                column = CellReference.convertColStringToIndex(ref.substring(0, i));
+            }
+            if (column >= this.columnPositions.length || this.columnPositions[column] == -1) {
+                skipElement();
+                continue;
+            }
+            readCell(this.columnPositions[column]);
+        }
+        if (!hasCells) {
+            return null;
+        }
+        for (int i = 0; i < cols.size(); i++) {
+            if (cols.get(i) == ExcelQueryVisitor.ROW_ID_INDEX) {
+                this.values[i] = rowNum + 1;
+            }
+        }
+        return Arrays.asList(this.values);
+    }
+
+    private void readCell(int position) throws XMLStreamException, TranslatorException {
+        String type = this.reader.getAttributeValue(null, "t"); //$NON-NLS-1$
+        String style = this.reader.getAttributeValue(null, "s"); //$NON-NLS-1$
+        String value = null;
+        while (true) {
+            int event = this.reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            if (this.reader.getLocalName().equals("v")) { //$NON-NLS-1$
+                value = this.reader.getElementText();
+            } else if (this.reader.getLocalName().equals("is")) { //$NON-NLS-1$
+                value = readText(this.reader, "is"); //$NON-NLS-1$
+            } else {
+                skipElement();
+            }
+        }
+        if (value == null) {
+            return;
+        }
+        Class<?> expectedType = this.expectedColumnTypes[position];
+        if (type == null || type.equals("n")) { //$NON-NLS-1$
+            if (value.isEmpty()) {
+                return;
+            }
+            this.values[position] = convertFromExcelType(Double.valueOf(value), style, expectedType);
+        } else if (type.equals("s")) { //$NON-NLS-1$
+            this.values[position] = BaseExcelExecution.convertFromExcelType(this.sharedStrings.get(Integer.parseInt(value.trim())), expectedType);
+        } else if (type.equals("str") || type.equals("inlineStr")) { //$NON-NLS-1$ //$NON-NLS-2$
+            this.values[position] = BaseExcelExecution.convertFromExcelType(value, expectedType);
+        } else if (type.equals("b")) { //$NON-NLS-1$
+            this.values[position] = BaseExcelExecution.convertFromExcelType("1".equals(value) || "true".equals(value), expectedType); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        //errors and dates stored as iso strings are treated as null
+    }
+
+    /**
+     * The same conversions as {@link BaseExcelExecution#convertFromExcelType(Double, org.apache.poi.ss.usermodel.Cell, Class)}
+     * using the number format of the cell style.
+     */
+    private Object convertFromExcelType(final Double value, String style, final Class<?> expectedType) throws TranslatorException {
+        if (expectedType.isAssignableFrom(Double.class)) {
+            return value;
+        }
+        else if (expectedType.isAssignableFrom(Timestamp.class)) {
+            Date date = DateUtil.getJavaDate(value, this.date1904);
+            return new Timestamp(date.getTime());
+        }
+        else if (expectedType.isAssignableFrom(java.sql.Date.class)) {
+            Date date = DateUtil.getJavaDate(value, this.date1904);
+            return TimestampWithTimezone.createDate(date);
+        }
+        else if (expectedType.isAssignableFrom(java.sql.Time.class)) {
+            Date date = DateUtil.getJavaDate(value, this.date1904);
+            return TimestampWithTimezone.createTime(date);
+        }
+
+        int formatIndex = 0;
+        if (style != null && this.cellFormats != null) {
+            int index = Integer.parseInt(style);
+            if (index < this.cellFormats.size()) {
+                formatIndex = this.cellFormats.get(index);
+            }
+        }
+        String formatString = this.numberFormats.get(formatIndex);
+        if (formatString == null) {
+            formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+            if (formatString == null) {
+                formatString = "General"; //$NON-NLS-1$
+            }
+        }
+
+        if (expectedType == String.class && dataFormatter != null) {
+            return dataFormatter.formatRawCellContents(value, formatIndex, formatString, this.date1904);
+        }
+
+        Object val = value;
+
+        if (DateUtil.isValidExcelDate(value) && DateUtil.isADateFormat(formatIndex, formatString)) {
+            Date date = DateUtil.getJavaDate(value, this.date1904);
+            val = new java.sql.Timestamp(date.getTime());
+        }
+
+        try {
+            return DataTypeManager.transformValue(val, expectedType);
+        } catch (TransformationException e) {
+            throw new TranslatorException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.reader != null) {
+            try {
+                this.reader.close();
+            } catch (XMLStreamException e) {
+                //ignore
+            }
+            this.reader = null;
+        }
+        if (this.stream != null) {
+            try {
+                this.stream.close();
+            } catch (IOException e) {
+                //ignore
+            }
+            this.stream = null;
+        }
+    }
+
+}
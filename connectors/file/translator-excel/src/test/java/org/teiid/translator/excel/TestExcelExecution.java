@@ -48,8 +48,13 @@ public class TestExcelExecution {
     }
 
     static ArrayList helpExecute(String ddl, VirtualFileConnection connection, String query, boolean format) throws Exception {
+        return helpExecute(ddl, connection, query, format, false);
+    }
+
+    static ArrayList helpExecute(String ddl, VirtualFileConnection connection, String query, boolean format, boolean streaming) throws Exception {
         ExcelExecutionFactory translator = new ExcelExecutionFactory();
         translator.setFormatStrings(format);
+        translator.setStreaming(streaming);
         translator.start();
 
         TransformationMetadata metadata = RealMetadataFactory.fromDDL(ddl, "vdb", "excel");
@@ -355,6 +360,51 @@ public class TestExcelExecution {
         }
     }
 
+    @Test
+    public void testStreamingXLSX() throws Exception {
+        String ddl = "CREATE FOREIGN TABLE Sheet1 (\n" +
+                "	ROW_ID integer OPTIONS (SEARCHABLE 'All_Except_Like', \"teiid_excel:CELL_NUMBER\" 'ROW_ID'),\n" +
+                "	column1 string OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '1'),\n" +
+                "	column2 string OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '2'),\n" +
+                "	column3 string OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '3'),\n" +
+                "	\"time\" time OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '4'),\n" +
+                "	CONSTRAINT PK0 PRIMARY KEY(ROW_ID)\n" +
+                ") OPTIONS (\"teiid_excel:FILE\" 'names.xlsx');";
+
+        VirtualFileConnection connection = Mockito.mock(VirtualFileConnection.class);
+        Mockito.stub(connection.getFiles("names.xlsx")).toReturn(JavaVirtualFile.getFiles("names.xlsx", new File(UnitTestUtil.getTestDataPath(), "names.xlsx")));
+
+        String[] queries = new String[] {"select ROW_ID, column1, column2, column3 from Sheet1",
+                "select column3, column1 from Sheet1 where ROW_ID > 2",
+                "select \"time\" from Sheet1 where ROW_ID in (3, 4)",
+                "select column1 from Sheet1 limit 1, 2"};
+        for (String query : queries) {
+            assertEquals(helpExecute(ddl, connection, query, false, false), helpExecute(ddl, connection, query, false, true));
+            assertEquals(helpExecute(ddl, connection, query, true, false), helpExecute(ddl, connection, query, true, true));
+        }
+        assertEquals("[[1, FirstName, LastName, Age], [2, John, Doe, null], [3, Jane, Smith, 40.0], [4, Matt, Liek, 13.0], [5, Sarah, Byne, 10.0], [6, Rocky, Dog, 3.0]]",
+                helpExecute(ddl, connection, queries[0], false, true).toString());
+        assertEquals("[[John], [Jane]]", helpExecute(ddl, connection, queries[3], false, true).toString());
+
+        ddl = ddl.replace("'names.xlsx'", "'names.xlsx', \"teiid_excel:FIRST_DATA_ROW_NUMBER\" '6'");
+        assertEquals("[[6, Rocky, Dog, 3.0]]", helpExecute(ddl, connection, queries[0], false, true).toString());
+
+        ddl = "CREATE FOREIGN TABLE Sheet1 (\n" +
+                "	column1 string OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '1'),\n" +
+                "	column2 string OPTIONS (SEARCHABLE 'Unsearchable', \"teiid_excel:CELL_NUMBER\" '2')\n" +
+                ") OPTIONS (\"teiid_excel:FILE\" '3219.xlsx');";
+        Mockito.stub(connection.getFiles("3219.xlsx")).toReturn(JavaVirtualFile.getFiles("3219.xlsx", new File(UnitTestUtil.getTestDataPath(), "3219.xlsx")));
+        assertEquals(helpExecute(ddl, connection, "select * from Sheet1"), helpExecute(ddl, connection, "select * from Sheet1", false, true));
+    }
+
+    @Test(expected=TranslatorException.class)
+    public void testStreamingMissingSheet() throws Exception {
+        VirtualFileConnection connection = Mockito.mock(VirtualFileConnection.class);
+        Mockito.stub(connection.getFiles("names.xls")).toReturn(JavaVirtualFile.getFiles("names.xlsx", new File(UnitTestUtil.getTestDataPath(), "names.xlsx")));
+
+        helpExecute(commonDDL.replace("'names.xls'", "'names.xls', NAMEINSOURCE 'Sheet2'"), connection, "select * from Sheet1", false, true);
+    }
+
     @Test(expected=TranslatorException.class)
     public void testExecutionNoFile() throws Exception {
         VirtualFileConnection connection = Mockito.mock(VirtualFileConnection.class);
@@ -48,6 +48,12 @@ public class InfinispanPlugin {
         TEIID25017,
         TEIID25018,
         TEIID25019,
-        TEIID25020
+        TEIID25020,
+        TEIID25021,
+        TEIID25022,
+        TEIID25023,
+        TEIID25024,
+        TEIID25025,
+        TEIID25026
     }
 }
@@ -70,6 +70,12 @@ public class ProtobufMetadataProcessor implements MetadataProcessor<InfinispanCo
             description="Cache name to store the contents into")
     public static final String CACHE = MetadataFactory.INFINISPAN_PREFIX+"CACHE"; //$NON-NLS-1$
 
+    @ExtensionMetadataProperty(applicable=Table.class,
+            datatype=String.class,
+            display="Materialized View",
+            description="Qualified name of an internal materialized view, in the form schema.view, to keep up to date with a continuous query on this table")
+    public static final String MATVIEW = MetadataFactory.INFINISPAN_PREFIX+"MATVIEW"; //$NON-NLS-1$
+
     @ExtensionMetadataProperty(applicable= {Table.class,Column.class},
             datatype=String.class,
             display="Message Name",
@@ -582,4 +588,8 @@ public class ProtobufMetadataProcessor implements MetadataProcessor<InfinispanCo
     public static String getCacheName(Table table) {
         return table.getProperty(CACHE, false);
     }
+
+    public static String getMatView(Table table) {
+        return table.getProperty(MATVIEW, false);
+    }
 }
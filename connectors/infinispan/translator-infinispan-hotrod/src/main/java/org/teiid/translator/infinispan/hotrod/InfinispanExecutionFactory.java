@@ -19,16 +19,30 @@
 package org.teiid.translator.infinispan.hotrod;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.teiid.adminapi.VDB;
 import org.teiid.core.util.PropertiesUtils;
+import org.teiid.events.EventDistributor;
+import org.teiid.events.EventDistributorFactory;
+import org.teiid.events.EventListener;
 import org.teiid.infinispan.api.InfinispanConnection;
+import org.teiid.infinispan.api.InfinispanPlugin;
 import org.teiid.infinispan.api.ProtobufMetadataProcessor;
 import org.teiid.infinispan.api.ProtobufResource;
 import org.teiid.language.Argument;
 import org.teiid.language.Command;
 import org.teiid.language.QueryExpression;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
 import org.teiid.metadata.Column;
 import org.teiid.metadata.MetadataFactory;
 import org.teiid.metadata.RuntimeMetadata;
@@ -49,10 +63,33 @@ import org.teiid.translator.UpdateExecution;
 @Translator(name = "infinispan-hotrod", description = "The Infinispan Translator Using Protobuf & Hotrod")
 public class InfinispanExecutionFactory extends ExecutionFactory<ConnectionFactory, InfinispanConnection>{
     public static final int MAX_SET_SIZE = 1024;
+    public static final String EVENT_DISTRIBUTOR_FACTORY_JNDI = "teiid/event-distributor-factory"; //$NON-NLS-1$
 
     private boolean supportsCompareCriteriaOrdered = true;
     private boolean supportsUpsert = true;
     private boolean supportsBulkUpdates = false;
+    private EventDistributorFactory eventDistributorFactory;
+    private Map<List<String>, MatViewContinuousQuery> continuousQueries = new ConcurrentHashMap<List<String>, MatViewContinuousQuery>();
+    private EventDistributor undeployDistributor;
+    private EventListener undeployListener = new EventListener() {
+
+        @Override
+        public void vdbUndeployed(String vdbName, String vdbVersion) {
+            clearContinuousQueries(vdbName, vdbVersion);
+        }
+
+        @Override
+        public void vdbLoaded(VDB vdb) {
+        }
+
+        @Override
+        public void vdbLoadFailed(VDB vdb) {
+        }
+
+        @Override
+        public void vdbDeployed(String vdbName, String vdbVersion) {
+        }
+    };
 
     public InfinispanExecutionFactory() {
         setMaxInCriteriaSize(MAX_SET_SIZE);
@@ -168,6 +205,133 @@ public class InfinispanExecutionFactory extends ExecutionFactory<ConnectionFacto
         if (resource != null) {
             conn.registerProtobufFile(resource);
         }
+
+        // maintain the materialized views from the time the metadata is loaded, rather than from the first query
+        for (Table table : schema.getTables().values()) {
+            String matView = ProtobufMetadataProcessor.getMatView(table);
+            if (matView == null) {
+                continue;
+            }
+            try {
+                registerContinuousQuery(table, InfinispanQueryExecution.getCache(table, conn), null,
+                        metadataFactory.getVdbName(), metadataFactory.getVdbVersion());
+            } catch (TranslatorException e) {
+                LogManager.logWarning(LogConstants.CTX_CONNECTOR, e, InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25026, matView, table.getFullName()));
+            }
+        }
+    }
+
+    /**
+     * Register, once per vdb and view, the continuous query that maintains the materialized
+     * view named by the {@link ProtobufMetadataProcessor#MATVIEW} option of the table.
+     * The registration is replaced if the cache has been recreated.
+     * <br>
+     * This is called when the metadata is loaded and again on each query, so that the
+     * registration is restored if the metadata was not loaded from the source.
+     */
+    void registerContinuousQuery(Table table, RemoteCache<Object, Object> cache,
+            RuntimeMetadata metadata, String vdbName, String vdbVersion) throws TranslatorException {
+        String matView = ProtobufMetadataProcessor.getMatView(table);
+        if (matView == null) {
+            return;
+        }
+        List<String> key = Arrays.asList(vdbName, vdbVersion, matView);
+        MatViewContinuousQuery existing = this.continuousQueries.get(key);
+        if (existing != null && existing.getCache() == cache) {
+            return;
+        }
+        synchronized (this.continuousQueries) {
+            existing = this.continuousQueries.get(key);
+            if (existing != null) {
+                if (existing.getCache() == cache) {
+                    return;
+                }
+                existing.unregister();
+            }
+            EventDistributor eventDistributor = getEventDistributor();
+            if (eventDistributor == null) {
+                LogManager.logWarning(LogConstants.CTX_CONNECTOR, InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25025, matView, table.getFullName()));
+                return;
+            }
+            MatViewContinuousQuery cq = new MatViewContinuousQuery(vdbName, vdbVersion, matView, table,
+                    metadata, eventDistributor);
+            cq.register(cache);
+            addContinuousQuery(key, cq, eventDistributor);
+        }
+    }
+
+    void addContinuousQuery(List<String> key, MatViewContinuousQuery cq, EventDistributor eventDistributor) {
+        synchronized (this.continuousQueries) {
+            if (this.undeployDistributor == null) {
+                //the queries of a vdb are removed when it is undeployed
+                eventDistributor.register(this.undeployListener);
+                this.undeployDistributor = eventDistributor;
+            }
+            this.continuousQueries.put(key, cq);
+        }
+    }
+
+    /**
+     * Remove all of the registered continuous queries.
+     */
+    public void clearContinuousQueries() {
+        synchronized (this.continuousQueries) {
+            for (MatViewContinuousQuery cq : this.continuousQueries.values()) {
+                cq.unregister();
+            }
+            this.continuousQueries.clear();
+            if (this.undeployDistributor != null) {
+                this.undeployDistributor.unregister(this.undeployListener);
+                this.undeployDistributor = null;
+            }
+        }
+    }
+
+    /**
+     * Remove the registered continuous queries for the given vdb.
+     */
+    void clearContinuousQueries(String vdbName, String vdbVersion) {
+        synchronized (this.continuousQueries) {
+            for (Iterator<Map.Entry<List<String>, MatViewContinuousQuery>> iter = this.continuousQueries.entrySet().iterator(); iter.hasNext();) {
+                Map.Entry<List<String>, MatViewContinuousQuery> entry = iter.next();
+                if (entry.getKey().get(0).equals(vdbName) && entry.getKey().get(1).equals(vdbVersion)) {
+                    entry.getValue().unregister();
+                    iter.remove();
+                }
+            }
+        }
+    }
+
+    Map<List<String>, MatViewContinuousQuery> getContinuousQueries() {
+        return continuousQueries;
+    }
+
+    @Override
+    public void stop() {
+        clearContinuousQueries();
+        super.stop();
+    }
+
+    /**
+     * Set the {@link EventDistributorFactory} used to maintain materialized views.
+     * When not set it is looked up from {@value #EVENT_DISTRIBUTOR_FACTORY_JNDI}.
+     */
+    public void setEventDistributorFactory(EventDistributorFactory eventDistributorFactory) {
+        this.eventDistributorFactory = eventDistributorFactory;
+    }
+
+    EventDistributor getEventDistributor() {
+        EventDistributorFactory edf = this.eventDistributorFactory;
+        if (edf == null) {
+            try {
+                edf = (EventDistributorFactory)new InitialContext().lookup(EVENT_DISTRIBUTOR_FACTORY_JNDI);
+                this.eventDistributorFactory = edf;
+            } catch (NamingException e) {
+                LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Could not find the event distributor factory"); //$NON-NLS-1$
+                return null;
+            }
+        }
+        return edf.getEventDistributor();
     }
 
     @Override
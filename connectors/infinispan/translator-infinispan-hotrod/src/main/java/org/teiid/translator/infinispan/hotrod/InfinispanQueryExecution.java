@@ -46,9 +46,11 @@ public class InfinispanQueryExecution implements ResultSetExecution {
     private RuntimeMetadata metadata;
     private ExecutionContext executionContext;
     private InfinispanResponse results;
+    private InfinispanExecutionFactory translator;
 
     public InfinispanQueryExecution(InfinispanExecutionFactory translator, QueryExpression command,
             ExecutionContext executionContext, RuntimeMetadata metadata, InfinispanConnection connection) {
+        this.translator = translator;
         this.command = (Select)command;
         this.connection = connection;
         this.metadata = metadata;
@@ -81,6 +83,8 @@ public class InfinispanQueryExecution implements ResultSetExecution {
 
         // if the message in defined in different cache than the default, switch it out now.
         RemoteCache<Object, Object> cache =  getCache(table, connection);
+        this.translator.registerContinuousQuery(table, cache, this.metadata,
+                this.executionContext.getVdbName(), this.executionContext.getVdbVersion());
         results = new InfinispanResponse(cache, queryStr, this.executionContext.getBatchSize(),
                 visitor.getRowLimit(), visitor.getRowOffset(), visitor.getProjectedDocumentAttributes(),
                 visitor.getDocumentNode(), docFilter);
@@ -0,0 +1,167 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.infinispan.hotrod;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.Search;
+import org.infinispan.query.api.continuous.ContinuousQueryListener;
+import org.teiid.events.EventDistributor;
+import org.teiid.infinispan.api.InfinispanPlugin;
+import org.teiid.infinispan.api.ProtobufDataManager;
+import org.teiid.infinispan.api.ProtobufMetadataProcessor;
+import org.teiid.language.ColumnReference;
+import org.teiid.language.DerivedColumn;
+import org.teiid.language.NamedTable;
+import org.teiid.language.Select;
+import org.teiid.language.TableReference;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.RuntimeMetadata;
+import org.teiid.metadata.Table;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * Keeps an internal materialized view up to date with row level events from an
+ * Infinispan continuous query over the whole of a table.
+ * <br>
+ * The rows are projected with the primary key first followed by the other columns
+ * of the table in order, so the view is expected to have the same columns in that
+ * order.  Joining and updated entries are upserted and leaving entries are removed
+ * by key through {@link EventDistributor#updateMatViewRow(String, String, String, String, List, boolean)}.
+ * <br>
+ * Registering the listener also replays the current contents of the cache, which
+ * are upserts against an already loaded view.  Events that arrive while the view
+ * is being loaded may be missed until the next load.
+ */
+class MatViewContinuousQuery implements ContinuousQueryListener<Object, Object[]> {
+
+    private String vdbName;
+    private String vdbVersion;
+    private String schemaName;
+    private String viewName;
+    private String query;
+    private List<Class<?>> types;
+    private EventDistributor eventDistributor;
+    private RemoteCache<Object, Object> cache;
+
+    /**
+     * @param metadata may be null as tables with a merge are not supported
+     */
+    MatViewContinuousQuery(String vdbName, String vdbVersion, String matView, Table table,
+            RuntimeMetadata metadata, EventDistributor eventDistributor) throws TranslatorException {
+        int index = matView.lastIndexOf('.');
+        if (index <= 0 || index == matView.length() - 1) {
+            throw new TranslatorException(InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25021, matView, table.getFullName()));
+        }
+        if (table.getPrimaryKey() == null || table.getPrimaryKey().getColumns().size() != 1
+                || ProtobufMetadataProcessor.getMerge(table) != null) {
+            throw new TranslatorException(InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25022, table.getFullName()));
+        }
+        this.vdbName = vdbName;
+        this.vdbVersion = vdbVersion;
+        this.schemaName = matView.substring(0, index);
+        this.viewName = matView.substring(index + 1);
+        this.eventDistributor = eventDistributor;
+
+        NamedTable namedTable = new NamedTable(table.getName(), null, table);
+        Column pk = table.getPrimaryKey().getColumns().get(0);
+        List<DerivedColumn> columns = new ArrayList<DerivedColumn>();
+        columns.add(new DerivedColumn(null, new ColumnReference(namedTable, pk.getName(), pk, pk.getJavaType())));
+        for (Column column : table.getColumns()) {
+            if (column == pk || !column.isSelectable()
+                    || ProtobufMetadataProcessor.getParentTag(column) != -1
+                    || ProtobufMetadataProcessor.isPseudo(column)) {
+                continue;
+            }
+            columns.add(new DerivedColumn(null, new ColumnReference(namedTable, column.getName(), column, column.getJavaType())));
+        }
+        Select select = new Select(columns, false, Arrays.asList((TableReference)namedTable), null, null, null, null);
+
+        IckleConversionVisitor visitor = new IckleConversionVisitor(metadata, false);
+        visitor.append(select);
+        if (!visitor.exceptions.isEmpty()) {
+            throw visitor.exceptions.get(0);
+        }
+        this.query = visitor.getQuery();
+        Map<String, Class<?>> projected = visitor.getProjectedDocumentAttributes();
+        this.types = new ArrayList<Class<?>>(projected.values());
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    RemoteCache<Object, Object> getCache() {
+        return cache;
+    }
+
+    void register(RemoteCache<Object, Object> remoteCache) {
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Registering continuous query", this.query, //$NON-NLS-1$
+                "to maintain", this.schemaName, this.viewName); //$NON-NLS-1$
+        Search.getContinuousQuery(remoteCache).addContinuousQueryListener(this.query, this);
+        this.cache = remoteCache;
+    }
+
+    void unregister() {
+        RemoteCache<Object, Object> remoteCache = this.cache;
+        this.cache = null;
+        if (remoteCache != null) {
+            Search.getContinuousQuery(remoteCache).removeContinuousQueryListener(this);
+        }
+    }
+
+    @Override
+    public void resultJoining(Object key, Object[] value) {
+        update(value);
+    }
+
+    @Override
+    public void resultUpdated(Object key, Object[] value) {
+        update(value);
+    }
+
+    @Override
+    public void resultLeaving(Object key) {
+        try {
+            List<Object> tuple = new ArrayList<Object>(1);
+            tuple.add(ProtobufDataManager.convertToRuntime(this.types.get(0), key));
+            this.eventDistributor.updateMatViewRow(this.vdbName, this.vdbVersion, this.schemaName, this.viewName, tuple, true);
+        } catch (IOException e) {
+            LogManager.logWarning(LogConstants.CTX_CONNECTOR, e, InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25023, key, this.schemaName + "." + this.viewName)); //$NON-NLS-1$
+        }
+    }
+
+    private void update(Object[] value) {
+        try {
+            List<Object> tuple = new ArrayList<Object>(this.types.size());
+            for (int i = 0; i < this.types.size(); i++) {
+                tuple.add(ProtobufDataManager.convertToRuntime(this.types.get(i), value[i]));
+            }
+            this.eventDistributor.updateMatViewRow(this.vdbName, this.vdbVersion, this.schemaName, this.viewName, tuple, false);
+        } catch (IOException e) {
+            LogManager.logWarning(LogConstants.CTX_CONNECTOR, e, InfinispanPlugin.Util.gs(InfinispanPlugin.Event.TEIID25024, this.schemaName + "." + this.viewName)); //$NON-NLS-1$
+        }
+    }
+}
@@ -19,13 +19,20 @@ package org.teiid.translator.infinispan.hotrod;
 
 import static org.junit.Assert.*;
 
+import java.util.Arrays;
+
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.teiid.cdk.api.TranslationUtility;
 import org.teiid.dqp.internal.datamgr.RuntimeMetadataImpl;
+import org.teiid.events.EventDistributor;
+import org.teiid.events.EventListener;
 import org.teiid.language.Command;
 import org.teiid.language.Select;
 import org.teiid.language.Update;
 import org.teiid.metadata.MetadataFactory;
+import org.teiid.metadata.Table;
 import org.teiid.query.metadata.DDLStringVisitor;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.translator.TranslatorException;
@@ -190,4 +197,66 @@ public class TestIckleConversionVisitor {
                 "FROM pm1.G2 g2 WHERE g2.e2 = 'foo' AND g2.g4.e2 = 'bar'");
 
     }
+
+    @Test
+    public void testMatViewContinuousQuery() throws Exception {
+        MetadataFactory mf = TestProtobufMetadataProcessor.protoMatadata("tables.proto");
+        InfinispanExecutionFactory ef = new InfinispanExecutionFactory();
+        TransformationMetadata metadata = TestProtobufMetadataProcessor.getTransformationMetadata(mf, ef);
+        Table table = metadata.getMetadataStore().getSchema("model").getTable("G1");
+        EventDistributor ed = Mockito.mock(EventDistributor.class);
+
+        MatViewContinuousQuery cq = new MatViewContinuousQuery("vdb", "1", "views.G1Mat", table,
+                new RuntimeMetadataImpl(metadata), ed);
+        assertEquals("SELECT g1_0.e1, g1_0.e2, g1_0.e3, g1_0.e4, g1_0.e5 FROM pm1.G1 g1_0", cq.getQuery());
+
+        cq.resultJoining(1, new Object[] {1, "a", 1.5f, null, null});
+        Mockito.verify(ed).updateMatViewRow("vdb", "1", "views", "G1Mat",
+                Arrays.asList(1, "a", 1.5f, null, null), false);
+        cq.resultLeaving(1);
+        Mockito.verify(ed).updateMatViewRow("vdb", "1", "views", "G1Mat", Arrays.asList(1), true);
+    }
+
+    @Test
+    public void testMatViewContinuousQueryWithoutRuntimeMetadata() throws Exception {
+        MetadataFactory mf = TestProtobufMetadataProcessor.protoMatadata("tables.proto");
+        Table table = mf.getSchema().getTable("G1");
+
+        //as registered when the metadata is loaded
+        MatViewContinuousQuery cq = new MatViewContinuousQuery("vdb", "1", "views.G1Mat", table,
+                null, Mockito.mock(EventDistributor.class));
+        assertEquals("SELECT g1_0.e1, g1_0.e2, g1_0.e3, g1_0.e4, g1_0.e5 FROM pm1.G1 g1_0", cq.getQuery());
+    }
+
+    @Test(expected=TranslatorException.class)
+    public void testMatViewContinuousQueryNested() throws Exception {
+        MetadataFactory mf = TestProtobufMetadataProcessor.protoMatadata("tables.proto");
+        InfinispanExecutionFactory ef = new InfinispanExecutionFactory();
+        TransformationMetadata metadata = TestProtobufMetadataProcessor.getTransformationMetadata(mf, ef);
+        Table table = metadata.getMetadataStore().getSchema("model").getTable("G4");
+        new MatViewContinuousQuery("vdb", "1", "views.G4Mat", table, new RuntimeMetadataImpl(metadata),
+                Mockito.mock(EventDistributor.class));
+    }
+
+    @Test
+    public void testContinuousQueriesRemoved() throws Exception {
+        InfinispanExecutionFactory ef = new InfinispanExecutionFactory();
+        EventDistributor ed = Mockito.mock(EventDistributor.class);
+        MatViewContinuousQuery cq1 = Mockito.mock(MatViewContinuousQuery.class);
+        MatViewContinuousQuery cq2 = Mockito.mock(MatViewContinuousQuery.class);
+        ef.addContinuousQuery(Arrays.asList("vdb", "1", "views.G1Mat"), cq1, ed);
+        ef.addContinuousQuery(Arrays.asList("other", "1", "views.G1Mat"), cq2, ed);
+        ArgumentCaptor<EventListener> listener = ArgumentCaptor.forClass(EventListener.class);
+        Mockito.verify(ed).register(listener.capture());
+
+        listener.getValue().vdbUndeployed("vdb", "1");
+        Mockito.verify(cq1).unregister();
+        Mockito.verify(cq2, Mockito.never()).unregister();
+        assertEquals(1, ef.getContinuousQueries().size());
+
+        ef.stop();
+        Mockito.verify(cq2).unregister();
+        assertTrue(ef.getContinuousQueries().isEmpty());
+        Mockito.verify(ed).unregister(listener.getValue());
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.teiid.language.Insert;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * A pluggable strategy for loading the rows of a bulk {@link Insert}
+ * in place of JDBC batching.
+ *
+ * @see JDBCExecutionFactory#getBulkInsertStrategy(Insert, org.teiid.translator.ExecutionContext)
+ */
+public interface BulkInsertStrategy {
+
+    /**
+     * Insert all of the values.
+     * @param execution the update execution
+     * @param translatedCommand the translated prepared insert for a single row
+     * @param values the rows to insert
+     * @return the update counts or null if JDBC batching should be used instead.
+     * null must only be returned prior to consuming any values.
+     */
+    int[] insert(JDBCUpdateExecution execution, TranslatedCommand translatedCommand,
+            Iterator<? extends List<?>> values) throws SQLException, TranslatorException;
+
+}
@@ -86,6 +86,17 @@ public abstract class JDBCBaseExecution implements Execution  {
      */
     protected void bind(PreparedStatement stmt, List<?> params, List<?> batchValues)
             throws SQLException {
+        bindValues(stmt, params, batchValues, 0);
+        if (batchValues != null) {
+            stmt.addBatch();
+        }
+    }
+
+    /**
+     * Bind the values without adding a batch, starting after the given parameter offset
+     */
+    protected void bindValues(PreparedStatement stmt, List<?> params, List<?> batchValues, int offset)
+            throws SQLException {
         for (int i = 0; i< params.size(); i++) {
             Object paramValue = params.get(i);
             Object value = null;
@@ -106,10 +117,7 @@ public abstract class JDBCBaseExecution implements Execution  {
                 value = batchValues.get(param.getValueIndex());
                 paramType = param.getType();
             }
-            this.executionFactory.bindValue(stmt, value, paramType, i+1);
-        }
-        if (batchValues != null) {
-            stmt.addBatch();
+            this.executionFactory.bindValue(stmt, value, paramType, offset+i+1);
         }
     }
 
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 
@@ -47,6 +48,7 @@ import org.teiid.core.types.GeographyType;
 import org.teiid.core.types.GeometryType;
 import org.teiid.core.types.JDBCSQLTypeInfo;
 import org.teiid.core.types.JsonType;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.MixinProxy;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.ReflectionHelper;
@@ -79,6 +81,12 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
         ARRAY
     }
 
+    public enum BulkInsertMode {
+        BATCH,
+        VALUES,
+        NATIVE
+    }
+
     private final ThreadLocal<MessageFormat> comment = new ThreadLocal<MessageFormat>() {
         @Override
         protected MessageFormat initialValue() {
@@ -123,6 +131,11 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
 
     private AtomicBoolean initialConnection = new AtomicBoolean(true);
     private Boolean defaultTimeZone;
+    private int partitionedReadSplits;
+    private BulkInsertMode bulkInsertMode = BulkInsertMode.BATCH;
+    private int maxPreparedParameterCount = 2000;
+    private int partitionedReadMaxThreads = 16;
+    private volatile ExecutorService partitionedReadExecutor;
 
     public JDBCExecutionFactory() {
         setSupportsFullOuterJoins(true);
@@ -286,6 +299,19 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
         }
     }
 
+    @Override
+    public Execution createExecution(Command command,
+            ExecutionContext executionContext, RuntimeMetadata metadata,
+            Connection connection, DataSource connectionFactory)
+            throws TranslatorException {
+        Execution result = createExecution(command, executionContext, metadata, connection);
+        if (result instanceof JDBCQueryExecution) {
+            //partitioned reads obtain additional connections from the same source
+            ((JDBCQueryExecution)result).setDataSource(connectionFactory);
+        }
+        return result;
+    }
+
     @Override
     public void closeConnection(Connection connection, DataSource factory) {
         if (connection == null) {
@@ -1658,6 +1684,92 @@ public class JDBCExecutionFactory extends ExecutionFactory<DataSource, Connectio
         this.enableDependentJoins = enableDependentJoins;
     }
 
+    @TranslatorProperty(display="Bulk Insert Mode", description="How the rows of bulk inserts are loaded (BATCH, VALUES, NATIVE). BATCH uses JDBC batching, VALUES uses multi-row VALUES inserts if the source supports them, and NATIVE uses the native bulk loading of the source if the translator supports it, otherwise VALUES. Sources without multi-row VALUES support use BATCH. Default BATCH.", advanced=true)
+    public BulkInsertMode getBulkInsertMode() {
+        return bulkInsertMode;
+    }
+
+    public void setBulkInsertMode(BulkInsertMode bulkInsertMode) {
+        this.bulkInsertMode = bulkInsertMode;
+    }
+
+    /**
+     * Get the strategy to load the rows of a bulk insert.
+     * <br>
+     * The default implementation returns a {@link MultiRowValuesInsertStrategy} for the
+     * VALUES and NATIVE {@link BulkInsertMode}s if {@link #supportsMultiRowInsert()}.
+     * Translators with a native bulk loading facility should override to return their own strategy for NATIVE.
+     * @param insert
+     * @param context
+     * @return the strategy or null if JDBC batching should be used
+     */
+    public BulkInsertStrategy getBulkInsertStrategy(Insert insert, ExecutionContext context) {
+        if (this.bulkInsertMode == BulkInsertMode.BATCH || insert.isUpsert() || !supportsMultiRowInsert()) {
+            return null;
+        }
+        return new MultiRowValuesInsertStrategy(insert, getMaxPreparedParameterCount(), getMaxPreparedInsertBatchSize());
+    }
+
+    /**
+     * If the source accepts multiple rows in the VALUES clause of an insert, e.g.
+     * INSERT INTO t (a, b) VALUES (?, ?), (?, ?)
+     * @return
+     */
+    public boolean supportsMultiRowInsert() {
+        return false;
+    }
+
+    /**
+     * Get the maximum number of bind values used in a single multi-row insert.
+     * @return
+     */
+    @TranslatorProperty(display="Max Prepared Parameters", description="The maximum number of bind values used in a single multi-row VALUES insert.  Default 2000, but may vary by translator.", advanced=true)
+    public int getMaxPreparedParameterCount() {
+        return maxPreparedParameterCount;
+    }
+
+    public void setMaxPreparedParameterCount(int maxPreparedParameterCount) {
+        this.maxPreparedParameterCount = maxPreparedParameterCount;
+    }
+
+    @TranslatorProperty(display="Partitioned Read Splits", description="The number of key ranges a single table scan outside of a transaction will be split into and read concurrently using separate connections. The table must have a single integral primary key column.  Values less than 2 disable partitioned reads.  Default 0.", advanced=true)
+    public int getPartitionedReadSplits() {
+        return partitionedReadSplits;
+    }
+
+    public void setPartitionedReadSplits(int partitionedReadSplits) {
+        this.partitionedReadSplits = partitionedReadSplits;
+    }
+
+    @TranslatorProperty(display="Partitioned Read Max Threads", description="The maximum number of threads shared by all partitioned reads.  Default 16.", advanced=true)
+    public int getPartitionedReadMaxThreads() {
+        return partitionedReadMaxThreads;
+    }
+
+    public void setPartitionedReadMaxThreads(int partitionedReadMaxThreads) {
+        this.partitionedReadMaxThreads = partitionedReadMaxThreads;
+    }
+
+    ExecutorService getPartitionedReadExecutor() {
+        if (this.partitionedReadExecutor == null) {
+            synchronized (this) {
+                if (this.partitionedReadExecutor == null) {
+                    this.partitionedReadExecutor = ExecutorUtils.newFixedThreadPool(Math.max(1, this.partitionedReadMaxThreads), "JDBC Partitioned Read"); //$NON-NLS-1$
+                }
+            }
+        }
+        return this.partitionedReadExecutor;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.partitionedReadExecutor != null) {
+            this.partitionedReadExecutor.shutdownNow();
+            this.partitionedReadExecutor = null;
+        }
+        super.stop();
+    }
+
     /**
      * @return true if the rollup syntax is WITH ROLLUP
      */
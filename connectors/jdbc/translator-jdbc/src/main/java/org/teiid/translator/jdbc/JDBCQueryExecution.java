@@ -27,18 +27,27 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import javax.sql.DataSource;
+
+import org.teiid.core.types.DataTypeManager;
 import org.teiid.language.*;
 import org.teiid.language.Comparison.Operator;
+import org.teiid.language.visitor.CollectorVisitor;
 import org.teiid.language.visitor.HierarchyVisitor;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.Column;
+import org.teiid.metadata.KeyRecord;
+import org.teiid.metadata.Table;
 import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.ParallelResults;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
 
@@ -79,11 +88,21 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
     protected ResultSet results;
     protected Class<?>[] columnDataTypes;
     protected List<NamedTable> tempTables;
+    private DataSource dataSource;
+    private volatile ParallelResults<List<?>> partitionedResults;
 
     public JDBCQueryExecution(Command command, Connection connection, ExecutionContext context, JDBCExecutionFactory env) {
         super(command, connection, context, env);
     }
 
+    /**
+     * Set the {@link DataSource} the connection was obtained from, which is required
+     * for partitioned reads.
+     */
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
     @Override
     public void execute() throws TranslatorException {
         // get column types
@@ -106,6 +125,11 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
                 usingTxn = createFullTempTables(qe, usingTxn);
             }
 
+            if (!usingTxn && command instanceof Select && startPartitionedRead((Select)command)) {
+                success = true;
+                return;
+            }
+
             // translate command
             translatedComm = translateCommand(command);
 
@@ -143,6 +167,151 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
         }
     }
 
+    /**
+     * Split a simple scan into key ranges that are read concurrently.
+     * Inside of a transaction the single connection must be used, so the
+     * normal execution is performed instead.
+     * @return true if a partitioned read was started
+     */
+    protected boolean startPartitionedRead(Select select) throws SQLException, TranslatorException {
+        int splits = this.executionFactory.getPartitionedReadSplits();
+        if (splits < 2 || context.isTransactional() || !connection.getAutoCommit()) {
+            return false;
+        }
+        if (this.dataSource == null) {
+            return false;
+        }
+        ColumnReference key = getPartitionKey(select);
+        if (key == null) {
+            return false;
+        }
+        long[] bounds = getKeyBounds(select, key);
+        if (bounds == null) {
+            return false;
+        }
+        long step = bounds[1]/splits - bounds[0]/splits;
+        if (step <= 0) {
+            return false;
+        }
+        List<Partition> partitions = new ArrayList<Partition>(splits);
+        Condition where = select.getWhere();
+        try {
+            for (int i = 0; i < splits; i++) {
+                List<Condition> conditions = new ArrayList<Condition>(3);
+                if (where != null) {
+                    conditions.add(where);
+                }
+                if (i > 0) {
+                    conditions.add(new Comparison(key, createKeyLiteral(bounds[0] + step * i, key.getType()), Operator.GE));
+                }
+                if (i < splits - 1) {
+                    conditions.add(new Comparison(key, createKeyLiteral(bounds[0] + step * (i + 1), key.getType()), Operator.LT));
+                }
+                select.setWhere(LanguageUtil.combineCriteria(conditions));
+                partitions.add(new Partition(this, this.dataSource, translateCommand(select)));
+            }
+        } finally {
+            select.setWhere(where);
+        }
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, context.getRequestId(), "reading", splits, "partitions concurrently"); //$NON-NLS-1$ //$NON-NLS-2$
+        partitionedResults = new ParallelResults<List<?>>(context, partitions);
+        partitionedResults.start(this.executionFactory.getPartitionedReadExecutor());
+        return true;
+    }
+
+    /**
+     * @return the single integral primary key column of a simple table scan or null
+     * if the select cannot be partitioned
+     */
+    private ColumnReference getPartitionKey(Select select) {
+        if (select.getFrom() == null || select.getFrom().size() != 1
+                || !(select.getFrom().get(0) instanceof NamedTable)
+                || select.isDistinct() || select.getGroupBy() != null
+                || select.getHaving() != null || select.getOrderBy() != null
+                || select.getLimit() != null || select.getWith() != null
+                || select.getDependentValues() != null
+                || !CollectorVisitor.collectObjects(AggregateFunction.class, select).isEmpty()
+                || !CollectorVisitor.collectObjects(WindowFunction.class, select).isEmpty()
+                || !CollectorVisitor.collectObjects(SubqueryContainer.class, select).isEmpty()) {
+            return null;
+        }
+        NamedTable group = (NamedTable)select.getFrom().get(0);
+        Table table = group.getMetadataObject();
+        if (table == null) {
+            return null;
+        }
+        KeyRecord pk = table.getPrimaryKey();
+        if (pk == null || pk.getColumns().size() != 1) {
+            return null;
+        }
+        Column column = pk.getColumns().get(0);
+        Class<?> type = column.getJavaType();
+        if (type != DataTypeManager.DefaultDataClasses.INTEGER
+                && type != DataTypeManager.DefaultDataClasses.LONG
+                && type != DataTypeManager.DefaultDataClasses.SHORT
+                && type != DataTypeManager.DefaultDataClasses.BYTE) {
+            return null;
+        }
+        return new ColumnReference(group, column.getName(), column, type);
+    }
+
+    /**
+     * Get the key bounds from the column statistics, or if they are not
+     * available, from the source.
+     */
+    private long[] getKeyBounds(Select select, ColumnReference key) throws SQLException, TranslatorException {
+        Column column = key.getMetadataObject();
+        if (column.getMinimumValue() != null && column.getMaximumValue() != null) {
+            try {
+                return new long[] {Long.parseLong(column.getMinimumValue()), Long.parseLong(column.getMaximumValue())};
+            } catch (NumberFormatException e) {
+                //query for the values instead
+            }
+        }
+        Select bounds = new Select(Arrays.asList(
+                new DerivedColumn(null, new AggregateFunction(AggregateFunction.MIN, false, Arrays.asList(key), key.getType())),
+                new DerivedColumn(null, new AggregateFunction(AggregateFunction.MAX, false, Arrays.asList(key), key.getType()))),
+                false, select.getFrom(), select.getWhere(), null, null, null);
+        TranslatedCommand translated = translateCommand(bounds);
+        ResultSet rs = null;
+        try {
+            if (!translated.isPrepared()) {
+                rs = getStatement().executeQuery(translated.getSql());
+            } else {
+                PreparedStatement pstatement = getPreparedStatement(translated.getSql());
+                bind(pstatement, translated.getPreparedValues(), null);
+                rs = pstatement.executeQuery();
+            }
+            if (!rs.next()) {
+                return null;
+            }
+            Object min = this.executionFactory.retrieveValue(rs, 1, key.getType());
+            Object max = this.executionFactory.retrieveValue(rs, 2, key.getType());
+            if (min == null || max == null) {
+                return null;
+            }
+            return new long[] {((Number)min).longValue(), ((Number)max).longValue()};
+        } finally {
+            if (rs != null) {
+                rs.close();
+            }
+            statement.close();
+            statement = null;
+        }
+    }
+
+    private static Literal createKeyLiteral(long value, Class<?> type) {
+        Object val = value;
+        if (type == DataTypeManager.DefaultDataClasses.INTEGER) {
+            val = (int)value;
+        } else if (type == DataTypeManager.DefaultDataClasses.SHORT) {
+            val = (short)value;
+        } else if (type == DataTypeManager.DefaultDataClasses.BYTE) {
+            val = (byte)value;
+        }
+        return new Literal(val, type);
+    }
+
     /**
      *
      * @param qe
@@ -330,6 +499,9 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
+        if (partitionedResults != null) {
+            return partitionedResults.next();
+        }
         try {
             if (results.next()) {
                 // New row for result set
@@ -358,6 +530,10 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
         // first we would need to close the result set here then we can close
         // the statement, using the base class.
         try {
+            if (partitionedResults != null) {
+                partitionedResults.close();
+                partitionedResults = null;
+            }
             if (results != null) {
                 try {
                     results.close();
@@ -394,4 +570,13 @@ public class JDBCQueryExecution extends JDBCBaseExecution implements ResultSetEx
         }
     }
 
+    @Override
+    public void cancel() throws TranslatorException {
+        ParallelResults<List<?>> partitioned = this.partitionedResults;
+        if (partitioned != null) {
+            partitioned.cancel();
+        }
+        super.cancel();
+    }
+
 }
@@ -213,6 +213,9 @@ public class JDBCUpdateExecution extends JDBCBaseExecution implements UpdateExec
                 }
                 result = new int[] {updateCount};
                 addStatementWarnings();
+            } else if (keyColumnNames == null && command instanceof Insert && ((Insert)command).getParameterValues() != null
+                    && executeBulkInsert(translatedComm)) {
+                succeeded = true;
             } else {
                 PreparedStatement pstatement = null;
                 if (statement != null) {
@@ -330,6 +333,31 @@ public class JDBCUpdateExecution extends JDBCBaseExecution implements UpdateExec
         }
     }
 
+    /**
+     * Use the {@link BulkInsertStrategy} of the execution factory if there is one
+     * @return true if the insert was performed
+     */
+    private boolean executeBulkInsert(TranslatedCommand translatedComm) throws SQLException, TranslatorException {
+        BulkInsertStrategy strategy = this.executionFactory.getBulkInsertStrategy((Insert)command, context);
+        if (strategy == null) {
+            return false;
+        }
+        boolean commitType = getAutoCommit(translatedComm);
+        boolean succeeded = false;
+        try {
+            if (commitType) {
+                connection.setAutoCommit(false);
+            }
+            result = strategy.insert(this, translatedComm, ((Insert)command).getParameterValues());
+            succeeded = true;
+        } finally {
+            if (commitType) {
+                restoreAutoCommit(!succeeded, translatedComm);
+            }
+        }
+        return result != null;
+    }
+
     /**
      * @return
      * @throws TranslatorException
@@ -0,0 +1,123 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.teiid.language.ExpressionValueSource;
+import org.teiid.language.Insert;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * Inserts the rows of a bulk insert with prepared multi-row VALUES inserts, e.g.
+ * INSERT INTO t (a, b) VALUES (?, ?), (?, ?), ...
+ * <br>
+ * The statements are generated from the {@link Insert} with the row repeated.  The number of rows
+ * per statement is limited by the max rows and the maximum number of bind parameters.
+ * <br>
+ * One update count is returned per row, as with JDBC batching.
+ */
+public class MultiRowValuesInsertStrategy implements BulkInsertStrategy {
+
+    private Insert insert;
+    private int maxParameters;
+    private int maxRows;
+
+    /**
+     * @param insert the bulk insert
+     * @param maxParameters the maximum number of bind parameters allowed in a statement
+     * @param maxRows the maximum number of rows in a statement
+     */
+    public MultiRowValuesInsertStrategy(Insert insert, int maxParameters, int maxRows) {
+        this.insert = insert;
+        this.maxParameters = maxParameters;
+        this.maxRows = maxRows;
+    }
+
+    @Override
+    public int[] insert(JDBCUpdateExecution execution,
+            TranslatedCommand translatedCommand,
+            Iterator<? extends List<?>> values) throws SQLException, TranslatorException {
+        if (!(insert.getValueSource() instanceof ExpressionValueSource)) {
+            return null;
+        }
+        List<?> params = translatedCommand.getPreparedValues();
+        int rowsPerStatement = Math.max(1, Math.min(this.maxRows,
+                this.maxParameters / Math.max(1, params.size())));
+        List<Integer> counts = new ArrayList<Integer>();
+        List<List<?>> rows = new ArrayList<List<?>>(rowsPerStatement);
+        PreparedStatement full = null;
+        try {
+            while (values.hasNext()) {
+                rows.add(values.next());
+                if (rows.size() < rowsPerStatement && values.hasNext()) {
+                    continue;
+                }
+                PreparedStatement ps = null;
+                try {
+                    if (rows.size() == rowsPerStatement) {
+                        if (full == null) {
+                            full = prepare(execution, rowsPerStatement);
+                        }
+                        ps = full;
+                    } else {
+                        ps = prepare(execution, rows.size());
+                    }
+                    for (int i = 0; i < rows.size(); i++) {
+                        execution.bindValues(ps, params, rows.get(i), i * params.size());
+                    }
+                    int count = ps.executeUpdate();
+                    int rowCount = count == rows.size()?1:Statement.SUCCESS_NO_INFO;
+                    for (int i = 0; i < rows.size(); i++) {
+                        counts.add(rowCount);
+                    }
+                } finally {
+                    if (ps != null && ps != full) {
+                        ps.close();
+                    }
+                }
+                rows.clear();
+            }
+        } finally {
+            if (full != null) {
+                full.close();
+            }
+        }
+        int[] result = new int[counts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    private PreparedStatement prepare(JDBCUpdateExecution execution, int rows) throws SQLException {
+        SQLConversionVisitor visitor = execution.executionFactory.getSQLConversionVisitor();
+        visitor.setExecutionContext(execution.context);
+        visitor.setPrepared(true);
+        visitor.setValuesRowCount(rows);
+        visitor.append(insert);
+        return execution.getConnection().prepareStatement(visitor.toString());
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.translator.ParallelResults;
+
+/**
+ * Reads a single key range of a partitioned {@link JDBCQueryExecution}.
+ * <br>
+ * Each partition obtains its own connection from the {@link DataSource} of the
+ * execution on the worker thread, the connection of the execution is not shared.
+ */
+class Partition implements ParallelResults.Task<List<?>> {
+
+    private JDBCQueryExecution execution;
+    private DataSource dataSource;
+    private TranslatedCommand command;
+    private Connection connection;
+    private volatile Statement statement;
+
+    Partition(JDBCQueryExecution execution, DataSource dataSource, TranslatedCommand command) {
+        this.execution = execution;
+        this.dataSource = dataSource;
+        this.command = command;
+    }
+
+    @Override
+    public void run(ParallelResults.Output<List<?>> output) throws Exception {
+        JDBCExecutionFactory executionFactory = execution.executionFactory;
+        this.connection = executionFactory.getConnection(dataSource);
+        ResultSet rs = null;
+        try {
+            if (!command.isPrepared()) {
+                Statement s = connection.createStatement();
+                this.statement = s;
+                execution.setSizeContraints(s);
+                rs = s.executeQuery(command.getSql());
+            } else {
+                PreparedStatement ps = connection.prepareStatement(command.getSql());
+                this.statement = ps;
+                execution.setSizeContraints(ps);
+                execution.bind(ps, command.getPreparedValues(), null);
+                rs = ps.executeQuery();
+            }
+            Class<?>[] columnDataTypes = execution.columnDataTypes;
+            while (!output.isClosed() && rs.next()) {
+                List<Object> vals = new ArrayList<Object>(columnDataTypes.length);
+                for (int i = 0; i < columnDataTypes.length; i++) {
+                    vals.add(executionFactory.retrieveValue(rs, i+1, columnDataTypes[i]));
+                }
+                output.add(vals);
+            }
+        } catch (SQLException e) {
+            throw new JDBCExecutionException(JDBCPlugin.Event.TEIID11008, e, command);
+        } finally {
+            if (rs != null) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                }
+            }
+        }
+    }
+
+    @Override
+    public void cancel() {
+        Statement s = this.statement;
+        if (s != null) {
+            try {
+                s.cancel();
+            } catch (SQLException e) {
+                //not all drivers support cancel
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Statement s = this.statement;
+        this.statement = null;
+        if (s != null) {
+            try {
+                s.close();
+            } catch (SQLException e) {
+                LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Exception closing"); //$NON-NLS-1$
+            }
+        }
+        if (connection != null) {
+            execution.executionFactory.closeConnection(connection, dataSource);
+            connection = null;
+        }
+    }
+
+}
@@ -75,6 +75,7 @@ public class SQLConversionVisitor extends SQLStringVisitor implements SQLStringV
     private Map<LanguageObject, Object> translations = new IdentityHashMap<LanguageObject, Object>();
 
     private boolean replaceWithBinding = false;
+    private int valuesRowCount = 1;
 
     public SQLConversionVisitor(JDBCExecutionFactory ef) {
         this.executionFactory = ef;
@@ -298,7 +299,28 @@ public class SQLConversionVisitor extends SQLStringVisitor implements SQLStringV
     @Override
     public void visit(ExpressionValueSource obj) {
         replaceWithBinding = true;
-        super.visit(obj);
+        if (this.valuesRowCount <= 1) {
+            super.visit(obj);
+            return;
+        }
+        buffer.append(VALUES).append(Tokens.SPACE);
+        for (int i = 0; i < this.valuesRowCount; i++) {
+            if (i > 0) {
+                buffer.append(Tokens.COMMA).append(Tokens.SPACE);
+            }
+            buffer.append(Tokens.LPAREN);
+            append(obj.getValues());
+            buffer.append(Tokens.RPAREN);
+        }
+    }
+
+    /**
+     * Set the number of times the row of an {@link ExpressionValueSource} is repeated,
+     * to produce a multi-row insert.
+     * @param valuesRowCount
+     */
+    public void setValuesRowCount(int valuesRowCount) {
+        this.valuesRowCount = valuesRowCount;
     }
 
     @Override
@@ -230,4 +230,9 @@ public class DerbyExecutionFactory extends BaseDB2ExecutionFactory {
         return super.translateLimit(limit, context);
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
 }
@@ -317,4 +317,9 @@ public class H2ExecutionFactory extends JDBCExecutionFactory {
     public boolean supportsFunctionsInGroupBy() {
         return true;
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
 }
@@ -236,4 +236,9 @@ public class HsqlExecutionFactory extends JDBCExecutionFactory {
     public boolean isSourceRequiredForCapabilities() {
         return true;
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
 }
@@ -64,6 +64,7 @@ public class MySQLExecutionFactory extends JDBCExecutionFactory {
 
     public MySQLExecutionFactory() {
         setSupportsFullOuterJoins(false);
+        setMaxPreparedParameterCount(65535);
     }
 
     /**
@@ -629,4 +630,9 @@ public class MySQLExecutionFactory extends JDBCExecutionFactory {
         gatherSelects(sq.getLeftQuery(), allQueries);
         gatherSelects(sq.getRightQuery(), allQueries);
     }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
 }
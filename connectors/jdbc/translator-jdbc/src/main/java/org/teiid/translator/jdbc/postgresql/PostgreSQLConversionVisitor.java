@@ -18,10 +18,13 @@
 
 package org.teiid.translator.jdbc.postgresql;
 
+import java.util.List;
+
 import org.teiid.language.Array;
 import org.teiid.language.ColumnReference;
 import org.teiid.language.DerivedColumn;
 import org.teiid.language.Expression;
+import org.teiid.language.In;
 import org.teiid.language.Literal;
 import org.teiid.language.SQLConstants;
 import org.teiid.language.With;
@@ -88,26 +91,11 @@ public class PostgreSQLConversionVisitor
 
     @Override
     public void visit(Array array) {
-        boolean allLiterals = true;
-        Class<?> baseType = array.getBaseType();
-        //the pg driver expects only values that are convertible to string
-        //we could introduce some conversions, but for now we'll just fail
-        //some cases- there's also potential issue with date time as this logic
-        //won't consider the database timezone setting
-        if (!baseType.isArray() &&
-                postgreSQLExecutionFactory.convertModifier.getSimpleTypeMapping(ConvertModifier.getCode(baseType)) != null) {
-            for (Expression ex : array.getExpressions()) {
-                if (!(ex instanceof Literal)) {
-                    allLiterals = false;
-                    break;
-                }
-            }
-            if (allLiterals) {
-                //TODO: this could be pushed to the language bridge factory
-                //to just push a literal array
-                addBinding(new Literal(array, array.getType()));
-                return;
-            }
+        if (isBindable(array.getBaseType(), array.getExpressions())) {
+            //TODO: this could be pushed to the language bridge factory
+            //to just push a literal array
+            addBinding(new Literal(array, array.getType()));
+            return;
         }
         //mixed or lob case
         //TODO: if this is used in the context specifically of an array, rather than
@@ -115,11 +103,41 @@ public class PostgreSQLConversionVisitor
         super.visit(array);
     }
 
-    /*
+    /**
+     * The pg driver expects only values that are convertible to string
+     * we could introduce some conversions, but for now we'll just fail
+     * some cases- there's also potential issue with date time as this logic
+     * won't consider the database timezone setting
+     */
+    private boolean isBindable(Class<?> baseType, List<Expression> expressions) {
+        if (baseType.isArray() ||
+                postgreSQLExecutionFactory.convertModifier.getSimpleTypeMapping(ConvertModifier.getCode(baseType)) == null) {
+            return false;
+        }
+        for (Expression ex : expressions) {
+            if (!(ex instanceof Literal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Bind the values as a single array when array in binding is enabled
+     */
     @Override
     public void visit(In obj) {
-        //TODO: array binding TEIID-3537
+        Class<?> type = obj.getLeftExpression().getType();
+        if (postgreSQLExecutionFactory.supportsArrayInBinding()
+                && obj.getRightExpressions().size() > 1
+                && isBindable(type, obj.getRightExpressions())) {
+            append(obj.getLeftExpression());
+            buffer.append(obj.isNegated()?" <> ALL(":" = ANY("); //$NON-NLS-1$ //$NON-NLS-2$
+            Array array = new Array(type, obj.getRightExpressions());
+            addBinding(new Literal(array, array.getType()));
+            buffer.append(SQLConstants.Tokens.RPAREN);
+            return;
+        }
         super.visit(obj);
     }
-    */
 }
\ No newline at end of file
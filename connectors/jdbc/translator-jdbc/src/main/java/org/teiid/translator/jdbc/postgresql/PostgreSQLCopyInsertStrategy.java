@@ -0,0 +1,242 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc.postgresql;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.teiid.language.ColumnReference;
+import org.teiid.language.Insert;
+import org.teiid.language.Literal;
+import org.teiid.language.Parameter;
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.translator.TranslatorException;
+import org.teiid.translator.TypeFacility;
+import org.teiid.translator.jdbc.BulkInsertStrategy;
+import org.teiid.translator.jdbc.JDBCUpdateExecution;
+import org.teiid.translator.jdbc.TranslatedCommand;
+
+/**
+ * Streams the rows of a bulk insert to PostgreSQL with COPY FROM STDIN in CSV format.
+ * <br>
+ * The driver CopyManager is accessed reflectively.  If the insert has values or types that
+ * cannot be represented in the CSV, or the driver is not available, the fallback strategy is used.
+ */
+class PostgreSQLCopyInsertStrategy implements BulkInsertStrategy {
+
+    private static final String INSERT_INTO = "INSERT INTO "; //$NON-NLS-1$
+    private static final String VALUES = " VALUES ("; //$NON-NLS-1$
+
+    private static final Set<Class<?>> COPY_TYPES = new HashSet<Class<?>>(Arrays.asList(
+            TypeFacility.RUNTIME_TYPES.STRING, TypeFacility.RUNTIME_TYPES.CHAR,
+            TypeFacility.RUNTIME_TYPES.BOOLEAN, TypeFacility.RUNTIME_TYPES.BYTE,
+            TypeFacility.RUNTIME_TYPES.SHORT, TypeFacility.RUNTIME_TYPES.INTEGER,
+            TypeFacility.RUNTIME_TYPES.LONG, TypeFacility.RUNTIME_TYPES.BIG_INTEGER,
+            TypeFacility.RUNTIME_TYPES.FLOAT, TypeFacility.RUNTIME_TYPES.DOUBLE,
+            TypeFacility.RUNTIME_TYPES.BIG_DECIMAL));
+
+    private static final Set<Class<?>> TEMPORAL_TYPES = new HashSet<Class<?>>(Arrays.asList(
+            TypeFacility.RUNTIME_TYPES.DATE, TypeFacility.RUNTIME_TYPES.TIME,
+            TypeFacility.RUNTIME_TYPES.TIMESTAMP));
+
+    /**
+     * Produces the CSV form of the rows as they are read
+     */
+    static class CopyReader extends Reader {
+        private List<?> params;
+        private Iterator<? extends List<?>> values;
+        private StringBuilder buffer = new StringBuilder();
+        private int position;
+        private int rows;
+
+        CopyReader(List<?> params, Iterator<? extends List<?>> values) {
+            this.params = params;
+            this.values = values;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            while (position == buffer.length()) {
+                if (!values.hasNext()) {
+                    return -1;
+                }
+                buffer.setLength(0);
+                position = 0;
+                appendRow(buffer, params, values.next());
+                rows++;
+            }
+            int count = Math.min(len, buffer.length() - position);
+            buffer.getChars(position, position + count, cbuf, off);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        int getRows() {
+            return rows;
+        }
+    }
+
+    private Insert insert;
+    private boolean allowTemporal;
+    private BulkInsertStrategy fallback;
+
+    PostgreSQLCopyInsertStrategy(Insert insert, boolean allowTemporal, BulkInsertStrategy fallback) {
+        this.insert = insert;
+        this.allowTemporal = allowTemporal;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int[] insert(JDBCUpdateExecution execution,
+            TranslatedCommand translatedCommand,
+            Iterator<? extends List<?>> values) throws SQLException, TranslatorException {
+        String sql = getCopySql(translatedCommand);
+        if (sql == null) {
+            return fallback.insert(execution, translatedCommand, values);
+        }
+        Object copyManager = getCopyManager(execution.getConnection());
+        if (copyManager == null) {
+            return fallback.insert(execution, translatedCommand, values);
+        }
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Source-specific command:", sql); //$NON-NLS-1$
+        try {
+            CopyReader reader = new CopyReader(translatedCommand.getPreparedValues(), values);
+            Object count = copyManager.getClass().getMethod("copyIn", String.class, Reader.class) //$NON-NLS-1$
+                    .invoke(copyManager, sql, reader);
+            //one count per row, as with JDBC batching
+            int[] result = new int[reader.getRows()];
+            Arrays.fill(result, ((Number)count).longValue() == result.length?1:Statement.SUCCESS_NO_INFO);
+            return result;
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException)e.getCause();
+            }
+            throw new TranslatorException(e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new TranslatorException(e);
+        }
+    }
+
+    /**
+     * @return the COPY statement or null if the insert cannot be performed with COPY
+     */
+    String getCopySql(TranslatedCommand translatedCommand) {
+        for (ColumnReference col : insert.getColumns()) {
+            if (!COPY_TYPES.contains(col.getType()) && !(allowTemporal && TEMPORAL_TYPES.contains(col.getType()))) {
+                return null;
+            }
+        }
+        List<?> params = translatedCommand.getPreparedValues();
+        if (params.size() != insert.getColumns().size()) {
+            return null;
+        }
+        StringBuilder row = new StringBuilder(VALUES);
+        for (int i = 0; i < params.size(); i++) {
+            if (!(params.get(i) instanceof Parameter) && !(params.get(i) instanceof Literal)) {
+                return null;
+            }
+            if (i > 0) {
+                row.append(", "); //$NON-NLS-1$
+            }
+            row.append('?');
+        }
+        row.append(')');
+        String sql = translatedCommand.getSql();
+        int start = sql.indexOf(INSERT_INTO);
+        if (start < 0 || !sql.endsWith(row.toString())) {
+            return null;
+        }
+        return "COPY " + sql.substring(start + INSERT_INTO.length(), sql.length() - row.length()) + " FROM STDIN WITH CSV"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    static Object getCopyManager(Connection connection) {
+        Class<?> pgConnection = null;
+        for (ClassLoader cl : new ClassLoader[] {connection.getClass().getClassLoader(),
+                Thread.currentThread().getContextClassLoader(), PostgreSQLCopyInsertStrategy.class.getClassLoader()}) {
+            try {
+                pgConnection = Class.forName("org.postgresql.PGConnection", false, cl); //$NON-NLS-1$
+                break;
+            } catch (ClassNotFoundException | LinkageError e) {
+                //try the next
+            }
+        }
+        try {
+            if (pgConnection != null && connection.isWrapperFor(pgConnection)) {
+                Object pg = connection.unwrap(pgConnection);
+                return pgConnection.getMethod("getCopyAPI").invoke(pg); //$NON-NLS-1$
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            LogManager.logDetail(LogConstants.CTX_CONNECTOR, e, "Could not obtain the COPY API, multi-row inserts will be used instead"); //$NON-NLS-1$
+            return null;
+        }
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, "The connection is not a PGConnection, multi-row inserts will be used instead"); //$NON-NLS-1$
+        return null;
+    }
+
+    static void appendRow(StringBuilder sb, List<?> params, List<?> row) {
+        for (int i = 0; i < params.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            Object param = params.get(i);
+            Object value = null;
+            if (param instanceof Literal) {
+                value = ((Literal)param).getValue();
+            } else {
+                value = row.get(((Parameter)param).getValueIndex());
+            }
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof String || value instanceof Character) {
+                String str = value.toString();
+                sb.append('"');
+                for (int j = 0; j < str.length(); j++) {
+                    char c = str.charAt(j);
+                    if (c == '"') {
+                        sb.append('"');
+                    }
+                    sb.append(c);
+                }
+                sb.append('"');
+            } else if (value instanceof BigDecimal) {
+                sb.append(((BigDecimal)value).toPlainString());
+            } else {
+                sb.append(value);
+            }
+        }
+        sb.append('\n');
+    }
+
+}
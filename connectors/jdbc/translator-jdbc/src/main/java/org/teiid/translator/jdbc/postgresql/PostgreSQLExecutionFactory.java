@@ -43,6 +43,7 @@ import org.teiid.language.AggregateFunction;
 import org.teiid.language.Array;
 import org.teiid.language.Expression;
 import org.teiid.language.Function;
+import org.teiid.language.Insert;
 import org.teiid.language.LanguageObject;
 import org.teiid.language.Like;
 import org.teiid.language.Like.MatchMode;
@@ -60,6 +61,7 @@ import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TranslatorProperty;
 import org.teiid.translator.TypeFacility;
 import org.teiid.translator.jdbc.AliasModifier;
+import org.teiid.translator.jdbc.BulkInsertStrategy;
 import org.teiid.translator.jdbc.ConvertModifier;
 import org.teiid.translator.jdbc.EscapeSyntaxModifier;
 import org.teiid.translator.jdbc.ExtractFunctionModifier;
@@ -127,12 +129,14 @@ public class PostgreSQLExecutionFactory extends JDBCExecutionFactory {
 
     private Version postGisVersion = Version.DEFAULT_VERSION;
     private boolean projSupported = false;
+    private boolean arrayInBinding;
 
     protected ConvertModifier convertModifier;
 
     public PostgreSQLExecutionFactory() {
         setMaxDependentInPredicates(1);
         setMaxInCriteriaSize(Short.MAX_VALUE - 50); //set a value that is safely smaller than the max in case there are other parameters
+        setMaxPreparedParameterCount(Short.MAX_VALUE);
     }
 
     /**
@@ -925,6 +929,16 @@ public class PostgreSQLExecutionFactory extends JDBCExecutionFactory {
         this.projSupported = projSupported;
     }
 
+    @TranslatorProperty(display="Supports Array In Binding", description="If IN predicate values should be bound as a single array, rather than split by the MaxInCriteriaSize",advanced=true)
+    @Override
+    public boolean supportsArrayInBinding() {
+        return arrayInBinding;
+    }
+
+    public void setSupportsArrayInBinding(boolean arrayInBinding) {
+        this.arrayInBinding = arrayInBinding;
+    }
+
     @Override
     public MetadataProcessor<Connection> getMetadataProcessor() {
         return new PostgreSQLMetadataProcessor();
@@ -1027,6 +1041,26 @@ public class PostgreSQLExecutionFactory extends JDBCExecutionFactory {
         return true;
     }
 
+    /**
+     * Uses COPY FROM STDIN for the NATIVE {@link BulkInsertMode}
+     */
+    @Override
+    public BulkInsertStrategy getBulkInsertStrategy(Insert insert,
+            ExecutionContext context) {
+        BulkInsertStrategy strategy = super.getBulkInsertStrategy(insert, context);
+        if (strategy != null && getBulkInsertMode() == BulkInsertMode.NATIVE) {
+            //temporal values are only written as is when there is no database time zone conversion
+            String tz = getDatabaseTimeZone();
+            return new PostgreSQLCopyInsertStrategy(insert, tz == null || tz.trim().isEmpty(), strategy);
+        }
+        return strategy;
+    }
+
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return true;
+    }
+
     @Override
     public boolean supportsGeographyType() {
         return this.postGisVersion.compareTo(ONE_5) >= 0;
@@ -48,10 +48,12 @@ import org.teiid.translator.Translator;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TypeFacility;
 import org.teiid.translator.jdbc.AliasModifier;
+import org.teiid.translator.jdbc.BulkInsertStrategy;
 import org.teiid.translator.jdbc.ConvertModifier;
 import org.teiid.translator.jdbc.FunctionModifier;
 import org.teiid.translator.jdbc.JDBCExecutionFactory;
 import org.teiid.translator.jdbc.JDBCMetadataProcessor;
+import org.teiid.translator.jdbc.MultiRowValuesInsertStrategy;
 import org.teiid.translator.jdbc.TemplateFunctionModifier;
 import org.teiid.translator.jdbc.sybase.SybaseExecutionFactory;
 import org.teiid.util.Version;
@@ -813,4 +815,20 @@ public class SQLServerExecutionFactory extends SybaseExecutionFactory {
         return getVersion().compareTo(TEN_0) >= 0;
     }
 
+    @Override
+    public boolean supportsMultiRowInsert() {
+        return getVersion().compareTo(TEN_0) >= 0;
+    }
+
+    /**
+     * SQL Server limits a VALUES clause to 1000 rows
+     */
+    @Override
+    public BulkInsertStrategy getBulkInsertStrategy(Insert insert,
+            ExecutionContext context) {
+        if (getBulkInsertMode() == BulkInsertMode.BATCH || insert.isUpsert() || !supportsMultiRowInsert()) {
+            return null;
+        }
+        return new MultiRowValuesInsertStrategy(insert, getMaxPreparedParameterCount(), Math.min(1000, getMaxPreparedInsertBatchSize()));
+    }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.jdbc;
+
+import static org.junit.Assert.*;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import javax.sql.DataSource;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.teiid.dqp.internal.datamgr.FakeExecutionContextImpl;
+import org.teiid.language.Command;
+import org.teiid.language.QueryExpression;
+import org.teiid.translator.DataNotAvailableException;
+
+@SuppressWarnings("nls")
+public class TestJDBCQueryExecution {
+
+    private static final String DDL = "create foreign table SmallA (IntKey integer primary key OPTIONS (MIN_VALUE '0', MAX_VALUE '99'), StringKey string)";
+
+    private Connection mockConnection(String sql, Integer... keys) throws Exception {
+        return mockConnection(new String[] {sql}, new Integer[][] {keys});
+    }
+
+    /**
+     * A connection that may be used for any of the given queries, since the partitions
+     * obtain their connections concurrently
+     */
+    private Connection mockConnection(String[] sql, Integer[][] keys) throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.stub(connection.getAutoCommit()).toReturn(true);
+        Mockito.stub(connection.getMetaData()).toReturn(Mockito.mock(DatabaseMetaData.class));
+        Statement s = Mockito.mock(Statement.class);
+        Mockito.stub(connection.createStatement()).toReturn(s);
+        for (int i = 0; i < sql.length; i++) {
+            ResultSet rs = Mockito.mock(ResultSet.class);
+            Mockito.stub(s.executeQuery(sql[i])).toReturn(rs);
+            Integer[] values = keys[i];
+            Boolean[] next = new Boolean[values.length];
+            Arrays.fill(next, Boolean.TRUE);
+            if (values.length > 0) {
+                next[values.length - 1] = false;
+                Mockito.when(rs.next()).thenReturn(true, next);
+                Mockito.when(rs.getInt(1)).thenReturn(values[0], Arrays.copyOfRange(values, 1, values.length));
+            }
+        }
+        return connection;
+    }
+
+    private List<List<?>> readAll(JDBCQueryExecution execution) throws Exception {
+        List<List<?>> result = new ArrayList<List<?>>();
+        long start = System.currentTimeMillis();
+        while (true) {
+            try {
+                List<?> row = execution.next();
+                if (row == null) {
+                    return result;
+                }
+                result.add(row);
+            } catch (DataNotAvailableException e) {
+                assertTrue(System.currentTimeMillis() - start < 10000);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test public void testPartitionedRead() throws Exception {
+        QueryExpression command = (QueryExpression)TranslationHelper.helpTranslate(DDL, "select IntKey from SmallA where StringKey = 'a'");
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setPartitionedReadSplits(3);
+        ef.setUseBindVariables(false);
+        ef.start();
+
+        String[] sql = new String[] {"SELECT SmallA.IntKey FROM SmallA WHERE SmallA.StringKey = 'a' AND SmallA.IntKey < 33",
+                "SELECT SmallA.IntKey FROM SmallA WHERE SmallA.StringKey = 'a' AND SmallA.IntKey >= 33 AND SmallA.IntKey < 66",
+                "SELECT SmallA.IntKey FROM SmallA WHERE SmallA.StringKey = 'a' AND SmallA.IntKey >= 66"};
+        Integer[][] keys = new Integer[][] {{1, 2}, {40}, {70, 99}};
+        Connection main = mockConnection(sql, keys);
+        Connection first = mockConnection(sql, keys);
+        Connection second = mockConnection(sql, keys);
+        Connection third = mockConnection(sql, keys);
+        DataSource ds = Mockito.mock(DataSource.class);
+        Mockito.when(ds.getConnection()).thenReturn(first, second, third);
+
+        FakeExecutionContextImpl context = new FakeExecutionContextImpl();
+        JDBCQueryExecution execution = (JDBCQueryExecution)ef.createExecution(command, context, null, main, ds);
+        execution.execute();
+        List<List<?>> results = readAll(execution);
+        List<Integer> values = new ArrayList<Integer>();
+        for (List<?> row : results) {
+            values.add((Integer)row.get(0));
+        }
+        Collections.sort(values);
+        assertEquals(Arrays.asList(1, 2, 40, 70, 99), values);
+        execution.close();
+
+        //each partition uses its own connection
+        Mockito.verify(main, Mockito.never()).createStatement();
+        Mockito.verify(first).close();
+        Mockito.verify(second).close();
+        Mockito.verify(third).close();
+        Mockito.verify(main, Mockito.never()).close();
+    }
+
+    @Test public void testPartitionedReadQueriesBounds() throws Exception {
+        QueryExpression command = (QueryExpression)TranslationHelper.helpTranslate("create foreign table SmallA (IntKey integer primary key, StringKey string)", "select IntKey, StringKey from SmallA");
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setPartitionedReadSplits(2);
+        ef.setUseBindVariables(false);
+        ef.start();
+
+        Connection main = mockConnection("SELECT MIN(SmallA.IntKey), MAX(SmallA.IntKey) FROM SmallA");
+        Statement s = main.createStatement();
+        ResultSet bounds = Mockito.mock(ResultSet.class);
+        Mockito.stub(s.executeQuery("SELECT MIN(SmallA.IntKey), MAX(SmallA.IntKey) FROM SmallA")).toReturn(bounds);
+        Mockito.stub(bounds.next()).toReturn(true);
+        Mockito.stub(bounds.getInt(1)).toReturn(0);
+        Mockito.stub(bounds.getInt(2)).toReturn(100);
+        String[] sql = new String[] {"SELECT SmallA.IntKey, SmallA.StringKey FROM SmallA WHERE SmallA.IntKey < 50",
+                "SELECT SmallA.IntKey, SmallA.StringKey FROM SmallA WHERE SmallA.IntKey >= 50"};
+        Integer[][] keys = new Integer[][] {{}, {}};
+        Connection first = mockConnection(sql, keys);
+        Connection second = mockConnection(sql, keys);
+        DataSource ds = Mockito.mock(DataSource.class);
+        Mockito.when(ds.getConnection()).thenReturn(first, second);
+
+        FakeExecutionContextImpl context = new FakeExecutionContextImpl();
+        JDBCQueryExecution execution = (JDBCQueryExecution)ef.createExecution(command, context, null, main, ds);
+        execution.execute();
+        assertTrue(readAll(execution).isEmpty());
+        execution.close();
+        Mockito.verify(s).close();
+        Mockito.verify(first).close();
+        Mockito.verify(second).close();
+    }
+
+    @Test public void testPartitionedReadNotUsedInTransaction() throws Exception {
+        Command command = TranslationHelper.helpTranslate(DDL, "select IntKey from SmallA");
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setPartitionedReadSplits(3);
+        ef.setUseBindVariables(false);
+        ef.start();
+
+        Connection main = mockConnection("SELECT SmallA.IntKey FROM SmallA", 1);
+        DataSource ds = Mockito.mock(DataSource.class);
+
+        FakeExecutionContextImpl context = Mockito.spy(new FakeExecutionContextImpl());
+        Mockito.stub(context.isTransactional()).toReturn(true);
+
+        JDBCQueryExecution execution = (JDBCQueryExecution)ef.createExecution(command, context, null, main, ds);
+        execution.execute();
+        assertEquals(Arrays.asList(Arrays.asList(1)), readAll(execution));
+        Mockito.verify(ds, Mockito.never()).getConnection();
+    }
+
+    @Test public void testPartitionedReadNotUsedWithoutDataSource() throws Exception {
+        Command command = TranslationHelper.helpTranslate(DDL, "select IntKey from SmallA");
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setPartitionedReadSplits(3);
+        ef.setUseBindVariables(false);
+        ef.start();
+
+        Connection main = mockConnection("SELECT SmallA.IntKey FROM SmallA", 1);
+
+        JDBCQueryExecution execution = (JDBCQueryExecution)ef.createExecution(command, new FakeExecutionContextImpl(), null, main);
+        execution.execute();
+        assertEquals(Arrays.asList(Arrays.asList(1)), readAll(execution));
+    }
+
+    @Test(timeout=10000) public void testPartitionedReadCloseWaitsForPartitions() throws Exception {
+        QueryExpression command = (QueryExpression)TranslationHelper.helpTranslate(DDL, "select IntKey from SmallA");
+
+        JDBCExecutionFactory ef = new JDBCExecutionFactory();
+        ef.setPartitionedReadSplits(2);
+        ef.setUseBindVariables(false);
+        ef.start();
+
+        final CountDownLatch executing = new CountDownLatch(2);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        DataSource ds = Mockito.mock(DataSource.class);
+        Connection[] connections = new Connection[2];
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection = Mockito.mock(Connection.class);
+            Mockito.stub(connection.getMetaData()).toReturn(Mockito.mock(DatabaseMetaData.class));
+            Statement s = Mockito.mock(Statement.class);
+            Mockito.stub(connection.createStatement()).toReturn(s);
+            Mockito.when(s.executeQuery(Mockito.anyString())).then(new Answer<ResultSet>() {
+                @Override
+                public ResultSet answer(InvocationOnMock invocation) throws Throwable {
+                    executing.countDown();
+                    cancelled.await();
+                    throw new SQLException("cancelled");
+                }
+            });
+            Mockito.doAnswer(new Answer<Void>() {
+                @Override
+                public Void answer(InvocationOnMock invocation) throws Throwable {
+                    cancelled.countDown();
+                    return null;
+                }
+            }).when(s).cancel();
+            connections[i] = connection;
+        }
+        Mockito.when(ds.getConnection()).thenReturn(connections[0], connections[1]);
+
+        Connection main = mockConnection("SELECT SmallA.IntKey FROM SmallA");
+        JDBCQueryExecution execution = (JDBCQueryExecution)ef.createExecution(command, new FakeExecutionContextImpl(), null, main, ds);
+        execution.execute();
+        executing.await();
+        execution.close();
+        //the partitions have released their connections before close returns
+        Mockito.verify(connections[0]).close();
+        Mockito.verify(connections[1]).close();
+    }
+
+}
@@ -72,6 +72,66 @@ public class TestJDBCUpdateExecution {
         Mockito.verify(p, Mockito.times(2)).addBatch();
     }
 
+    @Test public void testMultiRowValuesInsert() throws Exception {
+        Insert command = (Insert)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "insert into BQT1.SmallA (IntKey, IntNum) values (1, 2)"); //$NON-NLS-1$
+        Parameter param = new Parameter();
+        param.setType(DataTypeManager.DefaultDataClasses.INTEGER);
+        param.setValueIndex(0);
+        List<Expression> values = ((ExpressionValueSource)command.getValueSource()).getValues();
+        values.set(0, param);
+        command.setParameterValues(Arrays.asList(Arrays.asList(1), Arrays.asList(3), Arrays.asList(5)).iterator());
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.stub(connection.getAutoCommit()).toReturn(true);
+        PreparedStatement p = Mockito.mock(PreparedStatement.class);
+        Mockito.stub(p.executeUpdate()).toReturn(2);
+        Mockito.stub(connection.prepareStatement("INSERT INTO SmallA (IntKey, IntNum) VALUES (?, 2), (?, 2)")).toReturn(p); //$NON-NLS-1$
+        PreparedStatement p1 = Mockito.mock(PreparedStatement.class);
+        Mockito.stub(p1.executeUpdate()).toReturn(1);
+        Mockito.stub(connection.prepareStatement("INSERT INTO SmallA (IntKey, IntNum) VALUES (?, 2)")).toReturn(p1); //$NON-NLS-1$
+
+        JDBCExecutionFactory config = new JDBCExecutionFactory() {
+            @Override
+            public boolean supportsMultiRowInsert() {
+                return true;
+            }
+        };
+        config.setBulkInsertMode(JDBCExecutionFactory.BulkInsertMode.VALUES);
+        config.setMaxPreparedInsertBatchSize(2);
+
+        JDBCUpdateExecution updateExecution = new JDBCUpdateExecution(command, connection, new FakeExecutionContextImpl(), config);
+        updateExecution.execute();
+        assertArrayEquals(new int[] {1, 1, 1}, updateExecution.getUpdateCounts());
+        Mockito.verify(p).setObject(1, 1, Types.INTEGER);
+        Mockito.verify(p).setObject(2, 3, Types.INTEGER);
+        Mockito.verify(p1).setObject(1, 5, Types.INTEGER);
+        Mockito.verify(p, Mockito.never()).addBatch();
+        Mockito.verify(connection).commit();
+    }
+
+    @Test public void testMultiRowValuesInsertNotSupported() throws Exception {
+        Insert command = (Insert)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "insert into BQT1.SmallA (IntKey, IntNum) values (1, 2)"); //$NON-NLS-1$
+        Parameter param = new Parameter();
+        param.setType(DataTypeManager.DefaultDataClasses.INTEGER);
+        param.setValueIndex(0);
+        List<Expression> values = ((ExpressionValueSource)command.getValueSource()).getValues();
+        values.set(0, param);
+        command.setParameterValues(Arrays.asList(Arrays.asList(1), Arrays.asList(3)).iterator());
+        Connection connection = Mockito.mock(Connection.class);
+        PreparedStatement p = Mockito.mock(PreparedStatement.class);
+        Mockito.stub(p.executeBatch()).toReturn(new int[] {1, 1});
+        Mockito.stub(connection.prepareStatement("INSERT INTO SmallA (IntKey, IntNum) VALUES (?, 2)")).toReturn(p); //$NON-NLS-1$
+
+        //without multi-row insert support JDBC batching is used
+        JDBCExecutionFactory config = new JDBCExecutionFactory();
+        config.setBulkInsertMode(JDBCExecutionFactory.BulkInsertMode.NATIVE);
+        assertNull(config.getBulkInsertStrategy(command, null));
+
+        JDBCUpdateExecution updateExecution = new JDBCUpdateExecution(command, connection, new FakeExecutionContextImpl(), config);
+        updateExecution.execute();
+        Mockito.verify(p, Mockito.times(2)).addBatch();
+        Mockito.verify(p, Mockito.never()).executeUpdate();
+    }
+
    @Test public void testPreparedInsertWithGeometry() throws Exception {
         Insert command = (Insert)TranslationHelper.helpTranslate(TranslationHelper.BQT_VDB, "insert into cola_markets(name,shape) values('foo124', ST_GeomFromText('POINT (300 100)', 8307))"); //$NON-NLS-1$
         Parameter param = new Parameter();
@@ -22,17 +22,28 @@ import static org.junit.Assert.*;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.Timestamp;
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.core.util.SimpleMock;
+import org.teiid.dqp.internal.datamgr.FakeExecutionContextImpl;
 import org.teiid.language.Array;
 import org.teiid.language.Expression;
+import org.teiid.language.ExpressionValueSource;
+import org.teiid.language.Insert;
 import org.teiid.language.Literal;
+import org.teiid.language.Parameter;
 import org.teiid.translator.SourceSystemFunctions;
 import org.teiid.translator.TranslatorException;
+import org.teiid.translator.jdbc.BulkInsertStrategy;
+import org.teiid.translator.jdbc.JDBCExecutionFactory.BulkInsertMode;
+import org.teiid.translator.jdbc.JDBCUpdateExecution;
+import org.teiid.translator.jdbc.MultiRowValuesInsertStrategy;
+import org.teiid.translator.jdbc.TranslatedCommand;
 import org.teiid.translator.jdbc.TranslationHelper;
 import org.teiid.util.Version;
 
@@ -623,6 +634,17 @@ public class TestPostgreSQLTranslator {
         assertFalse(pgef.getSupportedFunctions().contains(SourceSystemFunctions.ST_GEOGFROMTEXT));
     }
 
+    @Test public void testArrayInBinding() throws Exception {
+        PostgreSQLExecutionFactory pgef = new PostgreSQLExecutionFactory();
+        pgef.setSupportsArrayInBinding(true);
+        pgef.start();
+        assertTrue(pgef.supportsArrayInBinding());
+        TranslationHelper.helpTestVisitor(TranslationHelper.BQT_VDB, "SELECT intkey FROM bqt1.smalla WHERE intkey IN (1, 2, 3)", "SELECT SmallA.IntKey FROM SmallA WHERE SmallA.IntKey = ANY(?)", pgef); //$NON-NLS-1$ //$NON-NLS-2$
+        TranslationHelper.helpTestVisitor(TranslationHelper.BQT_VDB, "SELECT intkey FROM bqt1.smalla WHERE stringkey NOT IN ('a', 'b')", "SELECT SmallA.IntKey FROM SmallA WHERE SmallA.StringKey <> ALL(?)", pgef); //$NON-NLS-1$ //$NON-NLS-2$
+        //not bound without the setting
+        TranslationHelper.helpTestVisitor(TranslationHelper.BQT_VDB, "SELECT intkey FROM bqt1.smalla WHERE intkey IN (1, 2, 3)", "SELECT SmallA.IntKey FROM SmallA WHERE SmallA.IntKey IN (1, 2, 3)", TRANSLATOR); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
     @Test public void testGeometryFilter() throws Exception {
         String input = "select mkt_id from cola_markets where ST_Contains(ST_GeomFromText('POLYGON ((40 0, 50 50, 0 50, 0 0, 40 0))'), shape);"; //$NON-NLS-1$
         String output = "SELECT COLA_MARKETS.MKT_ID FROM COLA_MARKETS WHERE st_contains(st_geomfromwkb(?, 0), COLA_MARKETS.SHAPE) = TRUE"; //$NON-NLS-1$
@@ -735,4 +757,57 @@ public class TestPostgreSQLTranslator {
         Mockito.verify(c, Mockito.times(1)).createArrayOf("varchar", new Object[] {"a"});
     }
 
+    private Insert helpGetBulkInsert(String ddl, String sql) {
+        Insert insert = (Insert)TranslationHelper.helpTranslate(ddl, sql);
+        List<Expression> values = ((ExpressionValueSource)insert.getValueSource()).getValues();
+        for (int i = 0; i < values.size(); i++) {
+            Parameter param = new Parameter();
+            param.setType(values.get(i).getType());
+            param.setValueIndex(i);
+            values.set(i, param);
+        }
+        return insert;
+    }
+
+    @Test public void testCopyInsert() throws Exception {
+        Insert insert = helpGetBulkInsert("create foreign table t (id integer, name string, ts timestamp)", "insert into t (id, name, ts) values (1, 'a', null)");
+        PostgreSQLExecutionFactory ef = new PostgreSQLExecutionFactory();
+        ef.setBulkInsertMode(BulkInsertMode.NATIVE);
+        ef.start();
+        BulkInsertStrategy strategy = ef.getBulkInsertStrategy(insert, null);
+        assertTrue(strategy instanceof PostgreSQLCopyInsertStrategy);
+        TranslatedCommand tc = new TranslatedCommand(new FakeExecutionContextImpl(), ef);
+        tc.translateCommand(insert);
+        assertEquals("COPY t (id, name, ts) FROM STDIN WITH CSV", ((PostgreSQLCopyInsertStrategy)strategy).getCopySql(tc));
+
+        StringBuilder sb = new StringBuilder();
+        PostgreSQLCopyInsertStrategy.appendRow(sb, tc.getPreparedValues(), Arrays.asList(1, "a\"b,", Timestamp.valueOf("2020-01-02 03:04:05")));
+        PostgreSQLCopyInsertStrategy.appendRow(sb, tc.getPreparedValues(), Arrays.asList(null, "", null));
+        assertEquals("1,\"a\"\"b,\",2020-01-02 03:04:05.0\n,\"\",\n", sb.toString());
+
+        ef.setDatabaseTimeZone("GMT-6");
+        strategy = ef.getBulkInsertStrategy(insert, null);
+        assertNull(((PostgreSQLCopyInsertStrategy)strategy).getCopySql(tc));
+
+        ef.setBulkInsertMode(BulkInsertMode.VALUES);
+        assertTrue(ef.getBulkInsertStrategy(insert, null) instanceof MultiRowValuesInsertStrategy);
+        ef.setBulkInsertMode(BulkInsertMode.BATCH);
+        assertNull(ef.getBulkInsertStrategy(insert, null));
+    }
+
+    @Test public void testCopyInsertFallback() throws Exception {
+        Insert insert = helpGetBulkInsert("create foreign table t (id integer)", "insert into t (id) values (1)");
+        insert.setParameterValues(Arrays.asList(Arrays.asList(1), Arrays.asList(2)).iterator());
+        PostgreSQLExecutionFactory ef = new PostgreSQLExecutionFactory();
+        ef.setBulkInsertMode(BulkInsertMode.NATIVE);
+        ef.start();
+        Connection c = Mockito.mock(Connection.class);
+        PreparedStatement ps = Mockito.mock(PreparedStatement.class);
+        Mockito.stub(c.prepareStatement("INSERT INTO t (id) VALUES (?), (?)")).toReturn(ps);
+        Mockito.stub(ps.executeUpdate()).toReturn(2);
+        JDBCUpdateExecution execution = new JDBCUpdateExecution(insert, c, new FakeExecutionContextImpl(), ef);
+        execution.execute();
+        assertArrayEquals(new int[] {1, 1}, execution.getUpdateCounts());
+    }
+
 }
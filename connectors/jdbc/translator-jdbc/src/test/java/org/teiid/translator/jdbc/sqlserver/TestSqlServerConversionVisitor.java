@@ -31,6 +31,7 @@ import org.teiid.cdk.CommandBuilder;
 import org.teiid.cdk.api.TranslationUtility;
 import org.teiid.core.types.DataTypeManager;
 import org.teiid.language.Command;
+import org.teiid.language.Insert;
 import org.teiid.metadata.Column;
 import org.teiid.metadata.MetadataStore;
 import org.teiid.metadata.Schema;
@@ -42,6 +43,8 @@ import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TypeFacility;
 import org.teiid.translator.jdbc.FunctionModifier;
+import org.teiid.translator.jdbc.JDBCExecutionFactory.BulkInsertMode;
+import org.teiid.translator.jdbc.MultiRowValuesInsertStrategy;
 import org.teiid.translator.jdbc.TranslationHelper;
 
 @SuppressWarnings("nls")
@@ -519,4 +522,15 @@ public class TestSqlServerConversionVisitor {
             output);
     }
 
+    @Test public void testMultiRowInsert() throws Exception {
+        Insert insert = (Insert)TranslationHelper.helpTranslate(getBQTVDB(), "insert into BQT1.SmallA (IntKey) values (1)"); //$NON-NLS-1$
+        trans.setBulkInsertMode(BulkInsertMode.VALUES);
+        //2005 does not support multi-row values
+        assertNull(trans.getBulkInsertStrategy(insert, null));
+
+        trans.setDatabaseVersion(SQLServerExecutionFactory.V_2008);
+        trans.start();
+        assertTrue(trans.getBulkInsertStrategy(insert, null) instanceof MultiRowValuesInsertStrategy);
+    }
+
 }
@@ -18,10 +18,12 @@
 package org.teiid.translator.ldap;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import javax.naming.ldap.LdapContext;
 import org.teiid.resource.api.ConnectionFactory;
 
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.language.Argument;
 import org.teiid.language.Call;
 import org.teiid.language.Command;
@@ -62,6 +64,10 @@ public class LDAPExecutionFactory extends ExecutionFactory<ConnectionFactory, Ld
     private SearchDefaultScope searchDefaultScope = SearchDefaultScope.ONELEVEL_SCOPE;
     private boolean usePagination;
     private boolean exceptionOnSizeLimitExceeded;
+    private boolean serverSideSort;
+    private boolean parallelSubtreeSearch;
+    private int parallelSearchMaxThreads = 16;
+    private volatile ExecutorService parallelSearchExecutor;
 
     public LDAPExecutionFactory() {
         this.setMaxInCriteriaSize(1000);
@@ -198,6 +204,64 @@ public class LDAPExecutionFactory extends ExecutionFactory<ConnectionFactory, Ld
         this.exceptionOnSizeLimitExceeded = exceptionOnSizeLimitExceeded;
     }
 
+    @TranslatorProperty(display="Server Side Sort", description="Push ORDER BY to the directory using a critical server side sort control.  The server must support sorting and use an ordering consistent with Teiid for the sorted attributes.  Default false.", advanced=true)
+    public boolean isServerSideSort() {
+        return serverSideSort;
+    }
+
+    public void setServerSideSort(boolean serverSideSort) {
+        this.serverSideSort = serverSideSort;
+    }
+
+    @Override
+    public boolean supportsOrderBy() {
+        return serverSideSort;
+    }
+
+    @Override
+    public NullOrder getDefaultNullOrder() {
+        //entries missing the sort attribute are ordered after all others
+        return NullOrder.HIGH;
+    }
+
+    @TranslatorProperty(display="Parallel Subtree Search", description="Split unsorted and unlimited subtree searches by the immediate children of the base DN and search each subtree concurrently.  Default false.", advanced=true)
+    public boolean isParallelSubtreeSearch() {
+        return parallelSubtreeSearch;
+    }
+
+    public void setParallelSubtreeSearch(boolean parallelSubtreeSearch) {
+        this.parallelSubtreeSearch = parallelSubtreeSearch;
+    }
+
+    @TranslatorProperty(display="Parallel Search Max Threads", description="The maximum number of threads shared by all parallel subtree searches.  Default 16.", advanced=true)
+    public int getParallelSearchMaxThreads() {
+        return parallelSearchMaxThreads;
+    }
+
+    public void setParallelSearchMaxThreads(int parallelSearchMaxThreads) {
+        this.parallelSearchMaxThreads = parallelSearchMaxThreads;
+    }
+
+    ExecutorService getParallelSearchExecutor() {
+        if (this.parallelSearchExecutor == null) {
+            synchronized (this) {
+                if (this.parallelSearchExecutor == null) {
+                    this.parallelSearchExecutor = ExecutorUtils.newFixedThreadPool(Math.max(1, this.parallelSearchMaxThreads), "LDAP Parallel Search"); //$NON-NLS-1$
+                }
+            }
+        }
+        return this.parallelSearchExecutor;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.parallelSearchExecutor != null) {
+            this.parallelSearchExecutor.shutdownNow();
+            this.parallelSearchExecutor = null;
+        }
+        super.stop();
+    }
+
     @Override
     public boolean supportsOnlyLiteralComparison() {
         return true;
@@ -63,6 +63,9 @@
  * when cost analysis is used. We stop using dependent queries, and start
  * using inner joins.
  *
+ * ORDER BY may be pushed again with the Server Side Sort translator property, in which
+ * case the sort control is CRITICAL so that unsorted results are never returned.
+ *
  */
 
 package org.teiid.translator.ldap;
@@ -99,7 +102,9 @@ import org.teiid.core.types.ArrayImpl;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.metadata.Column;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.ParallelResults;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
 import org.teiid.translator.TypeFacility;
@@ -115,6 +120,11 @@ public class LDAPQueryExecution implements ResultSetExecution {
     static final String MULTIVALUED_CONCAT = "multivalued-concat"; //$NON-NLS-1$
     static final String delimiter = "?"; //$NON-NLS-1$
 
+    /**
+     * The most immediate children of the base DN that a search will be split into
+     */
+    static final int MAX_SUBTREE_SPLITS = 256;
+
     private LDAPSearchDetails searchDetails;
     private LdapContext ldapCtx;
     private NamingEnumeration<?> searchEnumeration;
@@ -124,6 +134,7 @@ public class LDAPQueryExecution implements ResultSetExecution {
     private int resultCount;
     private Iterator<List<Object>> unwrapIterator;
     private int unwrapPos = -1;
+    private ParallelResults<List<?>> parallelResults;
 
     public LDAPQueryExecution(LdapContext ldapContext,LDAPSearchDetails search, SearchControls searchControls, LDAPExecutionFactory factory,ExecutionContext context) {
         this.searchDetails = search;
@@ -154,26 +165,84 @@ public class LDAPQueryExecution implements ResultSetExecution {
             }
         }
 
-        setRequestControls(null);
+        if (this.executionFactory.isParallelSubtreeSearch()
+                && this.ctrls.getSearchScope() == SearchControls.SUBTREE_SCOPE
+                && this.searchDetails.getSortKeys() == null
+                && this.searchDetails.getCountLimit() == -1) {
+            List<String> children = getChildNames();
+            if (children != null && children.size() > 1) {
+                List<SubtreeSearch> searches = new ArrayList<SubtreeSearch>(children.size() + 1);
+                searches.add(new SubtreeSearch(this, "", SearchControls.OBJECT_SCOPE)); //$NON-NLS-1$
+                for (String name : children) {
+                    searches.add(new SubtreeSearch(this, name, SearchControls.SUBTREE_SCOPE));
+                }
+                this.parallelResults = new ParallelResults<List<?>>(this.executionContext, searches);
+                this.parallelResults.start(this.executionFactory.getParallelSearchExecutor());
+                return;
+            }
+        }
+
+        setRequestControls(this.ldapCtx, null);
         // Execute the search.
-        executeSearch();
+        this.searchEnumeration = executeSearch(this.ldapCtx, "", this.ctrls); //$NON-NLS-1$
+    }
+
+    /**
+     * Get the names of the immediate children of the base DN relative to it.
+     * @return the names or null if there are too many to split the search.
+     */
+    private List<String> getChildNames() throws TranslatorException {
+        SearchControls childControls = new SearchControls();
+        childControls.setSearchScope(SearchControls.ONELEVEL_SCOPE);
+        childControls.setReturningAttributes(new String[0]);
+        childControls.setCountLimit(MAX_SUBTREE_SPLITS + 1);
+        List<String> names = new ArrayList<String>();
+        NamingEnumeration<SearchResult> children = null;
+        try {
+            LdapContext childCtx = this.ldapCtx.newInstance(null);
+            try {
+                children = childCtx.search("", "(objectClass=*)", childControls); //$NON-NLS-1$ //$NON-NLS-2$
+                while (children.hasMore()) {
+                    names.add(children.next().getName());
+                    if (names.size() > MAX_SUBTREE_SPLITS) {
+                        return null;
+                    }
+                }
+            } finally {
+                if (children != null) {
+                    try {
+                        children.close();
+                    } catch (NamingException e) {
+                    }
+                }
+                childCtx.close();
+            }
+        } catch (SizeLimitExceededException e) {
+            return null;
+        } catch (NamingException ne) {
+            final String msg = LDAPPlugin.Util.getString("LDAPSyncQueryExecution.execSearchError"); //$NON-NLS-1$
+            throw new TranslatorException(ne, msg + " : " + ne.getExplanation());  //$NON-NLS-1$
+        }
+        LogManager.logDetail(LogConstants.CTX_CONNECTOR, "Splitting the search of", this.searchDetails.getContextName(), "into", names.size() + 1, "concurrent searches"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        return names;
     }
 
     /**
      * Set the standard request controls
      */
-    private void setRequestControls(byte[] cookie) throws TranslatorException {
+    void setRequestControls(LdapContext context, byte[] cookie) throws TranslatorException {
         List<Control> ctrl = new ArrayList<Control>();
         SortKey[] keys = searchDetails.getSortKeys();
         try {
             if (keys != null) {
-                ctrl.add(new SortControl(keys, Control.NONCRITICAL));
+                //when the sort is pushed the results must be sorted
+                ctrl.add(new SortControl(keys, this.executionFactory.isServerSideSort()?Control.CRITICAL:Control.NONCRITICAL));
             }
             if (this.executionFactory.usePagination()) {
                 ctrl.add(new PagedResultsControl(this.executionContext.getBatchSize(), cookie, Control.CRITICAL));
             }
             if (!ctrl.isEmpty()) {
-                this.ldapCtx.setRequestControls(ctrl.toArray(new Control[ctrl.size()]));
+                context.setRequestControls(ctrl.toArray(new Control[ctrl.size()]));
                 LogManager.logTrace(LogConstants.CTX_CONNECTOR, "Sort/pagination controls were created successfully."); //$NON-NLS-1$
             }
         } catch (NamingException ne) {
@@ -189,10 +258,10 @@ public class LDAPQueryExecution implements ResultSetExecution {
      * Perform the LDAP search against the subcontext, using the filter and
      * search controls appropriate to the query and model metadata.
      */
-    private void executeSearch() throws TranslatorException {
+    NamingEnumeration<?> executeSearch(LdapContext context, String name, SearchControls searchControls) throws TranslatorException {
         String filter = searchDetails.getContextFilter();
         try {
-            searchEnumeration = this.ldapCtx.search("", filter, ctrls); //$NON-NLS-1$
+            return context.search(name, filter, searchControls);
         } catch (NamingException ne) {
             final String msg = LDAPPlugin.Util.getString("LDAPSyncQueryExecution.execSearchError"); //$NON-NLS-1$
             throw new TranslatorException(ne, msg + " : " + ne.getExplanation());  //$NON-NLS-1$
@@ -220,6 +289,9 @@ public class LDAPQueryExecution implements ResultSetExecution {
     // on contexts multiple times
     @Override
     public void close() {
+        if (parallelResults != null) {
+            parallelResults.close();
+        }
         if (searchEnumeration != null) {
             try {
                 searchEnumeration.close();
@@ -245,7 +317,10 @@ public class LDAPQueryExecution implements ResultSetExecution {
     // it from being used again.
     // GHH 20080326 - also added return of explanation for generic
     // NamingException
-    public List<?> next() throws TranslatorException {
+    public List<?> next() throws TranslatorException, DataNotAvailableException {
+        if (parallelResults != null) {
+            return nextParallel();
+        }
         try {
             if (unwrapIterator != null) {
                 if (unwrapIterator.hasNext()) {
@@ -255,7 +330,7 @@ public class LDAPQueryExecution implements ResultSetExecution {
             }
             // The search has been executed, so process up to one batch of
             // results.
-            List<?> result = null;
+            List<Object> result = null;
             while (result == null && searchEnumeration != null && searchEnumeration.hasMore())
             {
                 SearchResult searchResult = (SearchResult) searchEnumeration.next();
@@ -267,46 +342,79 @@ public class LDAPQueryExecution implements ResultSetExecution {
             }
 
             if (result == null && this.executionFactory.usePagination()) {
-                byte[] cookie = null;
-                Control[] controls = ldapCtx.getResponseControls();
-                if (controls != null) {
-                    for (int i = 0; i < controls.length; i++) {
-                        if (controls[i] instanceof PagedResultsResponseControl) {
-                            PagedResultsResponseControl prrc = (PagedResultsResponseControl)controls[i];
-                            cookie = prrc.getCookie();
-                        }
-                    }
-                }
+                byte[] cookie = getPageCookie(ldapCtx);
 
                 if (cookie == null) {
                     return null;
                 }
 
-                setRequestControls(cookie);
-                executeSearch();
+                setRequestControls(ldapCtx, cookie);
+                searchEnumeration = executeSearch(ldapCtx, "", ctrls); //$NON-NLS-1$
                 return next();
             }
 
             if (result != null) {
                 resultCount++;
+                unwrapIterator = unwrap(result);
+                if (unwrapIterator != null) {
+                    return unwrapIterator.next();
+                }
             }
             return result;
         } catch (SizeLimitExceededException e) {
-            if (resultCount != searchDetails.getCountLimit()) {
-                String msg = LDAPPlugin.Util.gs(LDAPPlugin.Event.TEIID12008);
-                TranslatorException te = new TranslatorException(e, msg);
-                if (executionFactory.isExceptionOnSizeLimitExceeded()) {
-                    throw te;
-                }
-                this.executionContext.addWarning(te);
-                LogManager.logWarning(LogConstants.CTX_CONNECTOR, e, msg);
-            }
+            sizeLimitExceeded(e, resultCount);
             return null; // GHH 20080326 - if size limit exceeded don't try to read more results
         } catch (NamingException ne) {
             throw new TranslatorException(ne, LDAPPlugin.Util.gs("ldap_error")); //$NON-NLS-1$
         }
     }
 
+    private List<?> nextParallel() throws TranslatorException, DataNotAvailableException {
+        while (true) {
+            try {
+                return parallelResults.next();
+            } catch (TranslatorException e) {
+                if (!(e.getCause() instanceof SizeLimitExceededException)) {
+                    throw e;
+                }
+                //parallel searches are not limited, so this is always reported
+                sizeLimitExceeded((SizeLimitExceededException)e.getCause(), 0);
+            }
+        }
+    }
+
+    private void sizeLimitExceeded(SizeLimitExceededException e, int count) throws TranslatorException {
+        if (count != searchDetails.getCountLimit()) {
+            String msg = LDAPPlugin.Util.gs(LDAPPlugin.Event.TEIID12008);
+            TranslatorException te = new TranslatorException(e, msg);
+            if (executionFactory.isExceptionOnSizeLimitExceeded()) {
+                throw te;
+            }
+            this.executionContext.addWarning(te);
+            LogManager.logWarning(LogConstants.CTX_CONNECTOR, e, msg);
+        }
+    }
+
+    /**
+     * @return the cookie for the next page or null if there are no more pages
+     */
+    byte[] getPageCookie(LdapContext context) throws NamingException {
+        if (!this.executionFactory.usePagination()) {
+            return null;
+        }
+        byte[] cookie = null;
+        Control[] controls = context.getResponseControls();
+        if (controls != null) {
+            for (int i = 0; i < controls.length; i++) {
+                if (controls[i] instanceof PagedResultsResponseControl) {
+                    PagedResultsResponseControl prrc = (PagedResultsResponseControl)controls[i];
+                    cookie = prrc.getCookie();
+                }
+            }
+        }
+        return cookie;
+    }
+
     /**
      * Create a row using the searchResult and add it to the supplied batch.
      * @param result the search result
@@ -314,7 +422,7 @@ public class LDAPQueryExecution implements ResultSetExecution {
      */
     // GHH 20080326 - added fetching of DN of result, for directories that
     // do not include it as an attribute
-    private List<?> getRow(SearchResult result) throws TranslatorException, InvalidNameException {
+    List<Object> getRow(SearchResult result) throws TranslatorException, InvalidNameException {
         Attributes attrs = result.getAttributes();
         ArrayList<Column> attributeList = searchDetails.getElementList();
         final List<Object> row = new ArrayList<Object>(attributeList.size());
@@ -324,18 +432,24 @@ public class LDAPQueryExecution implements ResultSetExecution {
             Object val = getValue(col, result, attrs, i == unwrapPos);  // GHH 20080326 - added resultDN parameter to call
             row.add(val);
         }
+        return row;
+    }
 
+    /**
+     * @return the rows for each value of the unwrapped column or null if the row is not unwrapped
+     */
+    Iterator<List<Object>> unwrap(final List<Object> row) {
         if (unwrapPos > -1) {
             Object toUnwrap = row.get(unwrapPos);
             if (toUnwrap == null) {
-                return row; //missing value
+                return null; //missing value
             }
             if (toUnwrap instanceof ArrayImpl) {
                 final Object[] val = ((ArrayImpl) toUnwrap).getValues();
                 if (val.length == 0) {
                     row.set(unwrapPos, null); //empty value
                 } else {
-                    unwrapIterator = new Iterator<List<Object>>() {
+                    return new Iterator<List<Object>>() {
                         int i = 0;
                         @Override
                         public boolean hasNext() {
@@ -352,13 +466,10 @@ public class LDAPQueryExecution implements ResultSetExecution {
 
                         }
                     };
-                    if (unwrapIterator.hasNext()) {
-                        return unwrapIterator.next();
-                    }
                 }
             }
         }
-        return row;
+        return null;
     }
 
     /**
@@ -520,6 +631,14 @@ public class LDAPQueryExecution implements ResultSetExecution {
         return value;
     }
 
+    LdapContext getLdapContext() {
+        return ldapCtx;
+    }
+
+    SearchControls getSearchControls() {
+        return ctrls;
+    }
+
     // for testing.
     LDAPSearchDetails getSearchDetails() {
         return this.searchDetails;
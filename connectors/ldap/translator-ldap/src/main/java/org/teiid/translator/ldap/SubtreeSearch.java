@@ -0,0 +1,124 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.translator.ldap;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.naming.InvalidNameException;
+import javax.naming.NamingEnumeration;
+import javax.naming.NamingException;
+import javax.naming.SizeLimitExceededException;
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.LdapContext;
+
+import org.teiid.logging.LogConstants;
+import org.teiid.logging.LogManager;
+import org.teiid.translator.ParallelResults;
+import org.teiid.translator.TranslatorException;
+
+/**
+ * One of the concurrent searches of a {@link LDAPQueryExecution} - either of the base
+ * entry or of the subtree of one of its immediate children.
+ * <br>
+ * Each search uses its own context instance, so that the request controls are not
+ * shared.
+ */
+class SubtreeSearch implements ParallelResults.Task<List<?>> {
+
+    private LDAPQueryExecution execution;
+    private String name;
+    private SearchControls controls;
+    private LdapContext context;
+    private NamingEnumeration<?> enumeration;
+
+    SubtreeSearch(LDAPQueryExecution execution, String name, int scope) {
+        this.execution = execution;
+        this.name = name;
+        SearchControls ctrls = execution.getSearchControls();
+        this.controls = new SearchControls(scope, ctrls.getCountLimit(), ctrls.getTimeLimit(),
+                ctrls.getReturningAttributes(), ctrls.getReturningObjFlag(), ctrls.getDerefLinkFlag());
+    }
+
+    @Override
+    public void run(ParallelResults.Output<List<?>> output) throws Exception {
+        try {
+            this.context = execution.getLdapContext().newInstance(null);
+            execution.setRequestControls(this.context, null);
+            this.enumeration = execution.executeSearch(this.context, this.name, this.controls);
+            while (!output.isClosed()) {
+                if (!this.enumeration.hasMore()) {
+                    byte[] cookie = execution.getPageCookie(this.context);
+                    if (cookie == null) {
+                        break;
+                    }
+                    execution.setRequestControls(this.context, cookie);
+                    this.enumeration = execution.executeSearch(this.context, this.name, this.controls);
+                    continue;
+                }
+                List<Object> row = null;
+                try {
+                    row = execution.getRow((SearchResult)this.enumeration.next());
+                } catch (InvalidNameException e) {
+                    continue;
+                }
+                Iterator<List<Object>> rows = execution.unwrap(row);
+                if (rows == null) {
+                    output.add(row);
+                } else {
+                    while (rows.hasNext()) {
+                        output.add(rows.next());
+                    }
+                }
+            }
+        } catch (SizeLimitExceededException e) {
+            //reported by the execution
+            throw new TranslatorException(e);
+        } catch (NamingException e) {
+            throw new TranslatorException(e, LDAPPlugin.Util.gs("ldap_error")); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public void cancel() {
+        //the context is not safe to use from another thread, the search stops at the next entry
+    }
+
+    @Override
+    public void close() {
+        if (this.enumeration != null) {
+            try {
+                this.enumeration.close();
+            } catch (Exception ex) {
+                //NamingEnumeration has undefined behavior if it previously hit an exception
+            }
+            this.enumeration = null;
+        }
+        if (this.context != null) {
+            try {
+                this.context.close();
+            } catch (NamingException ne) {
+                LogManager.logDetail(LogConstants.CTX_CONNECTOR, ne, "Exception closing"); //$NON-NLS-1$
+            }
+            this.context = null;
+        }
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -34,9 +35,12 @@ import javax.naming.directory.BasicAttribute;
 import javax.naming.directory.BasicAttributes;
 import javax.naming.directory.SearchControls;
 import javax.naming.directory.SearchResult;
+import javax.naming.ldap.Control;
 import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.SortControl;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.teiid.cdk.api.TranslationUtility;
 import org.teiid.language.Command;
@@ -44,6 +48,7 @@ import org.teiid.language.Literal;
 import org.teiid.metadata.Column;
 import org.teiid.metadata.RuntimeMetadata;
 import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 
 @SuppressWarnings("nls")
@@ -183,4 +188,106 @@ public class TestQueryExecution {
         assertEquals("b", Collections.list(a.getAll()).get(1));
     }
 
+    private static SearchResult entry(String name, String cn) {
+        BasicAttributes attributes = new BasicAttributes(true);
+        if (cn != null) {
+            attributes.put("cn", cn);
+        }
+        return new SearchResult(name, null, attributes);
+    }
+
+    @Test public void testParallelSubtreeSearch() throws Exception {
+        TranslationUtility util = new TranslationUtility(RealMetadataFactory.fromDDL("CREATE FOREIGN TABLE PEOPLE (cn string) OPTIONS(nameinsource 'o=DEMOCORP,c=AU?SUBTREE_SCOPE');", "x", "y"));
+        Command command = util.parseCommand("select cn from people where cn = 'a'");
+        ExecutionContext ec = Mockito.mock(ExecutionContext.class);
+        Mockito.stub(ec.getBatchSize()).toReturn(1);
+        RuntimeMetadata rm = Mockito.mock(RuntimeMetadata.class);
+        LdapContext connection = Mockito.mock(LdapContext.class);
+        LdapContext ctx = Mockito.mock(LdapContext.class);
+        Mockito.stub(connection.lookup("o=DEMOCORP,c=AU")).toReturn(ctx);
+        LdapContext instance = Mockito.mock(LdapContext.class);
+        Mockito.stub(ctx.newInstance(null)).toReturn(instance);
+
+        NamingEnumeration children = new SimpleNamingEnumeration(Arrays.asList(entry("ou=a", null), entry("ou=b", null)).iterator());
+        Mockito.stub(instance.search(Mockito.eq(""), Mockito.eq("(objectClass=*)"), (SearchControls)Mockito.any())).toReturn(children);
+        NamingEnumeration base = new SimpleNamingEnumeration(new ArrayList<SearchResult>().iterator());
+        Mockito.stub(instance.search(Mockito.eq(""), Mockito.eq("(cn=a)"), (SearchControls)Mockito.any())).toReturn(base);
+        NamingEnumeration a = new SimpleNamingEnumeration(Arrays.asList(entry("cn=1,ou=a", "1"), entry("cn=2,ou=a", "2")).iterator());
+        Mockito.stub(instance.search(Mockito.eq("ou=a"), Mockito.eq("(cn=a)"), (SearchControls)Mockito.any())).toReturn(a);
+        NamingEnumeration b = new SimpleNamingEnumeration(Arrays.asList(entry("cn=3,ou=b", "3")).iterator());
+        Mockito.stub(instance.search(Mockito.eq("ou=b"), Mockito.eq("(cn=a)"), (SearchControls)Mockito.any())).toReturn(b);
+
+        LDAPExecutionFactory lef = new LDAPExecutionFactory();
+        lef.setParallelSubtreeSearch(true);
+        lef.start();
+
+        LDAPSyncQueryExecution execution = (LDAPSyncQueryExecution)lef.createExecution(command, ec, rm, connection);
+        execution.execute();
+        List<String> values = new ArrayList<String>();
+        long start = System.currentTimeMillis();
+        while (true) {
+            try {
+                List<?> row = execution.next();
+                if (row == null) {
+                    break;
+                }
+                values.add((String)row.get(0));
+            } catch (DataNotAvailableException e) {
+                assertTrue(System.currentTimeMillis() - start < 10000);
+                Thread.sleep(10);
+            }
+        }
+        Collections.sort(values);
+        assertEquals(Arrays.asList("1", "2", "3"), values);
+        execution.close();
+
+        ArgumentCaptor<SearchControls> controls = ArgumentCaptor.forClass(SearchControls.class);
+        Mockito.verify(instance).search(Mockito.eq("ou=a"), Mockito.eq("(cn=a)"), controls.capture());
+        assertEquals(SearchControls.SUBTREE_SCOPE, controls.getValue().getSearchScope());
+        Mockito.verify(instance).search(Mockito.eq(""), Mockito.eq("(cn=a)"), controls.capture());
+        assertEquals(SearchControls.OBJECT_SCOPE, controls.getValue().getSearchScope());
+        Mockito.verify(ctx, Mockito.never()).search(Mockito.anyString(), Mockito.anyString(), (SearchControls)Mockito.any());
+    }
+
+    @Test public void testStopShutsDownParallelSearch() throws Exception {
+        LDAPExecutionFactory lef = new LDAPExecutionFactory();
+        lef.start();
+        ExecutorService executor = lef.getParallelSearchExecutor();
+        lef.stop();
+        assertTrue(executor.isShutdown());
+        assertNotSame(executor, lef.getParallelSearchExecutor());
+        lef.stop();
+    }
+
+    @Test public void testServerSideSort() throws Exception {
+        TranslationUtility util = new TranslationUtility(RealMetadataFactory.fromDDL("CREATE FOREIGN TABLE PEOPLE (cn string) OPTIONS(nameinsource 'o=DEMOCORP,c=AU');", "x", "y"));
+        Command command = util.parseCommand("select cn from people order by cn");
+        ExecutionContext ec = Mockito.mock(ExecutionContext.class);
+        Mockito.stub(ec.getBatchSize()).toReturn(10);
+        RuntimeMetadata rm = Mockito.mock(RuntimeMetadata.class);
+        LdapContext connection = Mockito.mock(LdapContext.class);
+        LdapContext ctx = Mockito.mock(LdapContext.class);
+        Mockito.stub(connection.lookup("o=DEMOCORP,c=AU")).toReturn(ctx);
+        NamingEnumeration enumeration = new SimpleNamingEnumeration(Arrays.asList(entry("cn=1", "1"), entry("cn=2", "2")).iterator());
+        Mockito.stub(ctx.search((String)Mockito.any(), (String)Mockito.any(), (SearchControls)Mockito.any())).toReturn(enumeration);
+
+        LDAPExecutionFactory lef = new LDAPExecutionFactory();
+        assertFalse(lef.supportsOrderBy());
+        lef.setServerSideSort(true);
+        lef.start();
+        assertTrue(lef.supportsOrderBy());
+
+        LDAPSyncQueryExecution execution = (LDAPSyncQueryExecution)lef.createExecution(command, ec, rm, connection);
+        execution.execute();
+        assertEquals(Arrays.asList("1"), execution.next());
+        assertEquals(Arrays.asList("2"), execution.next());
+        assertNull(execution.next());
+
+        ArgumentCaptor<Control[]> controls = ArgumentCaptor.forClass(Control[].class);
+        Mockito.verify(ctx).setRequestControls(controls.capture());
+        assertEquals(1, controls.getValue().length);
+        assertTrue(controls.getValue()[0] instanceof SortControl);
+        assertTrue(controls.getValue()[0].isCritical());
+    }
+
 }
@@ -128,6 +128,12 @@ public class LoopbackExecutionFactory extends BaseDelegatingExecutionFactory {
         return new LoopbackExecution(command, this, executionContext);
     }
 
+    @Override
+    public Execution createExecution(Command command, ExecutionContext executionContext, RuntimeMetadata metadata, Object connection,
+            Object connectionFactory) throws TranslatorException {
+        return new LoopbackExecution(command, this, executionContext);
+    }
+
     @Override
     public boolean isSourceRequired() {
         return false;
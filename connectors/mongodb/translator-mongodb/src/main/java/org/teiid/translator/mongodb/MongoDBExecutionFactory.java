@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
 
 import org.bson.types.Binary;
 import org.teiid.core.types.BinaryType;
@@ -43,6 +44,7 @@ import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.SQLXMLImpl;
 import org.teiid.core.types.Transform;
 import org.teiid.core.types.TransformationException;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.language.Argument;
 import org.teiid.language.Call;
 import org.teiid.language.Command;
@@ -93,6 +95,10 @@ public class MongoDBExecutionFactory extends ExecutionFactory<ConnectionFactory,
     private Version version = TWO_6;
     private boolean useDisk = true;
     private boolean supportsAggregatesCount = true;
+    private int parallelScanSplits;
+    private int parallelScanMaxThreads = 16;
+    private boolean earlyProjection;
+    private volatile ExecutorService parallelScanExecutor;
 
     public MongoDBExecutionFactory() {
         setSupportsOrderBy(true);
@@ -287,6 +293,53 @@ public class MongoDBExecutionFactory extends ExecutionFactory<ConnectionFactory,
         this.useDisk = useDisk;
     }
 
+    @TranslatorProperty(display="Parallel Scan Splits", description="The number of _id ranges an unordered collection scan will be split into and read concurrently with separate aggregate cursors.  Only numeric and ObjectId _id values are split.  Values less than 2 disable parallel scans.  Default 0.", advanced=true)
+    public int getParallelScanSplits() {
+        return this.parallelScanSplits;
+    }
+
+    public void setParallelScanSplits(int parallelScanSplits) {
+        this.parallelScanSplits = parallelScanSplits;
+    }
+
+    @TranslatorProperty(display="Parallel Scan Max Threads", description="The maximum number of threads shared by all parallel scans.  Default 16.", advanced=true)
+    public int getParallelScanMaxThreads() {
+        return this.parallelScanMaxThreads;
+    }
+
+    public void setParallelScanMaxThreads(int parallelScanMaxThreads) {
+        this.parallelScanMaxThreads = parallelScanMaxThreads;
+    }
+
+    @TranslatorProperty(display="Early Projection", description="Add a $project of only the referenced fields ahead of the $group stage so that whole documents are not passed through the aggregation pipeline", advanced=true)
+    public boolean isEarlyProjection() {
+        return this.earlyProjection;
+    }
+
+    public void setEarlyProjection(boolean earlyProjection) {
+        this.earlyProjection = earlyProjection;
+    }
+
+    ExecutorService getParallelScanExecutor() {
+        if (this.parallelScanExecutor == null) {
+            synchronized (this) {
+                if (this.parallelScanExecutor == null) {
+                    this.parallelScanExecutor = ExecutorUtils.newFixedThreadPool(Math.max(1, this.parallelScanMaxThreads), "MongoDB Parallel Scan"); //$NON-NLS-1$
+                }
+            }
+        }
+        return this.parallelScanExecutor;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (this.parallelScanExecutor != null) {
+            this.parallelScanExecutor.shutdownNow();
+            this.parallelScanExecutor = null;
+        }
+        super.stop();
+    }
+
     /**
      * Sets the database version.  See also {@link #getVersion()}
      * @param version
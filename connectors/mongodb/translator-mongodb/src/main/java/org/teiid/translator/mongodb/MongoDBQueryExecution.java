@@ -18,7 +18,9 @@
 package org.teiid.translator.mongodb;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.teiid.language.QueryExpression;
 import org.teiid.language.Select;
@@ -28,9 +30,11 @@ import org.teiid.metadata.RuntimeMetadata;
 import org.teiid.mongodb.MongoDBConnection;
 import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.ParallelResults;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
 
+import com.mongodb.AggregationOptions;
 import com.mongodb.BasicDBObject;
 import com.mongodb.Cursor;
 import com.mongodb.DBCollection;
@@ -41,6 +45,7 @@ public class MongoDBQueryExecution extends MongoDBBaseExecution implements Resul
     private Select command;
     private MongoDBExecutionFactory executionFactory;
     private Cursor results;
+    private ParallelResults<DBObject> parallelResults;
     private MongoDBSelectVisitor visitor;
     private Class<?>[] expectedTypes;
 
@@ -87,6 +92,14 @@ public class MongoDBQueryExecution extends MongoDBBaseExecution implements Resul
 
             buildAggregate(ops, "$match", this.visitor.match); //$NON-NLS-1$
 
+            if (this.executionFactory.isEarlyProjection() && this.visitor.group != null && !this.visitor.projectBeforeMatch) {
+                DBObject fields = getReferencedFields();
+                //an aggregate only query such as count(*) references no fields and an empty $project is invalid
+                if (!fields.keySet().isEmpty()) {
+                    buildAggregate(ops, "$project", fields); //$NON-NLS-1$
+                }
+            }
+
             buildAggregate(ops, "$group", this.visitor.group); //$NON-NLS-1$
             buildAggregate(ops, "$match", this.visitor.having); //$NON-NLS-1$
 
@@ -99,13 +112,64 @@ public class MongoDBQueryExecution extends MongoDBBaseExecution implements Resul
             buildAggregate(ops, "$limit", this.visitor.limit); //$NON-NLS-1$
 
             try {
-                this.results = collection.aggregate(ops, this.executionFactory.getOptions(this.executionContext.getBatchSize()));
+                AggregationOptions options = this.executionFactory.getOptions(this.executionContext.getBatchSize());
+                List<DBObject> ranges = getScanRanges(collection);
+                if (ranges != null) {
+                    List<RangeScan> scans = new ArrayList<RangeScan>(ranges.size());
+                    for (DBObject range : ranges) {
+                        List<DBObject> pipeline = new ArrayList<DBObject>(ops.size() + 1);
+                        buildAggregate(pipeline, "$match", range); //$NON-NLS-1$
+                        pipeline.addAll(ops);
+                        scans.add(new RangeScan(collection, options, pipeline));
+                    }
+                    LogManager.logDetail(LogConstants.CTX_CONNECTOR, this.executionContext.getRequestId(), "scanning", scans.size(), "_id ranges concurrently"); //$NON-NLS-1$ //$NON-NLS-2$
+                    this.parallelResults = new ParallelResults<DBObject>(this.executionContext, scans);
+                    this.parallelResults.start(this.executionFactory.getParallelScanExecutor());
+                } else {
+                    this.results = collection.aggregate(ops, options);
+                }
             } catch (MongoException e) {
                 throw new TranslatorException(e);
             }
         }
     }
 
+    /**
+     * @return the _id ranges to scan concurrently or null if the whole collection should be read with a single cursor
+     */
+    private List<DBObject> getScanRanges(DBCollection collection) {
+        int splits = this.executionFactory.getParallelScanSplits();
+        if (splits < 2 || this.visitor.sort != null || this.visitor.group != null
+                || this.visitor.limit != null || this.visitor.skip != null
+                || !this.visitor.mergePlanner.getNodes().isEmpty()) {
+            return null;
+        }
+        return RangeScan.getRanges(collection, splits);
+    }
+
+    /**
+     * @return an inclusion projection of the document fields used by the query
+     */
+    private DBObject getReferencedFields() {
+        Set<String> fields = new LinkedHashSet<String>();
+        for (ColumnDetail detail : this.visitor.expressionMap.values()) {
+            if (detail.documentFieldName != null) {
+                fields.add(detail.documentFieldName);
+            }
+        }
+        BasicDBObject result = new BasicDBObject();
+        outer: for (String field : fields) {
+            //a parent document field already includes the nested field
+            for (String other : fields) {
+                if (field.startsWith(other + ".")) { //$NON-NLS-1$
+                    continue outer;
+                }
+            }
+            result.append(field, 1);
+        }
+        return result;
+    }
+
     private void buildAggregate(List<DBObject> query, String type, Object object) {
         if (object != null) {
             LogManager.logDetail(LogConstants.CTX_CONNECTOR, "{\""+type+"\": {"+object.toString()+"}}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -121,22 +185,29 @@ public class MongoDBQueryExecution extends MongoDBBaseExecution implements Resul
 
     @Override
     public List<?> next() throws TranslatorException, DataNotAvailableException {
-        if (this.results != null && this.results.hasNext()) {
-            DBObject result = this.results.next();
-            if (result != null) {
-                int cols = this.visitor.selectColumns.size();
-                ArrayList<Object> row = new ArrayList<>(cols);
-                for (int i = 0; i < cols;i++) {
-                    row.add(this.executionFactory.retrieveValue(result.get(this.visitor.selectColumns.get(i)), this.expectedTypes[i], this.mongoDB, this.visitor.selectColumns.get(i), this.visitor.selectColumnReferences.get(i)));
-                }
-                return row;
+        DBObject result = null;
+        if (this.parallelResults != null) {
+            result = this.parallelResults.next();
+        } else if (this.results != null && this.results.hasNext()) {
+            result = this.results.next();
+        }
+        if (result != null) {
+            int cols = this.visitor.selectColumns.size();
+            ArrayList<Object> row = new ArrayList<>(cols);
+            for (int i = 0; i < cols;i++) {
+                row.add(this.executionFactory.retrieveValue(result.get(this.visitor.selectColumns.get(i)), this.expectedTypes[i], this.mongoDB, this.visitor.selectColumns.get(i), this.visitor.selectColumnReferences.get(i)));
             }
+            return row;
         }
         return null;
     }
 
     @Override
     public void close() {
+        if (this.parallelResults != null) {
+            this.parallelResults.close();
+            this.parallelResults = null;
+        }
         if (this.results != null) {
             this.results.close();
             this.results = null;
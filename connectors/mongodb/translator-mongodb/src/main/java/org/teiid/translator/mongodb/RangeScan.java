@@ -0,0 +1,131 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.teiid.translator.ParallelResults;
+
+import com.mongodb.AggregationOptions;
+import com.mongodb.BasicDBObject;
+import com.mongodb.Cursor;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+
+/**
+ * Reads a single _id range of a collection with its own aggregate cursor, so that
+ * the ranges may be read concurrently.
+ */
+class RangeScan implements ParallelResults.Task<DBObject> {
+
+    private static final String ID = "_id"; //$NON-NLS-1$
+
+    private DBCollection collection;
+    private AggregationOptions options;
+    private List<DBObject> pipeline;
+    private Cursor cursor;
+
+    RangeScan(DBCollection collection, AggregationOptions options, List<DBObject> pipeline) {
+        this.collection = collection;
+        this.options = options;
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void run(ParallelResults.Output<DBObject> output) throws Exception {
+        this.cursor = collection.aggregate(pipeline, options);
+        while (!output.isClosed() && cursor.hasNext()) {
+            output.add(cursor.next());
+        }
+    }
+
+    @Override
+    public void cancel() {
+        //the cursor is not safe to close from another thread, the scan stops at the next document
+    }
+
+    @Override
+    public void close() {
+        if (this.cursor != null) {
+            this.cursor.close();
+            this.cursor = null;
+        }
+    }
+
+    /**
+     * Determine the _id range conditions for the given number of splits
+     * @return the range conditions or null if the collection cannot be split
+     */
+    static List<DBObject> getRanges(DBCollection collection, int splits) {
+        Object min = getBound(collection, 1);
+        Object max = getBound(collection, -1);
+        //the sort order brackets by type, so the same type at both ends means all values are of that type
+        List<Object> bounds = new ArrayList<Object>(splits - 1);
+        if (min instanceof Number && max instanceof Number
+                && !(min instanceof Double || min instanceof Float || max instanceof Double || max instanceof Float)) {
+            long low = ((Number)min).longValue();
+            long step = ((Number)max).longValue()/splits - low/splits;
+            if (step <= 0) {
+                return null;
+            }
+            for (int i = 1; i < splits; i++) {
+                bounds.add(low + step * i);
+            }
+        } else if (min instanceof ObjectId && max instanceof ObjectId) {
+            //split on the leading timestamp seconds
+            long low = ((ObjectId)min).getTimestamp() & 0xffffffffL;
+            long step = ((((ObjectId)max).getTimestamp() & 0xffffffffL) - low) / splits;
+            if (step <= 0) {
+                return null;
+            }
+            for (int i = 1; i < splits; i++) {
+                bounds.add(new ObjectId(String.format("%08x0000000000000000", low + step * i))); //$NON-NLS-1$
+            }
+        } else {
+            return null;
+        }
+        List<DBObject> result = new ArrayList<DBObject>(splits);
+        for (int i = 0; i < splits; i++) {
+            BasicDBObject range = new BasicDBObject();
+            if (i > 0) {
+                range.append("$gte", bounds.get(i - 1)); //$NON-NLS-1$
+            }
+            if (i < splits - 1) {
+                range.append("$lt", bounds.get(i)); //$NON-NLS-1$
+            }
+            result.add(new BasicDBObject(ID, range));
+        }
+        return result;
+    }
+
+    private static Object getBound(DBCollection collection, int order) {
+        DBCursor cursor = collection.find(new BasicDBObject(), new BasicDBObject(ID, 1)).sort(new BasicDBObject(ID, order)).limit(1);
+        try {
+            if (cursor.hasNext()) {
+                return cursor.next().get(ID);
+            }
+            return null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+}
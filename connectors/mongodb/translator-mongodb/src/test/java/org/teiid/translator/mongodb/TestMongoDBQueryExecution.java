@@ -51,6 +51,7 @@ import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.parser.TestDDLParser;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.validator.ValidatorReport;
+import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
@@ -62,6 +63,7 @@ import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.Cursor;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.QueryBuilder;
 
@@ -1591,4 +1593,111 @@ public class TestMongoDBQueryExecution {
         Mockito.verify(dbCollection).aggregate(Mockito.eq(pipeline), Mockito.any(AggregationOptions.class));
     }
 
+    @Test
+    public void testEarlyProjection() throws Exception {
+        this.translator.setEarlyProjection(true);
+        String query = "SELECT Country,City FROM Customers WHERE Phone = 'x' GROUP BY Country,City";
+
+        DBCollection dbCollection = helpExecute(query, new String[]{"Customers"});
+
+        BasicDBObject project = new BasicDBObject();
+        project.append( "_m0","$_id._c0");
+        project.append( "_m1","$_id._c1");
+
+        BasicDBObject group = new BasicDBObject();
+        group.append( "_c0","$Country");
+        group.append( "_c1","$City");
+
+        List<DBObject> pipeline = buildArray(
+                        new BasicDBObject("$match", new BasicDBObject("Phone", "x")),
+                        new BasicDBObject("$project", new BasicDBObject("Country", 1).append("City", 1).append("Phone", 1)),
+                        new BasicDBObject("$group", new BasicDBObject("_id", group)),
+                        new BasicDBObject("$project", project));
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(dbCollection).aggregate(captor.capture(), Mockito.any(AggregationOptions.class));
+        List<DBObject> actual = captor.getValue();
+        assertEquals(pipeline.size(), actual.size());
+        assertEquals(pipeline.get(0), actual.get(0));
+        assertEquals(pipeline.get(2), actual.get(2));
+        //field order in the early projection is not significant
+        assertEquals(((DBObject)pipeline.get(1).get("$project")).toMap(), ((DBObject)actual.get(1).get("$project")).toMap());
+    }
+
+    @Test
+    public void testEarlyProjectionCountStar() throws Exception {
+        this.translator.setEarlyProjection(true);
+        String query = "SELECT count(*) FROM Customers";
+
+        DBCollection dbCollection = helpExecute(query, new String[]{"Customers"});
+
+        BasicDBObject group = new BasicDBObject();
+        group.append( "_id", null);
+        group.append( "_m0", new BasicDBObject("$sum", 1));
+
+        //no fields are referenced, so there is no early projection
+        List<DBObject> pipeline = buildArray(
+                        new BasicDBObject("$group", group),
+                        new BasicDBObject("$project", new BasicDBObject("_m0", 1)));
+        Mockito.verify(dbCollection).aggregate(Mockito.eq(pipeline), Mockito.any(AggregationOptions.class));
+    }
+
+    @Test
+    public void testParallelScan() throws Exception {
+        this.translator.setParallelScanSplits(2);
+        Command cmd = this.utility.parseCommand("SELECT CompanyName FROM Customers");
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        Mockito.stub(context.getBatchSize()).toReturn(256);
+        MongoDBConnection connection = Mockito.mock(MongoDBConnection.class);
+        DB db = Mockito.mock(DB.class);
+        DBCollection dbCollection = Mockito.mock(DBCollection.class);
+        Mockito.stub(db.getCollection("Customers")).toReturn(dbCollection);
+        Mockito.stub(connection.getDatabase()).toReturn(db);
+
+        DBCursor bounds = Mockito.mock(DBCursor.class);
+        Mockito.stub(dbCollection.find(Mockito.any(DBObject.class), Mockito.any(DBObject.class))).toReturn(bounds);
+        Mockito.stub(bounds.sort(Mockito.any(DBObject.class))).toReturn(bounds);
+        Mockito.stub(bounds.limit(1)).toReturn(bounds);
+        Mockito.stub(bounds.hasNext()).toReturn(true);
+        Mockito.when(bounds.next()).thenReturn(new BasicDBObject("_id", 0), new BasicDBObject("_id", 100L));
+
+        Mockito.stub(dbCollection.aggregate(Mockito.anyList(), Mockito.any(AggregationOptions.class))).toAnswer(new Answer<Cursor>() {
+            @Override
+            public Cursor answer(InvocationOnMock invocation) throws Throwable {
+                Cursor c = Mockito.mock(Cursor.class);
+                Mockito.when(c.hasNext()).thenReturn(true, false);
+                Mockito.when(c.next()).thenReturn(new BasicDBObject("_m0", "x"));
+                return c;
+            }
+        });
+
+        ResultSetExecution execution = this.translator.createResultSetExecution((QueryExpression)cmd, context,
+                this.utility.createRuntimeMetadata(), connection);
+        execution.execute();
+        int rows = 0;
+        long start = System.currentTimeMillis();
+        while (true) {
+            try {
+                List<?> row = execution.next();
+                if (row == null) {
+                    break;
+                }
+                assertEquals(Arrays.asList("x"), row);
+                rows++;
+            } catch (DataNotAvailableException e) {
+                assertTrue(System.currentTimeMillis() - start < 10000);
+                Thread.sleep(10);
+            }
+        }
+        assertEquals(2, rows);
+        execution.close();
+
+        BasicDBObject project = new BasicDBObject("_m0", "$CompanyName");
+        Mockito.verify(dbCollection).aggregate(Mockito.eq(buildArray(
+                new BasicDBObject("$match", new BasicDBObject("_id", new BasicDBObject("$lt", 50L))),
+                new BasicDBObject("$project", project))), Mockito.any(AggregationOptions.class));
+        Mockito.verify(dbCollection).aggregate(Mockito.eq(buildArray(
+                new BasicDBObject("$match", new BasicDBObject("_id", new BasicDBObject("$gte", 50L))),
+                new BasicDBObject("$project", project))), Mockito.any(AggregationOptions.class));
+    }
+
 }
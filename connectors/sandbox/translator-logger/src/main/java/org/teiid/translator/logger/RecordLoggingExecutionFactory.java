@@ -72,6 +72,21 @@ public class RecordLoggingExecutionFactory<F, C> extends BaseDelegatingExecution
         }
     }
 
+    @Override
+    public Execution createExecution(Command command,
+            ExecutionContext executionContext, RuntimeMetadata metadata,
+            C connection, F connectionFactory) throws TranslatorException {
+        Execution execution = getDelegate().createExecution(command, executionContext, metadata,
+                connection, connectionFactory);
+        Class<?> type = UpdateExecution.class;
+        if (execution instanceof ProcedureExecution) {
+            type = ProcedureExecution.class;
+        } else if (execution instanceof ResultSetExecution) {
+            type = ResultSetExecution.class;
+        }
+        return (Execution)Proxy.newProxyInstance(RecordLoggingExecutionFactory.class.getClassLoader(), new Class[] {type}, new LoggingHandler(execution, executionContext));
+    }
+
     @Override
     public ProcedureExecution createDirectExecution(List<Argument> arguments,
             Command command, ExecutionContext executionContext,
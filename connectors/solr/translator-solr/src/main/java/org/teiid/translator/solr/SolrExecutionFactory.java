@@ -39,14 +39,23 @@ import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.SourceSystemFunctions;
 import org.teiid.translator.Translator;
 import org.teiid.translator.TranslatorException;
+import org.teiid.translator.TranslatorProperty;
 import org.teiid.translator.UpdateExecution;
 import org.teiid.translator.jdbc.AliasModifier;
 import org.teiid.translator.jdbc.FunctionModifier;
 
 @Translator(name = "solr", description = "A translator for Solr search platform")
 public class SolrExecutionFactory extends ExecutionFactory<ConnectionFactory, SolrConnection> {
+
+    public enum PagingMode {
+        OFFSET,
+        CURSOR
+    }
+
     protected Map<String, FunctionModifier> functionModifiers = new TreeMap<String, FunctionModifier>(String.CASE_INSENSITIVE_ORDER);
 
+    private PagingMode pagingMode = PagingMode.OFFSET;
+
     public SolrExecutionFactory() {
         super();
         setSourceRequiredForMetadata(true);
@@ -70,6 +79,15 @@ public class SolrExecutionFactory extends ExecutionFactory<ConnectionFactory, So
         return new SolrMetadataProcessor();
     }
 
+    @TranslatorProperty(display="Paging Mode", description="How results are retrieved when there is no limit (OFFSET, CURSOR).  OFFSET, the default, uses start and rows.  CURSOR uses cursorMark deep paging, which adds a sort by the unique key, and falls back to OFFSET when the table does not have a single column primary key.", advanced=true)
+    public PagingMode getPagingMode() {
+        return pagingMode;
+    }
+
+    public void setPagingMode(PagingMode pagingMode) {
+        this.pagingMode = pagingMode;
+    }
+
     public void registerFunctionModifier(String name, FunctionModifier modifier) {
         this.functionModifiers.put(name, modifier);
     }
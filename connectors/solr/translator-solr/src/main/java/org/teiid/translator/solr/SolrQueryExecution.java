@@ -22,9 +22,11 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrQuery.SortClause;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.teiid.language.Command;
 import org.teiid.language.QueryExpression;
 import org.teiid.logging.LogManager;
@@ -33,6 +35,7 @@ import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.ResultSetExecution;
 import org.teiid.translator.TranslatorException;
+import org.teiid.translator.solr.SolrExecutionFactory.PagingMode;
 
 public class SolrQueryExecution implements ResultSetExecution {
     private ExecutionContext executionContext;
@@ -43,6 +46,9 @@ public class SolrQueryExecution implements ResultSetExecution {
     private SolrExecutionFactory executionFactory;
     private int offset = 0;
     private Long resultSize;
+    private PagingMode pagingMode = PagingMode.OFFSET;
+    private String cursorMark;
+    private boolean lastBatch;
 
     public SolrQueryExecution(SolrExecutionFactory ef, Command command,
             ExecutionContext executionContext, RuntimeMetadata metadata,
@@ -61,20 +67,55 @@ public class SolrQueryExecution implements ResultSetExecution {
     @Override
     public void execute() throws TranslatorException {
         LogManager.logDetail("Solr Source Query:", this.visitor.getSolrQuery()); //$NON-NLS-1$
+        if (this.visitor.isLimitInUse() || this.visitor.isCountStarInUse()) {
+            this.lastBatch = this.visitor.isLimitInUse();
+        } else if (this.executionFactory.getPagingMode() == PagingMode.CURSOR && this.visitor.getUniqueKeyField() != null) {
+            this.pagingMode = PagingMode.CURSOR;
+            this.cursorMark = CursorMarkParams.CURSOR_MARK_START;
+            SolrQuery query = this.visitor.getSolrQuery();
+            //the sort must include the unique key as the final tie breaker
+            boolean sortsUniqueKey = false;
+            for (SortClause clause : query.getSorts()) {
+                if (clause.getItem().equals(this.visitor.getUniqueKeyField())) {
+                    sortsUniqueKey = true;
+                }
+            }
+            if (!sortsUniqueKey) {
+                query.addSort(this.visitor.getUniqueKeyField(), SolrQuery.ORDER.asc);
+            }
+        }
         nextBatch();
     }
 
     public void nextBatch() throws TranslatorException {
         SolrQuery query = this.visitor.getSolrQuery();
-        if (!this.visitor.isLimitInUse()) {
-            query.setStart(this.offset);
+        switch (this.pagingMode) {
+        case CURSOR:
             query.setRows(this.executionContext.getBatchSize());
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, this.cursorMark);
+            break;
+        default:
+            if (!this.visitor.isLimitInUse()) {
+                query.setStart(this.offset);
+                query.setRows(this.executionContext.getBatchSize());
+            }
+            break;
         }
 
         QueryResponse queryResponse = connection.query(this.visitor.getSolrQuery());
         SolrDocumentList docList = queryResponse.getResults();
         this.resultSize = docList.getNumFound();
         this.resultsItr = docList.iterator();
+
+        if (this.pagingMode == PagingMode.CURSOR) {
+            String nextCursorMark = queryResponse.getNextCursorMark();
+            //the cursor does not advance once all results have been returned
+            if (nextCursorMark == null || nextCursorMark.equals(this.cursorMark)
+                    || docList.size() < this.executionContext.getBatchSize()) {
+                this.lastBatch = true;
+            }
+            this.cursorMark = nextCursorMark;
+        }
     }
 
     /*
@@ -105,7 +146,7 @@ public class SolrQueryExecution implements ResultSetExecution {
             this.offset++;
 
             // if we are at the end of the current cursor set, then get next ones.
-            if (!this.resultsItr.hasNext() && !this.visitor.isLimitInUse()) {
+            if (!this.resultsItr.hasNext() && !this.lastBatch) {
                 nextBatch();
             }
             return row;
@@ -124,7 +165,7 @@ public class SolrQueryExecution implements ResultSetExecution {
             this.offset++;
 
             // if we are at the end of the current cursor set, then get next ones.
-            if (!this.resultsItr.hasNext()) {
+            if (!this.resultsItr.hasNext() && !this.lastBatch) {
                 nextBatch();
             }
         }
@@ -36,6 +36,7 @@ import org.teiid.language.SQLConstants.Tokens;
 import org.teiid.language.visitor.HierarchyVisitor;
 import org.teiid.metadata.AbstractMetadataRecord;
 import org.teiid.metadata.RuntimeMetadata;
+import org.teiid.metadata.Table;
 import org.teiid.translator.jdbc.FunctionModifier;
 
 public class SolrSQLHierarchyVistor extends HierarchyVisitor {
@@ -55,6 +56,7 @@ public class SolrSQLHierarchyVistor extends HierarchyVisitor {
     private SolrExecutionFactory ef;
     private HashMap<String, String> columnAliasMap = new HashMap<String, String>();
     private boolean countStarInUse;
+    private String uniqueKeyField;
 
     public SolrSQLHierarchyVistor(RuntimeMetadata metadata, SolrExecutionFactory ef) {
         this.metadata = metadata;
@@ -85,6 +87,14 @@ public class SolrSQLHierarchyVistor extends HierarchyVisitor {
         return elemShortName;
     }
 
+    @Override
+    public void visit(NamedTable obj) {
+        Table table = obj.getMetadataObject();
+        if (table != null && table.getPrimaryKey() != null && table.getPrimaryKey().getColumns().size() == 1) {
+            this.uniqueKeyField = getRecordName(table.getPrimaryKey().getColumns().get(0));
+        }
+    }
+
     @Override
     public void visit(ColumnReference obj) {
         if (obj.getMetadataObject() != null) {
@@ -346,4 +356,11 @@ public class SolrSQLHierarchyVistor extends HierarchyVisitor {
         return countStarInUse;
     }
 
+    /**
+     * @return the solr field of the single column primary key or null if there is none
+     */
+    public String getUniqueKeyField() {
+        return uniqueKeyField;
+    }
+
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.translator.solr;
+
+import static org.junit.Assert.*;
+
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.teiid.cdk.api.TranslationUtility;
+import org.teiid.core.util.ObjectConverterUtil;
+import org.teiid.core.util.UnitTestUtil;
+import org.teiid.language.QueryExpression;
+import org.teiid.query.metadata.TransformationMetadata;
+import org.teiid.query.unittest.RealMetadataFactory;
+import org.teiid.translator.ExecutionContext;
+import org.teiid.translator.ResultSetExecution;
+import org.teiid.translator.solr.SolrExecutionFactory.PagingMode;
+
+@SuppressWarnings("nls")
+public class TestSolrQueryExecution {
+    private SolrExecutionFactory translator;
+    private TranslationUtility utility;
+
+    @Before
+    public void setUp() throws Exception {
+        this.translator = new SolrExecutionFactory();
+        this.translator.start();
+
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL(ObjectConverterUtil.convertFileToString(UnitTestUtil.getTestDataFile("exampleTBL.ddl")), "example", "solr");
+        this.utility = new TranslationUtility(metadata);
+    }
+
+    private List<String> helpExecute(String query, int expectedRows, final QueryResponse first, final QueryResponse... rest) throws Exception {
+        QueryExpression cmd = (QueryExpression)this.utility.parseCommand(query);
+        ExecutionContext context = Mockito.mock(ExecutionContext.class);
+        Mockito.stub(context.getBatchSize()).toReturn(2);
+
+        SolrConnection connection = Mockito.mock(SolrConnection.class);
+        final List<String> queries = new ArrayList<String>();
+        Mockito.when(connection.query(Mockito.any(SolrQuery.class))).thenAnswer(new Answer<QueryResponse>() {
+            int call;
+            @Override
+            public QueryResponse answer(InvocationOnMock invocation) throws Throwable {
+                SolrQuery q = (SolrQuery)invocation.getArguments()[0];
+                queries.add(URLDecoder.decode(q.toString(), "UTF-8"));
+                return call++ == 0?first:rest[call-2];
+            }
+        });
+
+        ResultSetExecution execution = this.translator.createResultSetExecution(cmd, context, this.utility.createRuntimeMetadata(), connection);
+        execution.execute();
+        int rows = 0;
+        while (execution.next() != null) {
+            rows++;
+        }
+        assertEquals(expectedRows, rows);
+        return queries;
+    }
+
+    private static QueryResponse response(String nextCursorMark, String... names) {
+        SolrDocumentList list = new SolrDocumentList();
+        for (String name : names) {
+            SolrDocument doc = new SolrDocument();
+            doc.addField("name", name);
+            list.add(doc);
+        }
+        QueryResponse response = Mockito.mock(QueryResponse.class);
+        Mockito.stub(response.getResults()).toReturn(list);
+        Mockito.stub(response.getNextCursorMark()).toReturn(nextCursorMark);
+        return response;
+    }
+
+    @Test
+    public void testCursorPaging() throws Exception {
+        this.translator.setPagingMode(PagingMode.CURSOR);
+        List<String> queries = helpExecute("select name from example", 3, response("a", "x", "y"), response("b", "z"));
+        assertEquals("[fl=name&q=*:*&sort=name asc&rows=2&cursorMark=*, "
+                + "fl=name&q=*:*&sort=name asc&rows=2&cursorMark=a]", queries.toString());
+    }
+
+    @Test
+    public void testCursorPagingWithOrderBy() throws Exception {
+        this.translator.setPagingMode(PagingMode.CURSOR);
+        List<String> queries = helpExecute("select name from example order by price desc", 2, response("a", "x", "y"), response("a"));
+        assertEquals("[fl=name&sort=price desc,name asc&q=*:*&rows=2&cursorMark=*, "
+                + "fl=name&sort=price desc,name asc&q=*:*&rows=2&cursorMark=a]", queries.toString());
+    }
+
+    @Test
+    public void testOffsetPaging() throws Exception {
+        //offset is the default
+        List<String> queries = helpExecute("select name from example", 2, response(null, "x", "y"), response(null));
+        assertEquals("[fl=name&q=*:*&start=0&rows=2, fl=name&q=*:*&start=2&rows=2]", queries.toString());
+    }
+
+}
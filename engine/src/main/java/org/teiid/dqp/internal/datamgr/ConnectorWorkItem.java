@@ -206,6 +206,7 @@ public class ConnectorWorkItem implements ConnectorWork {
         factory.setSupportsConcat2(capabilities.supportsFunction(SourceSystemFunctions.CONCAT2));
         factory.setSupportsCountBig(capabilities.supportsCapability(Capability.QUERY_AGGREGATES_COUNT_BIG));
         factory.setMaxInPredicateSize((Integer) capabilities.getSourceProperty(Capability.MAX_IN_CRITERIA_SIZE));
+        factory.setSupportsArrayInBinding(capabilities.supportsCapability(Capability.ARRAY_IN_BINDING));
         factory.setExcludeWithName((String) capabilities.getSourceProperty(Capability.EXCLUDE_COMMON_TABLE_EXPRESSION_NAME));
         factory.setSourceNullOrder((NullOrder) capabilities.getSourceProperty(Capability.QUERY_ORDERBY_DEFAULT_NULL_ORDER));
         factory.setSupportsNullOrdering(capabilities.supportsCapability(Capability.QUERY_ORDERBY_NULL_ORDERING));
@@ -387,7 +388,7 @@ public class ConnectorWorkItem implements ConnectorWork {
                 if (exec != null) {
                     ((ReusableExecution)exec).reset(translatedCommand, this.securityContext, connection);
                 } else {
-                    exec = connector.createExecution(translatedCommand, this.securityContext, queryMetadata, (unwrapped == null) ? this.connection:unwrapped);
+                    exec = connector.createExecution(translatedCommand, this.securityContext, queryMetadata, (unwrapped == null) ? this.connection:unwrapped, this.connectionFactory);
                 }
                 setExecution(command, translatedCommand, exec);
 
@@ -50,6 +50,7 @@ import org.teiid.query.function.FunctionDescriptor;
 import org.teiid.query.function.FunctionMethods;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TempMetadataID;
+import org.teiid.query.optimizer.relational.rules.CapabilitiesUtil;
 import org.teiid.query.optimizer.relational.rules.RulePlaceAccess;
 import org.teiid.query.sql.lang.*;
 import org.teiid.query.sql.lang.Command;
@@ -158,6 +159,7 @@ public class LanguageBridgeFactory {
     private boolean supportsConcat2;
     private int maxInCriteriaSize;
     private boolean supportsCountBig;
+    private boolean supportsArrayInBinding;
 
     //state to handle with name exclusion
     private IdentityHashMap<Object, GroupSymbol> remappedGroups;
@@ -196,6 +198,10 @@ public class LanguageBridgeFactory {
         this.supportsCountBig = supportsCountBig;
     }
 
+    public void setSupportsArrayInBinding(boolean supportsArrayInBinding) {
+        this.supportsArrayInBinding = supportsArrayInBinding;
+    }
+
     public org.teiid.language.Command translate(Command command) {
         try {
             if (command == null) {
@@ -570,7 +576,9 @@ public class LanguageBridgeFactory {
             }
             return condition;
         }
-        if (maxInCriteriaSize > 0 && translatedExpressions.size() > maxInCriteriaSize) {
+        if (maxInCriteriaSize > 0 && translatedExpressions.size() > maxInCriteriaSize
+                && !(supportsArrayInBinding && CapabilitiesUtil.isArrayInBindable(criteria.getExpression().getType())
+                        && isAllLiterals(translatedExpressions))) {
             Condition condition = null;
             int count = translatedExpressions.size()/maxInCriteriaSize + ((translatedExpressions.size()%maxInCriteriaSize!=0)?1:0);
             for (int i = 0; i < count; i++) {
@@ -589,6 +597,15 @@ public class LanguageBridgeFactory {
                                   criteria.isNegated());
     }
 
+    private static boolean isAllLiterals(List<org.teiid.language.Expression> expressions) {
+        for (org.teiid.language.Expression expression : expressions) {
+            if (!(expression instanceof Literal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     SubqueryComparison translate(SubqueryCompareCriteria criteria) {
         Quantifier quantifier = Quantifier.ALL;
         switch(criteria.getPredicateQuantifier()) {
@@ -30,6 +30,7 @@ import org.teiid.core.TeiidException;
 import org.teiid.core.util.Assertion;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.parser.ParseInfo;
@@ -48,6 +49,7 @@ public class CachedResults implements Serializable, Cachable {
     private String uuid;
     private boolean hasLobs;
     private int rowLimit;
+    private Determinism determinism;
 
     private AccessInfo accessInfo = new AccessInfo();
 
@@ -121,4 +123,12 @@ public class CachedResults implements Serializable, Cachable {
         this.rowLimit = rowLimit;
     }
 
+    public Determinism getDeterminism() {
+        return determinism;
+    }
+
+    public void setDeterminism(Determinism determinism) {
+        this.determinism = determinism;
+    }
+
 }
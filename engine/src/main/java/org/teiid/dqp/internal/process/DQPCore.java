@@ -82,6 +82,7 @@ import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.logging.MessageLevel;
 import org.teiid.query.QueryPlugin;
+import org.teiid.query.analysis.PlanningStatistics;
 import org.teiid.query.processor.QueryProcessor;
 import org.teiid.query.tempdata.TempTableDataManager;
 import org.teiid.query.tempdata.TempTableStore;
@@ -130,6 +131,7 @@ public class DQPCore implements DQP {
 
     private EnhancedTimer cancellationTimer;
     private Options options;
+    private PlanningStatistics planningStatistics = new PlanningStatistics();
 
     private ExecutorService timeoutExecutor;
 
@@ -295,6 +297,7 @@ public class DQPCore implements DQP {
                 dataTierMgr, transactionService, state.sessionTables,
                 workContext, this.prepPlanCache);
         request.setOptions(options);
+        request.setPlanningStatistics(this.planningStatistics);
         request.setExecutor(this.processWorkerPool);
         request.setResultSetCacheEnabled(this.rsCache != null);
         request.setAuthorizationValidator(this.authorizationValidator);
@@ -509,6 +512,13 @@ public class DQPCore implements DQP {
         return this.processWorkerPool.getStats();
     }
 
+    /**
+     * @return the planning time aggregated by phase and rule
+     */
+    public PlanningStatistics getPlanningStatistics() {
+        return planningStatistics;
+    }
+
     public TeiidExecutor getProcessWorkerPool() {
         return processWorkerPool;
     }
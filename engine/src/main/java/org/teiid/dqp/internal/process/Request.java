@@ -54,6 +54,9 @@ import org.teiid.logging.MessageLevel;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.analysis.PlanningStatistics;
+import org.teiid.query.metadata.ProfilingMetadataWrapper;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.SupportConstants;
 import org.teiid.query.metadata.TempCapabilitiesFinder;
@@ -136,6 +139,7 @@ public class Request {
     private int userRequestConcurrency;
     private AuthorizationValidator authorizationValidator;
     private Executor executor;
+    private PlanningStatistics planningStatistics;
     protected Options options;
     protected PreParser preParser;
 
@@ -164,6 +168,10 @@ public class Request {
         this.options = options;
     }
 
+    public void setPlanningStatistics(PlanningStatistics planningStatistics) {
+        this.planningStatistics = planningStatistics;
+    }
+
     void setMetadata(CapabilitiesFinder capabilitiesFinder, QueryMetadataInterface metadata) {
         this.capabilitiesFinder = capabilitiesFinder;
         this.metadata = metadata;
@@ -203,6 +211,10 @@ public class Request {
              throw new TeiidComponentException(QueryPlugin.Event.TEIID30489, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30489, this.vdbName, this.vdbVersion));
         }
 
+        if (requestMsg.getShowPlan() == ShowPlan.DEBUG) {
+            metadata = new ProfilingMetadataWrapper(metadata, getAnalysisRecord().getPlanningProfile());
+        }
+
         TempMetadataAdapter tma = new TempMetadataAdapter(metadata, this.tempTableStore.getMetadataStore());
         tma.setSession(true);
         this.metadata = tma;
@@ -438,13 +450,17 @@ public class Request {
 
         List<Reference> references = ReferenceCollectorVisitor.getReferences(command);
 
-        getAnalysisRecord();
+        PlanningProfile profile = getAnalysisRecord().getPlanningProfile();
 
+        long start = System.nanoTime();
         resolveCommand(command);
+        profile.record("resolve", start, -1); //$NON-NLS-1$
 
         checkReferences(references);
 
+        start = System.nanoTime();
         validateAccess(requestMsg.getCommands(), command, CommandType.USER);
+        profile.record("authorize", start, -1); //$NON-NLS-1$
 
         this.userCommand = (Command) command.clone();
 
@@ -456,9 +472,13 @@ public class Request {
             }
         }
 
+        start = System.nanoTime();
         validateQuery(command);
+        profile.record("validate", start, -1); //$NON-NLS-1$
 
+        start = System.nanoTime();
         command = QueryRewriter.rewrite(command, metadata, context);
+        profile.record("rewrite", start, -1); //$NON-NLS-1$
 
         /*
          * Adds a row limit to a query if Statement.setMaxRows has been called and the command
@@ -480,9 +500,18 @@ public class Request {
         // Run the optimizer
         try {
             CommandContext.pushThreadLocalContext(context);
+            start = System.nanoTime();
             processPlan = QueryOptimizer.optimizePlan(command, metadata, idGenerator, capabilitiesFinder, analysisRecord, context);
+            profile.record("optimize", start, -1); //$NON-NLS-1$
         } finally {
             CommandContext.popThreadLocalContext();
+            if (debug) {
+                analysisRecord.println("\n============================================================================"); //$NON-NLS-1$
+                analysisRecord.println(profile.toString());
+            }
+            if (this.planningStatistics != null) {
+                this.planningStatistics.add(profile);
+            }
             String debugLog = analysisRecord.getDebugLog();
             if(debugLog != null && debugLog.length() > 0) {
                 LogManager.log(requestMsg.getShowPlan()==ShowPlan.DEBUG?MessageLevel.INFO:MessageLevel.TRACE, LogConstants.CTX_QUERY_PLANNER, debugLog);
@@ -192,6 +192,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
     private Command originalCommand;
     private AnalysisRecord analysisRecord;
     private TransactionContext transactionContext;
+    private Determinism cachedDeterminism;
     TupleBuffer resultsBuffer;
     private boolean returnsUpdateCount;
 
@@ -655,6 +656,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                         if (!request.validateAccess(requestMsg.getCommands(), this.originalCommand, CommandType.CACHED)) {
                             LogManager.logDetail(LogConstants.CTX_DQP, requestID, "Using result set cached results", cacheId); //$NON-NLS-1$
                             this.resultsBuffer = cr.getResults();
+                            this.cachedDeterminism = cr.getDeterminism();
                             doneProducingBatches();
                             return;
                         }
@@ -854,6 +856,7 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
         } catch (TeiidException e) {
             LogManager.logDetail(LogConstants.CTX_DQP, e, QueryPlugin.Util.getString("failed_to_cache")); //$NON-NLS-1$
         }
+        cr.setDeterminism(determinismLevel);
         dqpCore.getRsCache().put(cid, determinismLevel, cr, originalCommand.getCacheHint() != null?originalCommand.getCacheHint().getTtl():null);
     }
 
@@ -966,6 +969,10 @@ public class RequestWorkItem extends AbstractWorkItem implements PrioritizedRunn
                 response.setLastRow((int)batch.getEndRow());
             }
             response.setUpdateResult(this.returnsUpdateCount);
+            Determinism determinismLevel = this.processor != null ? this.processor.getContext().getDeterminismLevel() : this.cachedDeterminism;
+            if (determinismLevel != null) {
+                response.setDeterminismLevel(determinismLevel.name());
+            }
             if (this.returnsUpdateCount) {
                 //batch updates can have special exceptions in addition to update count results
                 Throwable t = this.processor.getContext().getBatchUpdateException();
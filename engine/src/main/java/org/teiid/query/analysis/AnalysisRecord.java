@@ -54,6 +54,7 @@ import org.teiid.query.sql.visitor.ValueIteratorProviderCollectorVisitor;
 public class AnalysisRecord {
 
     private static final int MAX_PLAN_LENGTH = PropertiesUtils.getHierarchicalProperty("org.teiid.maxPlanLength", 1<<25, Integer.class); //$NON-NLS-1$
+    private static final boolean PROFILE_PLANNING = PropertiesUtils.getHierarchicalProperty("org.teiid.profilePlanning", false, Boolean.class); //$NON-NLS-1$
 
     // Common
     public static final String PROP_OUTPUT_COLS = "Output Columns"; //$NON-NLS-1$
@@ -110,6 +111,8 @@ public class AnalysisRecord {
     private StringWriter stringWriter;  // inner
     private PrintWriter debugWriter;    // public
 
+    private PlanningProfile planningProfile = new PlanningProfile();
+
     public AnalysisRecord(boolean recordQueryPlan, boolean recordDebug) {
         this.recordQueryPlan = recordQueryPlan || LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.DETAIL);
         this.recordDebug = recordDebug || LogManager.isMessageToBeRecorded(LogConstants.CTX_QUERY_PLANNER, MessageLevel.TRACE);
@@ -124,6 +127,23 @@ public class AnalysisRecord {
         }
     }
 
+    /**
+     * Get the timings of the planning phases and rules
+     * @return the profile of this request
+     */
+    public PlanningProfile getPlanningProfile() {
+        return planningProfile;
+    }
+
+    /**
+     * Determines if the individual rules and views should be timed, which is
+     * only done when debugging or when org.teiid.profilePlanning is set.
+     * @return true if detailed planning timings should be recorded
+     */
+    public boolean recordPlanningProfile() {
+        return recordDebug || PROFILE_PLANNING;
+    }
+
     public static AnalysisRecord createNonRecordingRecord() {
         return new AnalysisRecord(false, false);
     }
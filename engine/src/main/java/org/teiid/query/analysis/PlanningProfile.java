@@ -0,0 +1,137 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.query.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the time spent in each planning phase, optimizer rule and metadata lookup
+ * for a single request.
+ * <br>
+ * View times are self times, which exclude the time spent planning the views nested within them.
+ */
+public class PlanningProfile {
+
+    public static class Entry {
+        private String name;
+        private long count;
+        private long nanos;
+        private int nodeCount = -1;
+
+        Entry(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return the plan node count after the last execution or -1 if not applicable
+         */
+        public int getNodeCount() {
+            return nodeCount;
+        }
+    }
+
+    private Map<String, Entry> entries = new LinkedHashMap<String, Entry>();
+    private long nestedNanos;
+
+    /**
+     * Record an execution of the given phase
+     * @param name
+     * @param startNanos the {@link System#nanoTime()} value at the start of the execution
+     * @param nodeCount the plan node count after the execution or -1
+     */
+    public synchronized void record(String name, long startNanos, int nodeCount) {
+        add(name, System.nanoTime() - startNanos, nodeCount);
+    }
+
+    /**
+     * Start a nested execution, such as a view, that should be recorded with {@link #recordSelf(String, long, long)}
+     * @return the nested time of the enclosing execution, to be passed to {@link #recordSelf(String, long, long)}
+     */
+    public synchronized long startNested() {
+        long result = nestedNanos;
+        nestedNanos = 0;
+        return result;
+    }
+
+    /**
+     * Record the self time of a nested execution - excluding the time of the nested executions
+     * recorded within it
+     * @param name
+     * @param startNanos the {@link System#nanoTime()} value at the start of the execution
+     * @param enclosingNested the value returned by {@link #startNested()}
+     */
+    public synchronized void recordSelf(String name, long startNanos, long enclosingNested) {
+        long nanos = System.nanoTime() - startNanos;
+        add(name, nanos - nestedNanos, -1);
+        nestedNanos = enclosingNested + nanos;
+    }
+
+    private void add(String name, long nanos, int nodeCount) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name);
+            entries.put(name, entry);
+        }
+        entry.count++;
+        entry.nanos += nanos;
+        entry.nodeCount = nodeCount;
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<Entry>(entries.values());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PLANNING PROFILE:"); //$NON-NLS-1$
+        List<Entry> sorted = getEntries();
+        Collections.sort(sorted, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry o1, Entry o2) {
+                return Long.compare(o2.nanos, o1.nanos);
+            }
+        });
+        for (Entry entry : sorted) {
+            sb.append("\n  ").append(entry.name) //$NON-NLS-1$
+                .append(" count=").append(entry.count) //$NON-NLS-1$
+                .append(" time=").append(String.format("%.3f", entry.nanos/1000000d)).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            if (entry.nodeCount >= 0) {
+                sb.append(" nodes=").append(entry.nodeCount); //$NON-NLS-1$
+            }
+        }
+        return sb.toString();
+    }
+
+}
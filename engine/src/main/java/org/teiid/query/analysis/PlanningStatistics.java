@@ -0,0 +1,165 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.query.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.teiid.core.util.PropertiesUtils;
+
+/**
+ * Aggregates {@link PlanningProfile}s across requests so that the phases and rules
+ * that dominate planning can be monitored.
+ * <br>
+ * The number of distinct entries is bounded, once reached new entries are not tracked.
+ */
+public class PlanningStatistics {
+
+    private static final int MAX_ENTRIES = PropertiesUtils.getHierarchicalProperty("org.teiid.maxPlanningStatistics", 1000, Integer.class); //$NON-NLS-1$
+
+    private static class Stat {
+        AtomicLong count = new AtomicLong();
+        AtomicLong nanos = new AtomicLong();
+        AtomicLong maxNanos = new AtomicLong();
+    }
+
+    /**
+     * A snapshot of the aggregated values for a phase, rule or view
+     */
+    public static class Entry {
+        private final String name;
+        private final long count;
+        private final long nanos;
+        private final long maxNanos;
+
+        Entry(String name, Stat stat) {
+            this.name = name;
+            this.count = stat.count.get();
+            this.nanos = stat.nanos.get();
+            this.maxNanos = stat.maxNanos.get();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return the total time across requests
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return the max time for a single request
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+
+    private ConcurrentHashMap<String, Stat> stats = new ConcurrentHashMap<String, Stat>();
+    private AtomicLong profileCount = new AtomicLong();
+    private int maxEntries;
+
+    public PlanningStatistics() {
+        this(MAX_ENTRIES);
+    }
+
+    public PlanningStatistics(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public void add(PlanningProfile profile) {
+        profileCount.incrementAndGet();
+        for (PlanningProfile.Entry entry : profile.getEntries()) {
+            Stat stat = stats.get(entry.getName());
+            if (stat == null) {
+                if (stats.size() >= maxEntries) {
+                    continue;
+                }
+                stat = new Stat();
+                Stat existing = stats.putIfAbsent(entry.getName(), stat);
+                if (existing != null) {
+                    stat = existing;
+                }
+            }
+            stat.count.addAndGet(entry.getCount());
+            stat.nanos.addAndGet(entry.getNanos());
+            long max = stat.maxNanos.get();
+            while (entry.getNanos() > max && !stat.maxNanos.compareAndSet(max, entry.getNanos())) {
+                max = stat.maxNanos.get();
+            }
+        }
+    }
+
+    /**
+     * @return the number of profiles that have been added
+     */
+    public long getProfileCount() {
+        return profileCount.get();
+    }
+
+    public void clear() {
+        stats.clear();
+        profileCount.set(0);
+    }
+
+    /**
+     * @return the entries ordered by descending total time
+     */
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<Entry>(stats.size());
+        for (Map.Entry<String, Stat> entry : stats.entrySet()) {
+            result.add(new Entry(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(result, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry o1, Entry o2) {
+                return Long.compare(o2.nanos, o1.nanos);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return the total count, total time and the max time per request of each entry
+     * ordered by descending total time
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PLANNING STATISTICS: requests=").append(getProfileCount()); //$NON-NLS-1$
+        for (Entry entry : getEntries()) {
+            sb.append("\n  ").append(entry.name) //$NON-NLS-1$
+                .append(" count=").append(entry.count) //$NON-NLS-1$
+                .append(" time=").append(String.format("%.3f", entry.nanos/1000000d)).append(" ms") //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                .append(" max=").append(String.format("%.3f", entry.maxNanos/1000000d)).append(" ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+        return sb.toString();
+    }
+
+}
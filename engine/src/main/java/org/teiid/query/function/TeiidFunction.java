@@ -39,4 +39,12 @@ public @interface TeiidFunction {
     Determinism determinism() default Determinism.DETERMINISTIC;
     PushDown pushdown() default PushDown.CAN_PUSHDOWN;
     String alias()  default "";
+    /**
+     * The partial aggregate of a decomposable aggregate function, see {@link org.teiid.metadata.AggregateAttributes#getPartialAggregate()}
+     */
+    String partialAggregate() default "";
+    /**
+     * The merge aggregate of a decomposable aggregate function, see {@link org.teiid.metadata.AggregateAttributes#getMergeAggregate()}
+     */
+    String mergeAggregate() default "";
 }
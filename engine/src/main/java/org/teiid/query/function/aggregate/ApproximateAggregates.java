@@ -0,0 +1,604 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.function.aggregate;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.teiid.CommandContext;
+import org.teiid.api.exception.query.FunctionExecutionException;
+import org.teiid.core.types.BinaryType;
+import org.teiid.metadata.FunctionMethod.PushDown;
+import org.teiid.query.QueryPlugin;
+import org.teiid.query.function.TeiidFunction;
+import org.teiid.query.function.metadata.FunctionCategoryConstants;
+
+/**
+ * Approximate aggregates that use a fixed size sketch rather than retaining
+ * or sorting all of the input values.
+ */
+public class ApproximateAggregates {
+
+    public static final String COUNT_DISTINCT = "approx_count_distinct"; //$NON-NLS-1$
+    public static final String COUNT_DISTINCT_SKETCH = "approx_count_distinct_sketch"; //$NON-NLS-1$
+    public static final String COUNT_DISTINCT_MERGE = "approx_count_distinct_merge"; //$NON-NLS-1$
+    public static final String PERCENTILE = "approx_percentile"; //$NON-NLS-1$
+    public static final String MEDIAN = "approx_median"; //$NON-NLS-1$
+    public static final String PERCENTILE_SKETCH = "approx_percentile_sketch"; //$NON-NLS-1$
+    public static final String PERCENTILE_MERGE = "approx_percentile_merge"; //$NON-NLS-1$
+    public static final String MEDIAN_MERGE = "approx_median_merge"; //$NON-NLS-1$
+
+    /**
+     * HyperLogLog registers, which are merged by taking the max of each register
+     */
+    abstract static class AbstractCountDistinct<T> implements ExposedStateUserDefinedAggregate<T> {
+
+        static final int PRECISION = 12;
+        static final int REGISTERS = 1 << PRECISION;
+
+        protected byte[] registers;
+
+        @Override
+        public void reset() {
+            //the registers may be shared with the group sort state, so don't clear in place
+            registers = null;
+        }
+
+        protected void add(Object value) {
+            if (registers == null) {
+                registers = new byte[REGISTERS];
+            }
+            long hash = hash(value);
+            int index = (int)(hash >>> (64 - PRECISION));
+            //the remaining bits are padded with a one so that the rank is bounded
+            long remaining = (hash << PRECISION) | (1L << (PRECISION - 1));
+            byte rank = (byte)(Long.numberOfLeadingZeros(remaining) + 1);
+            if (rank > registers[index]) {
+                registers[index] = rank;
+            }
+        }
+
+        protected void merge(BinaryType sketch) throws FunctionExecutionException {
+            byte[] other = sketch.getBytesDirect();
+            if (other.length != REGISTERS) {
+                throw new FunctionExecutionException(QueryPlugin.Event.TEIID31303, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31303, COUNT_DISTINCT_MERGE, COUNT_DISTINCT_SKETCH));
+            }
+            if (registers == null) {
+                //the other registers may be shared, so copy
+                registers = other.clone();
+                return;
+            }
+            for (int i = 0; i < REGISTERS; i++) {
+                if (other[i] > registers[i]) {
+                    registers[i] = other[i];
+                }
+            }
+        }
+
+        protected long estimate() {
+            if (registers == null) {
+                return 0L;
+            }
+            double sum = 0;
+            int zeros = 0;
+            for (byte rank : registers) {
+                sum += 1d / (1L << rank);
+                if (rank == 0) {
+                    zeros++;
+                }
+            }
+            double alpha = 0.7213 / (1 + 1.079 / REGISTERS);
+            double estimate = alpha * REGISTERS * REGISTERS / sum;
+            if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+                //linear counting is more accurate for small cardinalities
+                estimate = REGISTERS * Math.log((double)REGISTERS / zeros);
+            }
+            return Math.round(estimate);
+        }
+
+        @Override
+        public List<? extends Class<?>> getStateTypes() {
+            return Arrays.asList(BinaryType.class);
+        }
+
+        @Override
+        public void getState(List<Object> state) {
+            state.add(registers == null?null:new BinaryType(registers));
+        }
+
+        @Override
+        public int setState(List<?> state, int index) {
+            BinaryType value = (BinaryType) state.get(index++);
+            registers = value == null?null:value.getBytesDirect();
+            return index;
+        }
+
+        static long hash(Object value) {
+            long h;
+            value = normalize(value);
+            if (value instanceof String) {
+                //FNV-1a over the chars
+                String s = (String)value;
+                h = 0xcbf29ce484222325L;
+                for (int i = 0; i < s.length(); i++) {
+                    h ^= s.charAt(i);
+                    h *= 0x100000001b3L;
+                }
+            } else if (value instanceof Long) {
+                h = (Long)value;
+            } else if (value instanceof Double) {
+                h = Double.doubleToLongBits((Double)value);
+            } else {
+                h = value.hashCode();
+            }
+            //murmur3 finalizer so that all bits are well distributed
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+
+        /**
+         * Convert values that compare as equal to the same representation, so that
+         * for example 1, 1.0 and 1.00 are counted as a single distinct value
+         */
+        static Object normalize(Object value) {
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                return ((Number)value).longValue();
+            }
+            if (value instanceof Double || value instanceof Float) {
+                double d = ((Number)value).doubleValue();
+                if (d == Math.rint(d) && Math.abs(d) < 0x1p63) {
+                    return (long)d;
+                }
+                return d;
+            }
+            if (value instanceof BigInteger) {
+                BigInteger bi = (BigInteger)value;
+                if (bi.bitLength() < Long.SIZE) {
+                    return bi.longValue();
+                }
+                return bi;
+            }
+            if (value instanceof BigDecimal) {
+                BigDecimal bd = (BigDecimal)value;
+                if (bd.signum() == 0) {
+                    return 0L;
+                }
+                bd = bd.stripTrailingZeros();
+                if (bd.scale() <= 0) {
+                    return normalize(bd.toBigInteger());
+                }
+                double d = bd.doubleValue();
+                if (new BigDecimal(d).compareTo(bd) == 0) {
+                    return d;
+                }
+                return bd;
+            }
+            if (value instanceof Character) {
+                return value.toString();
+            }
+            return value;
+        }
+
+    }
+
+    /**
+     * HyperLogLog distinct count estimate using 2^12 single byte registers, which
+     * gives a standard error of about 1.6%.
+     */
+    public static class CountDistinct extends AbstractCountDistinct<Long> {
+
+        @TeiidFunction(name=COUNT_DISTINCT, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN,
+                partialAggregate=COUNT_DISTINCT_SKETCH, mergeAggregate=COUNT_DISTINCT_MERGE)
+        public void addInput(Object value) {
+            add(value);
+        }
+
+        @Override
+        public Long getResult(CommandContext commandContext) {
+            return estimate();
+        }
+
+    }
+
+    /**
+     * The HyperLogLog registers of the input values, which are combined with {@link CountDistinctMerge}
+     */
+    public static class CountDistinctSketch extends AbstractCountDistinct<BinaryType> {
+
+        @TeiidFunction(name=COUNT_DISTINCT_SKETCH, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN)
+        public void addInput(Object value) {
+            add(value);
+        }
+
+        @Override
+        public BinaryType getResult(CommandContext commandContext) {
+            return registers == null?null:new BinaryType(registers);
+        }
+
+    }
+
+    /**
+     * Distinct count estimate from the merged registers of {@link CountDistinctSketch} values
+     */
+    public static class CountDistinctMerge extends AbstractCountDistinct<Long> {
+
+        @TeiidFunction(name=COUNT_DISTINCT_MERGE, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN)
+        public void addInput(BinaryType sketch) throws FunctionExecutionException {
+            merge(sketch);
+        }
+
+        @Override
+        public Long getResult(CommandContext commandContext) {
+            return estimate();
+        }
+
+    }
+
+    /**
+     * A merging digest of weighted centroids.  Centroids near the tails are kept small
+     * so that extreme percentiles remain accurate, and the number of centroids is
+     * bounded by roughly the compression factor.
+     */
+    static class Digest implements Serializable {
+
+        private static final long serialVersionUID = -4253064429564284915L;
+
+        static final int COMPRESSION = 100;
+        static final int BUFFER_SIZE = 5 * COMPRESSION;
+        static final int HEADER_SIZE = 3 * 8 + 4;
+
+        private double[] means = new double[0];
+        private double[] weights = new double[0];
+        private double[] buffer = new double[BUFFER_SIZE];
+        private int bufferSize;
+        private double total;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            buffer[bufferSize++] = value;
+            total++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            if (bufferSize == BUFFER_SIZE) {
+                compress();
+            }
+        }
+
+        /**
+         * Merge the centroids and buffered values of the other digest into this digest.
+         * The other digest is not modified.
+         */
+        void merge(Digest other) {
+            for (int i = 0; i < other.bufferSize; i++) {
+                add(other.buffer[i]);
+            }
+            if (other.means.length == 0) {
+                return;
+            }
+            compress();
+            total += other.total - other.bufferSize;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            merge(other.means, other.weights, other.means.length);
+        }
+
+        /**
+         * Merge the buffered values into the centroids
+         */
+        void compress() {
+            if (bufferSize == 0) {
+                return;
+            }
+            Arrays.sort(buffer, 0, bufferSize);
+            merge(buffer, null, bufferSize);
+            bufferSize = 0;
+        }
+
+        /**
+         * Merge the sorted values into the centroids.  The total must already include their weight.
+         * @param otherWeights the weights of the values, or null if each has a weight of 1
+         */
+        private void merge(double[] otherMeans, double[] otherWeights, int otherSize) {
+            int count = means.length + otherSize;
+            double[] newMeans = new double[count];
+            double[] newWeights = new double[count];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            double weightSoFar = 0;
+            while (i < means.length || j < otherSize) {
+                double mean;
+                double weight;
+                if (j == otherSize || (i < means.length && means[i] <= otherMeans[j])) {
+                    mean = means[i];
+                    weight = weights[i++];
+                } else {
+                    mean = otherMeans[j];
+                    weight = otherWeights == null ? 1 : otherWeights[j];
+                    j++;
+                }
+                if (size > 0) {
+                    double current = newWeights[size - 1];
+                    double q0 = weightSoFar / total;
+                    double q2 = (weightSoFar + current + weight) / total;
+                    double limit = total * Math.min(maxSize(q0), maxSize(q2));
+                    if (current + weight <= limit) {
+                        newWeights[size - 1] = current + weight;
+                        newMeans[size - 1] += (mean - newMeans[size - 1]) * weight / (current + weight);
+                        continue;
+                    }
+                    weightSoFar += current;
+                }
+                newMeans[size] = mean;
+                newWeights[size++] = weight;
+            }
+            means = Arrays.copyOf(newMeans, size);
+            weights = Arrays.copyOf(newWeights, size);
+        }
+
+        /**
+         * The compressed digest as the total weight, min, max, centroid count, and the
+         * mean and weight of each centroid
+         */
+        BinaryType toBinary() {
+            compress();
+            ByteBuffer bb = ByteBuffer.allocate(HEADER_SIZE + 16 * means.length);
+            bb.putDouble(total);
+            bb.putDouble(min);
+            bb.putDouble(max);
+            bb.putInt(means.length);
+            for (int i = 0; i < means.length; i++) {
+                bb.putDouble(means[i]);
+                bb.putDouble(weights[i]);
+            }
+            return new BinaryType(bb.array());
+        }
+
+        /**
+         * @return the digest or null if the bytes are not from {@link #toBinary()}
+         */
+        static Digest fromBinary(byte[] bytes) {
+            if (bytes.length < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer bb = ByteBuffer.wrap(bytes);
+            Digest digest = new Digest();
+            digest.total = bb.getDouble();
+            digest.min = bb.getDouble();
+            digest.max = bb.getDouble();
+            int size = bb.getInt();
+            if (size < 0 || bytes.length - HEADER_SIZE != 16L * size) {
+                return null;
+            }
+            digest.means = new double[size];
+            digest.weights = new double[size];
+            for (int i = 0; i < size; i++) {
+                digest.means[i] = bb.getDouble();
+                digest.weights[i] = bb.getDouble();
+            }
+            return digest;
+        }
+
+        private static double maxSize(double q) {
+            return 4 * q * (1 - q) / COMPRESSION;
+        }
+
+        Double quantile(double q) {
+            compress();
+            int size = means.length;
+            if (size == 0) {
+                return null;
+            }
+            if (size == 1) {
+                return means[0];
+            }
+            double index = q * total;
+            double cumulative = weights[0] / 2;
+            if (index < cumulative) {
+                return min + (means[0] - min) * index / cumulative;
+            }
+            //interpolate between the centers of adjacent centroids
+            for (int i = 0; i < size - 1; i++) {
+                double delta = (weights[i] + weights[i + 1]) / 2;
+                if (cumulative + delta > index) {
+                    return means[i] + (means[i + 1] - means[i]) * (index - cumulative) / delta;
+                }
+                cumulative += delta;
+            }
+            double half = weights[size - 1] / 2;
+            return means[size - 1] + (max - means[size - 1]) * Math.min(1, (index - cumulative) / half);
+        }
+
+    }
+
+    abstract static class AbstractDigest<T> implements ExposedStateUserDefinedAggregate<T> {
+
+        protected Digest digest;
+
+        @Override
+        public void reset() {
+            //the digest may be shared with the group sort state, so don't clear in place
+            digest = null;
+        }
+
+        protected void add(Double value) {
+            if (digest == null) {
+                digest = new Digest();
+            }
+            digest.add(value);
+        }
+
+        protected void merge(BinaryType sketch, String name) throws FunctionExecutionException {
+            Digest other = Digest.fromBinary(sketch.getBytesDirect());
+            if (other == null) {
+                throw new FunctionExecutionException(QueryPlugin.Event.TEIID31303, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31303, name, PERCENTILE_SKETCH));
+            }
+            if (digest == null) {
+                digest = new Digest();
+            }
+            digest.merge(other);
+        }
+
+        @Override
+        public List<? extends Class<?>> getStateTypes() {
+            return Arrays.asList(Object.class);
+        }
+
+        @Override
+        public void getState(List<Object> state) {
+            state.add(digest);
+        }
+
+        @Override
+        public int setState(List<?> state, int index) {
+            digest = (Digest) state.get(index++);
+            return index;
+        }
+
+    }
+
+    abstract static class AbstractPercentile extends AbstractDigest<Double> {
+
+        protected double percentile;
+
+        protected void setPercentile(Double percentile) throws FunctionExecutionException {
+            if (percentile < 0 || percentile > 1) {
+                throw new FunctionExecutionException(QueryPlugin.Event.TEIID31302, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31302, percentile));
+            }
+            this.percentile = percentile;
+        }
+
+        @Override
+        public Double getResult(CommandContext commandContext) {
+            if (digest == null) {
+                return null;
+            }
+            return digest.quantile(percentile);
+        }
+
+        @Override
+        public List<? extends Class<?>> getStateTypes() {
+            return Arrays.asList(Object.class, Double.class);
+        }
+
+        @Override
+        public void getState(List<Object> state) {
+            super.getState(state);
+            state.add(percentile);
+        }
+
+        @Override
+        public int setState(List<?> state, int index) {
+            index = super.setState(state, index);
+            percentile = (Double) state.get(index++);
+            return index;
+        }
+
+    }
+
+    /**
+     * Estimate of the continuous percentile of the input values
+     */
+    public static class Percentile extends AbstractPercentile {
+
+        @TeiidFunction(name=PERCENTILE, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN,
+                partialAggregate=PERCENTILE_SKETCH, mergeAggregate=PERCENTILE_MERGE)
+        public void addInput(Double value, Double percentile) throws FunctionExecutionException {
+            setPercentile(percentile);
+            add(value);
+        }
+
+    }
+
+    /**
+     * Estimate of the median of the input values
+     */
+    public static class Median extends AbstractPercentile {
+
+        public Median() {
+            this.percentile = .5;
+        }
+
+        @TeiidFunction(name=MEDIAN, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN,
+                partialAggregate=PERCENTILE_SKETCH, mergeAggregate=MEDIAN_MERGE)
+        public void addInput(Double value) {
+            add(value);
+        }
+
+    }
+
+    /**
+     * The digest of the input values, which is combined with {@link PercentileMerge} or {@link MedianMerge}
+     */
+    public static class PercentileSketch extends AbstractDigest<BinaryType> {
+
+        @TeiidFunction(name=PERCENTILE_SKETCH, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN)
+        public void addInput(Double value) {
+            add(value);
+        }
+
+        @Override
+        public BinaryType getResult(CommandContext commandContext) {
+            if (digest == null) {
+                return null;
+            }
+            return digest.toBinary();
+        }
+
+    }
+
+    /**
+     * Estimate of the continuous percentile from the merged {@link PercentileSketch} values
+     */
+    public static class PercentileMerge extends AbstractPercentile {
+
+        @TeiidFunction(name=PERCENTILE_MERGE, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN)
+        public void addInput(BinaryType sketch, Double percentile) throws FunctionExecutionException {
+            setPercentile(percentile);
+            merge(sketch, PERCENTILE_MERGE);
+        }
+
+    }
+
+    /**
+     * Estimate of the median from the merged {@link PercentileSketch} values
+     */
+    public static class MedianMerge extends AbstractPercentile {
+
+        public MedianMerge() {
+            this.percentile = .5;
+        }
+
+        @TeiidFunction(name=MEDIAN_MERGE, category=FunctionCategoryConstants.MISCELLANEOUS, nullOnNull=true, pushdown=PushDown.CANNOT_PUSHDOWN)
+        public void addInput(BinaryType sketch) throws FunctionExecutionException {
+            merge(sketch, MEDIAN_MERGE);
+        }
+
+    }
+
+}
@@ -37,6 +37,7 @@ import org.teiid.metadata.FunctionParameter;
 import org.teiid.metadata.MetadataFactory;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.function.*;
+import org.teiid.query.function.aggregate.ApproximateAggregates;
 import org.teiid.query.function.metadata.FunctionCategoryConstants;
 import org.teiid.translator.SourceSystemFunctions;
 
@@ -194,6 +195,14 @@ public class SystemSource extends UDFSource implements FunctionCategoryConstants
         addFunctions(GeometryFunctionMethods.class);
         addFunctions(GeographyFunctionMethods.class);
         addFunctions(GeometryUtils.Extent.class);
+        addFunctions(ApproximateAggregates.CountDistinct.class);
+        addFunctions(ApproximateAggregates.CountDistinctSketch.class);
+        addFunctions(ApproximateAggregates.CountDistinctMerge.class);
+        addFunctions(ApproximateAggregates.Percentile.class);
+        addFunctions(ApproximateAggregates.Median.class);
+        addFunctions(ApproximateAggregates.MedianMerge.class);
+        addFunctions(ApproximateAggregates.PercentileSketch.class);
+        addFunctions(ApproximateAggregates.PercentileMerge.class);
         addFunctions(SystemFunctionMethods.class);
         addFunctions(FunctionMethods.class);
 
@@ -287,6 +296,10 @@ public class SystemSource extends UDFSource implements FunctionCategoryConstants
         }
         func.setDeterminism(f.determinism());
         func.setPushdown(f.pushdown());
+        if (func.getAggregateAttributes() != null && !f.partialAggregate().isEmpty()) {
+            func.getAggregateAttributes().setPartialAggregate(f.partialAggregate());
+            func.getAggregateAttributes().setMergeAggregate(f.mergeAggregate());
+        }
         functions.add(func);
         return func;
     }
@@ -0,0 +1,151 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.teiid.query.metadata;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
+
+/**
+ * A bounded concurrent cache for read-mostly metadata lookups.
+ * <br>
+ * Reads are lock free and only record an access tick.  When the cache grows past
+ * its max size the least recently accessed entries are evicted in a batch, which
+ * approximates LRU without serializing readers.
+ */
+public class MetadataLookupCache<K, V> {
+
+    private static final float EVICTION_FACTOR = .9f;
+
+    private static class CacheEntry<V> {
+        final V value;
+        volatile long lastAccess;
+
+        CacheEntry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private final ConcurrentHashMap<K, CacheEntry<V>> map = new ConcurrentHashMap<K, CacheEntry<V>>();
+    private final int maxSize;
+    private final AtomicLong tick = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public MetadataLookupCache(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    public V get(K key) {
+        CacheEntry<V> entry = map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = tick.incrementAndGet();
+        return entry.value;
+    }
+
+    /**
+     * Add the value, or remove the entry if the value is null.
+     * @return the previous value
+     */
+    public V put(K key, V value) {
+        CacheEntry<V> old = null;
+        if (value == null) {
+            old = map.remove(key);
+        } else {
+            old = map.put(key, new CacheEntry<V>(value, tick.incrementAndGet()));
+            if (map.size() > maxSize) {
+                evict();
+            }
+        }
+        if (old == null) {
+            return null;
+        }
+        return old.value;
+    }
+
+    private synchronized void evict() {
+        int size = map.size();
+        if (size <= maxSize) {
+            return;
+        }
+        List<Map.Entry<K, CacheEntry<V>>> entries = new ArrayList<Map.Entry<K, CacheEntry<V>>>(size);
+        for (Map.Entry<K, CacheEntry<V>> entry : map.entrySet()) {
+            entries.add(entry);
+        }
+        //sort on a snapshot of the access ticks as they may change concurrently
+        final long[] ticks = new long[entries.size()];
+        List<Integer> order = new ArrayList<Integer>(ticks.length);
+        for (int i = 0; i < ticks.length; i++) {
+            ticks[i] = entries.get(i).getValue().lastAccess;
+            order.add(i);
+        }
+        Collections.sort(order, (i, j) -> Long.compare(ticks[i], ticks[j]));
+        int toRemove = ticks.length - (int)(maxSize * EVICTION_FACTOR);
+        for (int i = 0; i < toRemove; i++) {
+            Map.Entry<K, CacheEntry<V>> entry = entries.get(order.get(i));
+            map.remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void clear() {
+        map.clear();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getRequestCount() {
+        return hits.sum() + misses.sum();
+    }
+
+    public double getCacheHitRatio() {
+        long requestCount = getRequestCount();
+        return requestCount == 0?0:((double)getHitCount()/requestCount)*100;
+    }
+
+    public CacheStatisticsMetadata buildCacheStats(String name) {
+        CacheStatisticsMetadata stats = new CacheStatisticsMetadata();
+        stats.setName(name);
+        stats.setHitRatio(getCacheHitRatio());
+        stats.setTotalEntries(size());
+        stats.setRequestCount((int)Math.min(Integer.MAX_VALUE, getRequestCount()));
+        return stats;
+    }
+
+}
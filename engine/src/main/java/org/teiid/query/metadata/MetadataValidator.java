@@ -20,6 +20,10 @@ package org.teiid.query.metadata;
 import static org.teiid.query.metadata.MaterializationMetadataRepository.*;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
 
 import org.teiid.adminapi.DataPolicy.DataPermission;
 import org.teiid.adminapi.impl.DataPolicyMetadata;
@@ -33,6 +37,7 @@ import org.teiid.api.exception.query.QueryResolverException;
 import org.teiid.connector.DataPlugin;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidException;
+import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.types.DataTypeManager;
 import org.teiid.dqp.internal.process.MetaDataProcessor;
 import org.teiid.language.SQLConstants;
@@ -92,6 +97,8 @@ public class MetadataValidator {
     public static final String UNTYPED = "teiid_internal:untyped"; //$NON-NLS-1$
     private Map<String, Datatype> typeMap;
     private QueryParser parser;
+    private Executor executor;
+    private List<Consumer<MetadataValidator>> deferredLogs;
 
     interface MetadataRule {
         void execute(VDBMetaData vdb, MetadataStore vdbStore, ValidatorReport report, MetadataValidator metadataValidator);
@@ -107,15 +114,26 @@ public class MetadataValidator {
         this.parser = QueryParser.getQueryParser();
     }
 
+    /**
+     * Set the executor used to resolve views and procedures concurrently.
+     * If not set, all records are resolved by the calling thread.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
     public ValidatorReport validate(VDBMetaData vdb, MetadataStore store) {
         ValidatorReport report = new ValidatorReport();
         if (store != null && !store.getSchemaList().isEmpty()) {
-            new SourceModelArtifacts().execute(vdb, store, report, this);
-            new CrossSchemaResolver().execute(vdb, store, report, this);
-            new ResolveQueryPlans().execute(vdb, store, report, this);
-            new MinimalMetadata().execute(vdb, store, report, this);
-            new MatViewPropertiesValidator().execute(vdb, store, report, this);
-            new RoleValidator().execute(vdb, store, report, this);
+            MetadataRule[] rules = new MetadataRule[] {new SourceModelArtifacts(), new CrossSchemaResolver(), new ResolveQueryPlans(),
+                    new MinimalMetadata(), new MatViewPropertiesValidator(), new RoleValidator()};
+            for (MetadataRule rule : rules) {
+                long start = System.currentTimeMillis();
+                rule.execute(vdb, store, report, this);
+                if (LogManager.isMessageToBeRecorded(LogConstants.CTX_RUNTIME, MessageLevel.DETAIL)) {
+                    LogManager.logDetail(LogConstants.CTX_RUNTIME, "VDB", vdb.getName(), vdb.getVersion(), "metadata validation", rule.getClass().getSimpleName(), "took", System.currentTimeMillis() - start, "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+                }
+            }
         }
         return report;
     }
@@ -302,8 +320,8 @@ public class MetadataValidator {
     static class ResolveQueryPlans implements MetadataRule {
         @Override
         public void execute(VDBMetaData vdb, MetadataStore store, ValidatorReport report, MetadataValidator metadataValidator) {
-            QueryMetadataInterface metadata = vdb.getAttachment(QueryMetadataInterface.class);
-            metadata = new TempMetadataAdapter(metadata.getDesignTimeMetadata(), new TempMetadataStore());
+            QueryMetadataInterface designTimeMetadata = vdb.getAttachment(QueryMetadataInterface.class).getDesignTimeMetadata();
+            QueryMetadataInterface metadata = new TempMetadataAdapter(designTimeMetadata, new TempMetadataStore());
             for (Schema schema:store.getSchemaList()) {
                 if (vdb.getImportedModels().contains(schema.getName())) {
                     continue;
@@ -318,57 +336,137 @@ public class MetadataValidator {
                         super.setUUID(record);
                     }
                 };
-                for (AbstractMetadataRecord record : schema.getResolvingOrder()) {
-                    if (record instanceof Table) {
-                        Table t = (Table)record;
-                        // no need to verify the transformation of the xml mapping document,
-                        // as this is very specific and designer already validates it.
-                        if (t.getTableType() == Table.Type.Document
-                                || t.getTableType() == Table.Type.XmlMappingClass
-                                || t.getTableType() == Table.Type.XmlStagingTable) {
-                            continue;
-                        }
-                        if (t.getTableType() == Table.Type.TemporaryTable) {
-                            continue;
-                        }
-                        if (t.isVirtual()) {
-                            if (t.getSelectTransformation() == null) {
-                                metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31079, t.getFullName(), model.getName()), t);
-                            }
-                            else {
-                                metadataValidator.validate(vdb, model, t, report, metadata, mf);
-                            }
-                        } else {
-                            for (Trigger tr : t.getTriggers().values()) {
-                                int commandType = Command.TYPE_INSERT;
-                                if (tr.getEvent() == TriggerEvent.DELETE) {
-                                    commandType = Command.TYPE_DELETE;
-                                } else if (tr.getEvent() == TriggerEvent.UPDATE) {
-                                    commandType = Command.TYPE_UPDATE;
-                                }
-                                try {
-                                    metadataValidator.validateUpdatePlan(model, report, metadata, t, tr.getPlan(), commandType);
-                                } catch (TeiidException e) {
-                                    metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31080, record.getFullName(), e.getMessage()), t);
-                                }
-                            }
-                        }
-                    } else if (record instanceof Procedure) {
-                        Procedure p = (Procedure)record;
-                        if (p.isVirtual()) {
-                            if (p.getQueryPlan() == null) {
-                                metadataValidator.log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31081, p.getFullName(), model.getName()), p);
-                            }
-                            else {
-                                metadataValidator.validate(vdb, model, p, report, metadata, mf);
-                            }
-                        }
+                if (metadataValidator.executor == null) {
+                    for (AbstractMetadataRecord record : schema.getResolvingOrder()) {
+                        metadataValidator.validateRecord(vdb, model, record, report, metadata, mf);
+                    }
+                } else {
+                    metadataValidator.validateRecords(vdb, model, schema.getResolvingOrder(), report, metadata, designTimeMetadata, mf);
+                }
+            }
+        }
+    }
+
+    private void validateRecord(VDBMetaData vdb, ModelMetaData model, AbstractMetadataRecord record, ValidatorReport report,
+            QueryMetadataInterface metadata, MetadataFactory mf) {
+        if (record instanceof Table) {
+            Table t = (Table)record;
+            // no need to verify the transformation of the xml mapping document,
+            // as this is very specific and designer already validates it.
+            if (t.getTableType() == Table.Type.Document
+                    || t.getTableType() == Table.Type.XmlMappingClass
+                    || t.getTableType() == Table.Type.XmlStagingTable) {
+                return;
+            }
+            if (t.getTableType() == Table.Type.TemporaryTable) {
+                return;
+            }
+            if (t.isVirtual()) {
+                if (t.getSelectTransformation() == null) {
+                    log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31079, t.getFullName(), model.getName()), t);
+                }
+                else {
+                    validate(vdb, model, t, report, metadata, mf);
+                }
+            } else {
+                for (Trigger tr : t.getTriggers().values()) {
+                    int commandType = Command.TYPE_INSERT;
+                    if (tr.getEvent() == TriggerEvent.DELETE) {
+                        commandType = Command.TYPE_DELETE;
+                    } else if (tr.getEvent() == TriggerEvent.UPDATE) {
+                        commandType = Command.TYPE_UPDATE;
                     }
+                    try {
+                        validateUpdatePlan(model, report, metadata, t, tr.getPlan(), commandType);
+                    } catch (TeiidException e) {
+                        log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31080, record.getFullName(), e.getMessage()), t);
+                    }
+                }
+            }
+        } else if (record instanceof Procedure) {
+            Procedure p = (Procedure)record;
+            if (p.isVirtual()) {
+                if (p.getQueryPlan() == null) {
+                    log(report, model, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31081, p.getFullName(), model.getName()), p);
+                }
+                else {
+                    validate(vdb, model, p, report, metadata, mf);
                 }
             }
         }
     }
 
+    /**
+     * Validate the records of a schema using the executor.  Records whose validation may
+     * change the metadata used to resolve other records, such as views with inferred
+     * columns, are validated first in resolving order by the calling thread.  All messages
+     * are then logged in resolving order so that the report is deterministic.
+     */
+    private void validateRecords(VDBMetaData vdb, ModelMetaData model, List<AbstractMetadataRecord> records, ValidatorReport report,
+            QueryMetadataInterface metadata, QueryMetadataInterface designTimeMetadata, MetadataFactory mf) {
+        List<MetadataValidator> validators = new ArrayList<MetadataValidator>(records.size());
+        List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>();
+        for (AbstractMetadataRecord record : records) {
+            MetadataValidator validator = new MetadataValidator(this.typeMap, this.parser);
+            validator.deferredLogs = new ArrayList<Consumer<MetadataValidator>>();
+            validators.add(validator);
+            if (!canValidateConcurrently(record)) {
+                validator.validateRecord(vdb, model, record, report, metadata, mf);
+                continue;
+            }
+            tasks.add(new FutureTask<Void>(() -> {
+                //the parser and temp metadata are not thread safe
+                validator.parser = QueryParser.getQueryParser();
+                validator.validateRecord(vdb, model, record, report, new TempMetadataAdapter(designTimeMetadata, new TempMetadataStore()), mf);
+            }, null));
+        }
+        for (FutureTask<Void> task : tasks) {
+            this.executor.execute(task);
+        }
+        for (FutureTask<Void> task : tasks) {
+            //run any task that has not yet started in the calling thread
+            task.run();
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                throw new TeiidRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
+                }
+                throw new TeiidRuntimeException(e.getCause());
+            }
+        }
+        for (MetadataValidator validator : validators) {
+            for (Consumer<MetadataValidator> deferred : validator.deferredLogs) {
+                deferred.accept(this);
+            }
+        }
+    }
+
+    /**
+     * @return true if the validation of the record does not affect the resolving of other records
+     */
+    private static boolean canValidateConcurrently(AbstractMetadataRecord record) {
+        if (record instanceof Procedure) {
+            Procedure p = (Procedure)record;
+            return p.isVirtual() && p.getQueryPlan() != null;
+        }
+        if (!(record instanceof Table)) {
+            return false;
+        }
+        Table t = (Table)record;
+        if (!t.isVirtual() || t.getSelectTransformation() == null || t.getColumns() == null || t.getColumns().isEmpty()) {
+            return false;
+        }
+        for (Column c : t.getColumns()) {
+            if (Boolean.valueOf(c.getProperty(UNTYPED, false))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     static class MatViewPropertiesValidator implements MetadataRule {
 
         @Override
@@ -626,6 +724,10 @@ public class MetadataValidator {
     }
 
     public void log(ValidatorReport report, ModelMetaData model, Severity severity, String msg, AbstractMetadataRecord object) {
+        if (this.deferredLogs != null) {
+            this.deferredLogs.add(validator -> validator.log(report, model, severity, msg, object));
+            return;
+        }
         if (model != null) {
             Message message = model.addRuntimeMessage(severity, msg);
             if (object != null && object.getParent() instanceof Schema) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.query.metadata;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.teiid.api.exception.query.QueryMetadataException;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.mapping.relational.QueryNode;
+
+/**
+ * Records the time spent in the frequently used metadata lookups to a {@link PlanningProfile}
+ */
+public class ProfilingMetadataWrapper extends BasicQueryMetadataWrapper {
+
+    private PlanningProfile profile;
+
+    public ProfilingMetadataWrapper(QueryMetadataInterface actualMetadata, PlanningProfile profile) {
+        super(actualMetadata);
+        this.profile = profile;
+    }
+
+    @Override
+    protected QueryMetadataInterface createDesignTimeMetadata() {
+        return new ProfilingMetadataWrapper(actualMetadata.getDesignTimeMetadata(), profile);
+    }
+
+    @Override
+    public Object getGroupID(String groupName)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getGroupID(groupName);
+        } finally {
+            profile.record("metadata getGroupID", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public Object getElementID(String elementName)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getElementID(elementName);
+        } finally {
+            profile.record("metadata getElementID", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public List getElementIDsInGroupID(Object groupID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getElementIDsInGroupID(groupID);
+        } finally {
+            profile.record("metadata getElementIDsInGroupID", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public QueryNode getVirtualPlan(Object groupID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getVirtualPlan(groupID);
+        } finally {
+            profile.record("metadata getVirtualPlan", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public float getCardinality(Object groupID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getCardinality(groupID);
+        } finally {
+            profile.record("metadata getCardinality", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public Object getModelID(Object groupOrElementID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getModelID(groupOrElementID);
+        } finally {
+            profile.record("metadata getModelID", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public String getFullName(Object metadataID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getFullName(metadataID);
+        } finally {
+            profile.record("metadata getFullName", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public Collection getUniqueKeysInGroup(Object groupID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getUniqueKeysInGroup(groupID);
+        } finally {
+            profile.record("metadata getUniqueKeysInGroup", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public Collection getIndexesInGroup(Object groupID)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getIndexesInGroup(groupID);
+        } finally {
+            profile.record("metadata getIndexesInGroup", start, -1); //$NON-NLS-1$
+        }
+    }
+
+    @Override
+    public StoredProcedureInfo getStoredProcedureInfoForProcedure(
+            String fullyQualifiedProcedureName)
+            throws TeiidComponentException, QueryMetadataException {
+        long start = System.nanoTime();
+        try {
+            return actualMetadata.getStoredProcedureInfoForProcedure(fullyQualifiedProcedureName);
+        } finally {
+            profile.record("metadata getStoredProcedureInfoForProcedure", start, -1); //$NON-NLS-1$
+        }
+    }
+
+}
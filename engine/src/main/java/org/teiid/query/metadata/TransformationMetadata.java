@@ -21,6 +21,7 @@ package org.teiid.query.metadata;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptEngineManager;
 
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
 import org.teiid.adminapi.impl.DataPolicyMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.api.exception.query.QueryMetadataException;
@@ -42,8 +44,8 @@ import org.teiid.core.types.DataTypeManager.DefaultDataClasses;
 import org.teiid.core.types.InputStreamFactory;
 import org.teiid.core.types.SQLXMLImpl;
 import org.teiid.core.util.ArgCheck;
-import org.teiid.core.util.LRUCache;
 import org.teiid.core.util.ObjectConverterUtil;
+import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.StringUtil;
 import org.teiid.metadata.*;
 import org.teiid.metadata.BaseColumn.NullType;
@@ -53,8 +55,10 @@ import org.teiid.query.QueryPlugin;
 import org.teiid.query.function.FunctionLibrary;
 import org.teiid.query.function.FunctionTree;
 import org.teiid.query.mapping.relational.QueryNode;
+import org.teiid.query.resolver.util.ResolverUtil;
 import org.teiid.query.sql.lang.ObjectTable;
 import org.teiid.query.sql.lang.SPParameter;
+import org.teiid.query.sql.symbol.GroupSymbol;
 
 
 /**
@@ -124,6 +128,8 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
 
     public static Properties EMPTY_PROPS = new Properties();
 
+    private static final int MAX_CACHE_SIZE = PropertiesUtils.getHierarchicalProperty("org.teiid.metadataCacheMaxSize", 100000, Integer.class); //$NON-NLS-1$
+
     private final CompositeMetadataStore store;
     private Map<String, VDBResources.Resource> vdbEntries;
     private FunctionLibrary functionLibrary;
@@ -140,12 +146,13 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
     private boolean hiddenQualified = true;
 
     /*
-     * TODO: move caching to jboss cache structure
+     * lookup caches are sized to the vdb, so that view definitions resolved during validation are retained.
+     * they are not serialized, but recreated empty.
      */
-    private Map<String, Object> metadataCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Object> groupInfoCache = Collections.synchronizedMap(new LRUCache<String, Object>(250));
-    private Map<String, Collection<Table>> partialNameToFullNameCache = Collections.synchronizedMap(new LRUCache<String, Collection<Table>>(1000));
-    private Map<String, Collection<StoredProcedureInfo>> procedureCache = Collections.synchronizedMap(new LRUCache<String, Collection<StoredProcedureInfo>>(200));
+    private transient MetadataLookupCache<String, Object> metadataCache;
+    private transient MetadataLookupCache<String, Object> groupInfoCache;
+    private transient MetadataLookupCache<String, Collection<Table>> partialNameToFullNameCache;
+    private transient MetadataLookupCache<String, Collection<StoredProcedureInfo>> procedureCache;
 
     private boolean widenComparisonToString = true;
     private boolean allowEnv = true;
@@ -170,6 +177,7 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
             store.addDataTypes(SystemMetadata.getInstance().getRuntimeTypeMap());
         }
         this.store = store;
+        initCaches();
         if (vdbEntries == null) {
             this.vdbEntries = Collections.emptyMap();
         } else {
@@ -182,6 +190,28 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
         }
     }
 
+    private void initCaches() {
+        int tables = 0;
+        int procedures = 0;
+        for (Schema schema : store.getSchemaList()) {
+            tables += schema.getTables().size();
+            procedures += schema.getProcedures().size();
+        }
+        this.metadataCache = new MetadataLookupCache<String, Object>(getCacheSize(250, 2*(tables + procedures)));
+        this.groupInfoCache = new MetadataLookupCache<String, Object>(getCacheSize(250, 2*tables));
+        this.partialNameToFullNameCache = new MetadataLookupCache<String, Collection<Table>>(getCacheSize(1000, tables));
+        this.procedureCache = new MetadataLookupCache<String, Collection<StoredProcedureInfo>>(getCacheSize(200, procedures));
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initCaches();
+    }
+
+    private static int getCacheSize(int minSize, int vdbSize) {
+        return Math.max(minSize, Math.min(MAX_CACHE_SIZE, vdbSize));
+    }
+
     private TransformationMetadata(final CompositeMetadataStore store, FunctionLibrary functionLibrary) {
         this.store = store;
         this.vdbEntries = Collections.emptyMap();
@@ -913,6 +943,33 @@ public class TransformationMetadata extends BasicQueryMetadata implements Serial
         return paths.toArray(new String[paths.size()]);
     }
 
+    /**
+     * Populate the group and procedure lookup caches for all tables and procedures
+     * so that the first queries against the vdb do not pay the lookup cost.
+     */
+    public void preWarmCache() throws TeiidComponentException, QueryMetadataException {
+        for (Schema schema : getMetadataStore().getSchemaList()) {
+            for (Table table : schema.getTables().values()) {
+                GroupSymbol group = new GroupSymbol(table.getFullName());
+                group.setMetadataID(table);
+                ResolverUtil.resolveElementsInGroup(group, this);
+            }
+            for (Procedure procedure : schema.getProcedures().values()) {
+                getStoredProcedureInfoForProcedure(procedure.getFullName());
+            }
+        }
+    }
+
+    /**
+     * @return the hit ratio and size of the lookup caches
+     */
+    public List<CacheStatisticsMetadata> getCacheStatistics() {
+        return Arrays.asList(this.metadataCache.buildCacheStats("metadata"), //$NON-NLS-1$
+                this.groupInfoCache.buildCacheStats("groupInfo"), //$NON-NLS-1$
+                this.partialNameToFullNameCache.buildCacheStats("partialName"), //$NON-NLS-1$
+                this.procedureCache.buildCacheStats("procedure")); //$NON-NLS-1$
+    }
+
     @Override
     public Object addToMetadataCache(Object metadataID, String key, Object value) {
         boolean groupInfo = key.startsWith(GroupInfo.CACHE_PREFIX);
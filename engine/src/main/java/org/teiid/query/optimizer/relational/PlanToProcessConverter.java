@@ -30,6 +30,7 @@ import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.id.IDGenerator;
+import org.teiid.core.types.DataTypeManager;
 import org.teiid.core.util.Assertion;
 import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.metadata.FunctionMethod.PushDown;
@@ -78,6 +79,7 @@ import org.teiid.query.sql.visitor.EvaluatableVisitor.EvaluationLevel;
 import org.teiid.query.sql.visitor.GroupCollectorVisitor;
 import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
 import org.teiid.query.util.CommandContext;
+import org.teiid.translator.ExecutionFactory.NullOrder;
 import org.teiid.translator.ExecutionFactory.TransactionSupport;
 
 
@@ -256,6 +258,7 @@ public class PlanToProcessConverter {
                             }
                             wfpn.setElements(outputElements);
                             wfpn.init();
+                            wfpn.initStreaming(getOrdering(node.getFirstChild()));
                             pnode.addChild(wfpn);
                             for (WindowFunction wf : windowFunctions) {
                                 validateAggregateFunctionEvaluation(wf.getFunction());
@@ -370,6 +373,7 @@ public class PlanToProcessConverter {
                                 depAccessNode.setMaxSetSize(CapabilitiesUtil.getMaxInCriteriaSize(modelID, metadata, capFinder));
                                 depAccessNode.setMaxPredicates(CapabilitiesUtil.getMaxDependentPredicates(modelID, metadata, capFinder));
                                 depAccessNode.setUseBindings(CapabilitiesUtil.supports(Capability.DEPENDENT_JOIN_BINDINGS, modelID, metadata, capFinder));
+                                depAccessNode.setUseArrayBinding(CapabilitiesUtil.supports(Capability.ARRAY_IN_BINDING, modelID, metadata, capFinder));
                                 //TODO: allow the translator to drive this property
                                 //simplistic check of whether this query is complex to re-execute
                                 Query query = (Query)command;
@@ -726,6 +730,133 @@ public class PlanToProcessConverter {
         return processNode;
     }
 
+    /**
+     * Determine the ordering of the output of the given node, if it is known.
+     * The ordering may be a prefix of the actual ordering.
+     * @return the ordering or null if the output is unordered
+     */
+    private List<OrderByItem> getOrdering(PlanNode node) throws QueryMetadataException, TeiidComponentException {
+        while (node != null) {
+            switch (node.getType()) {
+            case NodeConstants.Types.SELECT:
+            case NodeConstants.Types.TUPLE_LIMIT:
+                node = node.getFirstChild();
+                continue;
+            case NodeConstants.Types.SORT: {
+                OrderBy orderBy = (OrderBy) node.getProperty(Info.SORT_ORDER);
+                if (orderBy == null) {
+                    return null;
+                }
+                return orderBy.getOrderByItems();
+            }
+            case NodeConstants.Types.ACCESS: {
+                //a dependent access node may split into several source queries and decline the sort
+                if (node.hasBooleanProperty(Info.IS_DEPENDENT_SET)) {
+                    return null;
+                }
+                Object command = node.getProperty(Info.ATOMIC_REQUEST);
+                if (!(command instanceof QueryCommand)) {
+                    return null;
+                }
+                OrderBy orderBy = ((QueryCommand)command).getOrderBy();
+                List<Expression> outputCols = (List<Expression>) node.getProperty(Info.OUTPUT_COLS);
+                Object modelID = node.getProperty(Info.MODEL_ID);
+                if (orderBy == null || outputCols == null || modelID == null) {
+                    return null;
+                }
+                NullOrder nullOrder = CapabilitiesUtil.getDefaultNullOrder(modelID, metadata, capFinder);
+                List<OrderByItem> result = new ArrayList<OrderByItem>();
+                for (OrderByItem item : orderBy.getOrderByItems()) {
+                    //the pushed ordering is by position relative to the output
+                    int position = item.getExpressionPosition();
+                    if (position < 0 || position >= outputCols.size()) {
+                        break;
+                    }
+                    //without an explicit null ordering the source must match the engine
+                    if (item.getNullOrdering() == null && nullOrder != NullOrder.LOW) {
+                        break;
+                    }
+                    //string ordering must use the same collation as the engine
+                    Class<?> type = outputCols.get(position).getType();
+                    if ((type == DataTypeManager.DefaultDataClasses.STRING
+                            || type == DataTypeManager.DefaultDataClasses.CHAR
+                            || type == DataTypeManager.DefaultDataClasses.CLOB)
+                            && !hasMatchingCollation(modelID)) {
+                        break;
+                    }
+                    OrderByItem mapped = new OrderByItem(outputCols.get(position), item.isAscending());
+                    mapped.setNullOrdering(item.getNullOrdering());
+                    result.add(mapped);
+                }
+                return result.isEmpty()?null:result;
+            }
+            case NodeConstants.Types.PROJECT: {
+                List<OrderByItem> childOrdering = getOrdering(node.getFirstChild());
+                if (childOrdering == null) {
+                    return null;
+                }
+                Set<Expression> projected = new HashSet<Expression>();
+                for (Expression ex : (List<Expression>) node.getProperty(Info.PROJECT_COLS)) {
+                    projected.add(SymbolMap.getExpression(ex));
+                }
+                List<OrderByItem> result = new ArrayList<OrderByItem>();
+                for (OrderByItem item : childOrdering) {
+                    if (!projected.contains(SymbolMap.getExpression(item.getSymbol()))) {
+                        break;
+                    }
+                    result.add(item);
+                }
+                return result.isEmpty()?null:result;
+            }
+            case NodeConstants.Types.SOURCE: {
+                SymbolMap symbolMap = (SymbolMap) node.getProperty(Info.SYMBOL_MAP);
+                if (symbolMap == null || node.getChildCount() == 0) {
+                    return null;
+                }
+                List<OrderByItem> childOrdering = getOrdering(node.getFirstChild());
+                if (childOrdering == null) {
+                    return null;
+                }
+                List<OrderByItem> result = new ArrayList<OrderByItem>();
+                for (OrderByItem item : childOrdering) {
+                    Expression ex = SymbolMap.getExpression(item.getSymbol());
+                    ElementSymbol key = null;
+                    for (Map.Entry<ElementSymbol, Expression> entry : symbolMap.asMap().entrySet()) {
+                        if (SymbolMap.getExpression(entry.getValue()).equals(ex)) {
+                            key = entry.getKey();
+                            break;
+                        }
+                    }
+                    if (key == null) {
+                        break;
+                    }
+                    OrderByItem mapped = new OrderByItem(key, item.isAscending());
+                    mapped.setNullOrdering(item.getNullOrdering());
+                    result.add(mapped);
+                }
+                return result.isEmpty()?null:result;
+            }
+            default:
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if the source sorts strings the same as the engine
+     */
+    private boolean hasMatchingCollation(Object modelID) throws QueryMetadataException, TeiidComponentException {
+        String collation = (String) CapabilitiesUtil.getProperty(Capability.COLLATION_LOCALE, modelID, metadata, capFinder);
+        if (collation != null) {
+            if (DataTypeManager.COLLATION_LOCALE != null) {
+                return collation.equals(DataTypeManager.COLLATION_LOCALE);
+            }
+            return collation.equals(DataTypeManager.DEFAULT_COLLATION);
+        }
+        return context != null && context.getOptions().isAssumeMatchingCollation();
+    }
+
     private void validateAggregateFunctionEvaluation(AggregateSymbol as) throws QueryPlannerException {
         if (as.getFunctionDescriptor() != null && as.getFunctionDescriptor().getPushdown() == PushDown.MUST_PUSHDOWN) {
             throw new QueryPlannerException(QueryPlugin.Event.TEIID31211, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31211, as.getFunctionDescriptor().getFullName()));
@@ -34,6 +34,7 @@ import org.teiid.core.util.HashCodeUtil;
 import org.teiid.core.util.StringUtil;
 import org.teiid.dqp.internal.process.Request;
 import org.teiid.language.SQLConstants;
+import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.metadata.Procedure;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
@@ -1088,6 +1089,7 @@ public class RelationalPlanner {
         throws QueryPlannerException, QueryMetadataException, TeiidComponentException {
 
         boolean debug = analysisRecord.recordDebug();
+        boolean profile = analysisRecord.recordPlanningProfile();
         while(! rules.isEmpty()) {
             if(debug) {
                 analysisRecord.println("\n============================================================================"); //$NON-NLS-1$
@@ -1098,7 +1100,11 @@ public class RelationalPlanner {
                 analysisRecord.println("EXECUTING " + rule); //$NON-NLS-1$
             }
 
+            long start = profile?System.nanoTime():0;
             plan = rule.execute(plan, metadata, capFinder, rules, analysisRecord, context);
+            if (profile) {
+                analysisRecord.getPlanningProfile().record("rule " + rule, start, countNodes(plan)); //$NON-NLS-1$
+            }
             if(debug) {
                 analysisRecord.println("\nAFTER: \n" + plan.nodeToString(true)); //$NON-NLS-1$
             }
@@ -1106,6 +1112,14 @@ public class RelationalPlanner {
         return plan;
     }
 
+    private static int countNodes(PlanNode node) {
+        int count = 1;
+        for (PlanNode child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
     public PlanNode generatePlan(Command cmd) throws TeiidComponentException, TeiidProcessingException {
         //cascade the option clause nocache
         Option savedOption = option;
@@ -1551,6 +1565,8 @@ public class RelationalPlanner {
                 hints.hasFunctionBasedColumns = true;
             }
             boolean planningStackEntry = true;
+            long viewStart = 0;
+            long enclosingViewNanos = 0;
             Command nestedCommand = ufc.getExpandedCommand();
             if (nestedCommand != null) {
                 //only proc relational counts toward the planning stack
@@ -1565,6 +1581,10 @@ public class RelationalPlanner {
                     context.accessedPlanningObject(id);
                 }
                 if (!group.isTempGroupSymbol() && metadata.isVirtualGroup(group.getMetadataID())) {
+                    if (analysisRecord.recordPlanningProfile()) {
+                        viewStart = System.nanoTime();
+                        enclosingViewNanos = analysisRecord.getPlanningProfile().startNested();
+                    }
                     nestedCommand = resolveVirtualGroup(group);
                 }
             }
@@ -1588,6 +1608,10 @@ public class RelationalPlanner {
                 }
                 addNestedCommand(node, group, nestedCommand, nestedCommand, true, planningStackEntry);
                 this.sourceHint = previous;
+                if (viewStart != 0) {
+                    //views are aggregated across vdbs, so qualify by the vdb
+                    analysisRecord.getPlanningProfile().recordSelf("view " + context.getVdbName() + "." + context.getVdbVersion() + "/" + group.getNonCorrelationName(), viewStart, enclosingViewNanos); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                }
             } else if (this.sourceHint != null) {
                 node.setProperty(Info.SOURCE_HINT, this.sourceHint);
             }
@@ -2190,8 +2214,31 @@ public class RelationalPlanner {
             qnode = metadata.getVirtualPlan(metadataID);
         }
 
+        String rewrittenCacheString = null;
+        if (SQLConstants.Reserved.SELECT.equals(cacheString)) {
+            //the rewrite is only dependent upon the view definition and the unnest default
+            rewrittenCacheString = "rewritten/" + cacheString + "/" + (context != null && context.getOptions().isSubqueryUnnestDefault()); //$NON-NLS-1$ //$NON-NLS-2$
+            Command cached = (Command)metadata.getFromMetadataCache(metadataID, rewrittenCacheString);
+            if (cached != null) {
+                return (Command)cached.clone();
+            }
+        }
         Command result = (Command)QueryResolver.resolveView(virtualGroup, qnode, cacheString, metadata, false).getCommand().clone();
-        return QueryRewriter.rewrite(result, metadata, context);
+        if (rewrittenCacheString == null || context == null) {
+            return QueryRewriter.rewrite(result, metadata, context);
+        }
+        //track the determinism of only the view rewrite so that definitions that
+        //pre-evaluate vdb, session, or user dependent functions are not shared
+        Determinism determinism = context.resetDeterminismLevel();
+        try {
+            result = QueryRewriter.rewrite(result, metadata, context);
+            if (context.getDeterminismLevel() == Determinism.DETERMINISTIC) {
+                metadata.addToMetadataCache(metadataID, rewrittenCacheString, result.clone());
+            }
+        } finally {
+            context.setDeterminismLevel(determinism);
+        }
+        return result;
     }
 
     public static Query createMatViewQuery(Object matMetadataId, String matTableName, List<? extends Expression> select, boolean isGlobal) {
@@ -500,6 +500,17 @@ public class CapabilitiesUtil {
         return supports(Capability.QUERY_FROM_ANSI_JOIN, modelID, metadata, capFinder);
     }
 
+    /**
+     * Return true if values of the given type are expected to be bound as a single array
+     * by a source that supports {@link Capability#ARRAY_IN_BINDING}.  Values of other types
+     * are still split by the max in criteria size.
+     */
+    public static boolean isArrayInBindable(Class<?> type) {
+        return !type.isArray() && !DataTypeManager.isLOB(type)
+                && type != DataTypeManager.DefaultDataClasses.OBJECT
+                && type != DataTypeManager.DefaultDataClasses.VARBINARY;
+    }
+
     public static boolean supports(Capability cap, Object modelID, QueryMetadataInterface metadata, CapabilitiesFinder capFinder)
     throws QueryMetadataException, TeiidComponentException {
         if (metadata.isVirtualModel(modelID)){
@@ -639,8 +639,12 @@ public class CriteriaCapabilityValidatorVisitor extends LanguageVisitor {
                 if (willBecomeConstant(crit)) {
                     return;
                 }
-                markInvalid(crit, "SetCriteria size exceeds maximum for source"); //$NON-NLS-1$
-                return;
+                //literal values are bound as a single array, so the size is not limited
+                if (!crit.isAllConstants() || !this.caps.supportsCapability(Capability.ARRAY_IN_BINDING)
+                        || !CapabilitiesUtil.isArrayInBindable(crit.getExpression().getType())) {
+                    markInvalid(crit, "SetCriteria size exceeds maximum for source"); //$NON-NLS-1$
+                    return;
+                }
             }
         } catch(QueryMetadataException e) {
             handleException(new TeiidComponentException(e));
@@ -45,6 +45,7 @@ import org.teiid.query.sql.symbol.GroupSymbol;
 import org.teiid.query.sql.util.SymbolMap;
 import org.teiid.query.sql.visitor.GroupsUsedByElementsVisitor;
 import org.teiid.query.util.CommandContext;
+import org.teiid.query.util.Options;
 import org.teiid.query.util.Permutation;
 import org.teiid.translator.ExecutionFactory.SupportedJoinCriteria;
 
@@ -171,7 +172,7 @@ public class RulePlanJoins implements OptimizerRule {
 
             joinRegion.initializeCostingInformation(metadata);
 
-            Object[] bestOrder = findBestJoinOrder(joinRegion, metadata, capabilitiesFinder, context);
+            Object[] bestOrder = findBestJoinOrder(joinRegion, metadata, capabilitiesFinder, context, analysisRecord);
 
             //if no best order was found, just stick with how the user entered the query
             if (bestOrder == null) {
@@ -653,7 +654,10 @@ public class RulePlanJoins implements OptimizerRule {
      * regions up to the exhaustive search group size all possible left linear join
      * trees will be searched in O(n!) time.
      *
-     * Beyond this number, every join will be determined greedily in O(n^2) time.
+     * Beyond this number a dynamic programming search over the connected subsets of
+     * join sources is used until the join planning budget of scored orders is exceeded.
+     *
+     * Otherwise every join will be determined greedily in O(n^2) time.
      *
      * TODO: this method together with scoreRegion have not been optimized
      *
@@ -662,9 +666,26 @@ public class RulePlanJoins implements OptimizerRule {
      * @return
      * @throws QueryPlannerException
      */
-    Object[] findBestJoinOrder(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+    Object[] findBestJoinOrder(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context, AnalysisRecord analysisRecord) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
         int regionCount = region.getJoinSourceNodes().size();
 
+        if (regionCount > EXHAUSTIVE_SEARCH_GROUPS && regionCount < Long.SIZE) {
+            long budget = context != null ? context.getOptions().getJoinPlanningBudget() : new Options().getJoinPlanningBudget();
+            if (budget > 0) {
+                long[] scored = new long[1];
+                Object[] result = findBestJoinOrderDP(region, metadata, capFinder, context, budget, scored);
+                if (result != null) {
+                    if (analysisRecord != null && analysisRecord.recordDebug()) {
+                        analysisRecord.println("Join order for " + regionCount + " join sources found by dynamic programming after scoring " + scored[0] + " orders"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                    }
+                    return result;
+                }
+                if (analysisRecord != null && analysisRecord.recordDebug()) {
+                    analysisRecord.println("Join order search for " + regionCount + " join sources stopped after scoring " + scored[0] + " orders, using the greedy search"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                }
+            }
+        }
+
         List<Integer> orderList = new ArrayList<Integer>(regionCount);
         for(int i=0; i<regionCount; i++) {
             orderList.add(new Integer(i));
@@ -744,6 +765,167 @@ public class RulePlanJoins implements OptimizerRule {
         return result;
     }
 
+    /**
+     * The best known left linear order of a subset of join sources
+     */
+    private static class SubsetOrder {
+        Object[] order;
+        double score;
+        long neighbors;
+
+        SubsetOrder(Object[] order, double score, long neighbors) {
+            this.order = order;
+            this.score = score;
+            this.neighbors = neighbors;
+        }
+    }
+
+    /**
+     * Find the best left linear join order by building the best order for each connected subset
+     * of join sources from the best orders of the subsets one source smaller.  Cross joins are
+     * only considered when a subset has no connected join source.
+     * <br>
+     * Orders are memoized by the bitmask of their join sources.  Since the intermediate costs are
+     * never negative, the partial score of an order is a lower bound for the score of any order that
+     * extends it - so any subset whose partial score exceeds the score of a greedy complete order is pruned.
+     *
+     * The search is bounded by the number of orders scored rather than by time so that
+     * the same plan is produced regardless of load.
+     *
+     * @param budget the maximum number of orders to score
+     * @param scored holds the number of orders scored
+     * @return the best order or null if the budget was exceeded or no valid order exists
+     */
+    Object[] findBestJoinOrderDP(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context, long budget, long[] scored) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+        int regionCount = region.getJoinSourceNodes().size();
+        long[] neighbors = getJoinGraph(region);
+        long all = (1L << regionCount) - 1;
+
+        Map<Long, SubsetOrder> bestOrders = new HashMap<Long, SubsetOrder>();
+        for (int i = 0; i < regionCount; i++) {
+            Object[] order = new Object[] {i};
+            double score = region.scoreRegion(order, 0, metadata, capFinder, context, true);
+            if (score == Double.MAX_VALUE) {
+                continue;
+            }
+            bestOrders.put(1L << i, new SubsetOrder(order, score, neighbors[i]));
+        }
+
+        SubsetOrder best = findGreedyJoinOrder(region, metadata, capFinder, context, neighbors, bestOrders.values());
+        double bound = best == null ? Double.MAX_VALUE : best.score;
+
+        for (int size = 2; size <= regionCount; size++) {
+            boolean partial = size < regionCount;
+            Map<Long, SubsetOrder> nextOrders = new HashMap<Long, SubsetOrder>();
+            for (Map.Entry<Long, SubsetOrder> entry : bestOrders.entrySet()) {
+                long set = entry.getKey();
+                SubsetOrder previous = entry.getValue();
+                long candidates = previous.neighbors & ~set;
+                if (candidates == 0) {
+                    candidates = all & ~set;
+                }
+                for (int i = 0; i < regionCount; i++) {
+                    if ((candidates & (1L << i)) == 0) {
+                        continue;
+                    }
+                    if (++scored[0] > budget) {
+                        return null;
+                    }
+                    Object[] order = Arrays.copyOf(previous.order, size);
+                    order[size - 1] = i;
+                    double score = region.scoreRegion(order, 0, metadata, capFinder, context, partial);
+                    if (score == Double.MAX_VALUE || score > bound) {
+                        continue;
+                    }
+                    Long next = set | (1L << i);
+                    SubsetOrder existing = nextOrders.get(next);
+                    if (existing == null) {
+                        nextOrders.put(next, new SubsetOrder(order, score, previous.neighbors | neighbors[i]));
+                    } else if (score < existing.score) {
+                        existing.order = order;
+                        existing.score = score;
+                    }
+                }
+            }
+            bestOrders = nextOrders;
+        }
+
+        SubsetOrder result = bestOrders.get(all);
+        if (result == null || (best != null && best.score < result.score)) {
+            result = best;
+        }
+        return result == null ? null : result.order;
+    }
+
+    /**
+     * Greedily extend the cheapest single join source by the cheapest connected join source
+     * to get a complete order that bounds the dynamic programming search.
+     *
+     * @return the complete order or null if none was found
+     */
+    private SubsetOrder findGreedyJoinOrder(JoinRegion region, QueryMetadataInterface metadata, CapabilitiesFinder capFinder, CommandContext context, long[] neighbors, Collection<SubsetOrder> starts) throws QueryMetadataException, TeiidComponentException, QueryPlannerException {
+        int regionCount = neighbors.length;
+        long all = (1L << regionCount) - 1;
+        SubsetOrder current = null;
+        for (SubsetOrder start : starts) {
+            if (current == null || start.score < current.score) {
+                current = start;
+            }
+        }
+        if (current == null) {
+            return null;
+        }
+        long set = 1L << (Integer)current.order[0];
+        for (int size = 2; size <= regionCount; size++) {
+            long candidates = current.neighbors & ~set;
+            if (candidates == 0) {
+                candidates = all & ~set;
+            }
+            SubsetOrder next = null;
+            int nextIndex = -1;
+            for (int i = 0; i < regionCount; i++) {
+                if ((candidates & (1L << i)) == 0) {
+                    continue;
+                }
+                Object[] order = Arrays.copyOf(current.order, size);
+                order[size - 1] = i;
+                double score = region.scoreRegion(order, 0, metadata, capFinder, context, size < regionCount);
+                if (score != Double.MAX_VALUE && (next == null || score < next.score)) {
+                    next = new SubsetOrder(order, score, current.neighbors | neighbors[i]);
+                    nextIndex = i;
+                }
+            }
+            if (next == null) {
+                return null;
+            }
+            current = next;
+            set |= 1L << nextIndex;
+        }
+        return current;
+    }
+
+    /**
+     * @return the bitmask of join sources that share criteria with each join source
+     */
+    private long[] getJoinGraph(JoinRegion region) {
+        List<PlanNode> sources = new ArrayList<PlanNode>(region.getJoinSourceNodes().values());
+        long[] neighbors = new long[sources.size()];
+        for (PlanNode critNode : region.getCriteriaNodes()) {
+            long used = 0;
+            for (int i = 0; i < sources.size(); i++) {
+                if (!Collections.disjoint(sources.get(i).getGroups(), critNode.getGroups())) {
+                    used |= 1L << i;
+                }
+            }
+            for (int i = 0; i < sources.size(); i++) {
+                if ((used & (1L << i)) != 0) {
+                    neighbors[i] |= used & ~(1L << i);
+                }
+            }
+        }
+        return neighbors;
+    }
+
     /**
      * @see java.lang.Object#toString()
      */
@@ -28,6 +28,7 @@ import org.teiid.core.id.IDGenerator;
 import org.teiid.core.types.DataTypeManager;
 import org.teiid.core.types.DataTypeManager.DefaultDataClasses;
 import org.teiid.language.SQLConstants.NonReserved;
+import org.teiid.metadata.AggregateAttributes;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.function.FunctionLibrary;
@@ -1233,6 +1234,17 @@ public class RulePushAggregates implements
                 nestedAggregates.add(countAgg);
                 nestedAggregates.add(sumAgg);
                 nestedAggregates.add(sumSqAgg);
+            } else if (aggFunction == Type.USER_DEFINED && partitionAgg.getFunctionDescriptor().getMethod().getAggregateAttributes().getPartialAggregate() != null) {
+                //AGG(X, ...) -> MERGE(PARTIAL(X), ...)
+                AggregateAttributes aa = partitionAgg.getFunctionDescriptor().getMethod().getAggregateAttributes();
+                AggregateSymbol partialAgg = new AggregateSymbol(aa.getPartialAggregate(), false, partitionAgg.getArg(0));
+                Expression[] args = partitionAgg.getArgs().clone();
+                args[0] = partialAgg;
+                AggregateSymbol newAgg = new AggregateSymbol(aa.getMergeAggregate(), false, args, null);
+                ResolverVisitor.resolveLanguageObject(newAgg, metadata);
+
+                newExpression = newAgg;
+                nestedAggregates.add(partialAgg);
             } else {
                 //AGG(X) -> AGG(AGG(X))
                 AggregateSymbol newAgg = null;
@@ -52,6 +52,7 @@ public class DependentAccessNode extends AccessNode {
      */
     private Command rewrittenCommand;
     private boolean useBindings;
+    private boolean useArrayBinding;
     private boolean complexQuery;
 
     public DependentAccessNode(int nodeID) {
@@ -106,6 +107,7 @@ public class DependentAccessNode extends AccessNode {
         clonedNode.maxPredicates = this.maxPredicates;
         clonedNode.pushdown = this.pushdown;
         clonedNode.useBindings = this.useBindings;
+        clonedNode.useArrayBinding = this.useArrayBinding;
         clonedNode.complexQuery = this.complexQuery;
         super.copyTo(clonedNode);
         return clonedNode;
@@ -148,6 +150,7 @@ public class DependentAccessNode extends AccessNode {
                 this.criteriaProcessor = new DependentCriteriaProcessor(this.maxSetSize, this.maxPredicates, this, query.getCriteria());
                 this.criteriaProcessor.setPushdown(pushdown);
                 this.criteriaProcessor.setUseBindings(useBindings);
+                this.criteriaProcessor.setUseArrayBinding(useArrayBinding);
                 this.criteriaProcessor.setComplexQuery(complexQuery);
             }
 
@@ -233,6 +236,14 @@ public class DependentAccessNode extends AccessNode {
         this.useBindings = useBindings;
     }
 
+    public boolean isUseArrayBinding() {
+        return useArrayBinding;
+    }
+
+    public void setUseArrayBinding(boolean useArrayBinding) {
+        this.useArrayBinding = useArrayBinding;
+    }
+
     public void setComplexQuery(boolean complexQuery) {
         this.complexQuery = complexQuery;
     }
@@ -28,6 +28,7 @@ import org.teiid.core.types.DataTypeManager;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 import org.teiid.query.QueryPlugin;
+import org.teiid.query.optimizer.relational.rules.CapabilitiesUtil;
 import org.teiid.query.optimizer.relational.rules.NewCalculateCostUtil;
 import org.teiid.query.processor.relational.SortUtility.Mode;
 import org.teiid.query.rewriter.QueryRewriter;
@@ -69,6 +70,8 @@ public class DependentCriteriaProcessor {
 
         long valueCount = 1;
 
+        Class<?> type;
+
         SetCriteria existingSet;
 
     }
@@ -164,6 +167,7 @@ public class DependentCriteriaProcessor {
     private RelationalNode dependentNode;
     private boolean pushdown;
     private boolean useBindings;
+    private boolean useArrayBinding;
     private boolean complexQuery;
 
     //initialization state
@@ -217,6 +221,7 @@ public class DependentCriteriaProcessor {
                     continue;
                 }
                 SetState state = new SetState();
+                state.type = setCriteria.getExpression().getType();
                 setStates.put(i, state);
                 LinkedHashSet<Object> values = new LinkedHashSet<Object>();
                 for (Expression expr : (Collection<Expression>)setCriteria.getValues()) {
@@ -229,6 +234,7 @@ public class DependentCriteriaProcessor {
                 String source = dsc.getContextSymbol();
 
                 SetState state = new SetState();
+                state.type = dsc.getExpression().getType();
                 setStates.put(i, state);
                 SetCriteria sc = setMap.get(dsc.getExpression());
                 if (sc != null) {
@@ -283,7 +289,15 @@ public class DependentCriteriaProcessor {
             }
             long maxParams = this.maxPredicates * this.maxSetSize;
             maxSize = Integer.MAX_VALUE;
-            if (this.maxSetSize > 0) {
+            //each set is bound as a single value, so there is no need to split
+            boolean arrayBinding = useArrayBinding;
+            for (SetState state : setStates.values()) {
+                if (!isArrayBound(state)) {
+                    arrayBinding = false;
+                    break;
+                }
+            }
+            if (this.maxSetSize > 0 && !arrayBinding) {
                 maxSize = this.maxSetSize;
                 if (this.maxPredicates > 0 && totalPredicates > this.maxPredicates) {
                     //scale the max based upon the number of predicates - this is not perfect, but sufficient for most situations
@@ -326,10 +340,12 @@ public class DependentCriteriaProcessor {
                 }
                 int maxParamThreshold = 3; //TODO: see if this should be a source tunable parameter
                                            //generally this value accounts for the additional overhead of temp table creation
-                if (params > maxParams && (sets > 1 || complexQuery || params > maxParams * maxParamThreshold)) {
+                if (params > maxParams && (sets > 1 || complexQuery || params > maxParams * maxParamThreshold)
+                        && (!arrayBinding || params > maxParams * maxParamThreshold)) {
                     //use the pushdown only in limited scenarios
                     //only if we will produce more than two source queries
                     //and only if the we could produce a cross set or have a complex query
+                    //with array binding there is a single source query, so only use the pushdown for large sets
                     return Criteria.combineCriteria(newCriteria);
                 }
             }
@@ -498,7 +514,8 @@ public class DependentCriteriaProcessor {
         }
         int numberOfSets = 1;
         int setSize = Integer.MAX_VALUE;
-        if (this.maxSetSize > 0) {
+        //a set that is bound as an array is not split
+        if (this.maxSetSize > 0 && !isArrayBound(state)) {
             setSize = (int) Math.max(1, this.maxSetSize/state.valueCount);
             numberOfSets = state.replacement.size()/setSize + (state.replacement.size()%setSize!=0?1:0);
         }
@@ -559,6 +576,21 @@ public class DependentCriteriaProcessor {
         this.useBindings = useBindings;
     }
 
+    /**
+     * Set if the source binds in predicate values as a single array, in
+     * which case single valued sets are not split by the max set size
+     */
+    /**
+     * Only single valued sets of a type the source can bind as an array are sent unsplit
+     */
+    private boolean isArrayBound(SetState state) {
+        return useArrayBinding && state.valueCount == 1 && CapabilitiesUtil.isArrayInBindable(state.type);
+    }
+
+    public void setUseArrayBinding(boolean useArrayBinding) {
+        this.useArrayBinding = useArrayBinding;
+    }
+
     public void setComplexQuery(boolean complexQuery) {
         this.complexQuery = complexQuery;
     }
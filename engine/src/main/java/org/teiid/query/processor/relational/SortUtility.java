@@ -23,8 +23,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.PriorityQueue;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -128,6 +130,19 @@ public class SortUtility {
         }
     }
 
+    /**
+     * a row retained by the top-n sort - the arrival index keeps the sort stable
+     */
+    private static class TopNRow {
+        List<?> tuple;
+        long index;
+
+        TopNRow(List<?> tuple, long index) {
+            this.tuple = tuple;
+            this.index = index;
+        }
+    }
+
     //constructor state
     private TupleSource source;
     private Mode mode;
@@ -155,6 +170,11 @@ public class SortUtility {
     private boolean stableSort = STABLE_SORT;
     private Future<Void> future;
 
+    //top-n state
+    private PriorityQueue<TopNRow> topN;
+    private int topNReserved;
+    private long topNRowCount;
+
     public SortUtility(TupleSource sourceID, List<OrderByItem> items, Mode mode, BufferManager bufferMgr,
                         String groupName, List<? extends Expression> schema) {
         List<Expression> sortElements = null;
@@ -309,6 +329,10 @@ public class SortUtility {
         if (source == null) {
             doneReading = true;
         }
+        if (useTopN(onePass, rowLimit)) {
+            topNSort(rowLimit, end);
+            return;
+        }
         outer: while (!doneReading) {
             //sub-phase 1 - build up a working buffer of tuples
             if (this.workingBuffer == null) {
@@ -362,6 +386,83 @@ public class SortUtility {
         sortWorking(rowLimit);
     }
 
+    /**
+     * A top-n sort is used for a small row limit over an unbuffered source
+     * so that only the limited rows are held rather than sorting and
+     * spilling the whole input.
+     */
+    private boolean useTopN(boolean onePass, int rowLimit) {
+        return this.topN != null || (!onePass && rowLimit > -1 && !doneReading && mode == Mode.SORT
+                && this.workingBuffer == null && rowLimit <= this.targetRowCount);
+    }
+
+    /**
+     * Keep a bounded max heap of the lowest rows.  The head of the heap is the
+     * current threshold and any row that does not sort before it is discarded.
+     */
+    private void topNSort(int rowLimit, long end) throws TeiidComponentException, TeiidProcessingException {
+        if (this.topN == null) {
+            this.topN = new PriorityQueue<TopNRow>(Math.max(1, rowLimit), new Comparator<TopNRow>() {
+                @Override
+                public int compare(TopNRow o1, TopNRow o2) {
+                    return -compareTopN(o1, o2);
+                }
+            });
+            this.topNReserved = bufferManager.reserveBuffers((int)Math.min(Integer.MAX_VALUE, (long)schemaSize * (rowLimit/batchSize + 1)), BufferReserveMode.FORCE);
+        }
+        while (!doneReading) {
+            List<?> tuple = source.nextTuple();
+
+            if (tuple == null) {
+                doneReading = true;
+                break;
+            }
+            long index = topNRowCount++;
+            if (topN.size() < rowLimit) {
+                topN.add(new TopNRow(tuple, index));
+            } else if (rowLimit > 0 && comparator.compare(tuple, topN.peek().tuple) < 0) {
+                //later rows that tie the threshold are discarded
+                topN.poll();
+                topN.add(new TopNRow(tuple, index));
+            }
+            if (end != Long.MAX_VALUE && (index%32)==0 && System.nanoTime() > end) {
+                CommandContext.getThreadLocalContext().getWorkItem().moreWork();
+                throw BlockedException.block("Blocking on large sort"); //$NON-NLS-1$
+            }
+        }
+        TopNRow[] rows = topN.toArray(new TopNRow[topN.size()]);
+        Arrays.sort(rows, new Comparator<TopNRow>() {
+            @Override
+            public int compare(TopNRow o1, TopNRow o2) {
+                return compareTopN(o1, o2);
+            }
+        });
+        releaseTopN();
+        TupleBuffer sublist = createTupleBuffer();
+        activeTupleBuffers.add(sublist);
+        for (TopNRow row : rows) {
+            sublist.addTuple(row.tuple);
+        }
+        sublist.saveBatch();
+        this.phase = MERGE;
+    }
+
+    private int compareTopN(TopNRow o1, TopNRow o2) {
+        int result = comparator.compare(o1.tuple, o2.tuple);
+        if (result != 0) {
+            return result;
+        }
+        return Long.compare(o1.index, o2.index);
+    }
+
+    private void releaseTopN() {
+        if (this.topN != null) {
+            this.topN = null;
+            bufferManager.releaseBuffers(this.topNReserved);
+            this.topNReserved = 0;
+        }
+    }
+
     private void waitForWork() throws BlockedException, TeiidComponentException,
             TeiidProcessingException {
         if (future == null) {
@@ -645,6 +746,7 @@ public class SortUtility {
     }
 
     public synchronized void remove() {
+        releaseTopN();
         if (workingBuffer != null && source != null) {
             workingBuffer.remove();
             workingBuffer = null;
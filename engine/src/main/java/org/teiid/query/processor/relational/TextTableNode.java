@@ -18,9 +18,15 @@
 
 package org.teiid.query.processor.relational;
 
-import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,22 +40,39 @@ import org.teiid.api.exception.query.ExpressionEvaluationException;
 import org.teiid.client.plan.PlanNode;
 import org.teiid.common.buffer.BlockedException;
 import org.teiid.common.buffer.BufferManager;
+import org.teiid.common.buffer.BufferManager.TupleSourceType;
 import org.teiid.common.buffer.TupleBatch;
+import org.teiid.common.buffer.TupleBuffer;
+import org.teiid.common.buffer.TupleSource;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.TeiidRuntimeException;
 import org.teiid.core.types.ClobImpl;
 import org.teiid.core.types.ClobType;
 import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.InputStreamFactory;
+import org.teiid.core.types.InputStreamFactory.FileInputStreamFactory;
+import org.teiid.core.types.Streamable;
 import org.teiid.core.types.TransformationException;
+import org.teiid.core.util.InputStreamReader;
 import org.teiid.dqp.internal.process.RequestWorkItem;
 import org.teiid.query.QueryPlugin;
 import org.teiid.query.analysis.AnalysisRecord;
+import org.teiid.query.eval.Evaluator;
 import org.teiid.query.processor.ProcessorDataManager;
 import org.teiid.query.sql.LanguageObject;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.CompoundCriteria;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.IsNullCriteria;
+import org.teiid.query.sql.lang.MatchCriteria;
+import org.teiid.query.sql.lang.SetCriteria;
 import org.teiid.query.sql.lang.TextTable;
 import org.teiid.query.sql.lang.TextTable.TextColumn;
+import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
+import org.teiid.query.sql.visitor.ElementCollectorVisitor;
 import org.teiid.query.util.CommandContext;
 
 /**
@@ -59,6 +82,8 @@ import org.teiid.query.util.CommandContext;
  */
 public class TextTableNode extends SubqueryAwareRelationalNode {
 
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private TextTable table;
 
     //initialized state
@@ -72,7 +97,12 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
     private Map<String, List<String>> parentLines;
 
     //per file state
-    private BufferedReader reader;
+    private Reader reader;
+    private char[] buffer;
+    private int bufferPosition;
+    private int bufferLength;
+    private StringBuilder lineBuilder;
+    private boolean[] neededFields;
     private int textLine = 0;
     private Map<String, Integer> nameIndexes;
     private String systemId;
@@ -88,9 +118,81 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
 
     private boolean noTrim;
 
+    //simple parent criteria evaluated before the rest of the row is built
+    private Criteria prefilter;
+    private int[] prefilterPositions;
+    private Evaluator prefilterEvaluator;
+
     private char newLine = '\n';
     private boolean crNewLine = true;
 
+    //byte ranges of a large file that are parsed concurrently
+    private List<TextSplit> splits;
+    private TextSplit currentSplit;
+    private File splitFile;
+    private Charset splitCharset;
+    private boolean unordered;
+
+    /**
+     * A range of whole lines from a file that is parsed into its own buffer
+     */
+    private static class TextSplit {
+        final long start;
+        final long end;
+        boolean started;
+        TupleBuffer buffer;
+        TupleSource tupleSource;
+        volatile boolean done;
+        volatile boolean closed;
+
+        TextSplit(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Reads the bytes of a file from start until end
+     */
+    private static class FileRangeInputStream extends InputStream {
+        private FileChannel channel;
+        private long position;
+        private long end;
+
+        FileRangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            int count = read(b, 0, 1);
+            if (count < 0) {
+                return -1;
+            }
+            return b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int count = channel.read(ByteBuffer.wrap(b, off, (int)Math.min(len, end - position)), position);
+            if (count > 0) {
+                position += count;
+            }
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
     public TextTableNode(int nodeID) {
         super(nodeID);
     }
@@ -162,6 +264,10 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
             }
             this.reader = null;
         }
+        this.bufferPosition = 0;
+        this.bufferLength = 0;
+        this.lineBuilder = null;
+        this.neededFields = null;
         this.nameIndexes = null;
         this.textLine = 0;
         this.rowNumber = 0;
@@ -175,6 +281,24 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
         this.running = false;
         this.asynchException = null;
         this.limit = -1;
+        this.prefilter = null;
+        this.prefilterPositions = null;
+        this.prefilterEvaluator = null;
+        if (this.splits != null) {
+            for (TextSplit split : this.splits) {
+                synchronized (split) {
+                    split.closed = true;
+                    if (split.buffer != null && split.done) {
+                        split.buffer.remove();
+                    }
+                }
+            }
+            this.splits = null;
+        }
+        this.currentSplit = null;
+        this.splitFile = null;
+        this.splitCharset = null;
+        this.unordered = false;
     }
 
     public void setTable(TextTable table) {
@@ -198,17 +322,99 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
             if (parent.getLimit() > 0) {
                 limit = parent.getLimit() + parent.getOffset();
             }
+        } else if (getParent() instanceof SelectNode) {
+            initPrefilter(((SelectNode)getParent()).getCriteria());
+        }
+    }
+
+    /**
+     * Use the simple conjuncts of the parent criteria to discard rows after converting
+     * only the columns they reference.  The parent still evaluates the full criteria.
+     */
+    private void initPrefilter(Criteria crit) {
+        if (crit == null) {
+            return;
+        }
+        Map<Expression, Integer> elementMap = createLookupMap(getElements());
+        List<Criteria> conjuncts = new ArrayList<Criteria>();
+        for (Criteria conjunct : Criteria.separateCriteriaByAnd(crit)) {
+            if (isSimplePredicate(conjunct, elementMap)) {
+                conjuncts.add(conjunct);
+            }
         }
+        if (conjuncts.isEmpty()) {
+            return;
+        }
+        if (conjuncts.size() == 1) {
+            this.prefilter = conjuncts.get(0);
+        } else {
+            this.prefilter = new CompoundCriteria(conjuncts);
+        }
+        Collection<ElementSymbol> elements = ElementCollectorVisitor.getElements(this.prefilter, true);
+        this.prefilterPositions = new int[elements.size()];
+        int i = 0;
+        for (ElementSymbol es : elements) {
+            this.prefilterPositions[i++] = elementMap.get(es);
+        }
+        this.prefilterEvaluator = new Evaluator(elementMap, getDataManager(), getContext());
+    }
+
+    /**
+     * @return true if the criteria is a comparison of a column with constants that
+     * cannot fail to evaluate
+     */
+    static boolean isSimplePredicate(Criteria crit, Map<Expression, Integer> elementMap) {
+        if (crit instanceof CompareCriteria) {
+            CompareCriteria cc = (CompareCriteria)crit;
+            return (isColumn(cc.getLeftExpression(), elementMap) && isColumnOrConstant(cc.getRightExpression(), elementMap))
+                    || (isConstant(cc.getLeftExpression()) && isColumn(cc.getRightExpression(), elementMap));
+        }
+        if (crit instanceof MatchCriteria) {
+            MatchCriteria mc = (MatchCriteria)crit;
+            return isColumn(mc.getLeftExpression(), elementMap) && isConstant(mc.getRightExpression());
+        }
+        if (crit instanceof IsNullCriteria) {
+            return isColumn(((IsNullCriteria)crit).getExpression(), elementMap);
+        }
+        if (crit instanceof SetCriteria) {
+            SetCriteria sc = (SetCriteria)crit;
+            if (!isColumn(sc.getExpression(), elementMap)) {
+                return false;
+            }
+            for (Object value : sc.getValues()) {
+                if (!isConstant((Expression)value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isColumn(Expression ex, Map<Expression, Integer> elementMap) {
+        return ex instanceof ElementSymbol && elementMap.containsKey(ex);
+    }
+
+    private static boolean isConstant(Expression ex) {
+        return ex instanceof Constant && !((Constant)ex).isMultiValued();
+    }
+
+    private static boolean isColumnOrConstant(Expression ex, Map<Expression, Integer> elementMap) {
+        return isColumn(ex, elementMap) || isConstant(ex);
     }
 
     @Override
     protected synchronized TupleBatch nextBatchDirect() throws BlockedException,
             TeiidComponentException, TeiidProcessingException {
 
-        if (reader == null) {
+        if (reader == null && splits == null) {
             initReader();
         }
 
+        if (splits != null) {
+            return nextSplitBatch();
+        }
+
         if (reader == null) {
             terminateBatches();
             return pullBatch();
@@ -273,6 +479,166 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
         }
     }
 
+    /**
+     * Return rows from the completed splits, in file order unless the order is not needed
+     */
+    private TupleBatch nextSplitBatch() throws TeiidComponentException, TeiidProcessingException {
+        unwrapException(asynchException);
+        startSplits();
+        while (!isBatchFull()) {
+            if (currentSplit == null) {
+                currentSplit = getCompletedSplit();
+                if (currentSplit == null) {
+                    if (splits.isEmpty()) {
+                        terminateBatches();
+                    }
+                    break;
+                }
+                currentSplit.tupleSource = currentSplit.buffer.createIndexedTupleSource(true);
+            }
+            List<?> tuple = currentSplit.tupleSource.nextTuple();
+            if (tuple == null) {
+                currentSplit.tupleSource.closeSource();
+                currentSplit.buffer.remove();
+                splits.remove(currentSplit);
+                currentSplit = null;
+                startSplits();
+                continue;
+            }
+            addBatchRow(tuple);
+        }
+
+        if (isBatchFull() || isLastBatch() || hasPendingRows()) {
+            return pullBatch();
+        }
+
+        if (this.getContext().getWorkItem() == null) {
+            //this is for compatibility with engine tests that are below the level of using the work item
+            while (getCompletedSplit() == null && asynchException == null) {
+                try {
+                    this.wait();
+                } catch (InterruptedException e) {
+                    throw new TeiidRuntimeException(e);
+                }
+            }
+        }
+
+        throw BlockedException.block("Blocking on results from file processing."); //$NON-NLS-1$
+    }
+
+    private TextSplit getCompletedSplit() {
+        for (TextSplit split : splits) {
+            if (split.done) {
+                return split;
+            }
+            if (!unordered) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Start parsing splits so that there is one per processor that has not yet been returned.
+     */
+    private void startSplits() throws TeiidComponentException {
+        int maxActive = Math.max(2, Runtime.getRuntime().availableProcessors());
+        int active = 0;
+        for (TextSplit split : splits) {
+            if (active++ >= maxActive) {
+                break;
+            }
+            if (!split.started) {
+                startSplit(split);
+            }
+        }
+    }
+
+    private void startSplit(final TextSplit split) throws TeiidComponentException {
+        split.started = true;
+        split.buffer = getBufferManager().createTupleBuffer(getOutputElements(), getConnectionID(), TupleSourceType.PROCESSOR);
+        split.buffer.setForwardOnly(true);
+        final TextTableNode parser = createSplitParser();
+        final File f = this.splitFile;
+        final Charset cs = this.splitCharset;
+        getContext().getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    parser.parseSplit(split, f, cs);
+                } catch (TeiidRuntimeException e) {
+                    if (!split.closed) {
+                        asynchException = e;
+                    }
+                } catch (Throwable e) {
+                    if (!split.closed) {
+                        asynchException = new TeiidRuntimeException(e);
+                    }
+                } finally {
+                    synchronized (split) {
+                        split.done = true;
+                        if (split.closed) {
+                            split.buffer.remove();
+                        }
+                    }
+                    RequestWorkItem workItem = TextTableNode.this.getContext().getWorkItem();
+                    if (workItem != null) {
+                        workItem.moreWork();
+                    } else {
+                        synchronized (TextTableNode.this) {
+                            TextTableNode.this.notifyAll();
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Create a copy of this node with its own parsing state for a split
+     */
+    private TextTableNode createSplitParser() {
+        TextTableNode parser = clone();
+        parser.initialize(getContext(), getBufferManager(), getDataManager());
+        parser.nameIndexes = this.nameIndexes;
+        parser.neededFields = this.neededFields;
+        parser.lineWidth = this.lineWidth;
+        parser.systemId = this.systemId;
+        parser.buffer = new char[BUFFER_SIZE];
+        if (this.prefilter != null) {
+            parser.prefilter = this.prefilter;
+            parser.prefilterPositions = this.prefilterPositions;
+            parser.prefilterEvaluator = new Evaluator(createLookupMap(getElements()), getDataManager(), getContext());
+        }
+        return parser;
+    }
+
+    private void parseSplit(TextSplit split, File f, Charset cs) throws TeiidProcessingException, TeiidComponentException {
+        try {
+            this.reader = new InputStreamReader(new FileRangeInputStream(FileChannel.open(f.toPath(), StandardOpenOption.READ), split.start, split.end), cs.newDecoder());
+        } catch (IOException e) {
+            throw new TeiidProcessingException(QueryPlugin.Event.TEIID30179, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30179, systemId));
+        }
+        try {
+            while (!split.closed) {
+                StringBuilder line = readLine(lineWidth, false);
+                if (line == null) {
+                    break;
+                }
+                List<Object> tuple = parseTuple(line);
+                if (tuple != null) {
+                    split.buffer.addTuple(tuple);
+                }
+            }
+            split.buffer.close();
+        } finally {
+            try {
+                this.reader.close();
+            } catch (IOException e) {
+            }
+        }
+    }
+
     private void process(Reader r) throws TeiidProcessingException {
         while (true) {
             synchronized (this) {
@@ -286,87 +652,168 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                     break;
                 }
 
-                String parentSelector = null;
-                if (table.getSelector() != null) {
-                    if (line.length() < table.getSelector().length()) {
-                        continue;
-                    }
-                    if (!line.substring(0, table.getSelector().length()).equals(table.getSelector())) {
-                        if (parentLines == null) {
-                            continue; //doesn't match any selector
-                        }
-                        parentSelector = line.substring(0, table.getSelector().length());
+                List<Object> tuple = parseTuple(line);
+                if (tuple == null) {
+                    continue;
+                }
+                addBatchRow(tuple);
 
-                        if (!parentLines.containsKey(parentSelector)) {
-                            continue; //doesn't match any selector
-                        }
-                    }
+                if (rowNumber == limit) {
+                    terminateBatches();
+                    break;
                 }
+            }
+        }
+    }
 
-                List<String> vals = parseLine(line);
+    /**
+     * Build the output tuple for the given line
+     * @return the tuple or null if the line does not produce a row
+     */
+    private List<Object> parseTuple(StringBuilder line) throws TeiidProcessingException {
+        String parentSelector = null;
+        if (table.getSelector() != null) {
+            if (line.length() < table.getSelector().length()) {
+                return null;
+            }
+            if (!line.substring(0, table.getSelector().length()).equals(table.getSelector())) {
+                if (parentLines == null) {
+                    return null; //doesn't match any selector
+                }
+                parentSelector = line.substring(0, table.getSelector().length());
 
-                if (parentSelector != null) {
-                    this.parentLines.put(parentSelector, vals);
-                    continue;
-                } else if (table.getSelector() != null && !table.getSelector().equals(vals.get(0))) {
-                    continue;
+                if (!parentLines.containsKey(parentSelector)) {
+                    return null; //doesn't match any selector
                 }
+            }
+        }
 
-                rowNumber++;
+        List<String> vals = parseLine(line);
 
-                List<Object> tuple = new ArrayList<Object>(projectionIndexes.length);
-                for (int output : projectionIndexes) {
-                    TextColumn col = table.getColumns().get(output);
-                    String val = null;
-                    int index = output;
-                    boolean missing = false;
+        if (parentSelector != null) {
+            this.parentLines.put(parentSelector, vals);
+            return null;
+        } else if (table.getSelector() != null && !table.getSelector().equals(vals.get(0))) {
+            return null;
+        }
 
-                    if (col.isOrdinal()) {
-                        if (rowNumber > Integer.MAX_VALUE) {
-                            throw new TeiidRuntimeException(new TeiidProcessingException(QueryPlugin.Event.TEIID31174, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31174)));
-                        }
-                        tuple.add((int)rowNumber);
-                        continue;
-                    }
+        rowNumber++;
 
-                    if (col.getSelector() != null) {
-                        vals = this.parentLines.get(col.getSelector());
-                        index = col.getPosition() - 1;
-                    } else if (nameIndexes != null) {
-                        Integer headerIndex = nameIndexes.get(col.getName());
-                        if (headerIndex != null) {
-                            index = headerIndex;
-                        } else {
-                            missing = true;
-                        }
-                    }
-                    if (vals == null || index >= vals.size() || missing) {
-                        //throw new TeiidProcessingException(QueryPlugin.Util.getString("TextTableNode.no_value", col.getName(), textLine, systemId)); //$NON-NLS-1$
-                        tuple.add(null);
-                        continue;
-                    }
-                    val = vals.get(index);
-                    try {
-                        tuple.add(DataTypeManager.transformValue(val, table.getColumns().get(output).getSymbol().getType()));
-                    } catch (TransformationException e) {
-                         throw new TeiidProcessingException(QueryPlugin.Event.TEIID30176, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30176, col.getName(), textLine, systemId));
-                    }
+        List<Object> tuple = null;
+        if (prefilter != null) {
+            tuple = new ArrayList<Object>(Collections.nCopies(projectionIndexes.length, null));
+            for (int position : prefilterPositions) {
+                tuple.set(position, getValue(position, vals));
+            }
+            try {
+                if (!prefilterEvaluator.evaluate(prefilter, tuple)) {
+                    return null;
                 }
-                addBatchRow(tuple);
+            } catch (TeiidComponentException e) {
+                throw new TeiidRuntimeException(e);
+            }
+            for (int position = 0; position < projectionIndexes.length; position++) {
+                if (tuple.get(position) == null) {
+                    tuple.set(position, getValue(position, vals));
+                }
+            }
+        } else {
+            tuple = new ArrayList<Object>(projectionIndexes.length);
+            for (int position = 0; position < projectionIndexes.length; position++) {
+                tuple.add(getValue(position, vals));
+            }
+        }
+        return tuple;
+    }
 
-                if (rowNumber == limit) {
-                    terminateBatches();
-                    break;
+    /**
+     * Get the value of the projected column at the given position
+     */
+    private Object getValue(int position, List<String> vals) throws TeiidProcessingException {
+        int output = projectionIndexes[position];
+        TextColumn col = table.getColumns().get(output);
+        int index = output;
+
+        if (col.isOrdinal()) {
+            if (rowNumber > Integer.MAX_VALUE) {
+                throw new TeiidRuntimeException(new TeiidProcessingException(QueryPlugin.Event.TEIID31174, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID31174)));
+            }
+            return (int)rowNumber;
+        }
+
+        if (col.getSelector() != null) {
+            vals = this.parentLines.get(col.getSelector());
+            index = col.getPosition() - 1;
+        } else if (nameIndexes != null) {
+            Integer headerIndex = nameIndexes.get(col.getName());
+            if (headerIndex == null) {
+                return null;
+            }
+            index = headerIndex;
+        }
+        if (vals == null || index >= vals.size()) {
+            //throw new TeiidProcessingException(QueryPlugin.Util.getString("TextTableNode.no_value", col.getName(), textLine, systemId)); //$NON-NLS-1$
+            return null;
+        }
+        String val = vals.get(index);
+        try {
+            return DataTypeManager.transformValue(val, col.getSymbol().getType());
+        } catch (TransformationException e) {
+             throw new TeiidProcessingException(QueryPlugin.Event.TEIID30176, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30176, col.getName(), textLine, systemId));
+        }
+    }
+
+    /**
+     * Determine the fields that need to be built, which is possible only if
+     * there are no selectors.
+     */
+    private void initNeededFields() {
+        if (table.getSelector() != null || parentLines != null) {
+            return;
+        }
+        int fieldCount = table.getColumns().size();
+        if (nameIndexes != null) {
+            fieldCount = Math.max(fieldCount, nameIndexes.size());
+        }
+        boolean[] needed = new boolean[fieldCount];
+        for (int output : projectionIndexes) {
+            TextColumn col = table.getColumns().get(output);
+            if (col.isOrdinal()) {
+                continue;
+            }
+            int index = output;
+            if (nameIndexes != null) {
+                Integer headerIndex = nameIndexes.get(col.getName());
+                if (headerIndex == null) {
+                    continue;
                 }
+                index = headerIndex;
+            }
+            if (index < needed.length) {
+                needed[index] = true;
             }
         }
+        this.neededFields = needed;
+    }
+
+    private boolean isNeeded(int index) {
+        return neededFields == null || (index < neededFields.length && neededFields[index]);
     }
 
+    /**
+     * Read the next line into the reused line builder.  The result is only valid until the next read.
+     */
     private StringBuilder readLine(int maxLength, boolean exact) throws TeiidProcessingException {
         if (eof) {
             return null;
         }
-        StringBuilder sb = new StringBuilder(exact ? maxLength : (maxLength >> 4));
+        StringBuilder sb = this.lineBuilder;
+        if (sb == null) {
+            sb = new StringBuilder(exact ? maxLength : 256);
+            this.lineBuilder = sb;
+        } else {
+            sb.setLength(0);
+        }
         while (true) {
             char c = readChar();
             if (c == newLine) {
@@ -403,12 +850,27 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
         }
     }
 
+    private int read() throws IOException {
+        if (bufferPosition == bufferLength) {
+            int count = 0;
+            while (count == 0) {
+                count = reader.read(buffer, 0, buffer.length);
+            }
+            if (count < 0) {
+                return -1;
+            }
+            bufferPosition = 0;
+            bufferLength = count;
+        }
+        return buffer[bufferPosition++];
+    }
+
     private char readChar() throws TeiidProcessingException {
         try {
-            int c = reader.read();
+            int c = read();
             if (cr) {
                 if (c == newLine) {
-                    c = reader.read();
+                    c = read();
                 }
                 cr = false;
             }
@@ -453,20 +915,15 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                     this.systemId = "Unknown"; //$NON-NLS-1$
                 }
             }
-            Reader r = file.getCharacterStream();
-            if (!(r instanceof BufferedReader)) {
-                reader = new BufferedReader(r);
-            } else {
-                reader = (BufferedReader)r;
+            reader = file.getCharacterStream();
+            if (buffer == null) {
+                buffer = new char[BUFFER_SIZE];
             }
         } catch (SQLException e) {
              throw new TeiidProcessingException(QueryPlugin.Event.TEIID30180, e);
         }
 
         //process the skip field
-        if (skip <= 0) {
-            return;
-        }
         while (textLine < skip) {
             boolean isHeader = textLine == header;
             if (isHeader) {
@@ -482,6 +939,105 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                 }
             }
         }
+        initNeededFields();
+        initSplits(file);
+    }
+
+    /**
+     * Split a large file into ranges of whole lines that can be parsed concurrently.
+     * This is only valid if rows do not contain embedded row delimiters, which is
+     * asserted by setting the split size option.
+     */
+    private void initSplits(ClobType file) throws TeiidProcessingException {
+        long splitSize = getContext().getOptions().getTextTableSplitSize();
+        if (splitSize <= 0 || table.isFixedWidth() || table.getSelector() != null
+                || parentLines != null || limit != -1 || !(file.getReference() instanceof ClobImpl)) {
+            return;
+        }
+        for (int output : projectionIndexes) {
+            if (table.getColumns().get(output).isOrdinal()) {
+                return;
+            }
+        }
+        ClobImpl clob = (ClobImpl)file.getReference();
+        InputStreamFactory isf = null;
+        try {
+            isf = clob.getStreamFactory();
+        } catch (SQLException e) {
+            throw new TeiidProcessingException(QueryPlugin.Event.TEIID30180, e);
+        }
+        if (!(isf instanceof FileInputStreamFactory)) {
+            return;
+        }
+        File f = ((FileInputStreamFactory)isf).getFile();
+        long length = f.length();
+        if (length <= splitSize) {
+            return;
+        }
+        Charset cs = clob.getCharset();
+        if (cs == null) {
+            cs = Streamable.CHARSET;
+        }
+        //the row delimiter must be a single byte that cannot appear within another character
+        if ((!cs.equals(StandardCharsets.UTF_8) && cs.newEncoder().maxBytesPerChar() != 1)
+                || !Arrays.equals(String.valueOf(newLine).getBytes(cs), new byte[] {(byte)newLine})) {
+            return;
+        }
+        List<TextSplit> result = new ArrayList<TextSplit>();
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            long start = findLineStart(channel, 0, skip);
+            while (start < length) {
+                long end = length;
+                if (start + splitSize < length) {
+                    end = findLineStart(channel, start + splitSize, 1);
+                }
+                result.add(new TextSplit(start, end));
+                start = end;
+            }
+        } catch (IOException e) {
+            throw new TeiidProcessingException(QueryPlugin.Event.TEIID30179, e, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30179, systemId));
+        }
+        try {
+            this.reader.close();
+        } catch (IOException e) {
+        }
+        this.reader = null;
+        this.splits = result;
+        this.splitFile = f;
+        this.splitCharset = cs;
+        this.unordered = isOrderInsensitive();
+    }
+
+    /**
+     * @return the position after the given number of row delimiters
+     */
+    private long findLineStart(FileChannel channel, long position, int lines) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(8192);
+        while (lines > 0) {
+            bytes.clear();
+            int count = channel.read(bytes, position);
+            if (count < 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < count && lines > 0; i++) {
+                position++;
+                if (bytes.get(i) == newLine) {
+                    lines--;
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * @return true if the consumer of this node does not depend upon the row order
+     */
+    private boolean isOrderInsensitive() {
+        RelationalNode parent = getParent();
+        while (parent instanceof SelectNode || parent instanceof ProjectNode) {
+            parent = parent.getParent();
+        }
+        return parent instanceof SortNode || parent instanceof GroupingNode;
     }
 
     private void processHeader(List<String> line) {
@@ -519,6 +1075,9 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
     private List<String> parseDelimitedLine(StringBuilder line) throws TeiidProcessingException {
         ArrayList<String> result = new ArrayList<String>();
         StringBuilder builder = new StringBuilder();
+        //fields that are not needed are not built, but still validated
+        boolean needed = isNeeded(0);
+        boolean content = false;
         boolean escaped = false;
         boolean wasQualified = false;
         boolean qualified = false;
@@ -526,17 +1085,19 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
             if (line == null) {
                 if (escaped) {
                     //allow for escaped new lines
-                    if (cr) {
-                        builder.append('\r');
+                    if (needed) {
+                        if (cr) {
+                            builder.append('\r');
+                        }
+                        builder.append(newLine);
                     }
-                    builder.append(newLine);
                     escaped = false;
                     line = readLine(lineWidth, false);
                     continue;
                 }
                 if (!qualified) {
                     //close the last entry
-                    addValue(result, wasQualified || noTrim, builder.toString());
+                    addValue(result, wasQualified || noTrim, needed, builder);
                     return result;
                 }
                 line = readLine(lineWidth, false);
@@ -548,16 +1109,20 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                 char chr = line.charAt(i);
                 if (chr == delimiter) {
                     if (escaped || qualified) {
-                        builder.append(chr);
+                        if (needed) {
+                            builder.append(chr);
+                        }
                         escaped = false;
                     } else {
-                        addValue(result, wasQualified || noTrim, builder.toString());
+                        addValue(result, wasQualified || noTrim, needed, builder);
                         wasQualified = false;
-                        builder = new StringBuilder();  //next entry
+                        builder.setLength(0);  //next entry
+                        needed = isNeeded(result.size());
+                        content = false;
                     }
                 } else if (chr == quote) {
                     if (noQuote) {     //it's the escape char
-                        if (escaped) {
+                        if (escaped && needed) {
                             builder.append(quote);
                         }
                         escaped = !escaped;
@@ -567,13 +1132,15 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                         } else {
                             if (wasQualified) {
                                 qualified = true;
-                                builder.append(chr);
+                                if (needed) {
+                                    builder.append(chr);
+                                }
                             } else {
-                                if (builder.toString().trim().length() != 0) {
+                                if (content) {
                                      throw new TeiidProcessingException(QueryPlugin.Event.TEIID30183, QueryPlugin.Util.gs(QueryPlugin.Event.TEIID30183, textLine, systemId));
                                 }
                                 qualified = true;
-                                builder = new StringBuilder(); //start the entry over
+                                builder.setLength(0); //start the entry over
                                 wasQualified = true;
                             }
                         }
@@ -589,7 +1156,12 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
                         }
                         //else just ignore
                     } else {
-                        builder.append(chr);
+                        if (needed) {
+                            builder.append(chr);
+                        }
+                        if (chr > ' ') {
+                            content = true; //consistent with trim
+                        }
                     }
                 }
             }
@@ -597,6 +1169,14 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
         }
     }
 
+    private void addValue(ArrayList<String> result, boolean wasQualified, boolean needed, StringBuilder builder) {
+        if (!needed) {
+            result.add(null);
+            return;
+        }
+        addValue(result, wasQualified, builder.toString());
+    }
+
     private void addValue(ArrayList<String> result, boolean wasQualified, String val) {
         if (!wasQualified) {
             val = val.trim();
@@ -614,8 +1194,12 @@ public class TextTableNode extends SubqueryAwareRelationalNode {
             if (beginIndex >= line.length()) {
                 result.add(null);
             } else {
-                String val = new String(line.substring(beginIndex, Math.min(line.length(), beginIndex + col.getWidth())));
-                addValue(result, col.isNoTrim(), val);
+                if (isNeeded(result.size())) {
+                    String val = line.substring(beginIndex, Math.min(line.length(), beginIndex + col.getWidth()));
+                    addValue(result, col.isNoTrim(), val);
+                } else {
+                    result.add(null);
+                }
                 beginIndex += col.getWidth();
             }
         }
@@ -23,9 +23,12 @@ import static org.teiid.query.analysis.AnalysisRecord.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.teiid.api.exception.query.ExpressionEvaluationException;
 import org.teiid.api.exception.query.FunctionExecutionException;
@@ -59,6 +62,7 @@ import org.teiid.query.sql.lang.OrderBy;
 import org.teiid.query.sql.lang.OrderByItem;
 import org.teiid.query.sql.symbol.AggregateSymbol;
 import org.teiid.query.sql.symbol.AggregateSymbol.Type;
+import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.sql.symbol.ElementSymbol;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.WindowFrame;
@@ -144,6 +148,19 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         }
     }
 
+    /**
+     * Per window specification state for streaming evaluation
+     */
+    private static class StreamingState {
+        WindowSpecificationInfo info;
+        int[] partitionIndexes;
+        int[] orderIndexes;
+        List<AggregateFunction> aggs = new ArrayList<AggregateFunction>();
+        List<LinkedList<Object[]>> lagHistory = new ArrayList<LinkedList<Object[]>>();
+        List<?> lastRow;
+        long filled;
+    }
+
     private LinkedHashMap<WindowSpecification, WindowSpecificationInfo> windows = new LinkedHashMap<WindowSpecification, WindowSpecificationInfo>();
     private LinkedHashMap<Expression, Integer> expressionIndexes;
     private List<int[]> passThrough = new ArrayList<int[]>();
@@ -158,6 +175,15 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
     private STree[] valueMapping;
     private IndexedTupleSource outputTs;
 
+    //streaming state
+    private boolean streaming;
+    private List<StreamingState> streamingStates;
+    private ArrayList<List<Object>> pendingRows;
+    private int pendingIndex;
+    private long pendingBase;
+    private long rowCount;
+    private boolean doneReading;
+
     public WindowFunctionProjectNode(int nodeId) {
         super(nodeId);
     }
@@ -174,6 +200,12 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         this.partitionMapping = null;
         this.valueMapping = null;
         this.outputTs = null;
+        this.streamingStates = null;
+        this.pendingRows = null;
+        this.pendingIndex = 0;
+        this.pendingBase = 0;
+        this.rowCount = 0;
+        this.doneReading = false;
     }
 
     @Override
@@ -204,6 +236,7 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         clonedNode.windows = windows;
         clonedNode.expressionIndexes = expressionIndexes;
         clonedNode.passThrough = passThrough;
+        clonedNode.streaming = streaming;
         return clonedNode;
     }
 
@@ -311,10 +344,113 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         return wsi;
     }
 
+    /**
+     * Enable streaming evaluation if the input is already ordered by the partitioning
+     * and ordering of every window specification and all of the functions can be
+     * computed from the preceding rows of the partition - running aggregates,
+     * ranking, and lag with a constant offset.
+     * @param inputOrdering the known ordering of the input or null if unordered
+     */
+    public void initStreaming(List<OrderByItem> inputOrdering) {
+        this.streaming = false;
+        if (inputOrdering == null) {
+            return;
+        }
+        WindowSpecificationInfo first = null;
+        for (Map.Entry<WindowSpecification, WindowSpecificationInfo> entry : windows.entrySet()) {
+            WindowSpecificationInfo info = entry.getValue();
+            if (info.sortIndexes.isEmpty() || info.emptyOrdering || info.isUnboundedFollowing() || info.processEachFrame()) {
+                return;
+            }
+            if (first == null) {
+                first = info;
+                if (!isOrdered(entry.getKey(), inputOrdering)) {
+                    return;
+                }
+            } else if (!first.groupIndexes.equals(info.groupIndexes) || !first.sortIndexes.equals(info.sortIndexes)
+                    || !first.orderType.equals(info.orderType) || !first.nullOrderings.equals(info.nullOrderings)) {
+                return;
+            }
+            for (WindowFunctionInfo wfi : info.functions) {
+                if (wfi.primaryFunction != null) {
+                    return;
+                }
+                AggregateSymbol function = wfi.function.getFunction();
+                if (function.getAggregateFunction() == Type.LEAD) {
+                    return;
+                }
+                if (function.getAggregateFunction() == Type.LAG && getLagOffset(function) == null) {
+                    return;
+                }
+            }
+        }
+        this.streaming = first != null;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * @return the constant lag offset or null if it is not known
+     */
+    private static Integer getLagOffset(AggregateSymbol function) {
+        if (function.getArgs().length < 2) {
+            return 1;
+        }
+        Expression offset = function.getArgs()[1];
+        if (!(offset instanceof Constant) || ((Constant)offset).getValue() == null) {
+            return null;
+        }
+        int value = (Integer)((Constant)offset).getValue();
+        if (value < 0) {
+            return null;
+        }
+        return value;
+    }
+
+    private static boolean isOrdered(WindowSpecification ws, List<OrderByItem> inputOrdering) {
+        int index = 0;
+        if (ws.getPartition() != null) {
+            Set<Expression> partition = new HashSet<Expression>();
+            for (Expression ex : ws.getPartition()) {
+                partition.add(SymbolMap.getExpression(ex));
+            }
+            //the partition may be ordered in any way
+            Set<Expression> found = new HashSet<Expression>();
+            for (; index < inputOrdering.size() && found.size() < partition.size(); index++) {
+                Expression ex = SymbolMap.getExpression(inputOrdering.get(index).getSymbol());
+                if (!partition.contains(ex)) {
+                    return false;
+                }
+                found.add(ex);
+            }
+            if (found.size() < partition.size()) {
+                return false;
+            }
+        }
+        for (OrderByItem item : ws.getOrderBy().getOrderByItems()) {
+            if (index >= inputOrdering.size()) {
+                return false;
+            }
+            OrderByItem inputItem = inputOrdering.get(index++);
+            if (!SymbolMap.getExpression(item.getSymbol()).equals(SymbolMap.getExpression(inputItem.getSymbol()))
+                    || item.isAscending() != inputItem.isAscending()
+                    || item.getNullOrdering() != inputItem.getNullOrdering()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     protected TupleBatch nextBatchDirect() throws BlockedException,
             TeiidComponentException, TeiidProcessingException {
 
+        if (streaming) {
+            return streamBatch();
+        }
+
         if (phase == Phase.COLLECT) {
             saveInput();
             phase = Phase.PROCESS;
@@ -435,6 +571,179 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         return this.pullBatch();
     }
 
+    /**
+     * Compute the window functions as the ordered input is read.  Only the aggregate
+     * state and the rows of the current peer group are held.
+     */
+    private TupleBatch streamBatch() throws TeiidComponentException, TeiidProcessingException {
+        if (streamingStates == null) {
+            initStreamingState();
+        }
+        if (emitRows()) {
+            return pullBatch();
+        }
+        while (!doneReading) {
+            List<?> tuple = inputTs.nextTuple();
+            if (tuple == null) {
+                for (StreamingState state : streamingStates) {
+                    if (state.lastRow != null) {
+                        fillValues(state, true);
+                    }
+                }
+                inputTs.closeSource();
+                inputTs = null;
+                doneReading = true;
+                break;
+            }
+            for (StreamingState state : streamingStates) {
+                if (state.lastRow == null) {
+                    continue;
+                }
+                boolean samePartition = GroupingNode.sameGroup(state.partitionIndexes, tuple, state.lastRow) == -1;
+                if (!samePartition || (state.info.windowFrame != null && state.info.windowFrame.getMode() == FrameMode.ROWS)
+                        || GroupingNode.sameGroup(state.orderIndexes, tuple, state.lastRow) != -1) {
+                    fillValues(state, samePartition);
+                }
+            }
+            int size = getElements().size();
+            ArrayList<Object> outputRow = new ArrayList<Object>(size);
+            for (int i = 0; i < size; i++) {
+                outputRow.add(null);
+            }
+            for (int[] entry : passThrough) {
+                outputRow.set(entry[0], tuple.get(entry[1]));
+            }
+            pendingRows.add(outputRow);
+            rowCount++;
+            for (StreamingState state : streamingStates) {
+                for (AggregateFunction function : state.aggs) {
+                    function.addInput(tuple, getContext());
+                }
+                state.lastRow = tuple;
+            }
+            if (emitRows()) {
+                return pullBatch();
+            }
+        }
+        if (emitRows()) {
+            return pullBatch();
+        }
+        terminateBatches();
+        return pullBatch();
+    }
+
+    private void initStreamingState() {
+        createInputSource();
+        streamingStates = new ArrayList<StreamingState>(windows.size());
+        pendingRows = new ArrayList<List<Object>>();
+        for (WindowSpecificationInfo info : windows.values()) {
+            StreamingState state = new StreamingState();
+            state.info = info;
+            if (!info.groupIndexes.isEmpty()) {
+                state.partitionIndexes = toArray(info.groupIndexes);
+            }
+            state.orderIndexes = toArray(info.sortIndexes);
+            for (WindowFunctionInfo wfi : info.functions) {
+                state.aggs.add(GroupingNode.initAccumulator(wfi.function.getFunction(), this, expressionIndexes));
+                state.lagHistory.add(wfi.function.getFunction().getAggregateFunction() == Type.LAG?new LinkedList<Object[]>():null);
+            }
+            streamingStates.add(state);
+        }
+    }
+
+    private static int[] toArray(List<Integer> indexes) {
+        int[] result = new int[indexes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indexes.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Set the current values for the rows since the last group
+     */
+    private void fillValues(StreamingState state, boolean samePartition) throws TeiidComponentException, TeiidProcessingException {
+        List<Object> values = new ArrayList<Object>(state.aggs.size());
+        for (AggregateFunction function : state.aggs) {
+            values.add(function.getResult(getContext()));
+            if (!samePartition) {
+                function.reset();
+            }
+        }
+        for (long i = state.filled; i < rowCount; i++) {
+            List<Object> row = pendingRows.get((int)(i - pendingBase));
+            for (int j = 0; j < values.size(); j++) {
+                WindowFunctionInfo wfi = state.info.functions.get(j);
+                Object value = values.get(j);
+                LinkedList<Object[]> history = state.lagHistory.get(j);
+                if (history != null) {
+                    value = getLagValue(history, getLagOffset(wfi.function.getFunction()), ((ArrayImpl)value).getValues());
+                }
+                row.set(wfi.outputIndex, value);
+            }
+        }
+        state.filled = rowCount;
+    }
+
+    /**
+     * Get the lag value from the retained values of the preceding rows
+     */
+    private Object getLagValue(LinkedList<Object[]> history, int maxOffset, Object[] args) {
+        int offset = 1;
+        Object defaultValue = null;
+        if (args.length > 2) {
+            offset = (int) args[1];
+            if (args.length > 3) {
+                defaultValue = args[2];
+            }
+        }
+        Object value = defaultValue;
+        if (offset == 0) {
+            value = args[0];
+        } else if (offset <= history.size()) {
+            Object[] previous = history.get(history.size() - offset);
+            //make sure it's the same partition
+            if (args[args.length-1].equals(previous[previous.length-1])) {
+                value = previous[0];
+            }
+        }
+        if (maxOffset > 0) {
+            history.add(args);
+            if (history.size() > maxOffset) {
+                history.removeFirst();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Add the rows that have all values to the output batch
+     * @return true if the batch is full
+     */
+    private boolean emitRows() {
+        long ready = rowCount;
+        for (StreamingState state : streamingStates) {
+            ready = Math.min(ready, state.filled);
+        }
+        while (pendingBase + pendingIndex < ready) {
+            addBatchRow(pendingRows.set(pendingIndex++, null));
+            if (pendingIndex == pendingRows.size()) {
+                pendingBase += pendingIndex;
+                pendingRows.clear();
+                pendingIndex = 0;
+            }
+            if (isBatchFull()) {
+                return true;
+            }
+        }
+        if (pendingIndex > 1024 && pendingIndex > pendingRows.size()/2) {
+            pendingRows.subList(0, pendingIndex).clear();
+            pendingBase += pendingIndex;
+            pendingIndex = 0;
+        }
+        return false;
+    }
+
     /**
      * Build the results by maintaining indexes that map
      * rowid->partitionid and partitionid->values
@@ -705,21 +1014,7 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
     private void saveInput()
             throws TeiidComponentException, TeiidProcessingException {
         if (inputTs == null) {
-            List<Expression> collectedExpressions = new ArrayList<Expression>(expressionIndexes.keySet());
-            Evaluator eval = new Evaluator(elementMap, getDataManager(), getContext());
-            final RelationalNode sourceNode = this.getChildren()[0];
-            inputTs = new ProjectingTupleSource(sourceNode, eval, collectedExpressions, elementMap) {
-                int index = 0;
-                @Override
-                public List<Object> nextTuple() throws TeiidComponentException,
-                        TeiidProcessingException {
-                    List<Object> tuple = super.nextTuple();
-                    if (tuple != null) {
-                        tuple.add(index++);
-                    }
-                    return tuple;
-                }
-            };
+            List<Expression> collectedExpressions = createInputSource();
             List<ElementSymbol> schema = new ArrayList<ElementSymbol>(collectedExpressions.size() + 1);
             int index = 0;
             for (Expression ex : collectedExpressions) {
@@ -743,6 +1038,29 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
         inputTs = null;
     }
 
+    /**
+     * Create the source of the collected expressions with a trailing row id
+     * @return the collected expressions
+     */
+    private List<Expression> createInputSource() {
+        List<Expression> collectedExpressions = new ArrayList<Expression>(expressionIndexes.keySet());
+        Evaluator eval = new Evaluator(elementMap, getDataManager(), getContext());
+        final RelationalNode sourceNode = this.getChildren()[0];
+        inputTs = new ProjectingTupleSource(sourceNode, eval, collectedExpressions, elementMap) {
+            int index = 0;
+            @Override
+            public List<Object> nextTuple() throws TeiidComponentException,
+                    TeiidProcessingException {
+                List<Object> tuple = super.nextTuple();
+                if (tuple != null) {
+                    tuple.add(index++);
+                }
+                return tuple;
+            }
+        };
+        return collectedExpressions;
+    }
+
     @Override
     public void initialize(CommandContext context, BufferManager bufferManager,
             ProcessorDataManager dataMgr) {
@@ -762,6 +1080,7 @@ public class WindowFunctionProjectNode extends SubqueryAwareRelationalNode {
     public PlanNode getDescriptionProperties() {
         PlanNode props = super.getDescriptionProperties();
         AnalysisRecord.addLanaguageObjects(props, PROP_WINDOW_FUNCTIONS, this.windows.keySet());
+        props.addProperty(PROP_STREAMING, String.valueOf(this.streaming));
         return props;
     }
 
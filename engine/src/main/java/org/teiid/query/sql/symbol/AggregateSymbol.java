@@ -27,6 +27,7 @@ import org.teiid.core.types.DataTypeManager;
 import org.teiid.core.util.EquivalenceUtil;
 import org.teiid.core.util.HashCodeUtil;
 import org.teiid.core.util.PropertiesUtils;
+import org.teiid.metadata.AggregateAttributes;
 import org.teiid.query.parser.SQLParserUtil;
 import org.teiid.query.sql.LanguageObject;
 import org.teiid.query.sql.LanguageVisitor;
@@ -408,7 +409,17 @@ public class AggregateSymbol extends Function implements DerivedExpression, Name
         case STRING_AGG:
             return false;
         case USER_DEFINED:
-            return this.getArgs().length == 1 && this.getFunctionDescriptor().getMethod().getAggregateAttributes().isDecomposable();
+            AggregateAttributes aa = this.getFunctionDescriptor().getMethod().getAggregateAttributes();
+            if (aa.getPartialAggregate() != null && aa.getMergeAggregate() != null) {
+                //the remaining arguments are passed to the merge aggregate
+                for (int i = 1; i < this.getArgs().length; i++) {
+                    if (!(this.getArg(i) instanceof Constant)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return this.getArgs().length == 1 && aa.isDecomposable();
         }
         return true;
     }
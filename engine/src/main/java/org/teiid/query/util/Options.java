@@ -39,6 +39,8 @@ public class Options {
     public static final String MAX_SESSION_BUFFER_SIZE_ESTIMATE = "org.teiid.maxSessionBufferSizeEstimate"; //$NON-NLS-1$
     public static final String TRACING_WITH_ACTIVE_SPAN_ONLY = "org.teiid.tracingWithActiveSpanOnly"; //$NON-NLS-1$
     public static final String ENFORCE_SINGLE_MAX_BUFFER_SIZE_ESTIMATE = "org.teiid.enforceSingleMaxBufferSizeEstimate"; //$NON-NLS-1$
+    public static final String TEXT_TABLE_SPLIT_SIZE = "org.teiid.textTableSplitSize"; //$NON-NLS-1$
+    public static final String JOIN_PLANNING_BUDGET = "org.teiid.joinPlanningBudget"; //$NON-NLS-1$
 
     private Properties properties;
     private boolean subqueryUnnestDefault = false;
@@ -54,6 +56,8 @@ public class Options {
     private boolean tracingWithActiveSpanOnly = true;
     private boolean enforceSingleMaxBufferSizeEstimate = false;
     private boolean relativeXPath = true;
+    private long textTableSplitSize;
+    private long joinPlanningBudget = 100000;
 
     public Properties getProperties() {
         return properties;
@@ -238,4 +242,40 @@ public class Options {
         return this;
     }
 
+    /**
+     * The size in bytes of the ranges that a large delimited file may be split into
+     * for concurrent texttable parsing.  Splitting assumes that rows do not contain
+     * embedded row delimiters.  0 or less disables splitting.
+     */
+    public long getTextTableSplitSize() {
+        return textTableSplitSize;
+    }
+
+    public void setTextTableSplitSize(long textTableSplitSize) {
+        this.textTableSplitSize = textTableSplitSize;
+    }
+
+    public Options textTableSplitSize(long l) {
+        this.textTableSplitSize = l;
+        return this;
+    }
+
+    /**
+     * The number of join orders the dynamic programming join order search may score
+     * for a single join region before falling back to the greedy search.  0 or less
+     * uses only the greedy search.
+     */
+    public long getJoinPlanningBudget() {
+        return joinPlanningBudget;
+    }
+
+    public void setJoinPlanningBudget(long joinPlanningBudget) {
+        this.joinPlanningBudget = joinPlanningBudget;
+    }
+
+    public Options joinPlanningBudget(long l) {
+        this.joinPlanningBudget = l;
+        return this;
+    }
+
 }
@@ -24,12 +24,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.Test;
+import org.teiid.core.types.BinaryType;
 import org.teiid.language.AndOr;
 import org.teiid.language.AndOr.Operator;
 import org.teiid.language.Expression;
 import org.teiid.language.In;
 import org.teiid.language.Literal;
 import org.teiid.query.sql.lang.SetCriteria;
+import org.teiid.query.sql.symbol.Constant;
 import org.teiid.query.unittest.RealMetadataFactory;
 
 public class TestInCriteriaImpl {
@@ -80,6 +82,28 @@ public class TestInCriteriaImpl {
         assertEquals("300 NOT IN (100, 200) AND 300 NOT IN (300, 400)", and.toString());
     }
 
+    @Test public void testArrayInBindingNotExpanded() throws Exception {
+        SetCriteria inCriteria = helpExample(false);
+        LanguageBridgeFactory lbf = new LanguageBridgeFactory(RealMetadataFactory.example1Cached());
+        lbf.setMaxInPredicateSize(2);
+        lbf.setSupportsArrayInBinding(true);
+        In in = (In) lbf.translate(inCriteria);
+        assertEquals(4, in.getRightExpressions().size());
+    }
+
+    @Test public void testArrayInBindingNotBindableType() throws Exception {
+        ArrayList<org.teiid.query.sql.symbol.Expression> values = new ArrayList<org.teiid.query.sql.symbol.Expression>();
+        for (int i = 0; i < 4; i++) {
+            values.add(new Constant(new BinaryType(new byte[] {(byte)i})));
+        }
+        SetCriteria inCriteria = new SetCriteria(new Constant(new BinaryType(new byte[] {0})), values);
+        LanguageBridgeFactory lbf = new LanguageBridgeFactory(RealMetadataFactory.example1Cached());
+        lbf.setMaxInPredicateSize(2);
+        lbf.setSupportsArrayInBinding(true);
+        AndOr or = (AndOr) lbf.translate(inCriteria);
+        assertEquals(Operator.OR, or.getOperator());
+    }
+
     @Test public void testGetRightExpressions() throws Exception {
         List<Expression> values = example(false).getRightExpressions();
         assertNotNull(values);
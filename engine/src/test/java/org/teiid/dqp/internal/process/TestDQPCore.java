@@ -23,6 +23,7 @@ import static org.junit.Assert.*;
 import java.sql.ResultSet;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -45,6 +46,7 @@ import org.teiid.cache.CacheConfiguration;
 import org.teiid.cache.DefaultCacheFactory;
 import org.teiid.client.RequestMessage;
 import org.teiid.client.RequestMessage.ResultsMode;
+import org.teiid.client.RequestMessage.ShowPlan;
 import org.teiid.client.RequestMessage.StatementType;
 import org.teiid.client.ResultsMessage;
 import org.teiid.client.lob.LobChunk;
@@ -58,6 +60,8 @@ import org.teiid.dqp.internal.datamgr.FakeTransactionService;
 import org.teiid.dqp.internal.process.AbstractWorkItem.ThreadState;
 import org.teiid.dqp.service.AutoGenDataService;
 import org.teiid.dqp.service.FakeBufferService;
+import org.teiid.query.analysis.PlanningProfile;
+import org.teiid.query.analysis.PlanningStatistics;
 import org.teiid.query.optimizer.TestOptimizer;
 import org.teiid.query.optimizer.capabilities.BasicSourceCapabilities;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
@@ -319,6 +323,59 @@ public class TestDQPCore {
         assertFalse(this.core.cancelRequest(1L));
     }
 
+    @Test public void testPlanningProfile() throws Exception {
+        String sql = "SELECT IntKey FROM VQT.SmallA_2589"; //$NON-NLS-1$
+        RequestMessage reqMsg = exampleRequestMessage(sql);
+        reqMsg.setShowPlan(ShowPlan.DEBUG);
+        ResultsMessage rm = execute("A", 1, reqMsg); //$NON-NLS-1$
+        assertNull(rm.getException());
+        String debugLog = rm.getDebugLog();
+        assertTrue(debugLog, debugLog.contains("PLANNING PROFILE:")); //$NON-NLS-1$
+        assertTrue(debugLog, debugLog.contains("rule RaiseAccess")); //$NON-NLS-1$
+        assertTrue(debugLog, debugLog.contains("/VQT.SmallA_2589 count=1")); //$NON-NLS-1$
+        assertTrue(debugLog, debugLog.contains("metadata getGroupID")); //$NON-NLS-1$
+        assertEquals(1, core.getPlanningStatistics().getProfileCount());
+        assertTrue(core.getPlanningStatistics().toString().contains("optimize")); //$NON-NLS-1$
+    }
+
+    @Test public void testPlanningProfileWithoutDebug() throws Exception {
+        String sql = "SELECT IntKey FROM VQT.SmallA_2589"; //$NON-NLS-1$
+        ResultsMessage rm = execute("A", 1, exampleRequestMessage(sql)); //$NON-NLS-1$
+        assertNull(rm.getException());
+        String stats = core.getPlanningStatistics().toString();
+        assertTrue(stats, stats.contains("optimize")); //$NON-NLS-1$
+        assertFalse(stats, stats.contains("rule ")); //$NON-NLS-1$
+        assertFalse(stats, stats.contains("view ")); //$NON-NLS-1$
+
+        PlanningStatistics bounded = new PlanningStatistics(1);
+        PlanningProfile profile = new PlanningProfile();
+        profile.record("a", System.nanoTime(), -1); //$NON-NLS-1$
+        profile.record("b", System.nanoTime(), -1); //$NON-NLS-1$
+        bounded.add(profile);
+        assertFalse(bounded.toString().contains("b count")); //$NON-NLS-1$
+        assertEquals(1, bounded.getEntries().size());
+        assertEquals("a", bounded.getEntries().get(0).getName()); //$NON-NLS-1$
+        bounded.clear();
+        assertEquals(0, bounded.getEntries().size());
+        assertEquals(0, bounded.getProfileCount());
+    }
+
+    @Test public void testPlanningProfileViewSelfTime() throws Exception {
+        PlanningProfile profile = new PlanningProfile();
+        long outerStart = System.nanoTime();
+        long outerEnclosing = profile.startNested();
+        long innerStart = System.nanoTime();
+        long innerEnclosing = profile.startNested();
+        Thread.sleep(20);
+        profile.recordSelf("inner", innerStart, innerEnclosing); //$NON-NLS-1$
+        profile.recordSelf("outer", outerStart, outerEnclosing); //$NON-NLS-1$
+        List<PlanningProfile.Entry> entries = profile.getEntries();
+        assertEquals("inner", entries.get(0).getName()); //$NON-NLS-1$
+        assertEquals("outer", entries.get(1).getName()); //$NON-NLS-1$
+        assertTrue(entries.get(0).getNanos() >= 20000000);
+        assertTrue(entries.get(1).getNanos() < entries.get(0).getNanos());
+    }
+
     @Test public void testBufferLimit() throws Exception {
         //the sql should return 400 rows
         String sql = "SELECT A.IntKey FROM BQT1.SmallA as A, BQT1.SmallA as B, (select intkey from BQT1.SmallA limit 4) as C"; //$NON-NLS-1$
@@ -19,8 +19,11 @@ package org.teiid.query.metadata;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -170,6 +173,34 @@ public class TestMetadataValidator {
         assertTrue(printError(report), report.hasItems());
     }
 
+    @Test
+    public void testConcurrentResolveQueryPlans() throws Exception {
+        String ddl = "create view v0 AS select e1 from pm1.g1; "
+                + "create view v1 (e1 integer) AS select e1 from v0; "
+                + "create view v2 (e1 integer, e2 integer) AS select 1; "
+                + "create view v3 (e1 integer, e2 integer) AS select 2; "
+                + "create virtual procedure p () returns integer as select e1 from v1;";
+        buildModel("pm1", true, this.vdb, this.store, "create foreign table g1(e1 integer, e2 varchar(12));");
+        buildModel("vm1", false, this.vdb, this.store, ddl);
+        buildTransformationMetadata();
+        ValidatorReport report = new ValidatorReport();
+        MetadataValidator validator = new MetadataValidator();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            validator.setExecutor(executor);
+            new MetadataValidator.ResolveQueryPlans().execute(vdb, store, report, validator);
+        } finally {
+            executor.shutdownNow();
+        }
+        List<ValidatorFailure> items = new ArrayList<ValidatorFailure>(report.getItems());
+        assertEquals(printError(report), 2, items.size());
+        //reported in resolving order
+        assertTrue(items.get(0).getMessage().contains("vm1.v2"));
+        assertTrue(items.get(1).getMessage().contains("vm1.v3"));
+        //the inferred view columns are available to the concurrently validated view
+        assertEquals(1, store.getSchema("vm1").getTable("v0").getColumns().size());
+    }
+
     @Test
     public void testCreateTrigger() throws Exception {
         String ddl = "create view g1 options (updatable true) AS select * from pm1.g1; " +
@@ -23,12 +23,14 @@ import static org.junit.Assert.*;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.teiid.adminapi.Model;
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.api.exception.query.QueryMetadataException;
@@ -184,4 +186,44 @@ public class TestTransformationMetadata {
         assertEquals(1, mf1.getSchema().getTable("y").getColumns().get(1).getArrayDimensions());
     }
 
+    @Test public void testLookupCacheEviction() {
+        MetadataLookupCache<String, Integer> cache = new MetadataLookupCache<String, Integer>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(String.valueOf(i), i);
+        }
+        assertEquals(Integer.valueOf(0), cache.get("0")); //$NON-NLS-1$
+        cache.put("10", 10); //$NON-NLS-1$
+        assertEquals(9, cache.size());
+        //the recently accessed entry should be retained
+        assertEquals(Integer.valueOf(0), cache.get("0")); //$NON-NLS-1$
+        assertNull(cache.get("1")); //$NON-NLS-1$
+        assertEquals(Integer.valueOf(10), cache.put("10", null)); //$NON-NLS-1$
+        assertEquals(2, cache.getHitCount());
+        assertEquals(3, cache.getRequestCount());
+    }
+
+    @Test public void testLookupCacheRecency() {
+        MetadataLookupCache<String, Integer> cache = new MetadataLookupCache<String, Integer>(3);
+        cache.put("a", 1); //$NON-NLS-1$
+        cache.put("b", 2); //$NON-NLS-1$
+        cache.put("c", 3); //$NON-NLS-1$
+        cache.get("a"); //$NON-NLS-1$
+        cache.get("b"); //$NON-NLS-1$
+        cache.put("d", 4); //$NON-NLS-1$
+        //the order of the reads is retained
+        assertEquals(2, cache.size());
+        assertEquals(Integer.valueOf(2), cache.get("b")); //$NON-NLS-1$
+        assertEquals(Integer.valueOf(4), cache.get("d")); //$NON-NLS-1$
+    }
+
+    @Test public void testPreWarmCache() throws Exception {
+        TransformationMetadata tm = RealMetadataFactory.fromDDL("create foreign table x (col integer); create foreign procedure p (i integer);", "vdb", "y"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        tm.preWarmCache();
+        List<CacheStatisticsMetadata> stats = tm.getCacheStatistics();
+        assertEquals(1, stats.get(1).getTotalEntries());
+        assertEquals(1, stats.get(3).getTotalEntries());
+        tm.getStoredProcedureInfoForProcedure("y.p"); //$NON-NLS-1$
+        assertEquals(50, tm.getCacheStatistics().get(3).getHitRatio(), 0);
+    }
+
 }
@@ -18,6 +18,7 @@
 
 package org.teiid.query.optimizer;
 
+import static org.junit.Assert.*;
 import static org.teiid.query.optimizer.TestOptimizer.*;
 
 import java.util.Arrays;
@@ -323,6 +324,46 @@ public class TestAggregatePushdown {
         });
     }
 
+    @Test public void testApproximateAggregatesStagedOverJoin() throws Exception {
+        FakeCapabilitiesFinder capFinder = new FakeCapabilitiesFinder();
+        BasicSourceCapabilities caps = getAggregateCapabilities();
+        caps.setCapabilitySupport(Capability.QUERY_ORDERBY, false);
+        capFinder.addCapabilities("pm1", caps); //$NON-NLS-1$
+        capFinder.addCapabilities("pm2", caps); //$NON-NLS-1$
+
+        String sql = "SELECT x.e2, approx_count_distinct(y.e2), approx_median(y.e2), approx_percentile(y.e2, .9) from pm1.g1 x, pm2.g1 y where x.e4 = y.e4 group by x.e2"; //$NON-NLS-1$
+        ProcessorPlan plan = TestOptimizer.helpPlan(sql, RealMetadataFactory.example1Cached(), null, capFinder,
+                                      new String[] {"SELECT g_0.e4, g_0.e2 FROM pm1.g1 AS g_0", "SELECT g_0.e4, g_0.e2 FROM pm2.g1 AS g_0"}, TestOptimizer.ComparisonMode.EXACT_COMMAND_STRING); //$NON-NLS-1$ //$NON-NLS-2$
+
+        TestOptimizer.checkNodeTypes(plan, new int[] {
+            2,      // Access
+            0,      // DependentAccess
+            0,      // DependentSelect
+            0,      // DependentProject
+            0,      // DupRemove
+            2,      // Grouping
+            0,      // NestedLoopJoinStrategy
+            1,      // MergeJoinStrategy
+            0,      // Null
+            0,      // PlanExecution
+            1,      // Project
+            0,      // Select
+            0,      // Sort
+            0       // UnionAll
+        });
+        String planString = plan.toString();
+        assertTrue(planString.contains("approx_count_distinct_sketch(ALL y.e2)")); //$NON-NLS-1$
+        assertTrue(planString.matches("(?s).*approx_median_merge\\(ALL anon_grp\\d+\\.agg\\d+\\).*")); //$NON-NLS-1$
+
+        HardcodedDataManager hdm = new HardcodedDataManager();
+        hdm.addData("SELECT g_0.e4, g_0.e2 FROM pm1.g1 AS g_0", Arrays.asList(1.0, 1), Arrays.asList(2.0, 1), Arrays.asList(2.0, 2)); //$NON-NLS-1$
+        hdm.addData("SELECT g_0.e4, g_0.e2 FROM pm2.g1 AS g_0", Arrays.asList(1.0, 1), Arrays.asList(1.0, 2), Arrays.asList(1.0, 2), //$NON-NLS-1$
+                Arrays.asList(2.0, 3), Arrays.asList(2.0, 5), Arrays.asList(2.0, null));
+
+        //group 1 joins all of the rows, group 2 only the e4 = 2.0 rows
+        TestProcessor.helpProcess(plan, hdm, new List[] {Arrays.asList(1, 4L, 2.0, 5.0), Arrays.asList(2, 2L, 4.0, 5.0)});
+    }
+
     @Test public void testAvgAggregateFiltered() throws Exception {
         FakeCapabilitiesFinder capFinder = new FakeCapabilitiesFinder();
         BasicSourceCapabilities caps = getAggregateCapabilities();
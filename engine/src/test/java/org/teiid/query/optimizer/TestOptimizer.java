@@ -1058,6 +1058,67 @@ public class TestOptimizer {
         assertEquals("[pm1.g1.e1]", ((JoinNode)rp.getRootNode().getChildren()[0]).getRightExpressions().toString());
     }
 
+    @Test public void testManyJoinsDynamicProgramming() throws Exception {
+        TransformationMetadata tm = example1();
+        RealMetadataFactory.setCardinality("pm1.g1", 10000000, tm);
+        RealMetadataFactory.setCardinality("pm1.g2", 100, tm);
+        RealMetadataFactory.setCardinality("pm1.g3", 1000, tm);
+        RealMetadataFactory.setCardinality("pm1.g4", 10000, tm);
+        RealMetadataFactory.setCardinality("pm1.g5", 100, tm);
+        RealMetadataFactory.setCardinality("pm1.g6", 1000, tm);
+        RealMetadataFactory.setCardinality("pm1.g7", 10000, tm);
+        RealMetadataFactory.setCardinality("pm1.g8", 100, tm);
+        String sql = "SELECT pm1.g1.e1 FROM pm1.g1, pm1.g2, pm1.g3, pm1.g4, pm1.g5, pm1.g6, pm1.g7, pm1.g8 "
+                + "WHERE pm1.g1.e1 = pm1.g2.e1 AND pm1.g1.e1 = pm1.g3.e1 AND pm1.g1.e1 = pm1.g4.e1 AND pm1.g1.e1 = pm1.g5.e1 AND pm1.g1.e1 = pm1.g6.e1 AND pm1.g1.e1 = pm1.g7.e1 AND pm1.g1.e1 = pm1.g8.e1"; //$NON-NLS-1$
+
+        AnalysisRecord record = new AnalysisRecord(false, true);
+        ProcessorPlan plan = getPlan(helpGetCommand(sql, tm), tm, new DefaultCapabilitiesFinder(), record, true, new CommandContext());
+        assertTrue(record.getDebugLog().contains("Join order for 8 join sources found by dynamic programming"));
+        RelationalPlan rp = (RelationalPlan)plan;
+        //g1 should be last
+        assertEquals("[pm1.g1.e1]", ((JoinNode)rp.getRootNode().getChildren()[0]).getRightExpressions().toString());
+
+        record = new AnalysisRecord(false, true);
+        CommandContext cc = new CommandContext();
+        cc.getOptions().joinPlanningBudget(0);
+        getPlan(helpGetCommand(sql, tm), tm, new DefaultCapabilitiesFinder(), record, true, cc);
+        assertFalse(record.getDebugLog().contains("dynamic programming"));
+    }
+
+    @Test public void testManyJoinsDynamicProgrammingTwelveSources() throws Exception {
+        TransformationMetadata tm = example1();
+        RealMetadataFactory.setCardinality("pm1.g1", 10000000, tm);
+        RealMetadataFactory.setCardinality("pm1.g2", 100, tm);
+        RealMetadataFactory.setCardinality("pm1.g3", 1000, tm);
+        RealMetadataFactory.setCardinality("pm1.g4", 10000, tm);
+        RealMetadataFactory.setCardinality("pm1.g5", 500, tm);
+        RealMetadataFactory.setCardinality("pm1.g6", 5000, tm);
+        StringBuilder from = new StringBuilder("pm1.g1 AS x");
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < 12; i++) {
+            from.append(", pm1.g").append(2 + i % 5).append(" AS y").append(i);
+            if (i > 0) {
+                where.append(" AND ");
+            }
+            where.append("x.e1 = y").append(i).append(".e1");
+        }
+        String sql = "SELECT x.e1 FROM " + from + " WHERE " + where; //$NON-NLS-1$ //$NON-NLS-2$
+
+        AnalysisRecord record = new AnalysisRecord(false, true);
+        ProcessorPlan plan = getPlan(helpGetCommand(sql, tm), tm, new DefaultCapabilitiesFinder(), record, true, new CommandContext());
+        assertTrue(record.getDebugLog().contains("Join order for 13 join sources found by dynamic programming"));
+        RelationalPlan rp = (RelationalPlan)plan;
+        //the large source should be last
+        assertEquals("[x.e1]", ((JoinNode)rp.getRootNode().getChildren()[0]).getRightExpressions().toString());
+
+        //exceeding the budget falls back to the greedy search
+        record = new AnalysisRecord(false, true);
+        CommandContext cc = new CommandContext();
+        cc.getOptions().joinPlanningBudget(10);
+        getPlan(helpGetCommand(sql, tm), tm, new DefaultCapabilitiesFinder(), record, true, cc);
+        assertTrue(record.getDebugLog().contains("Join order search for 13 join sources stopped after scoring 11 orders"));
+    }
+
     @Test public void testAggregateWithoutGroupBy() {
         ProcessorPlan plan = helpPlan("select count(e2) from pm1.g1", example1(), //$NON-NLS-1$
             new String[] { "SELECT e2 FROM pm1.g1" } );         //$NON-NLS-1$
@@ -3028,6 +3089,42 @@ public class TestOptimizer {
         });
     }
 
+    @Test public void testLargeSetCriteriaArrayBinding() throws TeiidComponentException, TeiidProcessingException {
+        String sql = "SELECT IntKey FROM BQT1.SmallA WHERE IntKey IN (1,2,3,4,5)"; //$NON-NLS-1$
+
+        BasicSourceCapabilities caps = getTypicalCapabilities();
+        caps.setSourceProperty(Capability.MAX_IN_CRITERIA_SIZE, 1);
+        caps.setSourceProperty(Capability.MAX_DEPENDENT_PREDICATES, 1);
+        caps.setCapabilitySupport(Capability.ARRAY_IN_BINDING, true);
+
+        ProcessorPlan plan = helpPlan(sql, RealMetadataFactory.exampleBQTCached(),
+            null, new DefaultCapabilitiesFinder(caps),
+            new String[] { "SELECT g_0.IntKey FROM BQT1.SmallA AS g_0 WHERE g_0.IntKey IN (1, 2, 3, 4, 5)" }, ComparisonMode.EXACT_COMMAND_STRING); //$NON-NLS-1$
+        checkNodeTypes(plan, FULL_PUSHDOWN);
+
+        //without array binding the predicate is split by a dependent access node
+        caps.setCapabilitySupport(Capability.ARRAY_IN_BINDING, false);
+        plan = helpPlan(sql, RealMetadataFactory.exampleBQTCached(),
+                null, new DefaultCapabilitiesFinder(caps),
+                new String[] { "SELECT g_0.IntKey FROM BQT1.SmallA AS g_0 WHERE g_0.IntKey IN (1, 2, 3, 4, 5)" }, ComparisonMode.EXACT_COMMAND_STRING); //$NON-NLS-1$
+        checkNodeTypes(plan, new int[] {
+            0,      // Access
+            1,      // DependentAccess
+            0,      // DependentSelect
+            0,      // DependentProject
+            0,      // DupRemove
+            0,      // Grouping
+            0,      // NestedLoopJoinStrategy
+            0,      // MergeJoinStrategy
+            0,      // Null
+            0,      // PlanExecution
+            1,      // Project
+            0,      // Select
+            0,      // Sort
+            0       // UnionAll
+        });
+    }
+
     @Test public void testMergeJoin_defect11236(){
         // Create query
         String sql = "SELECT BQT1.SmallA.IntKey FROM BQT1.SmallA, BQT1.SmallB WHERE BQT1.SmallA.IntKey = (BQT1.SmallB.IntKey + 1)";     //$NON-NLS-1$
@@ -6656,6 +6753,20 @@ public class TestOptimizer {
         TestOptimizer.helpPlan(sql, metadata, new String[] {"SELECT (v_0.c_0 + 1) FROM (SELECT g_0.intkey AS c_0 FROM y.smalla AS g_0 ORDER BY c_0 LIMIT 1) AS v_0"}, new DefaultCapabilitiesFinder(bsc), ComparisonMode.EXACT_COMMAND_STRING);
     }
 
+    @Test public void testRewrittenViewCache() throws Exception {
+        TransformationMetadata metadata = RealMetadataFactory.fromDDL("create foreign table smalla (intkey integer, stringkey string); "
+                + "create view v (intkey integer) as select intkey from smalla where stringkey = concat('a', 'b'); "
+                + "create view u (intkey integer) as select intkey from smalla where stringkey = user()", "x", "y"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+        for (int i = 0; i < 2; i++) {
+            TestOptimizer.helpPlan("SELECT intkey FROM v", metadata, new String[] {"SELECT g_0.intkey FROM y.smalla AS g_0 WHERE g_0.stringkey = 'ab'"}, getGenericFinder(), ComparisonMode.EXACT_COMMAND_STRING); //$NON-NLS-1$ //$NON-NLS-2$
+            assertNotNull(metadata.getFromMetadataCache(metadata.getGroupID("y.v"), "rewritten/SELECT/false")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        //the user dependent rewrite should not be shared - without a user the criteria is pre-evaluated as false
+        TestOptimizer.helpPlan("SELECT intkey FROM u", metadata, new String[] {}, getGenericFinder(), ComparisonMode.EXACT_COMMAND_STRING); //$NON-NLS-1$
+        assertNull(metadata.getFromMetadataCache(metadata.getGroupID("y.u"), "rewritten/SELECT/false")); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
     @Test public void testLikeEscapeRestriction() throws Exception {
         String sql = "SELECT e2 FROM pm1.g1 where e1 like 'a%b' escape '!'"; //$NON-NLS-1$
 
@@ -1464,6 +1464,80 @@ public class TestAggregateProcessing {
         helpProcess(plan, hdm, new List[] {Arrays.asList(1L)});
     }
 
+    @Test public void testApproximateAggregates() throws Exception {
+        String sql = "select e1, approx_count_distinct(e2), approx_median(e2), approx_percentile(e2, .9) from pm1.g1 group by e1"; //$NON-NLS-1$
+
+        TransformationMetadata metadata = RealMetadataFactory.example1Cached();
+        ProcessorPlan plan = helpGetPlan(sql, metadata);
+        HardcodedDataManager hdm = new HardcodedDataManager();
+        hdm.addData("SELECT pm1.g1.e1, pm1.g1.e2 FROM pm1.g1", Arrays.asList("a", 1), Arrays.asList("b", 3), Arrays.asList("a", 2),
+                Arrays.asList("a", null), Arrays.asList("a", 4), Arrays.asList("a", 2));
+        helpProcess(plan, hdm, new List[] {Arrays.asList("a", 3L, 2.0, 4.0), Arrays.asList("b", 1L, 3.0, 3.0)});
+    }
+
+    @Test public void testApproximateAggregatesLarge() throws Exception {
+        String sql = "select approx_count_distinct(e2) between 19000 and 21000, approx_percentile(e2, .99) between 19750 and 19850, "
+                + "approx_median(e2) between 9800 and 10200 from pm1.g1"; //$NON-NLS-1$
+
+        TransformationMetadata metadata = RealMetadataFactory.example1Cached();
+        ProcessorPlan plan = helpGetPlan(sql, metadata);
+        HardcodedDataManager hdm = new HardcodedDataManager();
+        List<?>[] rows = new List<?>[50000];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = Arrays.asList((i * 7919) % 20000);
+        }
+        hdm.addData("SELECT pm1.g1.e2 FROM pm1.g1", rows);
+        helpProcess(plan, hdm, new List[] {Arrays.asList(true, true, true)});
+
+        //the same estimates from merged partial sketches
+        sql = "select approx_count_distinct_merge(s) between 19000 and 21000, approx_percentile_merge(d, .99) between 19750 and 19850, "
+                + "approx_median_merge(d) between 9800 and 10200 from "
+                + "(select approx_count_distinct_sketch(e2) as s, approx_percentile_sketch(e2) as d from pm1.g1 group by mod(e2, 10)) as v"; //$NON-NLS-1$
+        plan = helpGetPlan(sql, metadata);
+        helpProcess(plan, hdm, new List[] {Arrays.asList(true, true, true)});
+    }
+
+    @Test public void testApproximateCountDistinctNormalizesValues() throws Exception {
+        String sql = "select approx_count_distinct(x) from (select cast('1.0' as bigdecimal) as x union all select cast('1.00' as bigdecimal) "
+                + "union all select cast('1' as bigdecimal) union all select cast('2.5' as bigdecimal) union all select cast('2.50' as bigdecimal)) as v"; //$NON-NLS-1$
+
+        ProcessorPlan plan = helpGetPlan(sql, RealMetadataFactory.example1Cached());
+        helpProcess(plan, new HardcodedDataManager(), new List[] {Arrays.asList(2L)});
+
+        sql = "select approx_count_distinct(x) from (select 1 as x union all select 1.0e0 union all select 1.5e0 union all select 1.5) as v"; //$NON-NLS-1$
+
+        plan = helpGetPlan(sql, RealMetadataFactory.example1Cached());
+        helpProcess(plan, new HardcodedDataManager(), new List[] {Arrays.asList(2L)});
+    }
+
+    @Test public void testApproximateAggregatesMerge() throws Exception {
+        String sql = "select approx_count_distinct_merge(s), approx_percentile_merge(d, .5), approx_percentile_merge(d, 1) "
+                + "from (select approx_count_distinct_sketch(e2) as s, approx_percentile_sketch(e2) as d from pm1.g1 group by e1) as v"; //$NON-NLS-1$
+
+        TransformationMetadata metadata = RealMetadataFactory.example1Cached();
+        ProcessorPlan plan = helpGetPlan(sql, metadata);
+        HardcodedDataManager hdm = new HardcodedDataManager();
+        hdm.addData("SELECT pm1.g1.e1, pm1.g1.e2 FROM pm1.g1", Arrays.asList("a", 1), Arrays.asList("b", 3), Arrays.asList("a", 2),
+                Arrays.asList("c", null), Arrays.asList("b", 4), Arrays.asList("b", 2));
+        helpProcess(plan, hdm, new List[] {Arrays.asList(4L, 2.0, 4.0)});
+    }
+
+    @Test(expected=FunctionExecutionException.class) public void testApproximateCountDistinctMergeInvalidSketch() throws Exception {
+        String sql = "select approx_count_distinct_merge(s) from (select X'0102' as s) as v"; //$NON-NLS-1$
+
+        ProcessorPlan plan = helpGetPlan(sql, RealMetadataFactory.example1Cached());
+        TestProcessor.helpProcess(plan, TestProcessor.createCommandContext(), new HardcodedDataManager(), null);
+    }
+
+    @Test(expected=FunctionExecutionException.class) public void testApproximateMedianMergeInvalidSketch() throws Exception {
+        String sql = "select approx_median_merge(s) from (select approx_count_distinct_sketch(e2) as s from pm1.g1) as v"; //$NON-NLS-1$
+
+        ProcessorPlan plan = helpGetPlan(sql, RealMetadataFactory.example1Cached());
+        HardcodedDataManager hdm = new HardcodedDataManager();
+        hdm.addData("SELECT pm1.g1.e2 FROM pm1.g1", Arrays.asList(1));
+        TestProcessor.helpProcess(plan, TestProcessor.createCommandContext(), hdm, null);
+    }
+
     @Test public void testMultipleCountWithLeftOuter() throws Exception {
         String sql = "select\n" +
                 "    count(a.e2)\n" +
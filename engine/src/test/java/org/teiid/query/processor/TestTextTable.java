@@ -22,6 +22,8 @@ import static org.junit.Assert.*;
 import static org.teiid.query.optimizer.TestOptimizer.*;
 import static org.teiid.query.processor.TestProcessor.*;
 
+import java.io.File;
+import java.io.FileWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -653,6 +655,67 @@ public class TestTextTable {
         helpProcess(plan, TestProcessor.createCommandContext(), new HardcodedDataManager(), null);
     }
 
+    @Test public void testPrefilter() throws Exception {
+        String sql = "select c1, c3 from texttable('a,1,x\nb,2,y\nc,3,z' COLUMNS c1 string, c2 integer, c3 string) x where c2 > 1"; //$NON-NLS-1$
+
+        List<?>[] expected = new List<?>[] {
+                Arrays.asList("b", "y"),
+                Arrays.asList("c", "z"),
+        };
+
+        process(sql, expected);
+    }
+
+    @Test public void testPrefilterWithHeader() throws Exception {
+        String sql = "select c3 from texttable('c3,c1\n\"x\",a\ny,b' COLUMNS c1 string, c3 string HEADER) x where c1 in ('b', 'c')"; //$NON-NLS-1$
+
+        List<?>[] expected = new List<?>[] {
+                Arrays.asList("y"),
+        };
+
+        process(sql, expected);
+    }
+
+    @Test(expected=TeiidProcessingException.class) public void testQuoteErrorUnprojected() throws Exception {
+        String sql = "select c2 from texttable('a\"b,1' COLUMNS c1 string, c2 string) x"; //$NON-NLS-1$
+
+        List<?>[] expected = new List<?>[] {};
+
+        process(sql, expected);
+    }
+
+    @Test public void testSplitFile() throws Exception {
+        List<?>[] expected = new List<?>[1000];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = Arrays.asList(i + 1);
+        }
+        processSplitFile("select id from texttable(? COLUMNS id integer, name string HEADER) x", expected); //$NON-NLS-1$
+    }
+
+    @Test public void testSplitFileUnordered() throws Exception {
+        List<?>[] expected = new List<?>[] {
+                Arrays.asList(10, 9955L, "n999"),
+        };
+        processSplitFile("select count(*), sum(id), max(name) from texttable(? COLUMNS id integer, name string HEADER) x where id > 990", expected); //$NON-NLS-1$
+    }
+
+    private void processSplitFile(String sql, List<?>[] expected) throws Exception {
+        File f = UnitTestUtil.getTestScratchFile("split.csv"); //$NON-NLS-1$
+        FileWriter writer = new FileWriter(f);
+        writer.write("id,name\r\n"); //$NON-NLS-1$
+        for (int i = 1; i <= 1000; i++) {
+            writer.write(i + ",n" + i + (i%2==0?"\r\n":"\n")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        }
+        writer.close();
+        Command command = helpParse(sql);
+        CommandContext context = createCommandContext();
+        context.getOptions().textTableSplitSize(500);
+        context.setMetadata(RealMetadataFactory.example1Cached());
+        setParameterValues(Arrays.asList(new ClobType(new ClobImpl(new InputStreamFactory.FileInputStreamFactory(f), -1))), command, context);
+        ProcessorPlan plan = helpGetPlan(command, RealMetadataFactory.example1Cached(), new DefaultCapabilitiesFinder(), context);
+        helpProcess(plan, context, new FakeDataManager(), expected);
+    }
+
     @Test public void testUTF8Bom() throws Exception {
         FakeCapabilitiesFinder capFinder = new FakeCapabilitiesFinder();
         QueryMetadataInterface metadata = RealMetadataFactory.example1Cached();
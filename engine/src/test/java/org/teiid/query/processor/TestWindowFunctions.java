@@ -30,6 +30,8 @@ import java.util.List;
 import org.junit.Test;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.query.analysis.AnalysisRecord;
 import org.teiid.query.metadata.QueryMetadataInterface;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.optimizer.TestOptimizer;
@@ -39,6 +41,8 @@ import org.teiid.query.optimizer.capabilities.DefaultCapabilitiesFinder;
 import org.teiid.query.optimizer.capabilities.SourceCapabilities.Capability;
 import org.teiid.query.processor.relational.AccessNode;
 import org.teiid.query.processor.relational.ProjectNode;
+import org.teiid.query.processor.relational.RelationalNode;
+import org.teiid.query.processor.relational.RelationalPlan;
 import org.teiid.query.processor.relational.WindowFunctionProjectNode;
 import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.unittest.RealMetadataFactory;
@@ -1390,4 +1394,84 @@ public class TestWindowFunctions {
         helpProcess(plan, dataManager, expected);
     }
 
+    @Test public void testStreamingOrderedInput() throws Exception {
+        String sql = "select e1, e2, row_number() over (partition by e1 order by e2), sum(e2) over (partition by e1 order by e2), "
+                + "lag(e2) over (partition by e1 order by e2) from (select e1, e2 from pm1.g1 order by e1, e2 limit 10) x";
+
+        List<?>[] expected = new List[] {
+                Arrays.asList("a", 0, 1, 0L, null),
+                Arrays.asList("a", 1, 2, 2L, 0),
+                Arrays.asList("a", 1, 3, 2L, 1),
+                Arrays.asList("a", 3, 4, 5L, 1),
+                Arrays.asList("b", 2, 1, 2L, null),
+                Arrays.asList("c", 1, 1, 1L, null),
+        };
+
+        HardcodedDataManager dataManager = new HardcodedDataManager();
+        dataManager.addData("SELECT g_0.e1 AS c_0, g_0.e2 AS c_1 FROM pm1.g1 AS g_0 ORDER BY c_0, c_1", new List<?>[] {
+                Arrays.asList("a", 0),
+                Arrays.asList("a", 1),
+                Arrays.asList("a", 1),
+                Arrays.asList("a", 3),
+                Arrays.asList("b", 2),
+                Arrays.asList("c", 1),
+        });
+        BasicSourceCapabilities caps = getTypicalCapabilities();
+        caps.setSourceProperty(Capability.QUERY_ORDERBY_DEFAULT_NULL_ORDER, NullOrder.LOW);
+        //the string ordering is only trusted if the collation matches
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, "other");
+        ProcessorPlan plan = helpGetPlan(sql, RealMetadataFactory.example1Cached(), new DefaultCapabilitiesFinder(caps));
+        assertFalse(getWindowFunctionProjectNode(plan).isStreaming());
+
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, DataTypeManager.DEFAULT_COLLATION);
+        plan = helpGetPlan(sql, RealMetadataFactory.example1Cached(), new DefaultCapabilitiesFinder(caps));
+        WindowFunctionProjectNode node = getWindowFunctionProjectNode(plan);
+        assertTrue(node.isStreaming());
+        assertEquals(Arrays.asList("true"), node.getDescriptionProperties().getProperty(AnalysisRecord.PROP_STREAMING).getValues());
+
+        helpProcess(plan, dataManager, expected);
+    }
+
+    @Test public void testOrderedInputWithSplitLargeIn() throws Exception {
+        String sql = "select e1, e2, row_number() over (partition by e1 order by e2) from "
+                + "(select e1, e2 from pm1.g1 where e2 in (0, 1, 2, 3) order by e1, e2 limit 10) x";
+
+        List<?>[] expected = new List[] {
+                Arrays.asList("a", 0, 1),
+                Arrays.asList("a", 1, 2),
+                Arrays.asList("c", 1, 1),
+                Arrays.asList("a", 3, 3),
+                Arrays.asList("b", 2, 1),
+        };
+
+        HardcodedDataManager dataManager = new HardcodedDataManager();
+        dataManager.addData("SELECT g_0.e1 AS c_0, g_0.e2 AS c_1 FROM pm1.g1 AS g_0 WHERE g_0.e2 IN (0, 1)", new List<?>[] {
+                Arrays.asList("a", 0),
+                Arrays.asList("a", 1),
+                Arrays.asList("c", 1),
+        });
+        dataManager.addData("SELECT g_0.e1 AS c_0, g_0.e2 AS c_1 FROM pm1.g1 AS g_0 WHERE g_0.e2 IN (2, 3)", new List<?>[] {
+                Arrays.asList("a", 3),
+                Arrays.asList("b", 2),
+        });
+        BasicSourceCapabilities caps = getTypicalCapabilities();
+        caps.setSourceProperty(Capability.QUERY_ORDERBY_DEFAULT_NULL_ORDER, NullOrder.LOW);
+        caps.setSourceProperty(Capability.COLLATION_LOCALE, DataTypeManager.DEFAULT_COLLATION);
+        caps.setSourceProperty(Capability.MAX_IN_CRITERIA_SIZE, 2);
+        caps.setSourceProperty(Capability.MAX_DEPENDENT_PREDICATES, 1);
+        ProcessorPlan plan = helpGetPlan(sql, RealMetadataFactory.example1Cached(), new DefaultCapabilitiesFinder(caps));
+        //the split source queries are not ordered as a whole
+        assertFalse(getWindowFunctionProjectNode(plan).isStreaming());
+
+        helpProcess(plan, dataManager, expected);
+    }
+
+    private WindowFunctionProjectNode getWindowFunctionProjectNode(ProcessorPlan plan) {
+        RelationalNode node = ((RelationalPlan)plan).getRootNode();
+        while (!(node instanceof WindowFunctionProjectNode)) {
+            node = node.getChildren()[0];
+        }
+        return (WindowFunctionProjectNode)node;
+    }
+
 }
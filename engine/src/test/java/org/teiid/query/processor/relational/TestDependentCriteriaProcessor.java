@@ -24,6 +24,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Test;
+import org.teiid.core.types.BinaryType;
+import org.teiid.core.types.DataTypeManager;
 import org.teiid.query.sql.lang.CompareCriteria;
 import org.teiid.query.sql.lang.Criteria;
 import org.teiid.query.sql.lang.SetCriteria;
@@ -56,6 +58,32 @@ public class TestDependentCriteriaProcessor {
         assertTrue(dcp.hasNextCommand());
     }
 
+    @Test public void testSetCriteriaArrayBinding() throws Exception {
+        DependentAccessNode dan = new DependentAccessNode(0);
+        ElementSymbol e1 = new ElementSymbol("e1"); //$NON-NLS-1$
+        e1.setType(DataTypeManager.DefaultDataClasses.INTEGER);
+        SetCriteria sc = new SetCriteria(e1, Arrays.asList(new Constant(1), new Constant(2), new Constant(3)));
+        sc.setAllConstants(true);
+        DependentCriteriaProcessor dcp = new DependentCriteriaProcessor(1, -1, dan, sc);
+        dcp.setUseArrayBinding(true);
+        Criteria result = dcp.prepareCriteria();
+        assertEquals(sc, result);
+        assertFalse(dcp.hasNextCommand());
+    }
+
+    @Test public void testSetCriteriaArrayBindingNotBindableType() throws Exception {
+        DependentAccessNode dan = new DependentAccessNode(0);
+        ElementSymbol e1 = new ElementSymbol("e1"); //$NON-NLS-1$
+        e1.setType(DataTypeManager.DefaultDataClasses.VARBINARY);
+        SetCriteria sc = new SetCriteria(e1, Arrays.asList(new Constant(new BinaryType(new byte[] {1})), new Constant(new BinaryType(new byte[] {2}))));
+        sc.setAllConstants(true);
+        DependentCriteriaProcessor dcp = new DependentCriteriaProcessor(1, -1, dan, sc);
+        dcp.setUseArrayBinding(true);
+        Criteria result = dcp.prepareCriteria();
+        assertEquals(new CompareCriteria(e1, CompareCriteria.EQ, new Constant(new BinaryType(new byte[] {1}))), result);
+        assertTrue(dcp.hasNextCommand());
+    }
+
     @Test public void testEvaluatedSetCriteria() throws Exception {
         DependentAccessNode dan = new DependentAccessNode(0);
         CommandContext cc = new CommandContext();
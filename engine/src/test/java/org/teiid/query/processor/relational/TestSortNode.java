@@ -24,6 +24,7 @@ import static org.teiid.query.optimizer.TestOptimizer.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.TreeSet;
 
@@ -377,4 +378,57 @@ public class TestSortNode {
         assertNull(ts.nextTuple());
     }
 
+    @Test public void testTopNSort() throws Exception {
+        ElementSymbol es1 = new ElementSymbol("e1"); //$NON-NLS-1$
+        es1.setType(DataTypeManager.DefaultDataClasses.INTEGER);
+        BufferManagerImpl bm = BufferManagerFactory.getTestBufferManager(10000, BATCH_SIZE);
+        long reserve = bm.getReserveBatchBytes();
+        final List<List<Integer>> rows = new ArrayList<List<Integer>>();
+        for (int i = 0; i < 10000; i++) {
+            rows.add(Arrays.asList((i * 7919) % 1009));
+        }
+        //block periodically to ensure the heap is retained
+        TupleSource source = new TupleSource() {
+            int index;
+            boolean blocked;
+            @Override
+            public List<?> nextTuple() throws BlockedException {
+                if (index == rows.size()) {
+                    return null;
+                }
+                if (index % 1000 == 999 && !blocked) {
+                    blocked = true;
+                    throw BlockedException.INSTANCE;
+                }
+                blocked = false;
+                return rows.get(index++);
+            }
+            @Override
+            public void closeSource() {
+            }
+        };
+        SortUtility su = new SortUtility(source, Arrays.asList(es1), Arrays.asList(Boolean.FALSE), Mode.SORT, bm, "test", Arrays.asList(es1)); //$NON-NLS-1$
+        TupleBuffer out = null;
+        while (out == null) {
+            try {
+                out = su.sort(50);
+            } catch (BlockedException e) {
+            }
+        }
+        List<List<Integer>> expected = new ArrayList<List<Integer>>(rows);
+        Collections.sort(expected, new Comparator<List<Integer>>() {
+            @Override
+            public int compare(List<Integer> o1, List<Integer> o2) {
+                return o2.get(0).compareTo(o1.get(0));
+            }
+        });
+        assertEquals(50, out.getRowCount());
+        TupleSource ts = out.createIndexedTupleSource();
+        for (int i = 0; i < 50; i++) {
+            assertEquals(expected.get(i), ts.nextTuple());
+        }
+        assertNull(ts.nextTuple());
+        assertEquals(reserve, bm.getReserveBatchBytes());
+    }
+
 }
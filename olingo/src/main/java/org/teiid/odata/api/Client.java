@@ -25,12 +25,15 @@ import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.metadata.MetadataStore;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.OrderBy;
 import org.teiid.query.sql.lang.Query;
 
 public interface Client {
     public static final String INVALID_CHARACTER_REPLACEMENT = "invalid-xml10-character-replacement"; //$NON-NLS-1$
     public static final String BATCH_SIZE = "batch-size"; //$NON-NLS-1$
     public static final String SKIPTOKEN_TIME = "skiptoken-cache-time"; //$NON-NLS-1$
+    public static final String KEYSET_PAGING = "keyset-paging"; //$NON-NLS-1$
+    public static final String STREAMING = "streaming"; //$NON-NLS-1$
     public static final String CHARSET = "charset"; //$NON-NLS-1$
 
     VDBMetaData getVDB();
@@ -42,12 +45,19 @@ public interface Client {
 
     void executeSQL(Query query, List<SQLParameter> parameters,
             boolean calculateTotalSize, Integer skip, Integer top, String nextOption, int pageSize,
-            QueryResponse response) throws SQLException;
+            OrderBy keyOrderBy, QueryResponse response) throws SQLException;
 
     CountResponse executeCount(Query query, List<SQLParameter> parameters) throws SQLException;
 
     UpdateResponse executeUpdate(Command command, List<SQLParameter> parameters) throws SQLException;
 
+    /**
+     * Defer the update until the transaction is committed or another statement
+     * is executed, so that the updates of a changeset are sent to the engine as a batch.
+     * @return false if there is no transaction and {@link #executeUpdate(Command, List)} should be used
+     */
+    boolean addBatch(Command command, List<SQLParameter> parameters) throws SQLException;
+
     String startTransaction() throws SQLException;
 
     void commit(String txnId) throws SQLException;
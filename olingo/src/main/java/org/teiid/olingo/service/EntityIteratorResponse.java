@@ -0,0 +1,138 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.olingo.service;
+
+import java.net.URI;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.olingo.commons.api.data.Entity;
+import org.apache.olingo.commons.api.data.EntityIterator;
+import org.teiid.core.TeiidRuntimeException;
+import org.teiid.odata.api.QueryResponse;
+
+/**
+ * An entity set response that is serialized as the rows are read.
+ * <br>
+ * Rather than materializing the whole page as an {@link EntityCollectionResponse},
+ * only the entity (and its expansions) for the current row is held in memory.
+ * The next link is only known once the page has been read, which matches
+ * the json serializer writing it after the value array.
+ */
+public abstract class EntityIteratorResponse extends EntityIterator implements QueryResponse {
+
+    /**
+     * Supplies the rows of the page on demand
+     */
+    interface RowSource {
+        /**
+         * Add the next row to the response
+         * @return false if there are no more rows for the page
+         */
+        boolean nextRow() throws SQLException;
+    }
+
+    private EntityCollectionResponse buffer;
+    private RowSource rowSource;
+    private long size;
+    private Integer count;
+    private String nextToken;
+
+    public EntityIteratorResponse(String baseURL, DocumentNode resource) {
+        this.buffer = new EntityCollectionResponse(baseURL, resource);
+    }
+
+    void setRowSource(RowSource rowSource) {
+        this.rowSource = rowSource;
+    }
+
+    @Override
+    public void addRow(ResultSet rs) throws SQLException {
+        this.buffer.addRow(rs);
+        this.size++;
+    }
+
+    @Override
+    public boolean hasNext() {
+        List<Entity> entities = this.buffer.getEntities();
+        if (!entities.isEmpty()) {
+            return true;
+        }
+        if (this.rowSource == null) {
+            return false;
+        }
+        try {
+            if (this.rowSource.nextRow()) {
+                return true;
+            }
+        } catch (SQLException e) {
+            throw new TeiidRuntimeException(e);
+        }
+        this.rowSource = null;
+        return false;
+    }
+
+    @Override
+    public Entity next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return this.buffer.getEntities().remove(0);
+    }
+
+    @Override
+    public long size() {
+        return this.size;
+    }
+
+    @Override
+    public void setCount(long count) {
+        this.count = (int)count;
+    }
+
+    @Override
+    public Integer getCount() {
+        return this.count;
+    }
+
+    @Override
+    public void setNextToken(String token) {
+        this.nextToken = token;
+    }
+
+    @Override
+    public String getNextToken() {
+        return this.nextToken;
+    }
+
+    /**
+     * Will be called by the serializer after all of the entities have been written
+     */
+    @Override
+    public URI getNext() {
+        if (this.nextToken == null) {
+            return null;
+        }
+        return buildNextLink(this.nextToken);
+    }
+
+    protected abstract URI buildNextLink(String token);
+
+}
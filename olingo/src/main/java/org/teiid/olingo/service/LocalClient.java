@@ -17,6 +17,7 @@
  */
 package org.teiid.olingo.service;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -30,6 +31,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
 import java.util.StringTokenizer;
 import java.util.concurrent.CompletableFuture;
@@ -42,14 +44,21 @@ import org.teiid.adminapi.VDB.Status;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.TeiidRuntimeException;
+import org.teiid.core.types.BinaryType;
+import org.teiid.core.types.DataTypeManager;
+import org.teiid.core.types.JDBCSQLTypeInfo;
+import org.teiid.core.types.TransformationException;
+import org.teiid.core.util.Base64;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.jdbc.ConnectionImpl;
 import org.teiid.jdbc.ExecutionProperties;
 import org.teiid.jdbc.LocalProfile;
 import org.teiid.jdbc.PreparedStatementImpl;
+import org.teiid.jdbc.StatementImpl;
 import org.teiid.jdbc.TeiidDriver;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.metadata.MetadataStore;
 import org.teiid.net.TeiidURL;
 import org.teiid.odata.api.Client;
@@ -65,16 +74,25 @@ import org.teiid.query.QueryPlugin;
 import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.sql.lang.CacheHint;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.CompareCriteria;
+import org.teiid.query.sql.lang.CompoundCriteria;
+import org.teiid.query.sql.lang.Criteria;
+import org.teiid.query.sql.lang.IsNullCriteria;
 import org.teiid.query.sql.lang.Limit;
+import org.teiid.query.sql.lang.OrderBy;
 import org.teiid.query.sql.lang.Query;
+import org.teiid.query.sql.symbol.AliasSymbol;
 import org.teiid.query.sql.symbol.Constant;
+import org.teiid.query.sql.symbol.Expression;
 import org.teiid.query.sql.symbol.Reference;
+import org.teiid.query.sql.util.SymbolMap;
 import org.teiid.query.sql.visitor.ReferenceCollectorVisitor;
 import org.teiid.translator.CacheDirective;
 import org.teiid.transport.LocalServerConnection;
 
 public class LocalClient implements Client {
     static final String DELIMITER = "," ; //$NON-NLS-1$
+    static final String KEYSET_PREFIX = "~" ; //$NON-NLS-1$
 
     private volatile VDBMetaData vdb;
     private final String vdbName;
@@ -86,6 +104,18 @@ public class LocalClient implements Client {
     private Object loadingKey;
     private ResultSet toCache;
     private CompletableFuture<Boolean> loadingFinished;
+    private List<PendingUpdate> pendingUpdates = new ArrayList<>();
+    private List<StatementImpl> queryStatements = new ArrayList<>();
+
+    private static class PendingUpdate {
+        final String sql;
+        final List<SQLParameter> parameters;
+
+        PendingUpdate(String sql, List<SQLParameter> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
 
     public LocalClient(String vdbName, String vdbVersion, Properties properties, Map<Object, Future<Boolean>> loading) {
         this.vdbName = vdbName;
@@ -186,7 +216,9 @@ public class LocalClient implements Client {
             OperationResponse response) throws SQLException {
 
         LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Query:",sql); //$NON-NLS-1$
+        executePendingUpdates();
         final CallableStatement stmt = getConnection().prepareCall(sql);
+        this.queryStatements.add((StatementImpl)stmt);
 
         int i = 1;
         if (returnType.getSqlType() != null) {
@@ -213,17 +245,47 @@ public class LocalClient implements Client {
         }
     }
 
+    /**
+     * Get the lowest determinism level reported for the queries executed by this client.
+     * A query without a reported level is treated as nondeterministic.
+     */
+    public Determinism getDeterminismLevel() {
+        Determinism result = Determinism.DETERMINISTIC;
+        for (StatementImpl stmt : this.queryStatements) {
+            String level = stmt.getDeterminismLevel();
+            if (level == null) {
+                return Determinism.NONDETERMINISTIC;
+            }
+            Determinism determinism = Determinism.valueOf(level);
+            if (determinism.compareTo(result) < 0) {
+                result = determinism;
+            }
+        }
+        return result;
+    }
+
     @Override
     public MetadataStore getMetadataStore() {
         return getVDB().getAttachment(TransformationMetadata.class).getMetadataStore();
     }
 
+    private boolean isKeysetPaging() {
+        return PropertiesUtils.getBooleanProperty(this.properties, Client.KEYSET_PAGING, false);
+    }
+
     @Override
     public void executeSQL(Query query, List<SQLParameter> parameters,
             boolean calculateTotalSize, Integer skipOption, Integer topOption,
-            String nextOption, int pageSize, final QueryResponse response)  throws SQLException {
+            String nextOption, int pageSize, OrderBy keyOrderBy, final QueryResponse response)  throws SQLException {
+        executePendingUpdates();
         boolean cache = pageSize > 0;
 
+        if (cache && keyOrderBy != null && !calculateTotalSize && skipOption == null && topOption == null
+                && isKeysetPaging() && (nextOption == null || nextOption.startsWith(KEYSET_PREFIX))) {
+            executeKeysetSQL(query, parameters, keyOrderBy, nextOption, pageSize, response);
+            return;
+        }
+
         boolean getCount = false;
         getCount = calculateTotalSize;
         boolean skipAndTopApplied = false;
@@ -333,13 +395,8 @@ public class LocalClient implements Client {
         final PreparedStatement stmt = conn.prepareStatement(sql,
                 cache?ResultSet.TYPE_SCROLL_INSENSITIVE:ResultSet.TYPE_FORWARD_ONLY,
                 ResultSet.CONCUR_READ_ONLY);
-        if (parameters!= null && !parameters.isEmpty()) {
-            List<Reference> references = ReferenceCollectorVisitor.getReferences(query);
-            for (int i = 0; i < references.size(); i++) {
-                int index = references.get(i).getIndex();
-                stmt.setObject(i+1, parameters.get(index).getValue(), parameters.get(index).getSqlType());
-            }
-        }
+        this.queryStatements.add((StatementImpl)stmt);
+        setParameters(query, parameters, stmt);
 
         final ResultSet rs = stmt.executeQuery();
 
@@ -376,49 +433,280 @@ public class LocalClient implements Client {
             size = Integer.MAX_VALUE;
         }
 
-        //build the results
-        int i = 0;
-        int nextCount = count;
-        while(rs.next()) {
-            count++;
-            i++;
-            entityCount++;
-            if (i > size) {
-                break;
-            }
-            nextCount++;
-            response.addRow(rs);
+        PageReader reader = new PageReader(rs, response, cache, getCount, pageSize, size, top,
+                count, entityCount, expectedEnd, savedEntityCount, sessionId);
+        if (response instanceof EntityIteratorResponse && !getCount) {
+            //the rows will be read as the response is serialized
+            ((EntityIteratorResponse)response).setRowSource(reader);
+            return;
+        }
+        while (reader.nextRow()) {
+            //build the results
         }
+    }
 
-        //set the count
-        if (getCount) {
-            while (rs.next()) {
+    /**
+     * Adds the rows for a page to the response and then sets the count and skipToken
+     */
+    private class PageReader implements EntityIteratorResponse.RowSource {
+        private final ResultSet rs;
+        private final QueryResponse response;
+        private final boolean cache;
+        private final boolean getCount;
+        private final int pageSize;
+        private final int size;
+        private final int top;
+        private final int expectedEnd;
+        private final Integer savedEntityCount;
+        private final String sessionId;
+        private int count;
+        private int entityCount;
+        private int nextCount;
+        private int i;
+        private boolean done;
+
+        PageReader(ResultSet rs, QueryResponse response, boolean cache,
+                boolean getCount, int pageSize, int size, int top, int count,
+                int entityCount, int expectedEnd, Integer savedEntityCount,
+                String sessionId) {
+            this.rs = rs;
+            this.response = response;
+            this.cache = cache;
+            this.getCount = getCount;
+            this.pageSize = pageSize;
+            this.size = size;
+            this.top = top;
+            this.count = count;
+            this.nextCount = count;
+            this.entityCount = entityCount;
+            this.expectedEnd = expectedEnd;
+            this.savedEntityCount = savedEntityCount;
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public boolean nextRow() throws SQLException {
+            if (done) {
+                return false;
+            }
+            if (rs.next()) {
                 count++;
+                i++;
                 entityCount++;
+                if (i <= size) {
+                    nextCount++;
+                    response.addRow(rs);
+                    return true;
+                }
             }
+            done = true;
+            finish();
+            return false;
         }
-        if (savedEntityCount != null) {
-            response.setCount(savedEntityCount);
+
+        private void finish() throws SQLException {
+            //set the count
+            if (getCount) {
+                while (rs.next()) {
+                    count++;
+                    entityCount++;
+                }
+            }
+            if (savedEntityCount != null) {
+                response.setCount(savedEntityCount);
+            } else {
+                response.setCount(entityCount);
+            }
+
+            //set the skipToken if needed
+            if (cache && response.size() == pageSize) {
+                long end = nextCount;
+                if (getCount) {
+                    if (end < Math.min(top, count)) {
+                        response.setNextToken(nextToken(cache, sessionId, end, entityCount));
+                    }
+                } else if (i > size || count == expectedEnd){
+                    response.setNextToken(nextToken(cache, sessionId, end, null));
+                    loadingFinished = new CompletableFuture<>();
+                    loading.put(loadingKey, loadingFinished);
+                    toCache = rs;
+                }
+            }
+        }
+    }
+
+    private void setParameters(Query query, List<SQLParameter> parameters,
+            final PreparedStatement stmt) throws SQLException {
+        if (parameters!= null && !parameters.isEmpty()) {
+            List<Reference> references = ReferenceCollectorVisitor.getReferences(query);
+            for (int i = 0; i < references.size(); i++) {
+                int index = references.get(i).getIndex();
+                stmt.setObject(i+1, parameters.get(index).getValue(), parameters.get(index).getSqlType());
+            }
+        }
+    }
+
+    /**
+     * Page over the results by the unique key values rather than by offset.  The skipToken holds the
+     * key values of the last entity sent, which are used to form a key &gt; last predicate so that
+     * each page is an independent query that may be pushed to the source or use an index.
+     */
+    private void executeKeysetSQL(Query query, List<SQLParameter> parameters, OrderBy keyOrderBy,
+            String nextOption, int pageSize, final QueryResponse response) throws SQLException {
+        List<Expression> keys = keyOrderBy.getSortKeys();
+        if (parameters == null) {
+            parameters = new ArrayList<>();
         } else {
-            response.setCount(entityCount);
+            parameters = new ArrayList<>(parameters);
+        }
+        if (nextOption != null) {
+            List<Object> lastValues = parseKeysetToken(nextOption, keys.size());
+            query.setCriteria(Criteria.combineCriteria(query.getCriteria(), buildKeysetCriteria(keys, lastValues, parameters)));
+        }
+        query.setLimit(new Limit(null, new Reference(parameters.size())));
+        parameters.add(new SQLParameter(pageSize + 1, Types.INTEGER));
+
+        int[] keyIndexes = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            List<Expression> projected = query.getSelect().getProjectedSymbols();
+            for (int j = 0; j < projected.size(); j++) {
+                if (SymbolMap.getExpression(projected.get(j)).equals(keys.get(i))) {
+                    keyIndexes[i] = j + 1;
+                    break;
+                }
+            }
+            if (keyIndexes[i] == 0) {
+                //the key is not part of the entity $select, so project it after the entity columns
+                query.getSelect().addSymbol(new AliasSymbol("keyset_" + i, (Expression)keys.get(i).clone())); //$NON-NLS-1$
+                keyIndexes[i] = projected.size() + 1;
+            }
         }
 
-        //set the skipToken if needed
-        if (cache && response.size() == pageSize) {
-            long end = nextCount;
-            if (getCount) {
-                if (end < Math.min(top, count)) {
-                    response.setNextToken(nextToken(cache, sessionId, end, entityCount));
+        String sql = query.toString();
+        LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Query:",sql); //$NON-NLS-1$
+
+        final PreparedStatement stmt = getConnection().prepareStatement(sql);
+        this.queryStatements.add((StatementImpl)stmt);
+        try {
+            setParameters(query, parameters, stmt);
+            final ResultSet rs = stmt.executeQuery();
+            Object[] lastValues = new Object[keyIndexes.length];
+            int count = 0;
+            while (rs.next()) {
+                if (++count > pageSize) {
+                    response.setNextToken(keysetToken(lastValues));
+                    break;
                 }
-            } else if (i > size || count == expectedEnd){
-                response.setNextToken(nextToken(cache, sessionId, end, null));
-                this.loadingFinished = new CompletableFuture<>();
-                this.loading.put(loadingKey, loadingFinished);
-                this.toCache = rs;
+                for (int i = 0; i < keyIndexes.length; i++) {
+                    lastValues[i] = rs.getObject(keyIndexes[i]);
+                }
+                response.addRow(rs);
             }
+            response.setCount(response.size());
+            rs.close();
+        } finally {
+            stmt.close();
         }
     }
 
+    /**
+     * Build the predicate for the rows after the last key values
+     * k1 &gt; v1 OR (k1 = v1 AND k2 &gt; v2) ...
+     * <br>
+     * null values are sorted low.
+     */
+    static Criteria buildKeysetCriteria(List<Expression> keys, List<Object> lastValues, List<SQLParameter> parameters) {
+        List<Criteria> disjuncts = new ArrayList<Criteria>();
+        List<Criteria> equalities = new ArrayList<Criteria>();
+        for (int i = 0; i < keys.size(); i++) {
+            Expression key = keys.get(i);
+            Object value = lastValues.get(i);
+            List<Criteria> conjuncts = new ArrayList<Criteria>(equalities);
+            if (value == null) {
+                IsNullCriteria isNotNull = new IsNullCriteria((Expression)key.clone());
+                isNotNull.setNegated(true);
+                conjuncts.add(isNotNull);
+                equalities.add(new IsNullCriteria((Expression)key.clone()));
+            } else {
+                conjuncts.add(new CompareCriteria((Expression)key.clone(), CompareCriteria.GT, new Reference(parameters.size())));
+                equalities.add(new CompareCriteria((Expression)key.clone(), CompareCriteria.EQ, new Reference(parameters.size())));
+                parameters.add(new SQLParameter(value, JDBCSQLTypeInfo.getSQLTypeFromRuntimeType(value.getClass())));
+            }
+            disjuncts.add(Criteria.combineCriteria(conjuncts));
+        }
+        if (disjuncts.size() == 1) {
+            return disjuncts.get(0);
+        }
+        return new CompoundCriteria(CompoundCriteria.OR, disjuncts);
+    }
+
+    static String keysetToken(Object[] values) {
+        StringBuilder token = new StringBuilder(KEYSET_PREFIX);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                token.append(DELIMITER);
+            }
+            Object value = values[i];
+            if (value == null) {
+                token.append(DataTypeManager.DefaultDataTypes.NULL);
+                continue;
+            }
+            value = DataTypeManager.convertToRuntimeType(value, true);
+            token.append(DataTypeManager.getDataTypeName(value.getClass())).append(DELIMITER);
+            byte[] bytes = null;
+            if (value instanceof BinaryType) {
+                bytes = ((BinaryType)value).getBytesDirect();
+            } else {
+                try {
+                    bytes = ((String)DataTypeManager.transformValue(value, DataTypeManager.DefaultDataClasses.STRING)).getBytes(StandardCharsets.UTF_8);
+                } catch (TransformationException e) {
+                    throw new TeiidRuntimeException(e);
+                }
+            }
+            String encoded = Base64.encodeUrlSafe(bytes);
+            int end = encoded.length();
+            while (end > 0 && encoded.charAt(end - 1) == '=') {
+                end--;
+            }
+            token.append(encoded, 0, end);
+        }
+        return token.toString();
+    }
+
+    static List<Object> parseKeysetToken(String token, int keyCount) {
+        List<Object> values = new ArrayList<Object>(keyCount);
+        //the values are base64 encoded, so the delimiter only separates fields.  empty fields must be kept for empty values
+        String[] parts = token.substring(KEYSET_PREFIX.length()).split(DELIMITER, -1);
+        try {
+            int i = 0;
+            while (i < parts.length) {
+                String type = parts[i++];
+                if (type.equals(DataTypeManager.DefaultDataTypes.NULL)) {
+                    values.add(null);
+                    continue;
+                }
+                Class<?> typeClass = DataTypeManager.getDataTypeClass(type);
+                if (i == parts.length) {
+                    throw new NoSuchElementException();
+                }
+                byte[] bytes = Base64.decodeUrlSafe(parts[i++]);
+                if (typeClass == DataTypeManager.DefaultDataClasses.VARBINARY) {
+                    values.add(new BinaryType(bytes));
+                    continue;
+                }
+                values.add(DataTypeManager.transformValue(new String(bytes, StandardCharsets.UTF_8), typeClass));
+            }
+        } catch (NoSuchElementException | IllegalArgumentException | TransformationException e) {
+            throw new TeiidRuntimeException(ODataPlugin.Event.TEIID16062, e, ODataPlugin.Util.gs(
+                    ODataPlugin.Event.TEIID16062));
+        }
+        if (values.size() != keyCount) {
+            throw new TeiidRuntimeException(ODataPlugin.Util.gs(
+                    ODataPlugin.Event.TEIID16062));
+        }
+        return values;
+    }
+
     private String nextToken(boolean cache, String sessionid, long skip, Integer entityCount) {
         if (cache) {
             String token = sessionid+DELIMITER+String.valueOf(skip);
@@ -461,9 +749,11 @@ public class LocalClient implements Client {
 
     @Override
     public CountResponse executeCount(Query query, List<SQLParameter> parameters)  throws SQLException {
+        executePendingUpdates();
         String sql = query.toString();
         LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Query:", sql); //$NON-NLS-1$
         final PreparedStatement stmt = getConnection().prepareStatement(sql);
+        this.queryStatements.add((StatementImpl)stmt);
         if (!parameters.isEmpty()) {
             for (int i = 0; i < parameters.size(); i++) {
                 stmt.setObject(i + 1, parameters.get(i).getValue(),
@@ -485,6 +775,7 @@ public class LocalClient implements Client {
 
     @Override
     public UpdateResponse executeUpdate(Command query, List<SQLParameter> parameters)  throws SQLException {
+        executePendingUpdates();
         String sql = query.toString();
         LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Query:", sql); //$NON-NLS-1$
         final PreparedStatementImpl stmt = getConnection().prepareStatement(sql,
@@ -513,6 +804,65 @@ public class LocalClient implements Client {
         };
     }
 
+    @Override
+    public boolean addBatch(Command command, List<SQLParameter> parameters) throws SQLException {
+        if (getConnection().getAutoCommit()) {
+            return false;
+        }
+        this.pendingUpdates.add(new PendingUpdate(command.toString(), parameters));
+        return true;
+    }
+
+    /**
+     * Execute the deferred updates in order.  Consecutive updates with the same
+     * sql are executed as a single prepared batch, and consecutive updates without
+     * parameters as a single statement batch, which the engine will process
+     * as a batched update.
+     */
+    private void executePendingUpdates() throws SQLException {
+        if (this.pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<PendingUpdate> updates = this.pendingUpdates;
+        this.pendingUpdates = new ArrayList<>();
+        int start = 0;
+        while (start < updates.size()) {
+            PendingUpdate first = updates.get(start);
+            int end = start + 1;
+            if (first.parameters.isEmpty()) {
+                Statement stmt = getConnection().createStatement();
+                try {
+                    stmt.addBatch(first.sql);
+                    for (; end < updates.size() && updates.get(end).parameters.isEmpty(); end++) {
+                        stmt.addBatch(updates.get(end).sql);
+                    }
+                    LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Batch:", end - start, "statements"); //$NON-NLS-1$ //$NON-NLS-2$
+                    stmt.executeBatch();
+                } finally {
+                    stmt.close();
+                }
+            } else {
+                PreparedStatement stmt = getConnection().prepareStatement(first.sql);
+                try {
+                    end = start;
+                    for (; end < updates.size() && updates.get(end).sql.equals(first.sql); end++) {
+                        List<SQLParameter> parameters = updates.get(end).parameters;
+                        for (int i = 0; i < parameters.size(); i++) {
+                            stmt.setObject(i + 1, parameters.get(i).getValue(),
+                                    parameters.get(i).getSqlType());
+                        }
+                        stmt.addBatch();
+                    }
+                    LogManager.logDetail(LogConstants.CTX_ODATA, "Teiid-Batch:", first.sql, end - start); //$NON-NLS-1$
+                    stmt.executeBatch();
+                } finally {
+                    stmt.close();
+                }
+            }
+            start = end;
+        }
+    }
+
     private Map<String, Object> getGeneratedKeys(ResultSet result)
             throws SQLException {
         if (result == null) {
@@ -544,12 +894,14 @@ public class LocalClient implements Client {
 
     @Override
     public void commit(String txnId) throws SQLException {
+        executePendingUpdates();
         getConnection().commit();
         getConnection().setAutoCommit(true);
     }
 
     @Override
     public void rollback(String txnId)  throws SQLException {
+        this.pendingUpdates.clear();
         getConnection().rollback();
         getConnection().setAutoCommit(true);
     }
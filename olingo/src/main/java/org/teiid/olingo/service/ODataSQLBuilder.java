@@ -102,6 +102,7 @@ public class ODataSQLBuilder extends RequestURLHierarchyVisitor {
     private TopOption topOption;
     private boolean countOption;
     private OrderBy orderBy;
+    private boolean defaultOrderBy;
     private boolean selectionComplete;
     private String nextToken;
     private boolean aliasedGroups;
@@ -174,6 +175,22 @@ public class ODataSQLBuilder extends RequestURLHierarchyVisitor {
         return this.navigation;
     }
 
+    /**
+     * Get the unique key ordering if the results are from a single entity set
+     * and may be paged by key values rather than by offset.
+     * @return the key ordering or null
+     */
+    public OrderBy getKeyOrderBy() {
+        if (!this.defaultOrderBy || this.orderBy == null || this.countQuery
+                || this.context.getClass() != DocumentNode.class
+                || this.context.getIterator() != null
+                || !this.context.getSiblings().isEmpty()
+                || !(this.context.getFromClause() instanceof UnaryFromClause)) {
+            return null;
+        }
+        return this.orderBy;
+    }
+
     public Query selectQuery() throws TeiidException, ODataLibraryException, ODataApplicationException {
 
         if (!this.exceptions.isEmpty()) {
@@ -461,6 +478,7 @@ public class ODataSQLBuilder extends RequestURLHierarchyVisitor {
     public void visit(OrderByOption option) {
         if (option == null || option.getOrders().isEmpty()) {
             this.orderBy = this.context.addDefaultOrderBy();
+            this.defaultOrderBy = true;
         }
         else {
             List<OrderByItem> orderBys = option.getOrders();
@@ -52,11 +52,15 @@ import org.apache.olingo.server.api.ODataRequest;
 import org.apache.olingo.server.api.ODataResponse;
 import org.apache.olingo.server.api.ODataServerError;
 import org.apache.olingo.server.api.ServiceMetadata;
+import org.apache.olingo.server.api.serializer.EntityCollectionSerializerOptions;
 import org.apache.olingo.server.api.serializer.SerializerException;
+import org.apache.olingo.server.api.serializer.SerializerStreamResult;
 import org.apache.olingo.server.api.uri.UriInfo;
 import org.apache.olingo.server.api.uri.UriInfoResource;
 import org.apache.olingo.server.api.uri.UriParameter;
 import org.apache.olingo.server.api.uri.UriResourceNavigation;
+import org.apache.olingo.server.core.ContentNegotiatorException;
+import org.apache.olingo.server.core.ReturnRepresentation;
 import org.apache.olingo.server.core.ServiceHandler;
 import org.apache.olingo.server.core.ServiceRequest;
 import org.apache.olingo.server.core.requests.ActionRequest;
@@ -67,6 +71,7 @@ import org.apache.olingo.server.core.requests.MetadataRequest;
 import org.apache.olingo.server.core.requests.OperationRequest;
 import org.apache.olingo.server.core.requests.ServiceDocumentRequest;
 import org.apache.olingo.server.core.responses.*;
+import org.apache.olingo.server.core.serializer.utils.ContentTypeHelper;
 import org.teiid.common.buffer.impl.BufferManagerImpl;
 import org.teiid.core.TeiidException;
 import org.teiid.core.TeiidProcessingException;
@@ -165,7 +170,11 @@ public class TeiidServiceHandler implements ServiceHandler {
         final BaseResponse queryResponse;
         try {
             Query query = visitor.selectQuery();
-            queryResponse = executeQuery(request, request.isCountRequest(), visitor, query);
+            if (response instanceof EntitySetResponse && isStreaming(request, visitor)) {
+                queryResponse = executeStreamedQuery(request, visitor, query);
+            } else {
+                queryResponse = executeQuery(request, request.isCountRequest(), visitor, query);
+            }
         } catch (ODataApplicationException|ODataLibraryException e) {
             throw e;
         } catch (Throwable e) {
@@ -253,6 +262,10 @@ public class TeiidServiceHandler implements ServiceHandler {
 
             public void visit(EntitySetResponse response)
                     throws ODataLibraryException, ODataApplicationException {
+                if (queryResponse instanceof EntityIteratorResponse) {
+                    sendStreamedResults(request, visitor, (EntityIteratorResponse)queryResponse, response);
+                    return;
+                }
                 sendResults(request, visitor, queryResponse, response);
             }
         });
@@ -269,11 +282,7 @@ public class TeiidServiceHandler implements ServiceHandler {
         EntityCollectionResponse result = (EntityCollectionResponse)queryResponse;
         if (result.getNextToken() != null) {
             try {
-                String nextUri = request.getODataRequest().getRawBaseUri()
-                        +request.getODataRequest().getRawODataPath()
-                        + "?"
-                        +buildNextToken(request.getODataRequest().getRawQueryPath(), result.getNextToken());
-                result.setNext(new URI(nextUri));
+                result.setNext(buildNextUri(request, result.getNextToken()));
             } catch (URISyntaxException e) {
                 throw new ODataApplicationException(e.getMessage(), 500, Locale.getDefault(), e);
             }
@@ -281,6 +290,32 @@ public class TeiidServiceHandler implements ServiceHandler {
         response.writeReadEntitySet((EdmEntityType)visitor.getContext().getEdmStructuredType(), result);
     }
 
+    private void sendStreamedResults(final DataRequest request,
+            final ODataSQLBuilder visitor,
+            final EntityIteratorResponse result, EntitySetResponse response)
+            throws ODataLibraryException {
+        if (request.getPreference(ODATA_MAXPAGESIZE) != null) {
+            response.writeHeader(PREFERENCE_APPLIED,
+                    ODATA_MAXPAGESIZE+"="+ request.getPreference(ODATA_MAXPAGESIZE)); //$NON-NLS-1$
+        }
+        ContextURL contextUrl = request.getContextURL(this.odata);
+        EntityCollectionSerializerOptions options = request.getSerializerOptions(
+                EntityCollectionSerializerOptions.class, contextUrl, false);
+        SerializerStreamResult streamResult = request.getSerializer().entityCollectionStreamed(
+                this.serviceMetadata, (EdmEntityType)visitor.getContext().getEdmStructuredType(),
+                result, options);
+        response.getODataResponse().setODataContent(streamResult.getODataContent());
+        response.writeOK(request.getResponseContentType());
+    }
+
+    private URI buildNextUri(final ServiceRequest request, String nextToken) throws URISyntaxException {
+        String nextUri = request.getODataRequest().getRawBaseUri()
+                +request.getODataRequest().getRawODataPath()
+                + "?"
+                +buildNextToken(request.getODataRequest().getRawQueryPath(), nextToken);
+        return new URI(nextUri);
+    }
+
     String buildNextToken(final String queryPath, String nextToken) {
         StringBuilder sb = new StringBuilder();
         if (queryPath != null) {
@@ -314,11 +349,7 @@ public class TeiidServiceHandler implements ServiceHandler {
         URI next = null;
         if (result.getNextToken() != null) {
             try {
-                String nextUri = request.getODataRequest().getRawBaseUri()
-                        +request.getODataRequest().getRawODataPath()
-                        + "?"
-                        +buildNextToken(request.getODataRequest().getRawQueryPath(), result.getNextToken());
-                next = new URI(nextUri);
+                next = buildNextUri(request, result.getNextToken());
             } catch (URISyntaxException e) {
                 throw new ODataApplicationException(e.getMessage(), 500, Locale.getDefault(), e);
             }
@@ -353,7 +384,45 @@ public class TeiidServiceHandler implements ServiceHandler {
 
         getClient().executeSQL(query, visitor.getParameters(),
                 visitor.includeTotalSize(), visitor.getSkip(),
-                visitor.getTop(), visitor.getNextToken(), pageSize, result);
+                visitor.getTop(), visitor.getNextToken(), pageSize, visitor.getKeyOrderBy(), result);
+
+        return result;
+    }
+
+    /**
+     * Entity sets may be written as the rows are read when the json serializer
+     * will not need the whole collection, i.e. there is no count, which is written
+     * first, and no full metadata operations.
+     */
+    private boolean isStreaming(final DataRequest request,
+            final ODataSQLBuilder visitor) throws ContentNegotiatorException {
+        if (!Boolean.parseBoolean(getClient().getProperty(Client.STREAMING))
+                || request.isCountRequest() || visitor.includeTotalSize()
+                || visitor.getContext().getClass() != DocumentNode.class) {
+            return false;
+        }
+        ContentType contentType = request.getResponseContentType();
+        return contentType.isCompatible(ContentType.APPLICATION_JSON)
+                && !ContentTypeHelper.isODataMetadataFull(contentType);
+    }
+
+    private BaseResponse executeStreamedQuery(final DataRequest request,
+            final ODataSQLBuilder visitor, Query query) throws SQLException {
+        EntityIteratorResponse result = new EntityIteratorResponse(request
+                .getODataRequest().getRawBaseUri(), visitor.getContext()) {
+            @Override
+            protected URI buildNextLink(String token) {
+                try {
+                    return buildNextUri(request, token);
+                } catch (URISyntaxException e) {
+                    throw new TeiidRuntimeException(e);
+                }
+            }
+        };
+
+        getClient().executeSQL(query, visitor.getParameters(),
+                false, visitor.getSkip(), visitor.getTop(), visitor.getNextToken(),
+                getPageSize(request), visitor.getKeyOrderBy(), result);
 
         return result;
     }
@@ -390,6 +459,42 @@ public class TeiidServiceHandler implements ServiceHandler {
         return getClient().executeUpdate(command, visitor.getParameters());
     }
 
+    /**
+     * When in a changeset and the client does not need the created entity,
+     * the insert of an entity with its key values may be deferred to
+     * be executed in a batch with the other changeset updates.
+     */
+    private boolean addInsertBatch(DataRequest request, EdmEntityType entityType,
+            Entity entity) throws ODataApplicationException {
+        for (String keyName : entityType.getKeyPredicateNames()) {
+            Property key = entity.getProperty(keyName);
+            if (key == null || key.getValue() == null) {
+                return false;
+            }
+        }
+        try {
+            if (insertDepth(entityType, entity) != 1) {
+                return false;
+            }
+            ODataSQLBuilder visitor = new ODataSQLBuilder(this.odata,
+                    getClient().getMetadataStore(), this.prepared, false,
+                    request.getODataRequest().getRawBaseUri(), this.serviceMetadata);
+            visitor.visit(request.getUriInfo());
+            Insert command = visitor.insert(entityType, entity, null, this.prepared);
+            if (!getClient().addBatch(command, visitor.getParameters())) {
+                return false;
+            }
+            String location = EntityResponse.buildLocation(request.getODataRequest().getRawBaseUri(),
+                    entity, request.getEntitySet().getName(), entityType);
+            entity.setId(new URI(location));
+            return true;
+        } catch (EdmPrimitiveTypeException | TeiidException | SQLException | URISyntaxException e) {
+            throw new ODataApplicationException(e.getMessage(),
+                    HttpStatusCode.INTERNAL_SERVER_ERROR.getStatusCode(),
+                    Locale.getDefault(), e);
+        }
+    }
+
     private int insertDepth(EdmEntityType entityType, Entity entity) throws SQLException, TeiidException {
         int depth = 1;
         int childDepth = 0;
@@ -445,6 +550,13 @@ public class TeiidServiceHandler implements ServiceHandler {
 
         EdmEntityType entityType = edmEntitySet.getEntityType();
 
+        if (request.getReturnRepresentation() == ReturnRepresentation.MINIMAL
+                && request.getNavigations().isEmpty()
+                && addInsertBatch(request, entityType, entity)) {
+            response.writeCreatedEntity(edmEntitySet, entity);
+            return;
+        }
+
         String txn;
         try {
             txn = getClient().startTransaction();
@@ -476,7 +588,7 @@ public class TeiidServiceHandler implements ServiceHandler {
                         request.getODataRequest().getRawBaseUri(),
                         visitor.getContext());
 
-                getClient().executeSQL(query, visitor.getParameters(), false, null, null, null, 1, result);
+                getClient().executeSQL(query, visitor.getParameters(), false, null, null, null, 1, null, result);
 
                 if (!result.getEntities().isEmpty()) {
                     entity = result.getEntities().get(0);
@@ -630,6 +742,11 @@ public class TeiidServiceHandler implements ServiceHandler {
                     request.getODataRequest().getRawBaseUri(), this.serviceMetadata);
             visitor.visit(request.getUriInfo());
             Delete delete = visitor.delete();
+            if (getClient().addBatch(delete, visitor.getParameters())) {
+                //the response does not depend upon the update count
+                response.writeDeletedEntityOrReference();
+                return;
+            }
             updateResponse = getClient().executeUpdate(delete, visitor.getParameters());
         } catch (SQLException e) {
             throw new ODataApplicationException(e.getMessage(),
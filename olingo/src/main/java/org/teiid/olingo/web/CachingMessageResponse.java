@@ -0,0 +1,235 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.olingo.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+
+/**
+ * Response wrapper which holds the body, up to a maximum size, so that
+ * it may be cached and given an ETag before being written.
+ * Once the maximum size is exceeded the body is written through.
+ */
+class CachingMessageResponse extends HttpServletResponseWrapper {
+    private final int maxSize;
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private ServletOutputStream returnedStream;
+    private PrintWriter returnedWriter;
+    private Map<String, String> headers = new LinkedHashMap<String, String>();
+
+    CachingMessageResponse(HttpServletResponse response, int maxSize) {
+        super(response);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeThrough();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeThrough();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (isBuffering() && HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            return;
+        }
+        this.headers.put(name, value);
+        super.setHeader(name, value);
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (isBuffering() && HttpHeader.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            return;
+        }
+        this.headers.put(name, value);
+        super.addHeader(name, value);
+    }
+
+    @Override
+    public void setContentType(String type) {
+        this.headers.put(HttpHeader.CONTENT_TYPE, type);
+        super.setContentType(type);
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (!isBuffering()) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!isBuffering()) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (returnedWriter != null) {
+            returnedWriter.flush();
+        }
+        if (!isBuffering()) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (isBuffering()) {
+            this.buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (returnedWriter != null) {
+            throw new IllegalStateException("Method getWriter() has already been called."); //$NON-NLS-1$
+        }
+        if (returnedStream == null) {
+            returnedStream = new CachingServletOutputStream();
+        }
+        return returnedStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (returnedStream != null) {
+            throw new IllegalStateException("Method getOutputStream() has already been called."); //$NON-NLS-1$
+        }
+        if (returnedWriter == null) {
+            String cs = getCharacterEncoding();
+            Charset charset = cs == null || cs.isEmpty() ? Charset.defaultCharset() : Charset.forName(cs);
+            returnedWriter = new PrintWriter(new OutputStreamWriter(new CachingServletOutputStream(), charset));
+        }
+        return returnedWriter;
+    }
+
+    boolean isBuffering() {
+        return this.buffer != null;
+    }
+
+    Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the full body or null if it was written through
+     */
+    byte[] getBody() {
+        if (returnedWriter != null) {
+            returnedWriter.flush();
+        }
+        if (this.buffer == null) {
+            return null;
+        }
+        return this.buffer.toByteArray();
+    }
+
+    /**
+     * Stop buffering and write what has been buffered so far
+     */
+    void writeThrough() throws IOException {
+        if (this.buffer == null) {
+            return;
+        }
+        byte[] bytes = this.buffer.toByteArray();
+        this.buffer = null;
+        if (bytes.length > 0) {
+            getResponse().getOutputStream().write(bytes);
+        }
+    }
+
+    private class CachingServletOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) throws IOException {
+            if (buffer != null) {
+                buffer.write(b);
+                checkSize();
+            } else {
+                getResponse().getOutputStream().write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (buffer != null) {
+                buffer.write(b, off, len);
+                checkSize();
+            } else {
+                getResponse().getOutputStream().write(b, off, len);
+            }
+        }
+
+        private void checkSize() throws IOException {
+            if (buffer.size() > maxSize) {
+                writeThrough();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer == null) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (buffer == null) {
+                getResponse().getOutputStream().close();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
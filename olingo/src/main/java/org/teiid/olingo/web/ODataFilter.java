@@ -25,6 +25,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -46,15 +47,19 @@ import org.apache.olingo.commons.api.format.ContentType;
 import org.apache.olingo.commons.api.http.HttpHeader;
 import org.apache.olingo.server.api.ODataHandler;
 import org.apache.olingo.server.api.ODataHttpHandler;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.util.LRUCache;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.deployers.CompositeVDB;
 import org.teiid.deployers.VDBLifeCycleListener;
+import org.teiid.dqp.internal.process.DQPWorkContext;
 import org.teiid.jdbc.ConnectionImpl;
 import org.teiid.json.simple.JSONParser;
+import org.teiid.net.ServerConnection;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
+import org.teiid.metadata.FunctionMethod.Determinism;
 import org.teiid.odata.api.Client;
 import org.teiid.olingo.ODataPlugin;
 import org.teiid.olingo.service.LocalClient;
@@ -75,6 +80,7 @@ public class ODataFilter implements Filter, VDBLifeCycleListener {
     private Map<Object, Future<Boolean>> loadingQueries = new ConcurrentHashMap<>();
 
     protected OpenApiHandler openApiHandler;
+    protected ODataResponseCache responseCache;
 
     @Override
     public void init(FilterConfig config) throws ServletException {
@@ -106,6 +112,7 @@ public class ODataFilter implements Filter, VDBLifeCycleListener {
             props.setProperty(name, config.getInitParameter(name));
         }
         this.initProperties = props;
+        this.responseCache = new ODataResponseCache(props);
         this.openApiHandler = new OpenApiHandler(config.getServletContext());
     }
 
@@ -284,6 +291,31 @@ public class ODataFilter implements Filter, VDBLifeCycleListener {
 
             httpRequest.setAttribute(ODataHttpHandler.class.getName(), handler);
             httpRequest.setAttribute(Client.class.getName(), client);
+
+            List<?> cacheKey = getResponseCacheKey(httpRequest, client, connection, modelName);
+            if (cacheKey != null) {
+                HttpServletResponse httpResponse = (HttpServletResponse)response;
+                ODataResponseCache.CachedResponse cached = this.responseCache.get(cacheKey);
+                if (cached != null) {
+                    ODataResponseCache.write(httpRequest, httpResponse, cached, true);
+                    return;
+                }
+                long creationTime = System.currentTimeMillis();
+                CachingMessageResponse cachingResponse = new CachingMessageResponse(httpResponse, this.responseCache.getMaxEntrySize());
+                chain.doFilter(httpRequest, cachingResponse);
+                Determinism determinism = client instanceof LocalClient
+                        ? ((LocalClient)client).getDeterminismLevel() : Determinism.NONDETERMINISTIC;
+                cached = this.responseCache.put(cacheKey, cachingResponse, creationTime,
+                        determinism, client.getMetadataStore(), modelName);
+                if (cached != null) {
+                    ODataResponseCache.write(httpRequest, httpResponse, cached, false);
+                } else {
+                    cachingResponse.writeThrough();
+                }
+                response.flushBuffer();
+                return;
+            }
+
             chain.doFilter(httpRequest, response);
             response.flushBuffer();
         } catch(SQLException e) {
@@ -297,6 +329,24 @@ public class ODataFilter implements Filter, VDBLifeCycleListener {
         }
     }
 
+    /**
+     * @return the response cache key or null if the response should not be cached
+     */
+    private List<?> getResponseCacheKey(HttpServletRequest httpRequest,
+            Client client, Connection conn, String modelName) throws SQLException {
+        if (!this.responseCache.isEnabled() || !(conn instanceof ConnectionImpl)) {
+            return null;
+        }
+        ServerConnection serverConnection = ((ConnectionImpl)conn).getServerConnection();
+        if (!(serverConnection instanceof LocalServerConnection)) {
+            return null;
+        }
+        DQPWorkContext workContext = ((LocalServerConnection)serverConnection).getWorkContext();
+        VDBMetaData vdb = client.getVDB();
+        return ODataResponseCache.buildKey(httpRequest, vdb.getName(), vdb.getVersion(), modelName,
+                workContext.getUserName(), workContext.getAllowedDataPolicies().keySet());
+    }
+
     protected void registerVDBListener(Client client, Connection conn) {
         if (!this.listenerRegistered) {
             synchronized (this) {
@@ -323,16 +373,19 @@ public class ODataFilter implements Filter, VDBLifeCycleListener {
     @Override
     public void destroy() {
         this.contextMap.clear();
+        this.responseCache.clear();
     }
 
     @Override
     public void removed(String name, CompositeVDB vdb) {
         this.contextMap.remove(vdb.getVDBKey());
+        this.responseCache.clear();
     }
 
     @Override
     public void finishedDeployment(String name, CompositeVDB vdb) {
         this.contextMap.remove(vdb.getVDBKey());
+        this.responseCache.clear();
     }
 
     @Override
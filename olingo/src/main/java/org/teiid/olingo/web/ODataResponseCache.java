@@ -0,0 +1,302 @@
+/*
+ * Copyright Red Hat, Inc. and/or its affiliates
+ * and other contributors as indicated by the @author tags and
+ * the COPYRIGHT.txt file distributed with this work.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.teiid.olingo.web;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.olingo.commons.api.http.HttpHeader;
+import org.teiid.core.util.PropertiesUtils;
+import org.teiid.core.util.StringUtil;
+import org.teiid.metadata.AbstractMetadataRecord;
+import org.teiid.metadata.FunctionMethod.Determinism;
+import org.teiid.metadata.MetadataStore;
+import org.teiid.metadata.Procedure;
+import org.teiid.metadata.Schema;
+import org.teiid.metadata.Table;
+
+/**
+ * A cache of OData read responses keyed by the request url, the vdb, the user and
+ * their data roles.
+ * <br>
+ * Entries are validated the same way as result set cache entries - against the
+ * last data and metadata modification times of the tables, including those
+ * underneath views, which are updated for engine updates and through the
+ * {@link org.teiid.events.EventDistributor#dataModification} event.
+ * Entries are also limited by a ttl to account for source changes that are not
+ * reported.
+ * <br>
+ * Each cacheable response is given an ETag so that a matching If-None-Match
+ * may be answered with a 304.
+ * <br>
+ * Only responses from queries that are at least user deterministic are cached,
+ * and the cache is bounded by both the number of entries and their total size.
+ */
+class ODataResponseCache {
+
+    public static final String RESPONSE_CACHE_TIME = "response-cache-time"; //$NON-NLS-1$
+    public static final String RESPONSE_CACHE_SIZE = "response-cache-size"; //$NON-NLS-1$
+    public static final String RESPONSE_CACHE_MAX_ENTRY_SIZE = "response-cache-max-entry-size"; //$NON-NLS-1$
+    public static final String RESPONSE_CACHE_MAX_TOTAL_SIZE = "response-cache-max-total-size"; //$NON-NLS-1$
+
+    private static final List<String> CACHED_HEADERS = Arrays.asList(HttpHeader.CONTENT_TYPE,
+            HttpHeader.ODATA_VERSION, HttpHeader.PREFERENCE_APPLIED);
+
+    static class CachedResponse {
+        final byte[] body;
+        final Map<String, String> headers;
+        final String etag;
+        final long creationTime;
+        final Collection<Table> tables;
+
+        CachedResponse(byte[] body, Map<String, String> headers, String etag,
+                long creationTime, Collection<Table> tables) {
+            this.body = body;
+            this.headers = headers;
+            this.etag = etag;
+            this.creationTime = creationTime;
+            this.tables = tables;
+        }
+    }
+
+    private final long ttl;
+    private final int maxEntries;
+    private final int maxEntrySize;
+    private final long maxTotalSize;
+    private final LinkedHashMap<List<?>, CachedResponse> cache = new LinkedHashMap<List<?>, CachedResponse>(16, .75f, true);
+    private long totalSize;
+
+    ODataResponseCache(Properties props) {
+        this.ttl = PropertiesUtils.getLongProperty(props, RESPONSE_CACHE_TIME, 0L);
+        this.maxEntries = PropertiesUtils.getIntProperty(props, RESPONSE_CACHE_SIZE, 256);
+        this.maxTotalSize = PropertiesUtils.getLongProperty(props, RESPONSE_CACHE_MAX_TOTAL_SIZE, 1L << 25);
+        this.maxEntrySize = (int)Math.min(PropertiesUtils.getIntProperty(props, RESPONSE_CACHE_MAX_ENTRY_SIZE, 1 << 18), this.maxTotalSize);
+    }
+
+    boolean isEnabled() {
+        return this.ttl > 0;
+    }
+
+    int getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * @return the key for the request or null if it should not be cached
+     */
+    static List<?> buildKey(HttpServletRequest request, String vdbName, String vdbVersion,
+            String schema, String userName, Set<String> roles) {
+        if (!"GET".equals(request.getMethod())) { //$NON-NLS-1$
+            return null;
+        }
+        String url = request.getRequestURL().toString();
+        if (url.endsWith("/$batch")) { //$NON-NLS-1$
+            return null;
+        }
+        if (request.getQueryString() != null) {
+            url += "?" + request.getQueryString(); //$NON-NLS-1$
+        }
+        return Arrays.asList(vdbName, vdbVersion, schema, userName, new TreeSet<String>(roles), url,
+                request.getHeader(HttpHeader.ACCEPT), request.getHeader(HttpHeader.ACCEPT_CHARSET),
+                request.getHeader(HttpHeader.PREFER));
+    }
+
+    synchronized CachedResponse get(List<?> key) {
+        CachedResponse response = this.cache.get(key);
+        if (response == null) {
+            return null;
+        }
+        if (!isValid(response)) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    synchronized long getTotalSize() {
+        return totalSize;
+    }
+
+    synchronized int size() {
+        return this.cache.size();
+    }
+
+    private void remove(List<?> key) {
+        CachedResponse response = this.cache.remove(key);
+        if (response != null) {
+            this.totalSize -= response.body.length;
+        }
+    }
+
+    private boolean isValid(CachedResponse response) {
+        if (System.currentTimeMillis() - response.creationTime > this.ttl) {
+            return false;
+        }
+        for (Table table : response.tables) {
+            if (table.getLastDataModification() >= response.creationTime
+                    || table.getLastModified() >= response.creationTime) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cache the response if it was fully buffered, successful, and the queries used
+     * are at least user deterministic - the key does not include the session, so
+     * just as with the result set cache lower levels may not be shared.
+     * @return the entry or null if the response could not be cached
+     */
+    CachedResponse put(List<?> key, CachingMessageResponse response, long creationTime,
+            Determinism determinism, MetadataStore store, String schemaName) {
+        byte[] body = response.getBody();
+        if (body == null || response.getStatus() != HttpServletResponse.SC_OK
+                || determinism.compareTo(Determinism.USER_DETERMINISTIC) < 0) {
+            return null;
+        }
+        Schema schema = store.getSchema(schemaName);
+        if (schema == null) {
+            return null;
+        }
+        Map<String, String> headers = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, String> entry : response.getHeaders().entrySet()) {
+            for (String name : CACHED_HEADERS) {
+                if (name.equalsIgnoreCase(entry.getKey())) {
+                    headers.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        CachedResponse result = new CachedResponse(body, headers, buildETag(body),
+                creationTime, getTables(schema));
+        synchronized (this) {
+            remove(key);
+            this.cache.put(key, result);
+            this.totalSize += body.length;
+            //evict the least recently used entries
+            Iterator<CachedResponse> iter = this.cache.values().iterator();
+            while (this.cache.size() > this.maxEntries || this.totalSize > this.maxTotalSize) {
+                this.totalSize -= iter.next().body.length;
+                iter.remove();
+            }
+        }
+        return result;
+    }
+
+    synchronized void clear() {
+        this.cache.clear();
+        this.totalSize = 0;
+    }
+
+    /**
+     * Write the cached response or a 304 if the etag matches
+     */
+    static void write(HttpServletRequest request, HttpServletResponse response,
+            CachedResponse cached, boolean includeHeaders) throws IOException {
+        response.setHeader(HttpHeader.ETAG, cached.etag);
+        if (matches(request.getHeader(HttpHeader.IF_NONE_MATCH), cached.etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        if (includeHeaders) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            for (Map.Entry<String, String> entry : cached.headers.entrySet()) {
+                response.setHeader(entry.getKey(), entry.getValue());
+            }
+        }
+        response.setContentLength(cached.body.length);
+        response.getOutputStream().write(cached.body);
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String value : StringUtil.split(ifNoneMatch, ",")) { //$NON-NLS-1$
+            value = value.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) { //$NON-NLS-1$ //$NON-NLS-2$
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static String buildETag(byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+            byte[] hash = digest.digest(body);
+            StringBuilder sb = new StringBuilder(2 + 32);
+            sb.append('"');
+            //half of the hash is sufficient
+            for (int i = 0; i < 16; i++) {
+                sb.append(Character.forDigit((hash[i] >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(hash[i] & 0xf, 16));
+            }
+            sb.append('"');
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Get the tables of the schema and all of the tables that the views depend upon
+     */
+    static Collection<Table> getTables(Schema schema) {
+        Set<AbstractMetadataRecord> seen = new HashSet<AbstractMetadataRecord>();
+        List<Table> result = new ArrayList<Table>();
+        addTables(schema.getTables().values(), seen, result);
+        addTables(schema.getProcedures().values(), seen, result);
+        return result;
+    }
+
+    private static void addTables(Collection<? extends AbstractMetadataRecord> records,
+            Set<AbstractMetadataRecord> seen, List<Table> result) {
+        for (AbstractMetadataRecord record : records) {
+            if (!seen.add(record)) {
+                continue;
+            }
+            if (record instanceof Table) {
+                Table table = (Table)record;
+                result.add(table);
+                if (table.isVirtual()) {
+                    addTables(table.getIncomingObjects(), seen, result);
+                }
+            } else if (record instanceof Procedure) {
+                Procedure proc = (Procedure)record;
+                if (proc.isVirtual()) {
+                    addTables(proc.getIncomingObjects(), seen, result);
+                }
+            }
+        }
+    }
+}
@@ -1095,6 +1095,231 @@ public class TestODataIntegration {
         assertEquals(200, response.getStatus());
     }
 
+    @Test
+    public void testKeysetSkipToken() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a string, b integer, c integer, primary key (a, b)) "
+                + "as select 'xyz', 1, 123 union all select 'abc', 2, 456 union all select 'abc', 1, 789;");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("batch-size", "1");
+        props.put("keyset-paging", "true");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        String starts = "{\"@odata.context\":\""+baseURL+"/northwind/vw/$metadata#x\",\"value\":[{\"a\":\"abc\",\"b\":1,\"c\":789}],"
+                + "\"@odata.nextLink\":\""+baseURL+"/northwind/vw/x?$format=json&$skiptoken=~";
+        assertTrue(response.getContentAsString(), response.getContentAsString().startsWith(starts));
+
+        JsonNode node = getJSONNode(response);
+        response = http.GET(node.get("@odata.nextLink").asText());
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"value\":[{\"a\":\"abc\",\"b\":2,\"c\":456}]"));
+
+        node = getJSONNode(response);
+        response = http.GET(node.get("@odata.nextLink").asText());
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"@odata.context\":\""+baseURL+"/northwind/vw/$metadata#x\",\"value\":[{\"a\":\"xyz\",\"b\":1,\"c\":123}]}",
+                response.getContentAsString());
+
+        //invalid
+        response = http.GET(baseURL + "/northwind/vw/x?$skiptoken=~integer");
+        assertEquals(500, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("TEIID16062"));
+    }
+
+    @Test
+    public void testKeysetSkipTokenBinaryKey() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a varbinary primary key, c integer) "
+                + "as select X'0203', 2 union all select X'01', 1 union all select X'FF00', 3;");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("batch-size", "1");
+        props.put("keyset-paging", "true");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json&$select=c");
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"c\":1}]"));
+
+        JsonNode node = getJSONNode(response);
+        response = http.GET(node.get("@odata.nextLink").asText());
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"c\":2}]"));
+
+        node = getJSONNode(response);
+        response = http.GET(node.get("@odata.nextLink").asText());
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"c\":3}]"));
+        assertFalse(response.getContentAsString(), response.getContentAsString().contains("nextLink"));
+    }
+
+    @Test
+    public void testKeysetSkipTokenEmptyAndDelimiterKeys() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a string, b string, c integer, primary key (a, b)) "
+                + "as select '', 'x', 1 union all select 'a,b', '', 2 union all select 'a,b', ',', 3 union all select 'b', 'y', 4;");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("batch-size", "1");
+        props.put("keyset-paging", "true");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json&$select=c");
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"c\":1}]"));
+
+        for (int i = 2; i <= 4; i++) {
+            JsonNode node = getJSONNode(response);
+            response = http.GET(node.get("@odata.nextLink").asText());
+            assertEquals(200, response.getStatus());
+            assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"c\":" + i + "}]"));
+        }
+        assertFalse(response.getContentAsString(), response.getContentAsString().contains("nextLink"));
+    }
+
+    @Test
+    public void testStreamingSkipToken() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a string primary key, b integer) "
+                + "as select 'xyz', 123 union all select 'abc', 456;"
+                + "create view y (a string primary key, b string, CONSTRAINT FKX FOREIGN KEY (b) REFERENCES x(a)) "
+                + "as select 'y1', 'abc' union all select 'y2', 'abc' union all select 'y3', 'xyz';");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("batch-size", "1");
+        props.put("streaming", "true");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json&$expand=y_FKX");
+        assertEquals(200, response.getStatus());
+        String starts = "{\"@odata.context\":\""+baseURL+"/northwind/vw/$metadata#x(y_FKX())\",\"value\":[{\"a\":\"abc\",\"b\":456,"
+                + "\"y_FKX\":[{\"a\":\"y1\",\"b\":\"abc\"},{\"a\":\"y2\",\"b\":\"abc\"}]}],"
+                + "\"@odata.nextLink\":\""+baseURL+"/northwind/vw/x?$format=json&$expand=y_FKX&$skiptoken=";
+        assertTrue(response.getContentAsString(), response.getContentAsString().startsWith(starts));
+
+        JsonNode node = getJSONNode(response);
+        response = http.GET(node.get("@odata.nextLink").asText());
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"@odata.context\":\""+baseURL+"/northwind/vw/$metadata#x(y_FKX())\",\"value\":[{\"a\":\"xyz\",\"b\":123,"
+                + "\"y_FKX\":[{\"a\":\"y3\",\"b\":\"xyz\"}]}]}", response.getContentAsString());
+
+        //count is written first, so the page is built in memory
+        response = http.GET(baseURL + "/northwind/vw/x?$format=json&$count=true");
+        assertEquals(200, response.getStatus());
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"@odata.count\":2"));
+    }
+
+    @Test
+    public void testResponseCache() throws Exception {
+        HardCodedExecutionFactory hc = new HardCodedExecutionFactory();
+        hc.addData("SELECT x.a, x.b FROM x", Arrays.asList(Arrays.asList("xyz", 123), Arrays.asList("abc", 456)));
+        teiid.addTranslator("x11", hc);
+
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create foreign table x (a string primary key, b integer);");
+        mmd.addSourceMapping("x11", "x11", null);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("response-cache-time", "60000");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        String etag = response.getHeaders().get("ETag");
+        assertNotNull(etag);
+        String content = response.getContentAsString();
+        assertTrue(content, content.contains("\"b\":456"));
+
+        //served from the cache
+        response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        assertEquals(etag, response.getHeaders().get("ETag"));
+        assertEquals(content, response.getContentAsString());
+        assertEquals("application/json;odata.metadata=minimal", response.getHeaders().get("Content-Type"));
+
+        response = http.newRequest(baseURL + "/northwind/vw/x?$format=json")
+                .header("If-None-Match", etag).send();
+        assertEquals(304, response.getStatus());
+        assertEquals("", response.getContentAsString());
+
+        //the source data changes, but is still served from the cache until reported
+        hc.addData("SELECT x.a, x.b FROM x", Arrays.asList(Arrays.asList("xyz", 123), Arrays.asList("abc", 789)));
+        response = http.newRequest(baseURL + "/northwind/vw/x?$format=json")
+                .header("If-None-Match", etag).send();
+        assertEquals(304, response.getStatus());
+
+        //invalidated by a data modification event
+        teiid.getEventDistributor().dataModification("northwind", "1", "vw", "x");
+        response = http.newRequest(baseURL + "/northwind/vw/x?$format=json")
+                .header("If-None-Match", etag).send();
+        assertEquals(200, response.getStatus());
+        assertNotEquals(etag, response.getHeaders().get("ETag"));
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"b\":789"));
+        assertFalse(response.getContentAsString(), response.getContentAsString().contains("\"b\":456"));
+    }
+
+    @Test
+    public void testResponseCacheNondeterministic() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a string primary key, b double) "
+                + "as select 'xyz', rand();");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("response-cache-time", "60000");
+        createContext("/odata4", props);
+
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaders().get("ETag"));
+        String content = response.getContentAsString();
+
+        response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaders().get("ETag"));
+        assertNotEquals(content, response.getContentAsString());
+    }
+
+    @Test
+    public void testResponseCacheMaxTotalSize() throws Exception {
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("vw");
+        mmd.addSourceMetadata("ddl", "create view x (a string primary key, b integer) "
+                + "as select 'xyz', 123;");
+        mmd.setModelType(Model.Type.VIRTUAL);
+        teiid.deployVDB("northwind", mmd);
+
+        Map<String, String> props = new HashMap<>();
+        props.put("response-cache-time", "60000");
+        props.put("response-cache-max-total-size", "16");
+        createContext("/odata4", props);
+
+        //larger than the total size, so not cached
+        ContentResponse response = http.GET(baseURL + "/northwind/vw/x?$format=json");
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaders().get("ETag"));
+        assertTrue(response.getContentAsString(), response.getContentAsString().contains("\"b\":123"));
+    }
+
     @Test
     public void testSkipToken() throws Exception {
         ModelMetaData mmd = new ModelMetaData();
@@ -2069,6 +2294,61 @@ public class TestODataIntegration {
         */
     }
 
+    @Test
+    public void testBatchChangesetUpdates() throws Exception {
+        HardCodedExecutionFactory hc = new ODataHardCodedExecutionFactory() {
+            @Override
+            public boolean supportsBatchedUpdates() {
+                return true;
+            }
+        };
+        hc.addUpdate("DELETE FROM x WHERE x.a = 'a' AND x.b = 'b';\nDELETE FROM x WHERE x.a = 'c' AND x.b = 'd';", new int[] {1, 1});
+        hc.addUpdate("INSERT INTO x (a, b, c) VALUES ('e', 'f', 1);\nINSERT INTO x (a, b, c) VALUES ('g', 'h', 2);", new int[] {1, 1});
+        teiid.addTranslator("x", hc);
+        ModelMetaData mmd = new ModelMetaData();
+        mmd.setName("m");
+        mmd.addSourceMetadata("ddl", "create foreign table x (a string, b string, c integer, "
+                + "primary key (a, b)) options (updatable true);");
+        mmd.addSourceMapping("x", "x", null);
+        teiid.deployVDB("northwind", mmd);
+
+        final String batch = ""
+                + "--batch_8194-cf13-1f56" + CRLF
+                + "Content-Type: multipart/mixed; boundary=changeset_f980-1cb6-94dd" + CRLF
+                + CRLF
+                + changesetPart(1, "DELETE x(a='a',b='b') HTTP/1.1", "")
+                + changesetPart(2, "DELETE x(a='c',b='d') HTTP/1.1", "")
+                + changesetPart(3, "POST x HTTP/1.1", "{\"a\":\"e\",\"b\":\"f\",\"c\":1}")
+                + changesetPart(4, "POST x HTTP/1.1", "{\"a\":\"g\",\"b\":\"h\",\"c\":2}")
+                + "--changeset_f980-1cb6-94dd--" + CRLF
+                + "--batch_8194-cf13-1f56--";
+
+        ContentResponse response = http.newRequest(baseURL + "/northwind/m/$batch")
+                .method("POST")
+                .content(new StringContentProvider(batch), "multipart/mixed;boundary=batch_8194-cf13-1f56")
+                .send();
+
+        assertEquals(202, response.getStatus());
+        String result = response.getContentAsString();
+        assertEquals(result, 4, result.split("HTTP/1.1 204 No Content").length - 1);
+        assertTrue(result, result.contains("Location: "+baseURL+"/northwind/m/x(a='e',b='f')"));
+        //the deletes and the inserts are each sent as a single batch
+        assertEquals(2, hc.getCommands().size());
+    }
+
+    private String changesetPart(int id, String request, String body) {
+        return "--changeset_f980-1cb6-94dd" + CRLF
+                + "content-type:     Application/http" + CRLF
+                + "content-transfer-encoding: Binary" + CRLF
+                + "Content-ID: " + id + CRLF
+                + CRLF
+                + request + CRLF
+                + "Content-type: application/json" + CRLF
+                + (body.isEmpty() ? "" : "Prefer: return=minimal" + CRLF)
+                + CRLF
+                + body + CRLF;
+    }
+
     static int ROW_COUNT = 1;
 
     static class ODataHardCodedExecutionFactory extends HardCodedExecutionFactory{
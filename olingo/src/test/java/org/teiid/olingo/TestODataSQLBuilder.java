@@ -66,6 +66,7 @@ import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.parser.ParseInfo;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.sql.lang.Command;
+import org.teiid.query.sql.lang.OrderBy;
 import org.teiid.query.sql.lang.Query;
 import org.teiid.query.unittest.RealMetadataFactory;
 import org.teiid.query.unittest.RealMetadataFactory.DDLHolder;
@@ -267,7 +268,7 @@ public class TestODataSQLBuilder {
             Mockito.verify(client).executeSQL(arg1.capture(),
                     Mockito.eq(parameters), Mockito.eq(count),
                     Mockito.eq(skip), Mockito.eq(top),
-                    (String) Mockito.eq(null), Mockito.anyInt(),
+                    (String) Mockito.eq(null), Mockito.anyInt(), Mockito.any(OrderBy.class),
                     arg6.capture());
             Assert.assertEquals(actualCommand.toString(), arg1.getValue().toString());
         }
@@ -345,7 +346,7 @@ public class TestODataSQLBuilder {
         Mockito.verify(state.client).executeSQL(state.arg1.capture(),
                 Mockito.eq(state.parameters), Mockito.eq(true), (Integer)Mockito.eq(null),
                 (Integer)Mockito.eq(null),
-                (String) Mockito.eq(null), Mockito.anyInt(),
+                (String) Mockito.eq(null), Mockito.anyInt(), Mockito.any(OrderBy.class),
                 state.arg6.capture());
         Assert.assertEquals(expected, state.arg1.getValue().toString());
     }
@@ -28,6 +28,7 @@ import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
@@ -39,6 +40,8 @@ import org.teiid.adminapi.impl.SourceMappingMetadata;
 import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.common.buffer.BufferManager;
 import org.teiid.core.CoreConstants;
+import org.teiid.core.TeiidComponentException;
+import org.teiid.core.util.ExecutorUtils;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.dqp.internal.datamgr.ConnectorManager;
 import org.teiid.dqp.internal.datamgr.ConnectorManagerRepository;
@@ -54,6 +57,7 @@ import org.teiid.query.function.metadata.FunctionMetadataValidator;
 import org.teiid.query.metadata.DatabaseStore;
 import org.teiid.query.metadata.MetadataValidator;
 import org.teiid.query.metadata.SystemMetadata;
+import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.metadata.VDBResources;
 import org.teiid.query.parser.QueryParser;
 import org.teiid.query.tempdata.GlobalTableStore;
@@ -89,6 +93,7 @@ public class VDBRepository implements Serializable{
     private ObjectReplicator objectReplictor;
     private DatabaseStore databaseStore;
     private boolean allowEnv = true;
+    private transient Executor validationExecutor;
 
     public void addVDB(VDBMetaData vdb, MetadataStore metadataStore,
             LinkedHashMap<String, VDBResources.Resource> visibilityMap, UDFMetaData udf, ConnectorManagerRepository cmr)
@@ -340,7 +345,11 @@ public class VDBRepository implements Serializable{
                     }
                 }
                 MetadataStore store = metadataAwareVDB.removeAttachment(MetadataStore.class);
-                ValidatorReport report = new MetadataValidator(store.getDatatypes(), QueryParser.getQueryParser()).validate(metadataAwareVDB, store);
+                MetadataValidator validator = new MetadataValidator(store.getDatatypes(), QueryParser.getQueryParser());
+                validator.setExecutor(getValidationExecutor());
+                long start = System.currentTimeMillis();
+                ValidatorReport report = validator.validate(metadataAwareVDB, store);
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, "VDB", name, version, "metadata validation took", System.currentTimeMillis() - start, "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 
                 if (report.hasItems()) {
                     LogManager.logWarning(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40073, name, version, report.getItems().iterator().next()));
@@ -351,6 +360,7 @@ public class VDBRepository implements Serializable{
                     }
                 }
                 validateDataSources(metadataAwareVDB);
+                preWarmMetadataCache(metadataAwareVDB);
                 metadataAwareVDB.setStatus(Status.ACTIVE);
 
                 // for  replication of events, temp tables and mat views
@@ -372,6 +382,28 @@ public class VDBRepository implements Serializable{
         }
     }
 
+    private synchronized Executor getValidationExecutor() {
+        if (this.validationExecutor == null) {
+            this.validationExecutor = ExecutorUtils.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), "Metadata Validator"); //$NON-NLS-1$
+        }
+        return this.validationExecutor;
+    }
+
+    private void preWarmMetadataCache(VDBMetaData vdb) {
+        if (!Boolean.valueOf(vdb.getPropertyValue("metadata-cache-prewarm"))) { //$NON-NLS-1$
+            return;
+        }
+        TransformationMetadata metadata = vdb.getAttachment(TransformationMetadata.class);
+        if (metadata == null) {
+            return;
+        }
+        try {
+            metadata.preWarmCache();
+        } catch (TeiidComponentException e) {
+            LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not pre-warm the metadata cache for", vdb.getName(), vdb.getVersion()); //$NON-NLS-1$
+        }
+    }
+
     /**
      * @param key
      * @param report
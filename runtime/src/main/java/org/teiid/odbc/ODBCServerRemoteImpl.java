@@ -27,6 +27,7 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -36,11 +37,13 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.ietf.jgss.GSSCredential;
 import org.teiid.adminapi.VDB;
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
 import org.teiid.adminapi.impl.SessionMetadata;
 import org.teiid.client.RequestMessage.ResultsMode;
 import org.teiid.client.security.ILogon;
@@ -49,6 +52,8 @@ import org.teiid.client.util.ResultsFuture;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidProcessingException;
 import org.teiid.core.util.EquivalenceUtil;
+import org.teiid.core.util.HashCodeUtil;
+import org.teiid.core.util.LRUCache;
 import org.teiid.core.util.PropertiesUtils;
 import org.teiid.core.util.SqlUtil;
 import org.teiid.core.util.StringUtil;
@@ -185,6 +190,7 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
     private static Pattern fetchFirstLastPattern = Pattern.compile("FETCH\\s+(FIRST|LAST)\\s+(?:IN|FROM)\\s+(\\S+)\\s*", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
     private static Pattern movePattern = Pattern.compile("MOVE(?:\\s+(FORWARD|BACKWARD))?\\s+(\\d+)\\s+(?:IN|FROM)\\s+(\\S+)\\s*", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
     private static Pattern closePattern = Pattern.compile("CLOSE (\\S+)", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
+    private static Pattern metadataModificationPattern = Pattern.compile("(?:\\s|(?:/\\*.*?\\*/))*(CREATE|DROP|ALTER|SELECT)\\s.*", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
 
     private static Pattern deallocatePattern = Pattern.compile("DEALLOCATE(?:\\s+PREPARE)?\\s+(.*)", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
     private static Pattern releasePattern = Pattern.compile("RELEASE\\s+(\\w+\\d?_*)", Pattern.DOTALL|Pattern.CASE_INSENSITIVE); //$NON-NLS-1$
@@ -206,12 +212,21 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
     private Map<String, Prepared> preparedMap = Collections.synchronizedMap(new HashMap<String, Prepared>());
     private Map<String, Portal> portalMap = Collections.synchronizedMap(new HashMap<String, Portal>());
     private Map<String, Cursor> cursorMap = Collections.synchronizedMap(new HashMap<String, Cursor>());
+    /*
+     * parse results keyed by sql text and parameter types - drivers such as pgjdbc and Npgsql
+     * will repeatedly issue Parse for the same text.  The engine plan is already shared
+     * via the prepared plan cache, this saves the metadata round trip.
+     */
+    private Map<PreparedKey, Prepared> preparedCache = Collections.synchronizedMap(new LRUCache<PreparedKey, Prepared>(PREPARED_CACHE_SIZE));
     private    LogonImpl logon;
 
     //state needed to implement cancel
 
     private static final long BIT_MASK = (1L << 32) -1;
     private static ConcurrentHashMap<Long, ODBCServerRemoteImpl> remotes = new ConcurrentHashMap<>();
+    private static final int PREPARED_CACHE_SIZE = PropertiesUtils.getHierarchicalProperty("org.teiid.odbc.preparedCacheSize", 256, Integer.class); //$NON-NLS-1$
+    private static AtomicLong preparedCacheRequests = new AtomicLong();
+    private static AtomicLong preparedCacheHits = new AtomicLong();
     //TODO: there are ways to lookup pid, but nothing built-in. instead we'll increase the "security"
     //of cancellation with 63 random bits - the high bit needs to be 0 as pid must be positive
     private long secretKey = (long)(Math.random()*Long.MAX_VALUE);
@@ -516,6 +531,7 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
 
     private void sqlExecute(final String sql, final ResultsFuture<Integer> completion) throws SQLException {
         String modfiedSQL = fixSQL(sql);
+        checkMetadataModification(modfiedSQL);
         final boolean autoCommit = connection.getAutoCommit();
         final StatementImpl stmt = connection.createStatement();
         executionFuture = stmt.submitExecute(modfiedSQL, null);
@@ -586,6 +602,17 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
                         return;
                     }
                 }
+                PreparedKey key = new PreparedKey(sql, paramType);
+                if (PREPARED_CACHE_SIZE > 0) {
+                    preparedCacheRequests.incrementAndGet();
+                    Prepared cached = this.preparedCache.get(key);
+                    if (cached != null) {
+                        preparedCacheHits.incrementAndGet();
+                        this.preparedMap.put(prepareName, new Prepared(prepareName, sql, cached.modifiedSql, paramType, cached.columnMetadata, cached.cursorName));
+                        this.client.prepareCompleted(prepareName);
+                        return;
+                    }
+                }
                 //just pull the initial information - leave statement formation until binding
                 String modfiedSQL = fixSQL(sql);
                 Matcher m = null;
@@ -602,6 +629,9 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
                 }
                 Prepared prepared = new Prepared(prepareName, sql, modfiedSQL, paramType, stmt==null?null:getPgColInfo(stmt.getMetaData()), cursorName);
                 this.preparedMap.put(prepareName, prepared);
+                if (PREPARED_CACHE_SIZE > 0) {
+                    this.preparedCache.put(key, prepared);
+                }
                 this.client.prepareCompleted(prepareName);
             } catch (SQLException e) {
                 if (e.getCause() instanceof TeiidProcessingException) {
@@ -781,6 +811,7 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
                 internalCursorExecute(results, query.prepared.cursorName, query.name, stmt, query.prepared.sql, query.resultColumnFormat, query.prepared.columnMetadata);
                 return;
             }
+            checkMetadataModification(query.prepared.modifiedSql);
             this.executionFuture = stmt.submitExecute(ResultsMode.EITHER, null);
             this.executingStatement = stmt.getRequestIdentifier();
             executionFuture.addCompletionListener(new ResultsFuture.CompletionListener<Boolean>() {
@@ -1129,6 +1160,7 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
         closePortals();
 
         this.preparedMap.clear();
+        this.preparedCache.clear();
         try {
             if (this.connection != null) {
                 if (!this.connection.getAutoCommit()) {
@@ -1391,6 +1423,89 @@ public class ODBCServerRemoteImpl implements ODBCServerRemote {
         return result;
     }
 
+    /**
+     * The cached parse results are not validated against the metadata, so they are
+     * cleared when the session runs a statement that may create, drop, or alter
+     * metadata - such as a session scoped temp table.
+     */
+    private void checkMetadataModification(String sql) {
+        if (PREPARED_CACHE_SIZE > 0 && modifiesMetadata(sql)) {
+            this.preparedCache.clear();
+        }
+    }
+
+    static boolean modifiesMetadata(String sql) {
+        Matcher m = metadataModificationPattern.matcher(sql);
+        if (!m.matches()) {
+            return false;
+        }
+        if (m.group(1).equalsIgnoreCase("SELECT")) { //$NON-NLS-1$
+            //a select into may implicitly create a temp table
+            return SqlUtil.isUpdateSql(sql);
+        }
+        return true;
+    }
+
+    /**
+     * Clear the parse results cached by all sessions
+     */
+    public static void clearPreparedCache() {
+        for (ODBCServerRemoteImpl remote : remotes.values()) {
+            remote.preparedCache.clear();
+        }
+    }
+
+    /**
+     * Build the statistics for the parse results cached by all sessions
+     */
+    public static CacheStatisticsMetadata buildPreparedCacheStats(String name) {
+        CacheStatisticsMetadata stats = new CacheStatisticsMetadata();
+        stats.setName(name);
+        long requests = preparedCacheRequests.get();
+        long hits = preparedCacheHits.get();
+        if (requests > 0) {
+            stats.setHitRatio(((double)hits)/requests);
+        }
+        int entries = 0;
+        for (ODBCServerRemoteImpl remote : remotes.values()) {
+            entries += remote.preparedCache.size();
+        }
+        stats.setTotalEntries(entries);
+        stats.setRequestCount((int)Math.min(Integer.MAX_VALUE, requests));
+        return stats;
+    }
+
+    static class PreparedKey {
+        final String sql;
+        final int[] paramType;
+        final int hashCode;
+
+        public PreparedKey(String sql, int[] paramType) {
+            this.sql = sql;
+            this.paramType = paramType;
+            this.hashCode = HashCodeUtil.hashCode(sql.hashCode(), Arrays.hashCode(paramType));
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof PreparedKey)) {
+                return false;
+            }
+            PreparedKey other = (PreparedKey)obj;
+            return this.hashCode == other.hashCode
+                    && this.sql.equals(other.sql)
+                    && Arrays.equals(this.paramType, other.paramType);
+        }
+    }
+
     /**
      * Represents a PostgreSQL Prepared object.  The actual plan preparation is performed lazily.
      */
@@ -222,110 +222,165 @@ public abstract class AbstractVDBDeployer {
             return;
         }
 
+        List<MetadataJob> jobs = new ArrayList<MetadataJob>();
         for (ModelMetaData model: vdb.getModelMetaDatas().values()) {
             MetadataRepository metadataRepository = model.getAttachment(MetadataRepository.class);
             if (model.getModelType() == Model.Type.PHYSICAL || model.getModelType() == Model.Type.VIRTUAL) {
-                loadMetadata(vdb, model, cmr, metadataRepository, store, loadCount, vdbResources);
+                jobs.add(createMetadataJob(vdb, model, cmr, metadataRepository, store, loadCount, vdbResources));
                 LogManager.logTrace(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " was being loaded from its repository"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
             }
             else {
                 LogManager.logTrace(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " skipped being loaded because of its type ", model.getModelType()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
             }
         }
+        runMetadataJobs(vdb, jobs);
+    }
+
+    /**
+     * Run the metadata load jobs in model order.  By default each job is passed to
+     * {@link #runMetadataJob(VDBMetaData, ModelMetaData, Runnable)}.
+     * @throws TranslatorException
+     */
+    protected void runMetadataJobs(VDBMetaData vdb, List<MetadataJob> jobs) throws TranslatorException {
+        for (MetadataJob job : jobs) {
+            runMetadataJob(vdb, job.getModel(), job);
+        }
     }
 
     protected abstract VDBRepository getVDBRepository();
 
-    @SuppressWarnings({"rawtypes","unchecked"})
-    private void loadMetadata(final VDBMetaData vdb, final ModelMetaData model, final ConnectorManagerRepository cmr, final MetadataRepository metadataRepo, final MetadataStore vdbMetadataStore, final AtomicInteger loadCount, final VDBResources vdbResources) throws TranslatorException {
+    private MetadataJob createMetadataJob(final VDBMetaData vdb, final ModelMetaData model, final ConnectorManagerRepository cmr, final MetadataRepository metadataRepo, final MetadataStore vdbMetadataStore, final AtomicInteger loadCount, final VDBResources vdbResources) {
 
         String msg = RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50029,vdb.getName(), vdb.getVersion(), model.getName(), SimpleDateFormat.getInstance().format(new Date()));
         model.setMetadataStatus(Model.MetadataStatus.LOADING);
         model.addRuntimeMessage(Severity.INFO, msg);
         LogManager.logInfo(LogConstants.CTX_RUNTIME, msg);
 
-        final Runnable job = new Runnable() {
+        return new MetadataJob(vdb, model, cmr, metadataRepo, vdbMetadataStore, loadCount, vdbResources);
+    }
 
-            @Override
-            public void run() {
-                boolean cached = false;
-                Exception ex = null;
-                TranslatorException te = null;
+    /**
+     * Loads the metadata for a single model.  The {@link #load()} of separate models may run
+     * concurrently, while {@link #complete()} merges the result into the vdb and must be
+     * called in model order for a deterministic vdb schema order.
+     */
+    protected class MetadataJob implements Runnable {
+        private final VDBMetaData vdb;
+        private final ModelMetaData model;
+        private final ConnectorManagerRepository cmr;
+        @SuppressWarnings("rawtypes")
+        private final MetadataRepository metadataRepo;
+        private final MetadataStore vdbMetadataStore;
+        private final AtomicInteger loadCount;
+        private final VDBResources vdbResources;
+
+        private boolean cached;
+        private Exception ex;
+        private TranslatorException te;
+        private MetadataFactory factory;
+
+        @SuppressWarnings("rawtypes")
+        MetadataJob(VDBMetaData vdb, ModelMetaData model, ConnectorManagerRepository cmr, MetadataRepository metadataRepo, MetadataStore vdbMetadataStore, AtomicInteger loadCount, VDBResources vdbResources) {
+            this.vdb = vdb;
+            this.model = model;
+            this.cmr = cmr;
+            this.metadataRepo = metadataRepo;
+            this.vdbMetadataStore = vdbMetadataStore;
+            this.loadCount = loadCount;
+            this.vdbResources = vdbResources;
+        }
 
-                // if this is not the first time trying to load metadata
-                if (model.getMetadataStatus() != Model.MetadataStatus.LOADING) {
-                    model.setMetadataStatus(Model.MetadataStatus.RETRYING);
-                }
+        public ModelMetaData getModel() {
+            return model;
+        }
 
-                // designer based models define data types based on their built in data types, which are system vdb data types
-                Map<String, Datatype> datatypes = vdbMetadataStore.getDatatypes();
-                MetadataFactory factory = getCachedMetadataFactory(vdb, model);
-                if (factory != null) {
-                    factory.correctDatatypes(datatypes);
-                    cached = true;
-                    LogManager.logDetail(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " was loaded from cached metadata"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-                } else {
-                    factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
-                    ExecutionFactory ef = null;
-                    Object cf = null;
+        @Override
+        public void run() {
+            load();
+            complete();
+        }
 
-                    for (ConnectorManager cm : getConnectorManagers(model, cmr)) {
-                        if (ex != null) {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, ex, "Failed to get metadata, trying next source."); //$NON-NLS-1$
-                            ex = null;
-                            te = null;
-                        }
-                        try {
-                            if (cm != null) {
-                                ef = cm.getExecutionFactory();
-                                cf = cm.getConnectionFactory();
-                            }
-                        } catch (TranslatorException e) {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Failed to get a connection factory for metadata load."); //$NON-NLS-1$
-                            te = e;
-                        }
-                        ClassLoader originalCL = Thread.currentThread().getContextClassLoader();
-                        try {
-                            LogManager.logDetail(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50104,vdb.getName(), vdb.getVersion(), model.getName(), cm != null?cm.getTranslatorName():null, cm != null?cm.getConnectionName():null));
-                            Thread.currentThread().setContextClassLoader(metadataRepo.getClass().getClassLoader());
-                            metadataRepo.loadMetadata(factory, ef, cf);
-                            LogManager.logInfo(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50030,vdb.getName(), vdb.getVersion(), model.getName(), SimpleDateFormat.getInstance().format(new Date())));
-                            break;
-                        } catch (Exception e) {
-                            factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
-                            ex = e;
-                        } finally {
-                            Thread.currentThread().setContextClassLoader(originalCL);
+        @SuppressWarnings("unchecked")
+        public void load() {
+            long start = System.currentTimeMillis();
+            cached = false;
+            ex = null;
+            te = null;
+
+            // if this is not the first time trying to load metadata
+            if (model.getMetadataStatus() != Model.MetadataStatus.LOADING) {
+                model.setMetadataStatus(Model.MetadataStatus.RETRYING);
+            }
+
+            // designer based models define data types based on their built in data types, which are system vdb data types
+            Map<String, Datatype> datatypes = vdbMetadataStore.getDatatypes();
+            factory = getCachedMetadataFactory(vdb, model);
+            if (factory != null) {
+                factory.correctDatatypes(datatypes);
+                cached = true;
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, "Model ", model.getName(), "in VDB ", vdb.getName(), " was loaded from cached metadata"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            } else {
+                factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
+                ExecutionFactory ef = null;
+                Object cf = null;
+
+                for (ConnectorManager cm : getConnectorManagers(model, cmr)) {
+                    if (ex != null) {
+                        LogManager.logDetail(LogConstants.CTX_RUNTIME, ex, "Failed to get metadata, trying next source."); //$NON-NLS-1$
+                        ex = null;
+                        te = null;
+                    }
+                    try {
+                        if (cm != null) {
+                            ef = cm.getExecutionFactory();
+                            cf = cm.getConnectionFactory();
                         }
+                    } catch (TranslatorException e) {
+                        LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Failed to get a connection factory for metadata load."); //$NON-NLS-1$
+                        te = e;
+                    }
+                    ClassLoader originalCL = Thread.currentThread().getContextClassLoader();
+                    try {
+                        LogManager.logDetail(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50104,vdb.getName(), vdb.getVersion(), model.getName(), cm != null?cm.getTranslatorName():null, cm != null?cm.getConnectionName():null));
+                        Thread.currentThread().setContextClassLoader(metadataRepo.getClass().getClassLoader());
+                        metadataRepo.loadMetadata(factory, ef, cf);
+                        LogManager.logInfo(LogConstants.CTX_RUNTIME, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50030,vdb.getName(), vdb.getVersion(), model.getName(), SimpleDateFormat.getInstance().format(new Date())));
+                        break;
+                    } catch (Exception e) {
+                        factory = createMetadataFactory(vdb, vdbMetadataStore, model, vdbResources==null?Collections.EMPTY_MAP:vdbResources.getEntriesPlusVisibilities());
+                        ex = e;
+                    } finally {
+                        Thread.currentThread().setContextClassLoader(originalCL);
                     }
                 }
+            }
+            LogManager.logDetail(LogConstants.CTX_RUNTIME, "Model", model.getName(), "in VDB", vdb.getName(), vdb.getVersion(), "metadata load took", System.currentTimeMillis() - start, "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        }
 
-                synchronized (vdb) {
-                    if (ex == null) {
-                        if (!cached) {
-                            // cache the schema to disk
-                            cacheMetadataFactory(vdb, model, factory);
-                        }
+        public void complete() {
+            synchronized (vdb) {
+                if (ex == null) {
+                    if (!cached) {
+                        // cache the schema to disk
+                        cacheMetadataFactory(vdb, model, factory);
+                    }
 
-                        metadataLoaded(vdb, model, vdbMetadataStore, loadCount, factory, true, cmr, vdbResources);
-                    } else {
-                        String errorMsg = ex.getMessage()==null?ex.getClass().getName():ex.getMessage();
-                        if (te != null) {
-                            errorMsg += ": " + te.getMessage(); //$NON-NLS-1$
-                        }
-                        model.addAttachment(Exception.class, ex);
-                        model.addRuntimeError(errorMsg);
-                        model.setMetadataStatus(Model.MetadataStatus.FAILED);
-                        LogManager.logWarning(LogConstants.CTX_RUNTIME, ex, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50036,vdb.getName(), vdb.getVersion(), model.getName(), errorMsg));
-                        if (ex instanceof RuntimeException || !retryLoad(vdb, model, this)) {
-                            metadataLoaded(vdb, model, vdbMetadataStore, loadCount, factory, false, cmr, vdbResources);
-                        }
+                    metadataLoaded(vdb, model, vdbMetadataStore, loadCount, factory, true, cmr, vdbResources);
+                } else {
+                    String errorMsg = ex.getMessage()==null?ex.getClass().getName():ex.getMessage();
+                    if (te != null) {
+                        errorMsg += ": " + te.getMessage(); //$NON-NLS-1$
+                    }
+                    model.addAttachment(Exception.class, ex);
+                    model.addRuntimeError(errorMsg);
+                    model.setMetadataStatus(Model.MetadataStatus.FAILED);
+                    LogManager.logWarning(LogConstants.CTX_RUNTIME, ex, RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID50036,vdb.getName(), vdb.getVersion(), model.getName(), errorMsg));
+                    if (ex instanceof RuntimeException || !retryLoad(vdb, model, this)) {
+                        metadataLoaded(vdb, model, vdbMetadataStore, loadCount, factory, false, cmr, vdbResources);
                     }
                 }
             }
-        };
-
-        runMetadataJob(vdb, model, job);
+        }
     }
 
     protected abstract void runMetadataJob(VDBMetaData vdb, ModelMetaData model, Runnable job) throws TranslatorException;
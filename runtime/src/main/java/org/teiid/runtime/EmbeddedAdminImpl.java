@@ -40,6 +40,7 @@ import org.teiid.dqp.service.SessionServiceException;
 import org.teiid.metadata.Database;
 import org.teiid.metadata.MetadataStore;
 import org.teiid.metadata.Schema;
+import org.teiid.odbc.ODBCServerRemoteImpl;
 import org.teiid.query.metadata.DDLStringVisitor;
 import org.teiid.query.metadata.DatabaseUtil;
 import org.teiid.query.metadata.TransformationMetadata;
@@ -406,8 +407,10 @@ public class EmbeddedAdminImpl implements Admin {
             this.embeddedServer.getRsCache().clearAll();
         } else if(cacheType.equals(Admin.Cache.PREPARED_PLAN_CACHE.name())) {
             this.embeddedServer.getPpcCache().clearAll();
+        } else if(cacheType.equals(Admin.Cache.ODBC_PREPARED_CACHE.name())) {
+            ODBCServerRemoteImpl.clearPreparedCache();
         } else {
-            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE, Admin.Cache.PREPARED_PLAN_CACHE));
+            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Arrays.toString(Admin.Cache.values())));
         }
     }
 
@@ -420,8 +423,11 @@ public class EmbeddedAdminImpl implements Admin {
             this.embeddedServer.getRsCache().clearForVDB(new VDBKey(vdbName, vdbVersion));
         } else if(cacheType.equals(Admin.Cache.PREPARED_PLAN_CACHE.name())) {
             this.embeddedServer.getPpcCache().clearForVDB(new VDBKey(vdbName, vdbVersion));
+        } else if(cacheType.equals(Admin.Cache.ODBC_PREPARED_CACHE.name())) {
+            //the parse results are held per session, so clear them all
+            ODBCServerRemoteImpl.clearPreparedCache();
         } else {
-            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE, Admin.Cache.PREPARED_PLAN_CACHE));
+            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Arrays.toString(Admin.Cache.values())));
         }
     }
 
@@ -432,8 +438,10 @@ public class EmbeddedAdminImpl implements Admin {
             return Arrays.asList(this.embeddedServer.getRsCache().buildCacheStats(cacheType));
         } else if(cacheType.equals(Admin.Cache.PREPARED_PLAN_CACHE.name())) {
             return Arrays.asList(this.embeddedServer.getPpcCache().buildCacheStats(cacheType));
+        } else if(cacheType.equals(Admin.Cache.ODBC_PREPARED_CACHE.name())) {
+            return Arrays.asList(ODBCServerRemoteImpl.buildPreparedCacheStats(cacheType));
         } else {
-            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE, Admin.Cache.PREPARED_PLAN_CACHE));
+            throw new AdminProcessingException(RuntimePlugin.Util.gs(RuntimePlugin.Event.TEIID40139, cacheType, Arrays.toString(Admin.Cache.values())));
         }
     }
 
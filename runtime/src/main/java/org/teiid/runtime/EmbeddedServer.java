@@ -34,7 +34,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.stream.Collectors;
 
@@ -135,6 +137,7 @@ import org.xml.sax.SAXException;
 public class EmbeddedServer extends AbstractVDBDeployer implements EventDistributorFactory, ExecutionFactoryProvider {
 
     private static final String ASYNC_LOAD = "async-load"; //$NON-NLS-1$
+    private static final String PARALLEL_LOAD = "parallel-load"; //$NON-NLS-1$
 
     static {
         LogManager.setLogListener(new JBossLogger());
@@ -480,7 +483,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         }
         this.shutdownListener.setBootInProgress(false);
         this.shutdownListener.started();
-        this.jmxService = new JMXService(this.dqp, this.bufferService, this.sessionService);
+        this.jmxService = new JMXService(this.dqp, this.bufferService, this.sessionService, this.repo);
         this.jmxService.registerBeans();
         running = true;
     }
@@ -902,16 +905,54 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         } else {
             //blocking load, directly throw any associated exception
             job.run();
-            Exception te = model.getAttachment(Exception.class);
-            if (te != null) {
-                if (te instanceof TranslatorException) {
-                    throw (TranslatorException)te;
-                }
-                if (te instanceof RuntimeException) {
-                    throw (RuntimeException)te;
+            checkMetadataLoad(model);
+        }
+    }
+
+    @Override
+    protected void runMetadataJobs(VDBMetaData vdb, List<MetadataJob> jobs) throws TranslatorException {
+        if (jobs.size() < 2 || Boolean.valueOf(vdb.getPropertyValue(ASYNC_LOAD))
+                || Boolean.FALSE.toString().equalsIgnoreCase(vdb.getPropertyValue(PARALLEL_LOAD))) {
+            super.runMetadataJobs(vdb, jobs);
+            return;
+        }
+        //blocking parallel load, the calling thread runs any load not yet started by the scheduler
+        List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(jobs.size());
+        for (MetadataJob job : jobs) {
+            FutureTask<Void> task = new FutureTask<Void>(job::load, null);
+            tasks.add(task);
+            this.scheduler.execute(task);
+        }
+        for (FutureTask<Void> task : tasks) {
+            task.run();
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                throw new TeiidRuntimeException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException)e.getCause();
                 }
-                throw new TranslatorException(te);
+                throw new TeiidRuntimeException(e.getCause());
+            }
+        }
+        //merge in model order so that the schema order and any failure are deterministic
+        for (MetadataJob job : jobs) {
+            job.complete();
+            checkMetadataLoad(job.getModel());
+        }
+    }
+
+    private void checkMetadataLoad(ModelMetaData model) throws TranslatorException {
+        Exception te = model.getAttachment(Exception.class);
+        if (te != null) {
+            if (te instanceof TranslatorException) {
+                throw (TranslatorException)te;
             }
+            if (te instanceof RuntimeException) {
+                throw (RuntimeException)te;
+            }
+            throw new TranslatorException(te);
         }
     }
 
@@ -945,6 +986,7 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         this.sessionService.stop();
         this.transports.clear();
         dqp.stop();
+        stopTranslators();
         if (config != null) {
             config.stop();
         }
@@ -962,6 +1004,23 @@ public class EmbeddedServer extends AbstractVDBDeployer implements EventDistribu
         this.jmxService = null;
     }
 
+    private void stopTranslators() {
+        Set<ExecutionFactory<?, ?>> factories = Collections.newSetFromMap(new IdentityHashMap<ExecutionFactory<?, ?>, Boolean>());
+        factories.addAll(this.translators.values());
+        for (ConnectorManager cm : this.cmr.getConnectorManagers().values()) {
+            if (cm.getExecutionFactory() != null) {
+                factories.add(cm.getExecutionFactory());
+            }
+        }
+        for (ExecutionFactory<?, ?> ef : factories) {
+            try {
+                ef.stop();
+            } catch (Exception e) {
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not stop translator"); //$NON-NLS-1$
+            }
+        }
+    }
+
     private synchronized void checkStarted() {
         if (running == null || !running) {
             throw new IllegalStateException();
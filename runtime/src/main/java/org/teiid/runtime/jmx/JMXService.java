@@ -29,6 +29,7 @@ import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 import javax.management.OperationsException;
 
+import org.teiid.deployers.VDBRepository;
 import org.teiid.dqp.internal.process.DQPCore;
 import org.teiid.dqp.service.SessionService;
 import org.teiid.logging.LogConstants;
@@ -48,14 +49,21 @@ public class JMXService {
     private DQPCore dqp;
     private BufferServiceImpl bufferService;
     private SessionService sessionService;
+    private VDBRepository vdbRepository;
     private MBeanServer server;
     private Set<String> registerdBeans = new HashSet<>();
 
     public JMXService(DQPCore dqpCore, BufferServiceImpl bufferServiceImpl,
             SessionService sessionService) {
+        this(dqpCore, bufferServiceImpl, sessionService, null);
+    }
+
+    public JMXService(DQPCore dqpCore, BufferServiceImpl bufferServiceImpl,
+            SessionService sessionService, VDBRepository vdbRepository) {
         this.dqp = dqpCore;
         this.bufferService = bufferServiceImpl;
         this.sessionService = sessionService;
+        this.vdbRepository = vdbRepository;
         server = ManagementFactory.getPlatformMBeanServer();
     }
 
@@ -65,7 +73,7 @@ public class JMXService {
 
     public synchronized void registerBeans() {
         try {
-            register(new Teiid(dqp, sessionService, bufferService), TEIID);
+            register(new Teiid(dqp, sessionService, bufferService, vdbRepository), TEIID);
             register(new Cache(dqp.getPrepPlanCache()),
                     CACHE_PREFIX + "PreparedPlan"); //$NON-NLS-1$
             register(new Cache(dqp.getResltSetCache()),
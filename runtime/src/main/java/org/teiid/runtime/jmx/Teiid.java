@@ -27,12 +27,17 @@ import org.teiid.adminapi.EngineStatisticsBean;
 import org.teiid.adminapi.RequestBean;
 import org.teiid.adminapi.SessionBean;
 import org.teiid.adminapi.WorkerPoolStatisticsBean;
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
+import org.teiid.adminapi.impl.VDBMetaData;
 import org.teiid.client.plan.PlanNode;
 import org.teiid.core.TeiidComponentException;
 import org.teiid.core.TeiidRuntimeException;
+import org.teiid.deployers.VDBRepository;
 import org.teiid.dqp.internal.process.DQPCore;
 import org.teiid.dqp.service.SessionService;
 import org.teiid.dqp.service.SessionServiceException;
+import org.teiid.query.analysis.PlanningStatistics;
+import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.runtime.EmbeddedAdminFactory;
 import org.teiid.services.BufferServiceImpl;
 
@@ -41,12 +46,70 @@ class Teiid implements TeiidBean {
     private final DQPCore dqp;
     private final SessionService sessionService;
     private final BufferServiceImpl bufferService;
+    private final VDBRepository vdbRepository;
+
+    private static class MetadataCache implements MetadataCacheBean {
+        private final CacheStatisticsMetadata stats;
+
+        MetadataCache(CacheStatisticsMetadata stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public String getName() {
+            return stats.getName();
+        }
+
+        @Override
+        public double getHitRatio() {
+            return stats.getHitRatio();
+        }
+
+        @Override
+        public int getTotalEntries() {
+            return stats.getTotalEntries();
+        }
+
+        @Override
+        public int getRequestCount() {
+            return stats.getRequestCount();
+        }
+    }
+
+    private static class PlanningStatistic implements PlanningStatisticBean {
+        private final PlanningStatistics.Entry entry;
+
+        PlanningStatistic(PlanningStatistics.Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getName() {
+            return entry.getName();
+        }
+
+        @Override
+        public long getCount() {
+            return entry.getCount();
+        }
+
+        @Override
+        public double getTotalTimeMillis() {
+            return entry.getNanos()/1000000d;
+        }
+
+        @Override
+        public double getMaxTimeMillis() {
+            return entry.getMaxNanos()/1000000d;
+        }
+    }
 
     public Teiid(DQPCore dqp, SessionService sessionService,
-            BufferServiceImpl bufferService) {
+            BufferServiceImpl bufferService, VDBRepository vdbRepository) {
         this.dqp = dqp;
         this.sessionService = sessionService;
         this.bufferService = bufferService;
+        this.vdbRepository = vdbRepository;
     }
 
     @Override
@@ -105,6 +168,45 @@ class Teiid implements TeiidBean {
         }
     }
 
+    @Override
+    public List<PlanningStatisticBean> getPlanningStatistics() {
+        List<PlanningStatisticBean> result = new ArrayList<>();
+        for (PlanningStatistics.Entry entry : this.dqp.getPlanningStatistics().getEntries()) {
+            result.add(new PlanningStatistic(entry));
+        }
+        return result;
+    }
+
+    @Override
+    public long getPlanningRequestCount() {
+        return this.dqp.getPlanningStatistics().getProfileCount();
+    }
+
+    @Override
+    public void clearPlanningStatistics() {
+        this.dqp.getPlanningStatistics().clear();
+    }
+
+    @Override
+    public List<MetadataCacheBean> getMetadataCacheStatistics(String vdbName,
+            String vdbVersion) {
+        List<MetadataCacheBean> result = new ArrayList<>();
+        if (this.vdbRepository == null) {
+            return result;
+        }
+        VDBMetaData vdb = this.vdbRepository.getLiveVDB(vdbName, vdbVersion);
+        if (vdb == null) {
+            return result;
+        }
+        TransformationMetadata metadata = vdb.getAttachment(TransformationMetadata.class);
+        if (metadata != null) {
+            for (CacheStatisticsMetadata stats : metadata.getCacheStatistics()) {
+                result.add(new MetadataCache(stats));
+            }
+        }
+        return result;
+    }
+
     @Override
     public double getPercentBufferDiskSpaceInUse() {
         long maxDiskBufferSpaceMb = this.bufferService.getMaxDiskBufferSpaceMb();
@@ -135,4 +135,30 @@ public interface TeiidBean {
      */
     EngineStatisticsBean getEngineStatisticsBean();
 
+    /**
+     * Get the planning time aggregated by planning phase, optimizer rule and view
+     * ordered by descending total time.
+     * @return
+     */
+    List<PlanningStatisticBean> getPlanningStatistics();
+
+    /**
+     * Get the number of requests included in the planning statistics
+     * @return
+     */
+    long getPlanningRequestCount();
+
+    /**
+     * Clear the planning statistics
+     */
+    void clearPlanningStatistics();
+
+    /**
+     * Get the statistics of the metadata lookup caches of the given vdb.
+     * @param vdbName
+     * @param vdbVersion
+     * @return the statistics of each lookup cache or an empty list if the vdb is not deployed
+     */
+    List<MetadataCacheBean> getMetadataCacheStatistics(String vdbName, String vdbVersion);
+
 }
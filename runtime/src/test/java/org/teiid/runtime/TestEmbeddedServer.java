@@ -27,6 +27,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.lang.management.ManagementFactory;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.nio.charset.Charset;
@@ -47,6 +48,8 @@ import java.util.logging.Level;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 import javax.transaction.*;
 import javax.transaction.xa.XAResource;
 
@@ -91,10 +94,13 @@ import org.teiid.metadata.MetadataException;
 import org.teiid.metadata.MetadataFactory;
 import org.teiid.metadata.MetadataRepository;
 import org.teiid.metadata.RuntimeMetadata;
+import org.teiid.metadata.Schema;
 import org.teiid.metadata.Table;
+import org.teiid.query.metadata.TransformationMetadata;
 import org.teiid.query.sql.symbol.Reference;
 import org.teiid.resource.api.XAImporter;
 import org.teiid.runtime.EmbeddedServer.ConnectionFactoryProvider;
+import org.teiid.runtime.jmx.JMXService;
 import org.teiid.translator.DataNotAvailableException;
 import org.teiid.translator.ExecutionContext;
 import org.teiid.translator.ExecutionFactory;
@@ -453,6 +459,65 @@ public class TestEmbeddedServer {
         assertNull(es.getSchemaDdl("empty", "xxx"));
     }
 
+    @Test public void testMetadataCacheStatisticsJMX() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+
+        ModelMetaData mmd1 = new ModelMetaData();
+        mmd1.setName("virt");
+        mmd1.setModelType(Type.VIRTUAL);
+        mmd1.setSchemaSourceType("ddl");
+        mmd1.setSchemaText("create view v as select 1 as x");
+        es.deployVDB("test", mmd1);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        Statement s = c.createStatement();
+        s.execute("select x from v");
+        s.execute("select x from v");
+
+        CompositeData[] stats = (CompositeData[])ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName(JMXService.TEIID), "getMetadataCacheStatistics", new Object[] {"test", "1"}, //$NON-NLS-1$ //$NON-NLS-2$
+                new String[] {String.class.getName(), String.class.getName()});
+        assertEquals(4, stats.length);
+        assertEquals("metadata", stats[0].get("name")); //$NON-NLS-1$ //$NON-NLS-2$
+        assertTrue((Integer)stats[2].get("requestCount") > 0); //$NON-NLS-1$
+
+        stats = (CompositeData[])ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName(JMXService.TEIID), "getMetadataCacheStatistics", new Object[] {"other", "1"}, //$NON-NLS-1$ //$NON-NLS-2$
+                new String[] {String.class.getName(), String.class.getName()});
+        assertEquals(0, stats.length);
+    }
+
+    @Test public void testPlanningStatisticsJMX() throws Exception {
+        EmbeddedConfiguration ec = new EmbeddedConfiguration();
+        ec.setUseDisk(false);
+        es.start(ec);
+
+        ModelMetaData mmd1 = new ModelMetaData();
+        mmd1.setName("virt");
+        mmd1.setModelType(Type.VIRTUAL);
+        mmd1.setSchemaSourceType("ddl");
+        mmd1.setSchemaText("create view v as select 1 as x");
+        es.deployVDB("test", mmd1);
+
+        Connection c = es.getDriver().connect("jdbc:teiid:test", null);
+        Statement s = c.createStatement();
+        s.execute("select x from v");
+
+        ObjectName name = new ObjectName(JMXService.TEIID);
+        assertTrue((Long)ManagementFactory.getPlatformMBeanServer().getAttribute(name, "PlanningRequestCount") > 0); //$NON-NLS-1$
+        CompositeData[] stats = (CompositeData[])ManagementFactory.getPlatformMBeanServer().getAttribute(name, "PlanningStatistics"); //$NON-NLS-1$
+        assertTrue(stats.length > 0);
+        assertTrue((Long)stats[0].get("count") > 0); //$NON-NLS-1$
+        assertTrue((Double)stats[0].get("totalTimeMillis") >= (Double)stats[stats.length - 1].get("totalTimeMillis")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        ManagementFactory.getPlatformMBeanServer().invoke(name, "clearPlanningStatistics", new Object[0], new String[0]); //$NON-NLS-1$
+        assertEquals(0L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "PlanningRequestCount")); //$NON-NLS-1$
+        stats = (CompositeData[])ManagementFactory.getPlatformMBeanServer().getAttribute(name, "PlanningStatistics"); //$NON-NLS-1$
+        assertEquals(0, stats.length);
+    }
+
     @Test public void testBatchedUpdate() throws Exception {
         EmbeddedConfiguration ec = new EmbeddedConfiguration();
 
@@ -1022,6 +1087,28 @@ public class TestEmbeddedServer {
         assertFalse(rs.next());
     }
 
+    @Test public void testParallelLoadSchemaOrder() throws Exception {
+        es.start(new EmbeddedConfiguration());
+
+        List<ModelMetaData> models = new ArrayList<ModelMetaData>();
+        for (String name : new String[] {"d", "c", "b", "a"}) {
+            ModelMetaData mmd = new ModelMetaData();
+            mmd.setName(name);
+            mmd.setModelType(Type.VIRTUAL);
+            mmd.addSourceMetadata("ddl", "create view v as select 1 as col;");
+            models.add(mmd);
+        }
+
+        es.deployVDB("vdb", models.toArray(new ModelMetaData[models.size()]));
+
+        List<Schema> schemas = es.repo.getLiveVDB("vdb").getAttachment(TransformationMetadata.class).getMetadataStore().getSchemaList();
+        List<String> names = new ArrayList<String>();
+        for (Schema schema : schemas) {
+            names.add(schema.getName());
+        }
+        assertEquals(Arrays.asList("d", "c", "b", "a"), names.subList(0, 4));
+    }
+
     @Test public void testGeneratedKeysVirtual() throws Exception {
         EmbeddedConfiguration ec = new EmbeddedConfiguration();
         MockTransactionManager tm = new MockTransactionManager();
@@ -44,6 +44,7 @@ import org.postgresql.core.v3.ExtendedQueryExecutorImpl;
 import org.postgresql.util.PSQLException;
 import org.teiid.adminapi.Model.Type;
 import org.teiid.adminapi.Request.ProcessingState;
+import org.teiid.adminapi.impl.CacheStatisticsMetadata;
 import org.teiid.adminapi.impl.ModelMetaData;
 import org.teiid.adminapi.impl.RequestMetadata;
 import org.teiid.adminapi.impl.SessionMetadata;
@@ -54,6 +55,7 @@ import org.teiid.core.util.UnitTestUtil;
 import org.teiid.deployers.PgCatalogMetadataStore;
 import org.teiid.jdbc.FakeServer;
 import org.teiid.jdbc.TestMMDatabaseMetaData;
+import org.teiid.odbc.ODBCServerRemoteImpl;
 import org.teiid.runtime.EmbeddedConfiguration;
 import org.teiid.runtime.TestEmbeddedServer;
 import org.teiid.runtime.TestEmbeddedServer.MockTransactionManager;
@@ -543,6 +545,34 @@ public class TestODBCSocketTransport {
         assertNull(ps.getMetaData());
     }
 
+    @Test public void testPreparedCache() throws Exception {
+        CacheStatisticsMetadata before = ODBCServerRemoteImpl.buildPreparedCacheStats("x");
+        for (int i = 0; i < 3; i++) {
+            PreparedStatement ps = conn.prepareStatement("select name from sys.tables where name = ?");
+            ps.setString(1, "x");
+            ResultSet rs = ps.executeQuery();
+            assertEquals("Name", rs.getMetaData().getColumnName(1));
+            ps.close();
+        }
+        CacheStatisticsMetadata after = ODBCServerRemoteImpl.buildPreparedCacheStats("x");
+        assertEquals(3, after.getRequestCount() - before.getRequestCount());
+        long hits = Math.round(after.getHitRatio() * after.getRequestCount()) - Math.round(before.getHitRatio() * before.getRequestCount());
+        assertEquals(2, hits);
+    }
+
+    @Test public void testPreparedCacheTempTableChange() throws Exception {
+        Statement s = conn.createStatement();
+        s.execute("create local temporary table #cached (x integer)");
+        PreparedStatement ps = conn.prepareStatement("select * from #cached");
+        assertEquals(1, ps.executeQuery().getMetaData().getColumnCount());
+        ps.close();
+        s.execute("drop table #cached");
+        s.execute("create local temporary table #cached (x integer, y string)");
+        ps = conn.prepareStatement("select * from #cached");
+        assertEquals(2, ps.executeQuery().getMetaData().getColumnCount());
+        ps.close();
+    }
+
     @Test public void testSelectSsl() throws Exception {
         conn.close();
         Driver d = new Driver();
@@ -89,7 +89,7 @@ public class DQPCoreService extends DQPConfiguration implements Serializable, Se
 
         final SessionService sessionService = (SessionService) context.getController().getServiceContainer().getService(TeiidServiceNames.SESSION).getValue();
         ServiceController<?> repo = context.getController().getServiceContainer().getRequiredService(TeiidServiceNames.BUFFER_MGR);
-        this.jmx = new JMXService(this.dqpCore, BufferManagerService.class.cast(repo.getService()), sessionService);
+        this.jmx = new JMXService(this.dqpCore, BufferManagerService.class.cast(repo.getService()), sessionService, getVdbRepository());
         this.jmx.registerBeans();
 
         // add vdb life cycle listeners
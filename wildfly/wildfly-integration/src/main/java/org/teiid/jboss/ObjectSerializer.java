@@ -17,6 +17,10 @@
  */
 package org.teiid.jboss;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -24,39 +28,67 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 import org.jboss.logging.Logger;
 import org.teiid.adminapi.impl.VDBMetaData;
+import org.teiid.core.util.ApplicationInfo;
 import org.teiid.core.util.FileUtils;
 import org.teiid.logging.LogConstants;
 import org.teiid.logging.LogManager;
 
-
+/**
+ * Reads and writes the vdb and model cache files that allow a redeploy to skip
+ * metadata loading.
+ * <br>
+ * Each file is a header - magic, format version, and release number - followed by a
+ * deflated java serialized object.  A file with a different header is discarded and
+ * rewritten after the next successful load.
+ * <br>
+ * A cached model is fully materialized when it is loaded.  There is no memory-mapped or
+ * lazily materialized form, since metadata validation and the TransformationMetadata
+ * indexes require the whole MetadataStore when the vdb is deployed.
+ */
 public class ObjectSerializer {
 
     private static final Logger log = Logger.getLogger(ObjectSerializer.class);
 
     private static final String ATTACHMENT_SUFFIX = ".ser"; //$NON-NLS-1$
 
+    private static final int HEADER_MAGIC = 0x54454944;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private String storagePath;
 
     public ObjectSerializer(String path) {
         this.storagePath = path;
     }
 
+    /**
+     * Load the attachment
+     * @return the attachment or null if the file was written by a different format or release
+     */
     public <T> T loadAttachment(File attachmentsStore, Class<T> expected) throws IOException, ClassNotFoundException {
         if (log.isTraceEnabled()) {
             log.trace("loadAttachment, attachmentsStore=" + attachmentsStore); //$NON-NLS-1$
         }
 
-        ObjectInputStream ois = null;
+        DataInputStream dis = new DataInputStream(new BufferedInputStream(new FileInputStream(attachmentsStore), BUFFER_SIZE));
+        Inflater inflater = new Inflater();
         try {
-            ois = new ObjectInputStream(new FileInputStream(attachmentsStore));
+            if (dis.readInt() != HEADER_MAGIC || dis.readInt() != FORMAT_VERSION
+                    || !getReleaseNumber().equals(dis.readUTF())) {
+                return null;
+            }
+            ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new InflaterInputStream(dis, inflater, BUFFER_SIZE), BUFFER_SIZE));
             return expected.cast(ois.readObject());
         } finally {
-            if (ois != null) {
-                ois.close();
-            }
+            dis.close();
+            inflater.end();
         }
     }
 
@@ -66,16 +98,22 @@ public class ObjectSerializer {
         }
 
         if (!attachmentsStore.exists() || force) {
-            ObjectOutputStream oos = null;
+            attachmentsStore.getParentFile().mkdirs();
+            long start = System.currentTimeMillis();
+            DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(attachmentsStore), BUFFER_SIZE));
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
             try {
-                attachmentsStore.getParentFile().mkdirs();
-                oos = new ObjectOutputStream(new FileOutputStream(attachmentsStore));
+                dos.writeInt(HEADER_MAGIC);
+                dos.writeInt(FORMAT_VERSION);
+                dos.writeUTF(getReleaseNumber());
+                ObjectOutputStream oos = new ObjectOutputStream(new DeflaterOutputStream(dos, deflater, BUFFER_SIZE));
                 oos.writeObject(attachment);
+                oos.close();
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, "Saved", attachmentsStore.getAbsolutePath(), attachmentsStore.length(), "bytes in", System.currentTimeMillis() - start, "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
                 return true;
             } finally {
-                if (oos != null) {
-                    oos.close();
-                }
+                dos.close();
+                deflater.end();
             }
         }
         return false;
@@ -114,10 +152,16 @@ public class ObjectSerializer {
 
     public <T> T loadSafe(File cacheFile, Class<T> clazz) {
         try {
-            if (cacheFile.exists()) {
-                return clazz.cast(loadAttachment(cacheFile, clazz));
+            if (!cacheFile.exists()) {
+                return null;
+            }
+            long start = System.currentTimeMillis();
+            T result = loadAttachment(cacheFile, clazz);
+            if (result != null) {
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, "Loaded", cacheFile.getAbsolutePath(), cacheFile.length(), "bytes in", System.currentTimeMillis() - start, "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                return result;
             }
-            return null;
+            LogManager.logDetail(LogConstants.CTX_RUNTIME, "Discarding", cacheFile.getAbsolutePath(), "written by a different format or release"); //$NON-NLS-1$ //$NON-NLS-2$
         } catch (Exception e) {
             LogManager.logWarning(LogConstants.CTX_RUNTIME, e, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50043, cacheFile.getAbsolutePath()));
         }
@@ -125,6 +169,10 @@ public class ObjectSerializer {
         return null;
     }
 
+    private static String getReleaseNumber() {
+        return String.valueOf(ApplicationInfo.getInstance().getReleaseNumber());
+    }
+
     public OutputStream getVdbXmlOutputStream(VDBMetaData vdb) throws IOException {
         File f = buildVdbXml(vdb);
         if (!f.exists()) {
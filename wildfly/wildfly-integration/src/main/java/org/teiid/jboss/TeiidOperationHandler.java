@@ -90,6 +90,7 @@ import org.teiid.logging.LogManager;
 import org.teiid.metadata.Database;
 import org.teiid.metadata.MetadataStore;
 import org.teiid.metadata.Schema;
+import org.teiid.odbc.ODBCServerRemoteImpl;
 import org.teiid.query.metadata.DDLStringVisitor;
 import org.teiid.query.metadata.DatabaseUtil;
 import org.teiid.query.metadata.TransformationMetadata;
@@ -619,12 +620,17 @@ abstract class BaseCachehandler extends BaseOperationHandler<SessionAwareCache>{
 
         ServiceController<?> sc;
         try {
-            if (Admin.Cache.valueOf(cacheType) == Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE) {
+            Admin.Cache type = Admin.Cache.valueOf(cacheType);
+            if (type == Admin.Cache.QUERY_SERVICE_RESULT_SET_CACHE) {
                 sc = context.getServiceRegistry(false).getRequiredService(TeiidServiceNames.CACHE_RESULTSET);
             }
-            else {
+            else if (type == Admin.Cache.PREPARED_PLAN_CACHE) {
                 sc = context.getServiceRegistry(false).getRequiredService(TeiidServiceNames.CACHE_PREPAREDPLAN);
             }
+            else {
+                //the odbc parse results are held by each session, not by a cache service
+                return null;
+            }
         } catch (IllegalArgumentException e) {
             throw new OperationFailedException(IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50071, cacheType));
         }
@@ -646,6 +652,7 @@ class CacheTypes extends BaseOperationHandler<Void> {
         for (String type:types) {
             result.add(type);
         }
+        result.add(Admin.Cache.ODBC_PREPARED_CACHE.name());
     }
 
     @Override
@@ -674,11 +681,20 @@ class ClearCache extends BaseCachehandler {
             String vdbVersion = operation.get(OperationsConstants.VDB_VERSION.getName()).asString();
             TeiidOperationHandler.checkVDB(context, vdbName, vdbVersion);
             LogManager.logInfo(LogConstants.CTX_DQP, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50005, cacheType, vdbName, vdbVersion));
-            cache.clearForVDB(vdbName, vdbVersion);
+            if (cache == null) {
+                //the parse results are held per session, so clear them all
+                ODBCServerRemoteImpl.clearPreparedCache();
+            } else {
+                cache.clearForVDB(vdbName, vdbVersion);
+            }
         }
         else {
             LogManager.logInfo(LogConstants.CTX_DQP, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50098, cacheType));
-            cache.clearAll();
+            if (cache == null) {
+                ODBCServerRemoteImpl.clearPreparedCache();
+            } else {
+                cache.clearAll();
+            }
         }
     }
 
@@ -704,7 +720,12 @@ class CacheStatistics extends BaseCachehandler {
         String cacheType = operation.get(OperationsConstants.CACHE_TYPE.getName()).asString();
 
         ModelNode result = context.getResult();
-        CacheStatisticsMetadata stats = cache.buildCacheStats(cacheType);
+        CacheStatisticsMetadata stats = null;
+        if (cache == null) {
+            stats = ODBCServerRemoteImpl.buildPreparedCacheStats(cacheType);
+        } else {
+            stats = cache.buildCacheStats(cacheType);
+        }
         VDBMetadataMapper.CacheStatisticsMetadataMapper.INSTANCE.wrap(stats, result);
     }
 
@@ -80,6 +80,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
     private VDBLifeCycleListener vdbListener;
     private VDBResources vdbResources;
     private VDBKey vdbKey;
+    private final IdentityHashMap<Translator, ExecutionFactory<Object, Object>> translators = new IdentityHashMap<Translator, ExecutionFactory<Object, Object>>();
 
     public VDBService(VDBMetaData metadata, VDBResources vdbResources, ContainerLifeCycleListener shutdownListener) {
         this.vdb = metadata;
@@ -240,9 +241,21 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
         if (controller != null) {
             controller.setMode(ServiceController.Mode.REMOVE);
         }
+        stopTranslators();
         LogManager.logInfo(LogConstants.CTX_RUNTIME, IntegrationPlugin.Util.gs(IntegrationPlugin.Event.TEIID50026, this.vdb));
     }
 
+    private void stopTranslators() {
+        for (ExecutionFactory<Object, Object> ef : this.translators.values()) {
+            try {
+                ef.stop();
+            } catch (Exception e) {
+                LogManager.logDetail(LogConstants.CTX_RUNTIME, e, "Could not stop translator"); //$NON-NLS-1$
+            }
+        }
+        this.translators.clear();
+    }
+
     @Override
     public void stop(StopContext context) {
         cleanup(context);
@@ -254,7 +267,7 @@ class VDBService extends AbstractVDBDeployer implements Service<RuntimeVDB> {
     }
 
     private void createConnectorManagers(ConnectorManagerRepository cmr, final TranslatorRepository repo, final VDBMetaData deployment) throws StartException {
-        final IdentityHashMap<Translator, ExecutionFactory<Object, Object>> map = new IdentityHashMap<Translator, ExecutionFactory<Object, Object>>();
+        final IdentityHashMap<Translator, ExecutionFactory<Object, Object>> map = this.translators;
 
         try {
             ConnectorManagerRepository.ExecutionFactoryProvider provider = new ConnectorManagerRepository.ExecutionFactoryProvider() {
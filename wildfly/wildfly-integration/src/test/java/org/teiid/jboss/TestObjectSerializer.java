@@ -21,6 +21,10 @@ package org.teiid.jboss;
 import static org.junit.Assert.*;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 import org.teiid.core.util.UnitTestUtil;
@@ -33,9 +37,33 @@ public class TestObjectSerializer {
     @Test public void testLoadSafe() throws Exception {
         ObjectSerializer os = new ObjectSerializer(System.getProperty("java.io.tmpdir"));
         File f = UnitTestUtil.getTestScratchFile("foo");
-        os.saveAttachment(f, new Long(2), false);
+        os.saveAttachment(f, Long.valueOf(2), false);
         assertNotNull(os.loadAttachment(f, Long.class));
         assertNull(os.loadSafe(f, Integer.class));
     }
 
+    @Test public void testRoundTrip() throws Exception {
+        ObjectSerializer os = new ObjectSerializer(System.getProperty("java.io.tmpdir"));
+        File f = UnitTestUtil.getTestScratchFile("roundtrip");
+        f.delete();
+        List<String> value = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            value.add("column" + i);
+        }
+        assertTrue(os.saveAttachment(f, value, false));
+        assertFalse(os.saveAttachment(f, value, false));
+        assertEquals(value, os.loadSafe(f, List.class));
+    }
+
+    @Test public void testDiscardOldFormat() throws Exception {
+        ObjectSerializer os = new ObjectSerializer(System.getProperty("java.io.tmpdir"));
+        File f = UnitTestUtil.getTestScratchFile("oldformat");
+        ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(f));
+        oos.writeObject(Long.valueOf(2));
+        oos.close();
+        assertNull(os.loadAttachment(f, Long.class));
+        assertNull(os.loadSafe(f, Long.class));
+        assertFalse(f.exists());
+    }
+
 }